@@ -17,7 +17,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ ConnectionTests.class, GeometryNodeTests.class, GeometryConversionTests.class, OrthogonalProjectionStrategyTests.class, NodeUtilsTests.class, ControlAdapterTests.class })
+@SuiteClasses({ ConnectionTests.class, GeometryNodeTests.class, GeometryConversionTests.class, OrthogonalProjectionStrategyTests.class, NodeUtilsTests.class, ControlAdapterTests.class, SpatialIndexTests.class, ObstacleAvoidingOrthogonalRouterTests.class, ProjectionStrategyTests.class, ConnectionRefreshSchedulerTests.class })
 public class AllTests {
 
 }
@@ -0,0 +1,382 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.swing.SwingUtilities;
+
+import org.eclipse.gef.fx.anchors.StaticAnchor;
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.ConnectionRefreshScheduler;
+import org.eclipse.gef.fx.nodes.StraightRouter;
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.planar.AffineTransform;
+import org.eclipse.gef.geometry.planar.Point;
+import org.junit.Test;
+
+import javafx.application.Platform;
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.Group;
+import javafx.scene.Scene;
+import javafx.scene.shape.Rectangle;
+
+public class ConnectionRefreshSchedulerTests {
+
+	/**
+	 * A {@link StraightRouter} that records the routed {@link Connection}s.
+	 */
+	private static class RecordingRouter extends StraightRouter {
+		private final List<Connection> routed = new ArrayList<>();
+
+		@Override
+		public void route(Connection connection) {
+			routed.add(connection);
+			super.route(connection);
+		}
+	}
+
+	private static boolean initializedJavaFxToolkit = false;
+
+	private static void runAndWait(final Runnable runnable) throws Throwable {
+		if (!initializedJavaFxToolkit) {
+			SwingUtilities.invokeAndWait(new Runnable() {
+				@Override
+				public void run() {
+					new JFXPanel(); // initializes JavaFX environment
+				}
+			});
+			initializedJavaFxToolkit = true;
+		}
+		final CountDownLatch latch = new CountDownLatch(1);
+		final AtomicReference<Throwable> throwableRef = new AtomicReference<>();
+		Platform.runLater(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					runnable.run();
+				} catch (Throwable throwable) {
+					throwableRef.set(throwable);
+				}
+				latch.countDown();
+			}
+		});
+		latch.await();
+		if (throwableRef.get() != null) {
+			throw throwableRef.get();
+		}
+	}
+
+	@Test
+	public void coalesceDeferredRefreshes() throws Throwable {
+		runAndWait(new Runnable() {
+			@Override
+			public void run() {
+				RecordingRouter router = new RecordingRouter();
+				Connection connection = new Connection();
+				Scene scene = new Scene(new Group(connection));
+				connection.setRouter(router);
+				connection.setStartPoint(new Point(0, 0));
+				connection.setEndPoint(new Point(100, 0));
+				connection.setRefreshDeferred(true);
+				router.routed.clear();
+
+				// changes are not routed immediately
+				connection.setStartPoint(new Point(10, 10));
+				connection.setEndPoint(new Point(110, 10));
+				connection.addControlPoint(0, new Point(50, 50));
+				assertTrue(router.routed.isEmpty());
+
+				// the points are up-to-date when queried, requiring a single
+				// routing pass
+				assertEquals(new Point(10, 10), connection.getStartPoint());
+				assertEquals(new Point(50, 50), connection.getControlPoint(0));
+				assertEquals(new Point(110, 10), connection.getEndPoint());
+				assertEquals(1, router.routed.size());
+
+				// the scheduler refreshes the dirty connection once
+				connection.setControlPoint(0, new Point(60, 60));
+				connection.setEndPoint(new Point(120, 20));
+				assertEquals(1, router.routed.size());
+				ConnectionRefreshScheduler.get(scene).flush();
+				assertEquals(2, router.routed.size());
+				ConnectionRefreshScheduler.get(scene).flush();
+				assertEquals(2, router.routed.size());
+				assertEquals(new Point(120, 20), connection.getEndPoint());
+				assertEquals(2, router.routed.size());
+			}
+		});
+	}
+
+	@Test
+	public void cacheTransformationsDuringFlush() throws Throwable {
+		runAndWait(new Runnable() {
+			@Override
+			public void run() {
+				Group root = new Group();
+				Scene scene = new Scene(root);
+				Group layer = new Group();
+				layer.setScaleX(2);
+				layer.setTranslateX(50);
+				root.getChildren().add(layer);
+				final Rectangle anchorage = new Rectangle(10, 10, 50, 50);
+				anchorage.setTranslateY(20);
+				layer.getChildren().add(anchorage);
+
+				final List<AffineTransform> transforms = new ArrayList<>();
+				Connection connection = new Connection();
+				connection.setRouter(new StraightRouter() {
+					@Override
+					public void route(Connection connection) {
+						transforms.add(ConnectionRefreshScheduler
+								.getLocalToSceneTx(anchorage));
+						transforms.add(ConnectionRefreshScheduler
+								.getLocalToSceneTx(anchorage));
+						super.route(connection);
+					}
+				});
+				layer.getChildren().add(connection);
+				connection.setRefreshDeferred(true);
+				connection.setStartPoint(new Point(0, 0));
+				connection.setEndPoint(new Point(100, 0));
+				transforms.clear();
+
+				// the transformations are equal to the uncached ones, but
+				// their (shared) entries cannot be modified by clients
+				ConnectionRefreshScheduler.get(scene).flush();
+				assertEquals(2, transforms.size());
+				AffineTransform expected = NodeUtils
+						.getLocalToSceneTx(anchorage);
+				assertEquals(expected, transforms.get(0));
+				transforms.get(0).translate(100, 100);
+				assertEquals(expected, transforms.get(1));
+
+				// the cache is discarded after the flush
+				anchorage.setTranslateY(40);
+				assertEquals(NodeUtils.getLocalToSceneTx(anchorage),
+						ConnectionRefreshScheduler
+								.getLocalToSceneTx(anchorage));
+			}
+		});
+	}
+
+	@Test
+	public void disableDeferredRefreshes() throws Throwable {
+		runAndWait(new Runnable() {
+			@Override
+			public void run() {
+				RecordingRouter router = new RecordingRouter();
+				Connection connection = new Connection();
+				new Scene(new Group(connection));
+				connection.setRouter(router);
+				connection.setRefreshDeferred(true);
+				connection.setStartPoint(new Point(0, 0));
+				connection.setEndPoint(new Point(100, 0));
+				router.routed.clear();
+
+				// disabling deferred refreshes performs the pending refresh
+				connection.setRefreshDeferred(false);
+				assertEquals(1, router.routed.size());
+				assertEquals(new Point(100, 0), connection.getEndPoint());
+				assertEquals(1, router.routed.size());
+			}
+		});
+	}
+
+	@Test
+	public void refreshAnchoragesFirst() throws Throwable {
+		runAndWait(new Runnable() {
+			@Override
+			public void run() {
+				RecordingRouter router = new RecordingRouter();
+				Group root = new Group();
+				Scene scene = new Scene(root);
+				Connection anchorage = new Connection();
+				Connection anchored = new Connection();
+				root.getChildren().addAll(anchored, anchorage);
+				anchorage.setRouter(router);
+				anchored.setRouter(router);
+				anchorage.setRefreshDeferred(true);
+				anchored.setRefreshDeferred(true);
+				anchorage.setStartPoint(new Point(0, 0));
+				anchorage.setEndPoint(new Point(100, 0));
+				anchored.setStartAnchor(
+						new StaticAnchor(anchorage, new Point(50, 0)));
+				anchored.setEndPoint(new Point(50, 100));
+				ConnectionRefreshScheduler.get(scene).flush();
+				router.routed.clear();
+
+				// dirty the anchored connection before its anchorage
+				anchored.setEndPoint(new Point(60, 100));
+				anchorage.setEndPoint(new Point(200, 0));
+				ConnectionRefreshScheduler.get(scene).flush();
+				assertEquals(2, router.routed.size());
+				assertEquals(anchorage, router.routed.get(0));
+				assertEquals(anchored, router.routed.get(1));
+			}
+		});
+	}
+
+	@Test
+	public void refreshSynchronouslyByDefault() throws Throwable {
+		runAndWait(new Runnable() {
+			@Override
+			public void run() {
+				RecordingRouter router = new RecordingRouter();
+				Connection connection = new Connection();
+				assertFalse(connection.isRefreshDeferred());
+				connection.setRouter(router);
+				connection.setStartPoint(new Point(0, 0));
+				connection.setEndPoint(new Point(100, 0));
+				router.routed.clear();
+
+				connection.setEndPoint(new Point(200, 0));
+				assertFalse(router.routed.isEmpty());
+				assertEquals(200, connection.getCurve().getBoundsInParent()
+						.getMaxX(), 1);
+			}
+		});
+	}
+
+	@Test
+	public void refreshSynchronouslyOutsideApplicationThread() {
+		RecordingRouter router = new RecordingRouter();
+		Connection connection = new Connection();
+		connection.setRouter(router);
+		connection.setRefreshDeferred(true);
+		connection.setStartPoint(new Point(0, 0));
+		connection.setEndPoint(new Point(100, 0));
+		router.routed.clear();
+
+		// refreshes are not deferred outside of the application thread
+		connection.setEndPoint(new Point(200, 0));
+		int routed = router.routed.size();
+		assertTrue(routed > 0);
+		assertEquals(200,
+				connection.getCurve().getBoundsInParent().getMaxX(), 1);
+		assertEquals(new Point(200, 0), connection.getEndPoint());
+		assertEquals(routed, router.routed.size());
+	}
+
+	@Test
+	public void refreshSynchronouslyWithoutScene() throws Throwable {
+		runAndWait(new Runnable() {
+			@Override
+			public void run() {
+				RecordingRouter router = new RecordingRouter();
+				Connection connection = new Connection();
+				connection.setRouter(router);
+				connection.setRefreshDeferred(true);
+				connection.setStartPoint(new Point(0, 0));
+				connection.setEndPoint(new Point(100, 0));
+				router.routed.clear();
+
+				// refreshes cannot be deferred without a scene
+				connection.setEndPoint(new Point(200, 0));
+				assertFalse(router.routed.isEmpty());
+				assertEquals(200, connection.getCurve().getBoundsInParent()
+						.getMaxX(), 1);
+			}
+		});
+	}
+
+	@Test
+	public void scheduleWithinInstalledContainer() throws Throwable {
+		runAndWait(new Runnable() {
+			@Override
+			public void run() {
+				RecordingRouter router = new RecordingRouter();
+				Group container = new Group();
+				Group otherContainer = new Group();
+				Connection connection = new Connection();
+				Connection otherConnection = new Connection();
+				container.getChildren().add(connection);
+				otherContainer.getChildren().add(otherConnection);
+				Scene scene = new Scene(
+						new Group(container, otherContainer));
+				ConnectionRefreshScheduler scheduler = ConnectionRefreshScheduler
+						.install(container);
+				assertSame(scheduler, ConnectionRefreshScheduler
+						.find(connection));
+				assertNull(ConnectionRefreshScheduler.find(otherConnection));
+				for (Connection c : new Connection[] { connection,
+						otherConnection }) {
+					c.setRouter(router);
+					c.setRefreshDeferred(true);
+					c.setStartPoint(new Point(0, 0));
+					c.setEndPoint(new Point(100, 0));
+				}
+				ConnectionRefreshScheduler.get(scene).flush();
+				scheduler.flush();
+				router.routed.clear();
+
+				// the installed scheduler only refreshes the connections
+				// within its container
+				connection.setEndPoint(new Point(200, 0));
+				otherConnection.setEndPoint(new Point(200, 0));
+				scheduler.flush();
+				assertEquals(1, router.routed.size());
+				assertSame(connection, router.routed.get(0));
+				ConnectionRefreshScheduler.get(scene).flush();
+				assertEquals(2, router.routed.size());
+				assertSame(otherConnection, router.routed.get(1));
+
+				// uninstalling refreshes the pending connections
+				connection.setEndPoint(new Point(300, 0));
+				ConnectionRefreshScheduler.uninstall(container);
+				assertEquals(3, router.routed.size());
+				assertNull(ConnectionRefreshScheduler.find(container));
+			}
+		});
+	}
+
+	@Test
+	public void scheduleWithinScene() throws Throwable {
+		runAndWait(new Runnable() {
+			@Override
+			public void run() {
+				RecordingRouter router = new RecordingRouter();
+				Connection connection = new Connection();
+				Scene scene = new Scene(new Group(connection));
+				Scene otherScene = new Scene(new Group());
+				assertSame(ConnectionRefreshScheduler.get(scene),
+						ConnectionRefreshScheduler.get(scene));
+				assertNotSame(ConnectionRefreshScheduler.get(scene),
+						ConnectionRefreshScheduler.get(otherScene));
+				connection.setRouter(router);
+				connection.setRefreshDeferred(true);
+				connection.setStartPoint(new Point(0, 0));
+				connection.setEndPoint(new Point(100, 0));
+				router.routed.clear();
+
+				// only the scheduler of the connection's scene refreshes it
+				connection.setEndPoint(new Point(200, 0));
+				ConnectionRefreshScheduler.get(otherScene).flush();
+				assertTrue(router.routed.isEmpty());
+				ConnectionRefreshScheduler.get(scene).flush();
+				assertEquals(1, router.routed.size());
+			}
+		});
+	}
+
+}
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.gef.fx.anchors.StaticAnchor;
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.ObstacleAvoidingOrthogonalRouter;
+import org.eclipse.gef.geometry.planar.Point;
+import org.junit.Test;
+
+import javafx.scene.Group;
+import javafx.scene.shape.Rectangle;
+
+public class ObstacleAvoidingOrthogonalRouterTests {
+
+	private static void assertOrthogonal(List<Point> points) {
+		for (int i = 1; i < points.size(); i++) {
+			Point p = points.get(i - 1);
+			Point q = points.get(i);
+			assertTrue(p + " -> " + q, p.x == q.x || p.y == q.y);
+		}
+	}
+
+	private static boolean intersects(Point p, Point q, double x, double y,
+			double w, double h) {
+		return Math.max(p.x, q.x) > x && Math.min(p.x, q.x) < x + w
+				&& Math.max(p.y, q.y) > y && Math.min(p.y, q.y) < y + h;
+	}
+
+	@Test
+	public void routeAroundObstacle() {
+		Group group = new Group();
+		Rectangle obstacle = new Rectangle(40, -50, 20, 100);
+		Connection connection = new Connection();
+		group.getChildren().addAll(obstacle, connection);
+		connection.setRouter(new ObstacleAvoidingOrthogonalRouter());
+		connection.setStartAnchor(
+				new StaticAnchor(connection, new Point(0, 0)));
+		connection.setEndAnchor(
+				new StaticAnchor(connection, new Point(100, 0)));
+
+		List<Point> points = connection.getPointsUnmodifiable();
+		assertEquals(new Point(0, 0), points.get(0));
+		assertEquals(new Point(100, 0), points.get(points.size() - 1));
+		assertEquals(4, points.size());
+		assertOrthogonal(points);
+		for (int i = 1; i < points.size(); i++) {
+			assertFalse(intersects(points.get(i - 1), points.get(i), 40, -50,
+					20, 100));
+		}
+	}
+
+	@Test
+	public void routeStraightWithoutObstacle() {
+		Group group = new Group();
+		Rectangle obstacle = new Rectangle(40, 50, 20, 100);
+		Connection connection = new Connection();
+		group.getChildren().addAll(obstacle, connection);
+		connection.setRouter(new ObstacleAvoidingOrthogonalRouter());
+		connection.setStartAnchor(
+				new StaticAnchor(connection, new Point(0, 0)));
+		connection.setEndAnchor(
+				new StaticAnchor(connection, new Point(100, 0)));
+
+		assertEquals(2, connection.getPointsUnmodifiable().size());
+	}
+
+	@Test
+	public void rerouteOnObstacleRemoval() {
+		Group group = new Group();
+		Rectangle obstacle = new Rectangle(40, -50, 20, 100);
+		Connection connection = new Connection();
+		group.getChildren().addAll(obstacle, connection);
+		ObstacleAvoidingOrthogonalRouter router = new ObstacleAvoidingOrthogonalRouter();
+		router.getObstacles().add(obstacle);
+		connection.setRouter(router);
+		connection.setStartAnchor(
+				new StaticAnchor(connection, new Point(0, 0)));
+		connection.setEndAnchor(
+				new StaticAnchor(connection, new Point(100, 0)));
+		assertEquals(4, connection.getPointsUnmodifiable().size());
+
+		// unregister the obstacle; the connection is routed around its
+		// siblings then
+		Rectangle sibling = new Rectangle(40, 50, 20, 100);
+		group.getChildren().add(sibling);
+		router.getObstacles().remove(obstacle);
+		assertEquals(4, connection.getPointsUnmodifiable().size());
+
+		// remove the sibling that is in the way
+		group.getChildren().remove(obstacle);
+		assertEquals(2, connection.getPointsUnmodifiable().size());
+	}
+
+	@Test
+	public void rerouteOnObstacleChange() {
+		Group group = new Group();
+		Rectangle obstacle = new Rectangle(40, 50, 20, 100);
+		Connection connection = new Connection();
+		group.getChildren().addAll(obstacle, connection);
+		ObstacleAvoidingOrthogonalRouter router = new ObstacleAvoidingOrthogonalRouter();
+		router.getObstacles().add(obstacle);
+		connection.setRouter(router);
+		connection.setStartAnchor(
+				new StaticAnchor(connection, new Point(0, 0)));
+		connection.setEndAnchor(
+				new StaticAnchor(connection, new Point(100, 0)));
+		assertEquals(2, connection.getPointsUnmodifiable().size());
+
+		// move the obstacle into the way
+		obstacle.setY(-50);
+		List<Point> points = connection.getPointsUnmodifiable();
+		assertEquals(4, points.size());
+		assertOrthogonal(points);
+		for (int i = 1; i < points.size(); i++) {
+			assertFalse(intersects(points.get(i - 1), points.get(i), 40, -50,
+					20, 100));
+		}
+	}
+
+	@Test
+	public void rerouteOnParameterChange() {
+		Group group = new Group();
+		Rectangle obstacle = new Rectangle(40, -50, 20, 100);
+		Connection connection = new Connection();
+		group.getChildren().addAll(obstacle, connection);
+		ObstacleAvoidingOrthogonalRouter router = new ObstacleAvoidingOrthogonalRouter();
+		connection.setRouter(router);
+		connection.setStartAnchor(
+				new StaticAnchor(connection, new Point(0, 0)));
+		connection.setEndAnchor(
+				new StaticAnchor(connection, new Point(100, 0)));
+		List<Point> points = connection.getPointsUnmodifiable();
+		assertEquals(4, points.size());
+		// the route passes above or below the obstacle
+		double distance = Math.abs(points.get(1).y) - 50;
+
+		// increase the margin, so that the route keeps a larger distance
+		router.setMargin(router.getMargin() + 5);
+		points = connection.getPointsUnmodifiable();
+		assertEquals(4, points.size());
+		assertOrthogonal(points);
+		assertTrue(Math.abs(points.get(1).y) - 50 > distance);
+	}
+
+	@Test
+	public void rerouteOnSiblingChange() {
+		Group group = new Group();
+		Rectangle obstacle = new Rectangle(40, 50, 20, 100);
+		Rectangle unrelated = new Rectangle(40, 500, 20, 20);
+		Connection connection = new Connection();
+		group.getChildren().addAll(obstacle, unrelated, connection);
+		connection.setRouter(new ObstacleAvoidingOrthogonalRouter());
+		connection.setStartAnchor(
+				new StaticAnchor(connection, new Point(0, 0)));
+		connection.setEndAnchor(
+				new StaticAnchor(connection, new Point(100, 0)));
+		assertEquals(2, connection.getPointsUnmodifiable().size());
+
+		// move the sibling into the way
+		obstacle.setY(-50);
+		List<Point> points = connection.getPointsUnmodifiable();
+		assertEquals(4, points.size());
+		assertOrthogonal(points);
+		for (int i = 1; i < points.size(); i++) {
+			assertFalse(intersects(points.get(i - 1), points.get(i), 40, -50,
+					20, 100));
+		}
+
+		// add another sibling that blocks the route
+		unrelated.setVisible(false);
+		Rectangle blocker = new Rectangle(-10, -80, 120, 20);
+		group.getChildren().add(blocker);
+		points = connection.getPointsUnmodifiable();
+		assertOrthogonal(points);
+		for (int i = 1; i < points.size(); i++) {
+			assertFalse(intersects(points.get(i - 1), points.get(i), 40, -50,
+					20, 100));
+			assertFalse(intersects(points.get(i - 1), points.get(i), -10, -80,
+					120, 20));
+		}
+
+		// hide the sibling that is in the way
+		obstacle.setVisible(false);
+		assertEquals(2, connection.getPointsUnmodifiable().size());
+	}
+
+}
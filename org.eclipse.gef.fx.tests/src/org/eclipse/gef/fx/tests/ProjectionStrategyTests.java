@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.gef.fx.anchors.AnchorKey;
+import org.eclipse.gef.fx.anchors.ChopBoxStrategy;
+import org.eclipse.gef.fx.anchors.DynamicAnchor;
+import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchorageReferenceGeometry;
+import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchoredReferencePoint;
+import org.eclipse.gef.fx.anchors.ProjectionStrategy;
+import org.eclipse.gef.geometry.planar.IGeometry;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Polygon;
+import org.junit.Test;
+
+public class ProjectionStrategyTests {
+
+	@Test
+	public void chopBoxCacheInvalidatedOnAnchorageChange() {
+		javafx.scene.shape.Rectangle anchorage = new javafx.scene.shape.Rectangle(0, 0, 100, 50);
+		ChopBoxStrategy strategy = new ChopBoxStrategy();
+		DynamicAnchor a = new DynamicAnchor(anchorage, strategy);
+		javafx.scene.shape.Rectangle anchored = new javafx.scene.shape.Rectangle(0, 0, 10, 10);
+		AnchorKey anchorKey = new AnchorKey(anchored, "role");
+		a.attach(anchorKey);
+
+		a.getComputationParameter(anchorKey, AnchoredReferencePoint.class).set(new Point(50, 100));
+		assertEquals(new Point(50, 50), a.getPosition(anchorKey));
+
+		// moving the anchorage invalidates the cached transformations
+		anchorage.setTranslateX(100);
+		a.getComputationParameter(anchorKey, AnchoredReferencePoint.class).set(new Point(150, 101));
+		assertEquals(new Point(150, 50), a.getPosition(anchorKey));
+
+		// resizing the anchorage invalidates the cached outline
+		anchorage.setHeight(80);
+		a.getComputationParameter(anchorKey, AnchoredReferencePoint.class).set(new Point(150, 100));
+		assertEquals(new Point(150, 80), a.getPosition(anchorKey));
+	}
+
+	@Test
+	public void outlineRecomputedOnLayoutBoundsChange() {
+		javafx.scene.shape.Rectangle anchorage = new javafx.scene.shape.Rectangle(0, 0, 50, 50);
+		DynamicAnchor a = new DynamicAnchor(anchorage, new ProjectionStrategy());
+		AnchorageReferenceGeometry geometry = a.getComputationParameter(AnchorageReferenceGeometry.class);
+		IGeometry outline = geometry.get();
+		assertSame(outline, geometry.get());
+
+		// layout bounds change invalidates the bound outline
+		anchorage.setWidth(100);
+		IGeometry resizedOutline = geometry.get();
+		assertNotSame(outline, resizedOutline);
+		assertEquals(100, resizedOutline.getBounds().getWidth(), 1);
+	}
+
+	@Test
+	public void projectionOnPolygon() {
+		// comb-like polygon with a lot of segments
+		double[] coords = new double[44];
+		for (int i = 0; i < 10; i++) {
+			coords[i * 4] = i * 10;
+			coords[i * 4 + 1] = 0;
+			coords[i * 4 + 2] = i * 10 + 5;
+			coords[i * 4 + 3] = 20;
+		}
+		coords[40] = 100;
+		coords[41] = 50;
+		coords[42] = 0;
+		coords[43] = 50;
+		javafx.scene.shape.Rectangle anchorage = new javafx.scene.shape.Rectangle(0, 0, 100, 50);
+		DynamicAnchor a = new DynamicAnchor(anchorage, new ProjectionStrategy());
+		AnchorageReferenceGeometry computationParameter = a.getComputationParameter(AnchorageReferenceGeometry.class);
+		if (computationParameter.isBound()) {
+			computationParameter.unbind();
+		}
+		computationParameter.set(new Polygon(coords));
+
+		javafx.scene.shape.Rectangle anchored = new javafx.scene.shape.Rectangle(0, 0, 10, 10);
+		AnchorKey anchorKey = new AnchorKey(anchored, "role");
+		a.attach(anchorKey);
+
+		a.getComputationParameter(anchorKey, AnchoredReferencePoint.class).set(new Point(50, 100));
+		assertEquals(new Point(50, 50), a.getPosition(anchorKey));
+
+		a.getComputationParameter(anchorKey, AnchoredReferencePoint.class).set(new Point(-10, 50));
+		assertEquals(new Point(0, 50), a.getPosition(anchorKey));
+
+		a.getComputationParameter(anchorKey, AnchoredReferencePoint.class).set(new Point(40, -10));
+		assertEquals(new Point(40, 0), a.getPosition(anchorKey));
+
+		// moving the anchorage invalidates the cached outline (in scene)
+		anchorage.setTranslateX(10);
+		a.getComputationParameter(anchorKey, AnchoredReferencePoint.class).set(new Point(60, 100));
+		assertEquals(new Point(60, 50), a.getPosition(anchorKey));
+	}
+
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.eclipse.gef.fx.utils.SpatialIndex;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.junit.Test;
+
+public class SpatialIndexTests {
+
+	@Test
+	public void elementsAt() {
+		SpatialIndex<String> index = new SpatialIndex<>(10);
+		index.put("a", new Rectangle(0, 0, 5, 5));
+		index.put("b", new Rectangle(3, 3, 20, 20));
+		index.put("c", new Rectangle(100, 100, 5, 5));
+
+		assertEquals(new HashSet<>(Arrays.asList("a", "b")),
+				new HashSet<>(index.getElementsAt(4, 4)));
+		assertEquals(Arrays.asList("b"), index.getElementsAt(15, 15));
+		assertEquals(Arrays.asList("c"), index.getElementsAt(102, 102));
+		assertTrue(index.getElementsAt(50, 50).isEmpty());
+		assertTrue(index.getElementsAt(-1, -1).isEmpty());
+	}
+
+	@Test
+	public void elementsWithin() {
+		SpatialIndex<String> index = new SpatialIndex<>(10);
+		index.put("a", new Rectangle(0, 0, 5, 5));
+		index.put("b", new Rectangle(3, 3, 20, 20));
+		index.put("c", new Rectangle(100, 100, 5, 5));
+
+		Rectangle area = new Rectangle(-1, -1, 30, 30);
+		assertEquals(new HashSet<>(Arrays.asList("a", "b")),
+				new HashSet<>(index.getElementsContainedIn(area)));
+		assertEquals(new HashSet<>(Arrays.asList("a", "b")),
+				new HashSet<>(index.getElementsIntersecting(area)));
+
+		area = new Rectangle(2, 2, 200, 200);
+		assertEquals(new HashSet<>(Arrays.asList("b", "c")),
+				new HashSet<>(index.getElementsContainedIn(area)));
+		assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")),
+				new HashSet<>(index.getElementsIntersecting(area)));
+	}
+
+	@Test
+	public void oversizedElements() {
+		SpatialIndex<String> index = new SpatialIndex<>(1);
+		index.put("huge", new Rectangle(-1000, -1000, 2000, 2000));
+		index.put("small", new Rectangle(0, 0, 1, 1));
+
+		assertEquals(new HashSet<>(Arrays.asList("huge", "small")),
+				new HashSet<>(index.getElementsAt(0.5, 0.5)));
+		assertEquals(Arrays.asList("huge"), index.getElementsAt(500, 500));
+		assertEquals(Arrays.asList("small"), index
+				.getElementsContainedIn(new Rectangle(-1, -1, 3, 3)));
+	}
+
+	@Test
+	public void updateAndRemove() {
+		SpatialIndex<String> index = new SpatialIndex<>(10);
+		index.put("a", new Rectangle(0, 0, 5, 5));
+		assertEquals(1, index.size());
+		assertEquals(new Rectangle(0, 0, 5, 5), index.getBounds("a"));
+
+		// move "a" to a different cell
+		index.put("a", new Rectangle(50, 50, 5, 5));
+		assertEquals(1, index.size());
+		assertTrue(index.getElementsAt(2, 2).isEmpty());
+		assertEquals(Arrays.asList("a"), index.getElementsAt(52, 52));
+
+		assertTrue(index.remove("a"));
+		assertFalse(index.remove("a"));
+		assertFalse(index.contains("a"));
+		assertTrue(index.getElementsAt(52, 52).isEmpty());
+		assertEquals(0, index.size());
+	}
+
+}
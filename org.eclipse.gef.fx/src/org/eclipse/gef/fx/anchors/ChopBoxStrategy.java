@@ -17,7 +17,7 @@ import java.util.Set;
 
 import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchorageReferenceGeometry;
 import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchoredReferencePoint;
-import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.fx.nodes.ConnectionRefreshScheduler;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.IGeometry;
 import org.eclipse.gef.geometry.planar.IShape;
@@ -25,7 +25,6 @@ import org.eclipse.gef.geometry.planar.Line;
 import org.eclipse.gef.geometry.planar.Path;
 import org.eclipse.gef.geometry.planar.Point;
 
-import javafx.geometry.Point2D;
 import javafx.scene.Node;
 
 /**
@@ -99,18 +98,17 @@ public class ChopBoxStrategy extends ProjectionStrategy {
 	 */
 	protected Point computeAnchorageReferencePointInScene(Node anchorage,
 			IGeometry geometryInLocal, Point anchoredReferencePointInScene) {
-		Point2D anchoredReferencePointInAnchorageLocal = anchorage.sceneToLocal(
-				anchoredReferencePointInScene.x,
-				anchoredReferencePointInScene.y);
+		// use the cached transformations of the anchorage
+		Point anchoredReferencePointInAnchorageLocal = getAnchorageSceneToLocalTx(
+				anchorage).getTransformed(anchoredReferencePointInScene);
 		Point anchorageReferencePointInLocal = computeAnchorageReferencePointInLocal(
 				anchorage, geometryInLocal,
-				new Point(anchoredReferencePointInAnchorageLocal.getX(),
-						anchoredReferencePointInAnchorageLocal.getY()));
+				anchoredReferencePointInAnchorageLocal);
 		if (anchorageReferencePointInLocal == null) {
 			return null;
 		}
-		return NodeUtils.localToScene(anchorage,
-				anchorageReferencePointInLocal);
+		return getAnchorageLocalToSceneTx(anchorage)
+				.getTransformed(anchorageReferencePointInLocal);
 	}
 
 	@Override
@@ -123,8 +121,9 @@ public class ChopBoxStrategy extends ProjectionStrategy {
 		Point anchoredReferencePointInLocal = Parameter
 				.get(parameters, AnchoredReferencePoint.class).get();
 
-		Point anchoredReferencePointInScene = NodeUtils.localToScene(anchored,
-				anchoredReferencePointInLocal);
+		Point anchoredReferencePointInScene = ConnectionRefreshScheduler
+				.getLocalToSceneTx(anchored)
+				.getTransformed(anchoredReferencePointInLocal);
 
 		Point anchorageReferencePointInScene = computeAnchorageReferencePointInScene(
 				anchorage, anchorageReferenceGeometryInLocal,
@@ -135,10 +134,8 @@ public class ChopBoxStrategy extends ProjectionStrategy {
 					parameters);
 		}
 
-		IGeometry anchorageGeometryInScene = NodeUtils.localToScene(anchorage,
-				anchorageReferenceGeometryInLocal);
-		List<ICurve> anchorageOutlinesInScene = getOutlineSegments(
-				anchorageGeometryInScene);
+		List<ICurve> anchorageOutlinesInScene = getAnchorageOutlinesInScene(
+				anchorage, anchorageReferenceGeometryInLocal);
 
 		Line referenceLineInScene = new Line(anchorageReferencePointInScene,
 				anchoredReferencePointInScene);
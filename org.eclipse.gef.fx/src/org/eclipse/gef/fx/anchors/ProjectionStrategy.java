@@ -12,20 +12,29 @@
  *******************************************************************************/
 package org.eclipse.gef.fx.anchors;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchorageReferenceGeometry;
 import org.eclipse.gef.fx.anchors.DynamicAnchor.AnchoredReferencePoint;
-import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.fx.nodes.ConnectionRefreshScheduler;
+import org.eclipse.gef.geometry.planar.AffineTransform;
+import org.eclipse.gef.geometry.planar.BezierCurve;
 import org.eclipse.gef.geometry.planar.ICurve;
 import org.eclipse.gef.geometry.planar.IGeometry;
 import org.eclipse.gef.geometry.planar.IShape;
 import org.eclipse.gef.geometry.planar.Path;
 import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
 import javafx.scene.Node;
 
 /**
@@ -43,12 +52,54 @@ import javafx.scene.Node;
  * outlines.</li>
  * <li>Return the nearest projection to the anchored reference point.</li>
  * </ol>
+ * The local-to-scene transformations are retrieved via
+ * {@link ConnectionRefreshScheduler#getLocalToSceneTx(Node)}, so that they are
+ * computed only once per routing pass. The anchorage outlines (in scene) and
+ * the local-to-scene transformation of an anchorage are cached per anchorage,
+ * and the cache is invalidated when the bounds or the local-to-scene
+ * transformation of the anchorage change, or when another anchorage reference
+ * geometry is passed in. As a {@link DynamicAnchor} (and therewith its
+ * strategy) is usually shared by all anchoreds of an anchorage, the outlines
+ * are thereby computed only once for all connections that are anchored at
+ * the same anchorage. Furthermore, the outlines are split into their
+ * individual segments, so that segments whose bounds are further away from
+ * the anchored reference point than the nearest projection found so far can
+ * be skipped.
  *
  * @author anyssen
  * @author mwienand
  */
 public class ProjectionStrategy implements IComputationStrategy {
 
+	// the cached transformations and outlines (in scene) of an anchorage,
+	// which are invalidated when the anchorage's bounds or local-to-scene
+	// transformation change
+	private static class AnchorageCache {
+		private boolean valid = false;
+		private AffineTransform localToSceneTx;
+		private AffineTransform sceneToLocalTx;
+		// the outlines (in scene) and the geometry they were computed for
+		private IGeometry geometryInLocal;
+		private List<ICurve> outlinesInScene;
+		// segments and segment bounds of the cached outlines, used to skip
+		// segments that cannot provide the nearest projection
+		private BezierCurve[] segmentsInScene;
+		private Rectangle[] segmentBoundsInScene;
+
+		// referenced by the cache, so that the (weakly registered) listener
+		// does not outlive it
+		private final InvalidationListener invalidationListener = new InvalidationListener() {
+			@Override
+			public void invalidated(Observable observable) {
+				valid = false;
+			}
+		};
+	}
+
+	private final Map<Node, AnchorageCache> anchorageCaches = new WeakHashMap<>();
+	// the cache that provided the most recently returned outlines
+	private AnchorageCache currentAnchorageCache;
+
 	@Override
 	public Point computePositionInScene(Node anchorage, Node anchored,
 			Set<Parameter<?>> parameters) {
@@ -58,17 +109,14 @@ public class ProjectionStrategy implements IComputationStrategy {
 		Point anchoredReferencePointInLocal = Parameter
 				.get(parameters, AnchoredReferencePoint.class).get();
 
-		// determine anchorage geometry in scene
-		IGeometry anchorageGeometryInScene = NodeUtils.localToScene(anchorage,
-				anchorageReferenceGeometryInLocal);
-
 		// determine anchorage outlines in scene
-		List<ICurve> anchorageOutlinesInScene = getOutlineSegments(
-				anchorageGeometryInScene);
+		List<ICurve> anchorageOutlinesInScene = getAnchorageOutlinesInScene(
+				anchorage, anchorageReferenceGeometryInLocal);
 
 		// transform anchored reference point to scene
-		Point anchoredReferencePointInScene = NodeUtils.localToScene(anchored,
-				anchoredReferencePointInLocal);
+		Point anchoredReferencePointInScene = ConnectionRefreshScheduler
+				.getLocalToSceneTx(anchored)
+				.getTransformed(anchoredReferencePointInLocal);
 
 		// compute nearest projection of the anchored reference point on the
 		// anchorage outlines
@@ -93,6 +141,12 @@ public class ProjectionStrategy implements IComputationStrategy {
 	protected Point computeProjectionInScene(
 			List<ICurve> anchorageOutlinesInScene,
 			Point anchoredReferencePointInScene, Set<Parameter<?>> parameters) {
+		AnchorageCache cache = currentAnchorageCache;
+		if (cache != null && anchorageOutlinesInScene == cache.outlinesInScene) {
+			BezierCurve[] segments = getSegmentsInScene(cache);
+			return computeProjectionInScene(segments,
+					cache.segmentBoundsInScene, anchoredReferencePointInScene);
+		}
 		Point[] projections = new Point[anchorageOutlinesInScene.size()];
 		for (int i = 0; i < anchorageOutlinesInScene.size(); i++) {
 			ICurve c = anchorageOutlinesInScene.get(i);
@@ -101,6 +155,134 @@ public class ProjectionStrategy implements IComputationStrategy {
 		return Point.nearest(anchoredReferencePointInScene, projections);
 	}
 
+	private Point computeProjectionInScene(BezierCurve[] segments,
+			Rectangle[] segmentBounds, Point reference) {
+		if (segments.length == 0) {
+			return null;
+		}
+		// the distance to the bounds of a segment is a lower bound for the
+		// distance to its projection, so we start with the segment that has
+		// the nearest bounds and skip all segments whose bounds are further
+		// away than the nearest projection found so far
+		double[] lowerBounds = new double[segments.length];
+		int first = 0;
+		for (int i = 0; i < segments.length; i++) {
+			lowerBounds[i] = getDistance(segmentBounds[i], reference);
+			if (lowerBounds[i] < lowerBounds[first]) {
+				first = i;
+			}
+		}
+		Point nearest = segments[first].getProjection(reference);
+		double nearestDistance = nearest.getDistance(reference);
+		for (int i = 0; i < segments.length; i++) {
+			if (i == first || lowerBounds[i] >= nearestDistance) {
+				continue;
+			}
+			Point projection = segments[i].getProjection(reference);
+			double distance = projection.getDistance(reference);
+			if (distance < nearestDistance) {
+				nearest = projection;
+				nearestDistance = distance;
+			}
+		}
+		return nearest;
+	}
+
+	// returns the (valid) cache for the given anchorage
+	private AnchorageCache getAnchorageCache(Node anchorage) {
+		AnchorageCache cache = anchorageCaches.get(anchorage);
+		if (cache == null) {
+			cache = new AnchorageCache();
+			WeakInvalidationListener listener = new WeakInvalidationListener(
+					cache.invalidationListener);
+			anchorage.boundsInLocalProperty().addListener(listener);
+			anchorage.localToSceneTransformProperty().addListener(listener);
+			anchorageCaches.put(anchorage, cache);
+		}
+		if (!cache.valid) {
+			// validate the observed properties, so that subsequent changes
+			// are reported again
+			anchorage.getBoundsInLocal();
+			anchorage.getLocalToSceneTransform();
+			cache.localToSceneTx = ConnectionRefreshScheduler
+					.getLocalToSceneTx(anchorage);
+			cache.sceneToLocalTx = null;
+			cache.outlinesInScene = null;
+			cache.segmentsInScene = null;
+			cache.segmentBoundsInScene = null;
+			cache.valid = true;
+		}
+		return cache;
+	}
+
+	/**
+	 * Returns the local-to-scene transformation of the given anchorage. The
+	 * result is cached per anchorage until the bounds or the local-to-scene
+	 * transformation of the anchorage change.
+	 *
+	 * @param anchorage
+	 *            The anchorage visual.
+	 * @return The local-to-scene transformation of the given anchorage.
+	 */
+	protected AffineTransform getAnchorageLocalToSceneTx(Node anchorage) {
+		return getAnchorageCache(anchorage).localToSceneTx.getCopy();
+	}
+
+	/**
+	 * Returns the outline segments of the given anchorage reference geometry
+	 * transformed into scene coordinates. The result is cached per anchorage
+	 * and reused as long as the same geometry is passed in and the bounds and
+	 * the local-to-scene transformation of the anchorage did not change.
+	 *
+	 * @param anchorage
+	 *            The anchorage visual.
+	 * @param anchorageReferenceGeometryInLocal
+	 *            The anchorage reference geometry within the local coordinate
+	 *            system of the anchorage visual.
+	 * @return A list of {@link ICurve}s representing the outline of the
+	 *         anchorage reference geometry in scene coordinates.
+	 */
+	protected List<ICurve> getAnchorageOutlinesInScene(Node anchorage,
+			IGeometry anchorageReferenceGeometryInLocal) {
+		AnchorageCache cache = getAnchorageCache(anchorage);
+		if (cache.outlinesInScene == null
+				|| cache.geometryInLocal != anchorageReferenceGeometryInLocal) {
+			cache.outlinesInScene = getOutlineSegments(
+					anchorageReferenceGeometryInLocal
+							.getTransformed(cache.localToSceneTx));
+			cache.geometryInLocal = anchorageReferenceGeometryInLocal;
+			cache.segmentsInScene = null;
+			cache.segmentBoundsInScene = null;
+		}
+		currentAnchorageCache = cache;
+		return cache.outlinesInScene;
+	}
+
+	/**
+	 * Returns the scene-to-local transformation of the given anchorage, i.e.
+	 * the inverse of its {@link #getAnchorageLocalToSceneTx(Node)
+	 * local-to-scene transformation}, which is cached alike.
+	 *
+	 * @param anchorage
+	 *            The anchorage visual.
+	 * @return The scene-to-local transformation of the given anchorage.
+	 */
+	protected AffineTransform getAnchorageSceneToLocalTx(Node anchorage) {
+		AnchorageCache cache = getAnchorageCache(anchorage);
+		if (cache.sceneToLocalTx == null) {
+			cache.sceneToLocalTx = cache.localToSceneTx.getInverse();
+		}
+		return cache.sceneToLocalTx.getCopy();
+	}
+
+	private double getDistance(Rectangle bounds, Point p) {
+		double dx = Math.max(0, Math.max(bounds.getX() - p.x,
+				p.x - bounds.getX() - bounds.getWidth()));
+		double dy = Math.max(0, Math.max(bounds.getY() - p.y,
+				p.y - bounds.getY() - bounds.getHeight()));
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+
 	/**
 	 * Determines the outline of the given {@link IGeometry}, represented as a
 	 * list of {@link ICurve}s.
@@ -131,4 +313,22 @@ public class ProjectionStrategy implements IComputationStrategy {
 		parameters.add(AnchoredReferencePoint.class);
 		return parameters;
 	}
+
+	// splits the cached outlines into their Bezier segments (lazily)
+	private BezierCurve[] getSegmentsInScene(AnchorageCache cache) {
+		if (cache.segmentsInScene == null) {
+			List<BezierCurve> segments = new ArrayList<>();
+			for (ICurve outline : cache.outlinesInScene) {
+				Collections.addAll(segments, outline.toBezier());
+			}
+			cache.segmentsInScene = segments
+					.toArray(new BezierCurve[segments.size()]);
+			cache.segmentBoundsInScene = new Rectangle[cache.segmentsInScene.length];
+			for (int i = 0; i < cache.segmentsInScene.length; i++) {
+				cache.segmentBoundsInScene[i] = cache.segmentsInScene[i]
+						.getBounds();
+			}
+		}
+		return cache.segmentsInScene;
+	}
 }
\ No newline at end of file
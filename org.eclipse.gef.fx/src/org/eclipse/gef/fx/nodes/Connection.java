@@ -308,6 +308,8 @@ public class Connection extends Group {
 		}
 	};
 	private boolean inRefresh = false;
+	private boolean refreshDeferred = false;
+	private boolean refreshPending = false;
 
 	/**
 	 * Constructs a new {@link Connection} whose start and end point are set to
@@ -585,6 +587,15 @@ public class Connection extends Group {
 		return curveProperty;
 	}
 
+	/**
+	 * Performs a pending (deferred) {@link #refresh()}, if any.
+	 */
+	void flushRefresh() {
+		if (refreshPending && !inRefresh) {
+			doRefresh();
+		}
+	}
+
 	/**
 	 * Returns an {@link ObjectProperty} wrapping the end decoration
 	 * {@link Node}.
@@ -665,6 +676,8 @@ public class Connection extends Group {
 	 * @return The logical center of this {@link Connection}.
 	 */
 	public Point getCenter() {
+		// the center is computed from the curve, which has to be up-to-date
+		flushRefresh();
 		// TODO: we would better delegate this to interpolator, as there we can
 		// exchange the logic
 		BezierCurve[] bezierCurves = null;
@@ -777,6 +790,7 @@ public class Connection extends Group {
 	 *         <code>null</code>.
 	 */
 	public Point getControlPoint(int index) {
+		flushRefresh();
 		return points.get(getAnchorIndex(getControlAnchorKey(index)));
 	}
 
@@ -853,6 +867,7 @@ public class Connection extends Group {
 	 *         <code>null</code>.
 	 */
 	public Point getEndPoint() {
+		flushRefresh();
 		return points.get(getAnchorIndex(getEndAnchorKey()));
 	}
 
@@ -892,6 +907,7 @@ public class Connection extends Group {
 	 * @see #getPointsUnmodifiable()
 	 */
 	public Point getPoint(int index) {
+		flushRefresh();
 		return points.get(index);
 	}
 
@@ -903,6 +919,7 @@ public class Connection extends Group {
 	 * @return The {@link Point}s constituting this {@link Connection}.
 	 */
 	public ObservableList<Point> getPointsUnmodifiable() {
+		flushRefresh();
 		return FXCollections.unmodifiableObservableList(points);
 	}
 
@@ -962,6 +979,7 @@ public class Connection extends Group {
 	 *         <code>null</code>.
 	 */
 	public Point getStartPoint() {
+		flushRefresh();
 		return points.get(getAnchorIndex(getStartAnchorKey()));
 	}
 
@@ -1049,6 +1067,19 @@ public class Connection extends Group {
 		return isConnected(getEndAnchor());
 	}
 
+	/**
+	 * Returns <code>true</code> if refreshes of this {@link Connection} are
+	 * deferred to the next pulse (when requested on the JavaFX application
+	 * thread). Otherwise returns <code>false</code> (default).
+	 *
+	 * @return <code>true</code> if refreshes are deferred, otherwise
+	 *         <code>false</code>.
+	 * @see #setRefreshDeferred(boolean)
+	 */
+	public boolean isRefreshDeferred() {
+		return refreshDeferred;
+	}
+
 	/**
 	 * Returns <code>true</code> if the currently assigned
 	 * {@link #getStartAnchor() start anchor} is bound to an anchorage.
@@ -1070,6 +1101,7 @@ public class Connection extends Group {
 	 *         {@link Connection}'s points.
 	 */
 	public ReadOnlyListProperty<Point> pointsUnmodifiableProperty() {
+		flushRefresh();
 		// property is created lazily to save memory
 		if (pointsUnmodifiableProperty == null) {
 			pointsUnmodifiableProperty = new PointsUnmodifiableProperty();
@@ -1153,6 +1185,10 @@ public class Connection extends Group {
 	 * {@link #getEndDecoration() end decoration} of this {@link Connection}.
 	 * </li>
 	 * </ol>
+	 * When {@link #isRefreshDeferred() deferred refreshes} are enabled and
+	 * this method is called on the JavaFX application thread, the refresh is
+	 * deferred to the next pulse by the {@link ConnectionRefreshScheduler}, so
+	 * that subsequent refresh requests are coalesced.
 	 */
 	protected void refresh() {
 		// guard against recomputing the curveProperty while recomputing the
@@ -1160,6 +1196,19 @@ public class Connection extends Group {
 		if (inRefresh) {
 			return;
 		}
+		if (refreshDeferred && ConnectionRefreshScheduler.schedule(this)) {
+			refreshPending = true;
+			return;
+		}
+		doRefresh();
+	}
+
+	private void doRefresh() {
+		if (refreshPending) {
+			// only scheduled (on the JavaFX application thread) if pending
+			refreshPending = false;
+			ConnectionRefreshScheduler.unschedule(this);
+		}
 		inRefresh = true;
 
 		// clear visuals except for the curveProperty
@@ -1368,6 +1417,25 @@ public class Connection extends Group {
 		return routerProperty;
 	}
 
+	/**
+	 * Schedules a {@link #refresh()} for the next pulse, independent of
+	 * whether {@link #isRefreshDeferred() deferred refreshes} are enabled, so
+	 * that invalidations reported by the {@link IConnectionRouter} are
+	 * coalesced. Refreshes synchronously if called outside of the JavaFX
+	 * application thread, or while this {@link Connection} is not part of a
+	 * scene.
+	 */
+	void scheduleRefresh() {
+		if (inRefresh) {
+			return;
+		}
+		if (ConnectionRefreshScheduler.schedule(this)) {
+			refreshPending = true;
+			return;
+		}
+		doRefresh();
+	}
+
 	/**
 	 * Replaces the anchor currently registered for the given {@link AnchorKey}
 	 * with the given {@link IAnchor}.
@@ -1668,6 +1736,34 @@ public class Connection extends Group {
 		refresh();
 	}
 
+	/**
+	 * Specifies whether refreshes of this {@link Connection} are deferred to
+	 * the next pulse. If enabled, a refresh that is requested on the JavaFX
+	 * application thread only marks this {@link Connection} as dirty, and the
+	 * {@link ConnectionRefreshScheduler} of its {@link javafx.scene.Scene}
+	 * routes and interpolates it once before the next pulse is rendered, so
+	 * that multiple refresh requests (e.g. due to anchor position changes
+	 * during a drag) are coalesced. The points of this {@link Connection} are
+	 * always up-to-date, because the point accessors perform a pending
+	 * refresh. However, the curve and the bounds of this {@link Connection}
+	 * are only updated during the next pulse. Refreshes that are requested
+	 * outside of the JavaFX application thread, or while this
+	 * {@link Connection} is not part of a scene, are always performed
+	 * synchronously.
+	 * <p>
+	 * Disabling deferred refreshes performs a pending refresh immediately.
+	 *
+	 * @param refreshDeferred
+	 *            <code>true</code> to defer refreshes to the next pulse,
+	 *            <code>false</code> to perform refreshes synchronously.
+	 */
+	public void setRefreshDeferred(boolean refreshDeferred) {
+		this.refreshDeferred = refreshDeferred;
+		if (!refreshDeferred) {
+			flushRefresh();
+		}
+	}
+
 	/**
 	 * Sets the {@link IConnectionRouter} of this {@link Connection} to the
 	 * given value.
@@ -0,0 +1,352 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.nodes;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.fx.anchors.IAnchor;
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.geometry.planar.AffineTransform;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+/**
+ * The {@link ConnectionRefreshScheduler} coalesces the refreshes of
+ * {@link Connection}s that {@link Connection#setRefreshDeferred(boolean)
+ * defer their refreshes}, so that each of these {@link Connection}s is routed
+ * and interpolated at most once per JavaFX pulse, no matter how many of its
+ * anchors, hints, control points, or decorations changed in between.
+ * <p>
+ * A {@link ConnectionRefreshScheduler} is maintained per {@link Scene} (see
+ * {@link #get(Scene)}), or per container it is {@link #install(Parent)
+ * installed} at (e.g. the root visual of a viewer), and is responsible for the
+ * {@link Connection}s within that {@link Scene} or container (see
+ * {@link #find(Node)}). When such a {@link Connection} needs to be refreshed
+ * on the JavaFX application thread, it is only marked as dirty within the
+ * responsible scheduler, and all dirty {@link Connection}s of that scheduler
+ * are refreshed within a single pass before the next pulse is rendered (using
+ * an {@link AnimationTimer} that only runs while {@link Connection}s are
+ * dirty). A dirty {@link Connection} is also refreshed
+ * when its points are queried, so that clients always observe up-to-date
+ * points. Refreshes that are requested outside of the JavaFX application
+ * thread, or for {@link Connection}s that are not part of a {@link Scene}, are
+ * performed synchronously.
+ * <p>
+ * During a {@link #flush()}, the local-to-scene transformations that are
+ * requested via {@link #getLocalToSceneTx(Node)} (e.g. by the computation
+ * strategies of anchors) for {@link Node}s the flushed scheduler is
+ * responsible for are cached, so that the transformations of shared anchorages and ancestors are
+ * only computed once per routing pass.
+ * <p>
+ * The scheduler state is only accessed on the JavaFX application thread.
+ */
+public class ConnectionRefreshScheduler {
+
+	/**
+	 * Returns the {@link ConnectionRefreshScheduler} that is responsible for
+	 * the given {@link Node}, i.e. the scheduler that is installed at its
+	 * nearest ancestor (including the {@link Node} itself), or the scheduler
+	 * of its {@link Scene}, if any. Returns <code>null</code> if no
+	 * {@link ConnectionRefreshScheduler} is responsible for the given
+	 * {@link Node}.
+	 *
+	 * @param node
+	 *            The {@link Node} for which to return the responsible
+	 *            {@link ConnectionRefreshScheduler}.
+	 * @return The {@link ConnectionRefreshScheduler} that is responsible for
+	 *         the given {@link Node}, or <code>null</code>.
+	 */
+	public static ConnectionRefreshScheduler find(Node node) {
+		Node container = node;
+		while (container != null) {
+			if (container.hasProperties()) {
+				Object scheduler = container.getProperties()
+						.get(ConnectionRefreshScheduler.class);
+				if (scheduler != null) {
+					return (ConnectionRefreshScheduler) scheduler;
+				}
+			}
+			container = container.getParent();
+		}
+		Scene scene = node.getScene();
+		return scene == null ? null
+				: (ConnectionRefreshScheduler) scene.getProperties()
+						.get(ConnectionRefreshScheduler.class);
+	}
+
+	/**
+	 * Returns the {@link ConnectionRefreshScheduler} of the given
+	 * {@link Scene}, which is created lazily and stored within the
+	 * {@link Scene#getProperties() properties} of the {@link Scene}, so that
+	 * it does not outlive it.
+	 *
+	 * @param scene
+	 *            The {@link Scene} for which to return the
+	 *            {@link ConnectionRefreshScheduler}.
+	 * @return The {@link ConnectionRefreshScheduler} of the given
+	 *         {@link Scene}.
+	 */
+	public static ConnectionRefreshScheduler get(Scene scene) {
+		if (scene == null) {
+			throw new IllegalArgumentException("scene may not be null.");
+		}
+		ConnectionRefreshScheduler scheduler = (ConnectionRefreshScheduler) scene
+				.getProperties().get(ConnectionRefreshScheduler.class);
+		if (scheduler == null) {
+			scheduler = new ConnectionRefreshScheduler();
+			scene.getProperties().put(ConnectionRefreshScheduler.class,
+					scheduler);
+		}
+		return scheduler;
+	}
+
+	/**
+	 * Returns the local-to-scene transformation of the given {@link Node}
+	 * (see {@link NodeUtils#getLocalToSceneTx(Node)}). During a
+	 * {@link #flush()} of the scheduler that is responsible for the
+	 * {@link Node} (see {@link #find(Node)}), the transformations of the given {@link Node} and its ancestors are
+	 * cached, so that they are only computed once per routing pass. The
+	 * descendants of {@link Connection}s are excluded from the cache, because
+	 * they change when a {@link Connection} is refreshed.
+	 *
+	 * @param node
+	 *            The {@link Node} for which to return the local-to-scene
+	 *            transformation.
+	 * @return The local-to-scene transformation of the given {@link Node}.
+	 */
+	public static AffineTransform getLocalToSceneTx(Node node) {
+		ConnectionRefreshScheduler scheduler = Platform
+				.isFxApplicationThread() ? find(node) : null;
+		if (scheduler == null || scheduler.localToSceneTransforms == null) {
+			return NodeUtils.getLocalToSceneTx(node);
+		}
+		return scheduler.getCachedLocalToSceneTx(node).getCopy();
+	}
+
+	private static boolean isAnchoredAtAny(Connection connection,
+			Set<Connection> anchorages) {
+		for (IAnchor anchor : connection.getAnchorsUnmodifiable()) {
+			Node anchorage = anchor.getAnchorage();
+			while (anchorage != null) {
+				if (anchorage != connection && anchorage instanceof Connection
+						&& anchorages.contains(anchorage)) {
+					return true;
+				}
+				anchorage = anchorage.getParent();
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Installs a {@link ConnectionRefreshScheduler} at the given container,
+	 * which is responsible for all {@link Connection}s within the container
+	 * (unless another scheduler is installed at a nested container), so that
+	 * these {@link Connection}s are refreshed within a separate pass. Returns
+	 * the already installed {@link ConnectionRefreshScheduler}, if any.
+	 *
+	 * @param container
+	 *            The {@link Parent} at which to install the
+	 *            {@link ConnectionRefreshScheduler}.
+	 * @return The {@link ConnectionRefreshScheduler} that is installed at the
+	 *         given container.
+	 * @see #uninstall(Parent)
+	 */
+	public static ConnectionRefreshScheduler install(Parent container) {
+		if (container == null) {
+			throw new IllegalArgumentException("container may not be null.");
+		}
+		ConnectionRefreshScheduler scheduler = (ConnectionRefreshScheduler) container
+				.getProperties().get(ConnectionRefreshScheduler.class);
+		if (scheduler == null) {
+			scheduler = new ConnectionRefreshScheduler();
+			container.getProperties().put(ConnectionRefreshScheduler.class,
+					scheduler);
+		}
+		return scheduler;
+	}
+
+	/**
+	 * Marks the given {@link Connection} as dirty within the scheduler that is
+	 * responsible for it (see {@link #find(Node)}), or within the scheduler of
+	 * its {@link Scene}, so that it will be refreshed before the next pulse is
+	 * rendered. Returns <code>false</code> if the refresh cannot be deferred
+	 * and has to be performed synchronously by the caller.
+	 *
+	 * @param connection
+	 *            The {@link Connection} that needs to be refreshed.
+	 * @return <code>true</code> if the refresh was scheduled, otherwise
+	 *         <code>false</code>.
+	 */
+	static boolean schedule(Connection connection) {
+		if (!Platform.isFxApplicationThread()) {
+			return false;
+		}
+		ConnectionRefreshScheduler scheduler = find(connection);
+		if (scheduler == null) {
+			Scene scene = connection.getScene();
+			if (scene == null) {
+				return false;
+			}
+			scheduler = get(scene);
+		}
+		scheduler.add(connection);
+		return true;
+	}
+
+	/**
+	 * Uninstalls the {@link ConnectionRefreshScheduler} from the given
+	 * container, after refreshing its dirty {@link Connection}s.
+	 *
+	 * @param container
+	 *            The {@link Parent} from which to uninstall the
+	 *            {@link ConnectionRefreshScheduler}.
+	 * @see #install(Parent)
+	 */
+	public static void uninstall(Parent container) {
+		ConnectionRefreshScheduler scheduler = (ConnectionRefreshScheduler) container
+				.getProperties().remove(ConnectionRefreshScheduler.class);
+		if (scheduler != null) {
+			scheduler.flush();
+			scheduler.stopPulseTimer();
+		}
+	}
+
+	/**
+	 * Unschedules the given {@link Connection}, e.g. because it has been
+	 * refreshed synchronously.
+	 *
+	 * @param connection
+	 *            The {@link Connection} to unschedule.
+	 */
+	static void unschedule(Connection connection) {
+		if (!Platform.isFxApplicationThread()) {
+			return;
+		}
+		// a connection that was scheduled within a container it has been
+		// removed from is ignored when that container's scheduler flushes,
+		// because it is no longer pending
+		ConnectionRefreshScheduler scheduler = find(connection);
+		if (scheduler != null) {
+			scheduler.dirtyConnections.remove(connection);
+		}
+	}
+
+	private final Set<Connection> dirtyConnections = new LinkedHashSet<>();
+	// local-to-scene transformations cached during a flush
+	private Map<Node, AffineTransform> localToSceneTransforms;
+	private AnimationTimer pulseTimer;
+	private boolean pulseTimerRunning = false;
+
+	private ConnectionRefreshScheduler() {
+		// use get(Scene)
+	}
+
+	private void add(Connection connection) {
+		dirtyConnections.add(connection);
+		startPulseTimer();
+	}
+
+	/**
+	 * Refreshes all dirty {@link Connection}s of this scheduler within a
+	 * single routing pass. {@link Connection}s that are anchored at other
+	 * dirty {@link Connection}s are refreshed after those, so that they do not
+	 * need to be routed twice. Does nothing if called outside of the JavaFX
+	 * application thread.
+	 */
+	public void flush() {
+		if (!Platform.isFxApplicationThread()) {
+			return;
+		}
+		try {
+			while (!dirtyConnections.isEmpty()) {
+				// refreshing a connection may dirty other connections (e.g.
+				// because listeners relocated their anchorages), therefore,
+				// the cached transformations are only valid for one iteration
+				localToSceneTransforms = new IdentityHashMap<>();
+				Set<Connection> connections = new LinkedHashSet<>(
+						dirtyConnections);
+				dirtyConnections.clear();
+				List<Connection> dependentConnections = new ArrayList<>();
+				for (Connection connection : connections) {
+					if (isAnchoredAtAny(connection, connections)) {
+						dependentConnections.add(connection);
+					} else {
+						connection.flushRefresh();
+					}
+				}
+				for (Connection connection : dependentConnections) {
+					connection.flushRefresh();
+				}
+			}
+		} finally {
+			localToSceneTransforms = null;
+		}
+		stopPulseTimer();
+	}
+
+	private AffineTransform getCachedLocalToSceneTx(Node node) {
+		AffineTransform localToSceneTx = localToSceneTransforms.get(node);
+		if (localToSceneTx == null) {
+			Parent parent = node.getParent();
+			localToSceneTx = FX2Geometry
+					.toAffineTransform(node.getLocalToParentTransform());
+			if (parent != null) {
+				localToSceneTx = getCachedLocalToSceneTx(parent).getCopy()
+						.concatenate(localToSceneTx);
+			}
+			// the children of connections (i.e. curves and decorations) are
+			// relocated when their connection is refreshed
+			if (parent == null || !(parent instanceof Connection)
+					&& localToSceneTransforms.containsKey(parent)) {
+				localToSceneTransforms.put(node, localToSceneTx);
+			}
+		}
+		return localToSceneTx;
+	}
+
+	private void startPulseTimer() {
+		if (pulseTimerRunning) {
+			return;
+		}
+		if (pulseTimer == null) {
+			pulseTimer = new AnimationTimer() {
+				@Override
+				public void handle(long now) {
+					flush();
+				}
+			};
+		}
+		pulseTimer.start();
+		pulseTimerRunning = true;
+	}
+
+	private void stopPulseTimer() {
+		// stop the timer when idle, so that it does not enforce pulses
+		if (pulseTimerRunning) {
+			pulseTimer.stop();
+			pulseTimerRunning = false;
+		}
+	}
+
+}
@@ -0,0 +1,764 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.nodes;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+import org.eclipse.gef.fx.anchors.DynamicAnchor;
+import org.eclipse.gef.fx.utils.SpatialIndex;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+
+import javafx.beans.property.ReadOnlyProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableSet;
+import javafx.collections.SetChangeListener;
+import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+/**
+ * The {@link ObstacleAvoidingOrthogonalRouter} is an {@link OrthogonalRouter}
+ * that routes a {@link Connection} without explicit control points around
+ * obstacles. To do so, it builds an orthogonal visibility graph over the
+ * (inflated) bounds of the obstacles and searches a path from the start point
+ * to the end point using A*, whereby the cost of a path is its length plus a
+ * {@link #getBendPenalty() penalty} per bend. Connections with explicit control
+ * points are routed as by the {@link OrthogonalRouter}.
+ * <p>
+ * The obstacles are either specified explicitly (see {@link #getObstacles()}),
+ * or, if no obstacles are specified, all non-{@link Connection} siblings of the
+ * routed {@link Connection} are used as obstacles.
+ * <p>
+ * The router maintains the bounds of the obstacles within a spatial index per
+ * parent of the routed {@link Connection}s, which is updated incrementally when
+ * an obstacle is added, removed, or changes its bounds or visibility. The
+ * visibility graph for a route is only built over the obstacles in the
+ * vicinity of the route, which are retrieved from the index. The computed
+ * route is cached per {@link Connection}, and a change of an obstacle only
+ * invalidates those {@link Connection}s whose route passes the old or new
+ * bounds of the obstacle within the {@link #getMargin() margin}, i.e. routes
+ * that are blocked by the obstacle, or that had to avoid it. Invalidated
+ * {@link Connection}s are only marked as dirty and refreshed once before the
+ * next pulse (see {@link ConnectionRefreshScheduler}), so that subsequent
+ * obstacle changes (e.g. while dragging) do not reroute them repeatedly.
+ */
+public class ObstacleAvoidingOrthogonalRouter extends OrthogonalRouter {
+
+	// the obstacles that are considered for the connections within a specific
+	// parent, indexed by their bounds within that parent, together with the
+	// routes that were computed for these connections
+	private class ObstacleSet {
+		private final Parent parent;
+		private final boolean explicit;
+		private final SpatialIndex<Node> index = new SpatialIndex<>();
+		private final Map<Connection, Route> routes = new WeakHashMap<>();
+
+		private final ChangeListener<Object> obstacleListener = new ChangeListener<Object>() {
+			@Override
+			public void changed(ObservableValue<? extends Object> observable,
+					Object oldValue, Object newValue) {
+				update((Node) ((ReadOnlyProperty<?>) observable).getBean());
+			}
+		};
+
+		private final ListChangeListener<Node> childrenListener = new ListChangeListener<Node>() {
+			@Override
+			public void onChanged(
+					ListChangeListener.Change<? extends Node> change) {
+				while (change.next()) {
+					for (Node removed : change.getRemoved()) {
+						if (!(removed instanceof Connection)) {
+							unregister(removed);
+							update(removed);
+						}
+					}
+					for (Node added : change.getAddedSubList()) {
+						if (!(added instanceof Connection)) {
+							register(added);
+							update(added);
+						}
+					}
+				}
+			}
+		};
+
+		private final ChangeListener<Object> parentListener = new ChangeListener<Object>() {
+			@Override
+			public void changed(ObservableValue<? extends Object> observable,
+					Object oldValue, Object newValue) {
+				for (Node obstacle : obstacles) {
+					update(obstacle);
+				}
+			}
+		};
+
+		public ObstacleSet(Parent parent, boolean explicit) {
+			this.parent = parent;
+			this.explicit = explicit;
+			if (explicit) {
+				// the listeners for the explicit obstacles are registered by
+				// the router, because they are shared by all parents
+				parent.localToSceneTransformProperty()
+						.addListener(parentListener);
+				for (Node obstacle : obstacles) {
+					update(obstacle);
+				}
+			} else {
+				parent.getChildrenUnmodifiable().addListener(childrenListener);
+				for (Node child : parent.getChildrenUnmodifiable()) {
+					if (!(child instanceof Connection)) {
+						register(child);
+						update(child);
+					}
+				}
+			}
+		}
+
+		private Route computeRoute(Point start, Point end) {
+			// start with the obstacles in the vicinity of start and end point
+			// and extend the search area until the route does not leave it
+			Rectangle area = new Rectangle(start, end).expand(2 * margin,
+					2 * margin);
+			List<Rectangle> obstacleBounds = getObstacleBounds(area, start,
+					end);
+			List<Point> path = computePath(start, end, obstacleBounds);
+			while (path != null) {
+				Rectangle pathBounds = new Rectangle(path.get(0), path.get(0));
+				for (Point p : path) {
+					pathBounds.union(p);
+				}
+				pathBounds.expand(margin, margin);
+				if (area.contains(pathBounds)) {
+					break;
+				}
+				area.union(pathBounds);
+				// the area only grows, so that the obstacles within the
+				// extended area are a superset of the previous obstacles
+				List<Rectangle> extendedObstacleBounds = getObstacleBounds(area,
+						start, end);
+				if (extendedObstacleBounds.size() == obstacleBounds.size()) {
+					break;
+				}
+				obstacleBounds = extendedObstacleBounds;
+				path = computePath(start, end, obstacleBounds);
+			}
+			if (path == null) {
+				return null;
+			}
+			Route route = new Route();
+			route.start = start;
+			route.end = end;
+			route.area = area;
+			route.path = path;
+			return route;
+		}
+
+		public void dispose() {
+			if (explicit) {
+				parent.localToSceneTransformProperty()
+						.removeListener(parentListener);
+			} else {
+				parent.getChildrenUnmodifiable()
+						.removeListener(childrenListener);
+				for (Node child : parent.getChildrenUnmodifiable()) {
+					if (!(child instanceof Connection)) {
+						unregister(child);
+					}
+				}
+			}
+			index.clear();
+			routes.clear();
+		}
+
+		private Rectangle getBounds(Node obstacle) {
+			if (!obstacle.isVisible()) {
+				return null;
+			}
+			if (explicit ? !obstacles.contains(obstacle)
+					: obstacle.getParent() != parent) {
+				return null;
+			}
+			if (obstacle.getParent() == parent) {
+				return FX2Geometry.toRectangle(
+						obstacle.localToParent(obstacle.getLayoutBounds()));
+			}
+			return FX2Geometry.toRectangle(parent.sceneToLocal(
+					obstacle.localToScene(obstacle.getLayoutBounds())));
+		}
+
+		// returns the bounds of all obstacles that intersect the given area
+		// (when inflated by the margin), ignoring obstacles that contain the
+		// start or end point
+		private List<Rectangle> getObstacleBounds(Rectangle area, Point start,
+				Point end) {
+			List<Rectangle> result = new ArrayList<>();
+			for (Node obstacle : index
+					.getElementsIntersecting(area.getExpanded(margin, margin))) {
+				Rectangle r = index.getBounds(obstacle);
+				if (isInside(start.x, start.y, r)
+						|| isInside(end.x, end.y, r)) {
+					// obstacles that contain the start or end point (i.e.
+					// nesting containers) cannot be avoided
+					continue;
+				}
+				result.add(r);
+			}
+			return result;
+		}
+
+		// invalidates the routes that pass the given obstacle bounds within
+		// the margin, i.e. those that are blocked by an obstacle at the given
+		// bounds, or that had to avoid an obstacle at the given bounds
+		private void invalidate(Rectangle bounds) {
+			Rectangle affected = bounds.getExpanded(margin + EPSILON,
+					margin + EPSILON);
+			List<Connection> invalidated = new ArrayList<>();
+			for (Map.Entry<Connection, Route> entry : routes.entrySet()) {
+				Route route = entry.getValue();
+				if (route.area.touches(affected)
+						&& isPassing(route.path, affected)) {
+					invalidated.add(entry.getKey());
+				}
+			}
+			for (Connection connection : invalidated) {
+				routes.remove(connection);
+				scheduleRefresh(connection);
+			}
+		}
+
+		private boolean isPassing(List<Point> path, Rectangle r) {
+			for (int i = 1; i < path.size(); i++) {
+				Point p = path.get(i - 1);
+				Point q = path.get(i);
+				if (Math.max(p.x, q.x) >= r.getX()
+						&& Math.min(p.x, q.x) <= r.getX() + r.getWidth()
+						&& Math.max(p.y, q.y) >= r.getY()
+						&& Math.min(p.y, q.y) <= r.getY() + r.getHeight()) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void register(Node obstacle) {
+			obstacle.boundsInParentProperty().addListener(obstacleListener);
+			obstacle.visibleProperty().addListener(obstacleListener);
+		}
+
+		private void unregister(Node obstacle) {
+			obstacle.boundsInParentProperty().removeListener(obstacleListener);
+			obstacle.visibleProperty().removeListener(obstacleListener);
+		}
+
+		// updates the index for the given obstacle and invalidates the routes
+		// that are affected by its old or new bounds
+		public void update(Node obstacle) {
+			Rectangle oldBounds = index.getBounds(obstacle);
+			Rectangle newBounds = getBounds(obstacle);
+			if (newBounds == null) {
+				index.remove(obstacle);
+			} else {
+				index.put(obstacle, newBounds);
+			}
+			if (oldBounds == null ? newBounds == null
+					: oldBounds.equals(newBounds)) {
+				return;
+			}
+			if (oldBounds != null) {
+				invalidate(oldBounds);
+			}
+			if (newBounds != null) {
+				invalidate(newBounds);
+			}
+		}
+	}
+
+	// the cached routing result for a connection (within the coordinate
+	// system of the connection's parent)
+	private static class Route {
+		private Point start;
+		private Point end;
+		private Rectangle area;
+		private List<Point> path;
+	}
+
+	/**
+	 * The default distance that is kept between a route and an obstacle.
+	 */
+	public static final double DEFAULT_MARGIN = 15;
+
+	/**
+	 * The default cost that is added per bend of a route.
+	 */
+	public static final double DEFAULT_BEND_PENALTY = 30;
+
+	// directions of the visibility graph edges
+	private static final int[] DX = { 1, -1, 0, 0 };
+	private static final int[] DY = { 0, 0, 1, -1 };
+
+	private static final double EPSILON = 1e-6;
+
+	// returns the index of the first value that is greater than the given
+	// value, or the length of the given (sorted) array
+	private static int indexOfFirstGreater(double[] values, double value) {
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] > value) {
+				high = mid;
+			} else {
+				low = mid + 1;
+			}
+		}
+		return low;
+	}
+
+	// returns the index of the last value that is less than the given value,
+	// or -1
+	private static int indexOfLastLess(double[] values, double value) {
+		int low = 0;
+		int high = values.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (values[mid] < value) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low - 1;
+	}
+
+	private double margin = DEFAULT_MARGIN;
+	private double bendPenalty = DEFAULT_BEND_PENALTY;
+	private final ObservableSet<Node> obstacles = FXCollections
+			.observableSet();
+
+	// the obstacle sets are stored within the properties of their parents,
+	// so that they do not outlive them
+	private final Set<ObstacleSet> obstacleSets = Collections
+			.newSetFromMap(new WeakHashMap<ObstacleSet, Boolean>());
+
+	private final ChangeListener<Object> obstacleListener = new ChangeListener<Object>() {
+		@Override
+		public void changed(ObservableValue<? extends Object> observable,
+				Object oldValue, Object newValue) {
+			Node obstacle = (Node) ((ReadOnlyProperty<?>) observable)
+					.getBean();
+			for (ObstacleSet obstacleSet : new ArrayList<>(obstacleSets)) {
+				obstacleSet.update(obstacle);
+			}
+		}
+	};
+
+	/**
+	 * Constructs a new {@link ObstacleAvoidingOrthogonalRouter}.
+	 */
+	public ObstacleAvoidingOrthogonalRouter() {
+		obstacles.addListener(new SetChangeListener<Node>() {
+			@Override
+			public void onChanged(
+					SetChangeListener.Change<? extends Node> change) {
+				Node obstacle = change.wasRemoved()
+						? change.getElementRemoved()
+						: change.getElementAdded();
+				if (change.wasRemoved()) {
+					obstacle.layoutBoundsProperty()
+							.removeListener(obstacleListener);
+					obstacle.localToSceneTransformProperty()
+							.removeListener(obstacleListener);
+					obstacle.visibleProperty().removeListener(obstacleListener);
+				} else {
+					obstacle.layoutBoundsProperty()
+							.addListener(obstacleListener);
+					obstacle.localToSceneTransformProperty()
+							.addListener(obstacleListener);
+					obstacle.visibleProperty().addListener(obstacleListener);
+				}
+				for (ObstacleSet obstacleSet : new ArrayList<>(obstacleSets)) {
+					if (obstacleSet.explicit == obstacles.isEmpty()) {
+						// switched between explicit obstacles and siblings
+						disposeObstacleSet(obstacleSet);
+					} else {
+						obstacleSet.update(obstacle);
+					}
+				}
+			}
+		});
+	}
+
+	// drops all cached routes and refreshes the routed connections, e.g.
+	// because the routing parameters changed
+	private void clearRoutes() {
+		List<Connection> connections = new ArrayList<>();
+		for (ObstacleSet obstacleSet : obstacleSets) {
+			connections.addAll(obstacleSet.routes.keySet());
+			obstacleSet.routes.clear();
+		}
+		for (Connection connection : connections) {
+			scheduleRefresh(connection);
+		}
+	}
+
+	private List<Point> computePath(Point start, Point end,
+			List<Rectangle> obstacleBounds) {
+		// collect the coordinates of the orthogonal visibility graph
+		TreeSet<Double> xSet = new TreeSet<>();
+		TreeSet<Double> ySet = new TreeSet<>();
+		xSet.add(start.x);
+		xSet.add(end.x);
+		ySet.add(start.y);
+		ySet.add(end.y);
+		for (Rectangle r : obstacleBounds) {
+			xSet.add(r.getX() - margin);
+			xSet.add(r.getX() + r.getWidth() + margin);
+			ySet.add(r.getY() - margin);
+			ySet.add(r.getY() + r.getHeight() + margin);
+		}
+		double[] xs = toArray(xSet);
+		double[] ys = toArray(ySet);
+		int nx = xs.length;
+		int ny = ys.length;
+		int sx = indexOfFirstGreater(xs, start.x) - 1;
+		int sy = indexOfFirstGreater(ys, start.y) - 1;
+		int tx = indexOfFirstGreater(xs, end.x) - 1;
+		int ty = indexOfFirstGreater(ys, end.y) - 1;
+
+		// determine the vertices that are located inside an obstacle, as
+		// well as the edges that intersect an obstacle, by visiting only the
+		// grid cells that are covered by each obstacle
+		boolean[] blocked = new boolean[nx * ny];
+		// horizontal edges from (i, j) to (i + 1, j)
+		boolean[] blockedX = new boolean[nx * ny];
+		// vertical edges from (i, j) to (i, j + 1)
+		boolean[] blockedY = new boolean[nx * ny];
+		for (Rectangle r : obstacleBounds) {
+			int minI = indexOfFirstGreater(xs, r.getX() + EPSILON);
+			int maxI = indexOfLastLess(xs, r.getX() + r.getWidth() - EPSILON);
+			int minJ = indexOfFirstGreater(ys, r.getY() + EPSILON);
+			int maxJ = indexOfLastLess(ys,
+					r.getY() + r.getHeight() - EPSILON);
+			for (int i = Math.max(minI - 1, 0); i <= Math.min(maxI,
+					nx - 2); i++) {
+				for (int j = minJ; j <= maxJ; j++) {
+					blockedX[i * ny + j] = true;
+				}
+			}
+			for (int i = minI; i <= maxI; i++) {
+				for (int j = Math.max(minJ - 1, 0); j <= Math.min(maxJ,
+						ny - 2); j++) {
+					blockedY[i * ny + j] = true;
+				}
+				for (int j = minJ; j <= maxJ; j++) {
+					blocked[i * ny + j] = true;
+				}
+			}
+		}
+
+		// A* search; a search state is a vertex together with the direction
+		// in which the vertex was entered
+		double[] costs = new double[nx * ny * 4];
+		int[] predecessors = new int[nx * ny * 4];
+		Arrays.fill(costs, Double.POSITIVE_INFINITY);
+		Arrays.fill(predecessors, -1);
+		PriorityQueue<double[]> queue = new PriorityQueue<>(11,
+				new Comparator<double[]>() {
+					@Override
+					public int compare(double[] o1, double[] o2) {
+						return Double.compare(o1[0], o2[0]);
+					}
+				});
+		int startVertex = sx * ny + sy;
+		int targetVertex = tx * ny + ty;
+		for (int d = 0; d < 4; d++) {
+			costs[startVertex * 4 + d] = 0;
+			queue.add(new double[] {
+					Math.abs(end.x - start.x) + Math.abs(end.y - start.y),
+					startVertex * 4 + d });
+		}
+		int targetState = -1;
+		while (!queue.isEmpty()) {
+			double[] entry = queue.poll();
+			int state = (int) entry[1];
+			int vertex = state / 4;
+			int direction = state % 4;
+			double cost = costs[state];
+			if (entry[0] > cost + heuristic(xs, ys, vertex, ny, end) + EPSILON) {
+				// outdated queue entry
+				continue;
+			}
+			if (vertex == targetVertex) {
+				targetState = state;
+				break;
+			}
+			int i = vertex / ny;
+			int j = vertex % ny;
+			for (int d = 0; d < 4; d++) {
+				int ni = i + DX[d];
+				int nj = j + DY[d];
+				if (ni < 0 || nj < 0 || ni >= nx || nj >= ny) {
+					continue;
+				}
+				int neighbor = ni * ny + nj;
+				if (blocked[neighbor] || isBlocked(blockedX, blockedY, i, j, d,
+						ny)) {
+					continue;
+				}
+				double newCost = cost + Math.abs(xs[ni] - xs[i])
+						+ Math.abs(ys[nj] - ys[j]);
+				if (vertex != startVertex && d != direction) {
+					newCost += bendPenalty;
+				}
+				int neighborState = neighbor * 4 + d;
+				if (newCost + EPSILON < costs[neighborState]) {
+					costs[neighborState] = newCost;
+					predecessors[neighborState] = state;
+					queue.add(new double[] {
+							newCost + heuristic(xs, ys, neighbor, ny, end),
+							neighborState });
+				}
+			}
+		}
+		if (targetState < 0) {
+			return null;
+		}
+
+		// reconstruct the path (omitting collinear points)
+		List<Point> path = new ArrayList<>();
+		int state = targetState;
+		int lastDirection = -1;
+		while (state >= 0) {
+			int vertex = state / 4;
+			int direction = state % 4;
+			if (path.isEmpty() || predecessors[state] < 0
+					|| direction != lastDirection) {
+				path.add(new Point(xs[vertex / ny], ys[vertex % ny]));
+			}
+			lastDirection = direction;
+			state = predecessors[state];
+		}
+		Collections.reverse(path);
+		return path;
+	}
+
+	private void disposeObstacleSet(ObstacleSet obstacleSet) {
+		List<Connection> connections = new ArrayList<>(
+				obstacleSet.routes.keySet());
+		obstacleSet.dispose();
+		obstacleSet.parent.getProperties().remove(this);
+		obstacleSets.remove(obstacleSet);
+		// the routed connections need to consider the new obstacles
+		for (Connection connection : connections) {
+			scheduleRefresh(connection);
+		}
+	}
+
+	/**
+	 * Returns the cost that is added per bend of a route.
+	 *
+	 * @return The cost that is added per bend of a route.
+	 */
+	public double getBendPenalty() {
+		return bendPenalty;
+	}
+
+	/**
+	 * Returns the distance that is kept between a route and an obstacle.
+	 *
+	 * @return The distance that is kept between a route and an obstacle.
+	 */
+	public double getMargin() {
+		return margin;
+	}
+
+	private ObstacleSet getObstacleSet(Parent parent) {
+		ObstacleSet obstacleSet = (ObstacleSet) parent.getProperties()
+				.get(this);
+		if (obstacleSet == null) {
+			obstacleSet = new ObstacleSet(parent, !obstacles.isEmpty());
+			parent.getProperties().put(this, obstacleSet);
+			obstacleSets.add(obstacleSet);
+		}
+		return obstacleSet;
+	}
+
+	/**
+	 * Returns the (modifiable) set of obstacles that are avoided by this
+	 * router. If the set is empty, the non-{@link Connection} siblings of the
+	 * routed {@link Connection} are used as obstacles.
+	 *
+	 * @return The set of obstacles that are avoided by this router.
+	 */
+	public ObservableSet<Node> getObstacles() {
+		return obstacles;
+	}
+
+	private double heuristic(double[] xs, double[] ys, int vertex, int ny,
+			Point end) {
+		return Math.abs(end.x - xs[vertex / ny])
+				+ Math.abs(end.y - ys[vertex % ny]);
+	}
+
+	// tests if the edge that leaves the given vertex in the given direction
+	// intersects the interior of an obstacle
+	private boolean isBlocked(boolean[] blockedX, boolean[] blockedY, int i,
+			int j, int direction, int ny) {
+		switch (direction) {
+		case 0:
+			return blockedX[i * ny + j];
+		case 1:
+			return blockedX[(i - 1) * ny + j];
+		case 2:
+			return blockedY[i * ny + j];
+		default:
+			return blockedY[i * ny + j - 1];
+		}
+	}
+
+	private boolean isInside(double x, double y, Rectangle r) {
+		return x > r.getX() + EPSILON && x < r.getX() + r.getWidth() - EPSILON
+				&& y > r.getY() + EPSILON
+				&& y < r.getY() + r.getHeight() - EPSILON;
+	}
+
+	@Override
+	public void route(Connection connection) {
+		if (connection.getPointsUnmodifiable().size() < 2) {
+			return;
+		}
+
+		// remove the points that were inserted during a previous pass
+		ControlPointManipulator controlPointManipulator = new ControlPointManipulator(
+				connection);
+		controlPointManipulator.clearPoints();
+
+		// connections with explicit control points are routed orthogonally
+		// between their control points
+		if (!connection.getControlAnchors().isEmpty()) {
+			super.route(connection);
+			return;
+		}
+
+		// update the anchor positions
+		if (connection.getStartAnchor() instanceof DynamicAnchor) {
+			updateComputationParameters(connection, 0);
+		}
+		if (connection.getEndAnchor() instanceof DynamicAnchor) {
+			updateComputationParameters(connection, 1);
+		}
+		Point start = connection.getStartPoint();
+		Point end = connection.getEndPoint();
+		Parent parent = connection.getParent();
+		if (parent == null) {
+			super.route(connection);
+			return;
+		}
+
+		// determine route within the coordinate system of the parent
+		// (re-using the cached one if possible)
+		ObstacleSet obstacleSet = getObstacleSet(parent);
+		Point startInParent = FX2Geometry
+				.toPoint(connection.localToParent(start.x, start.y));
+		Point endInParent = FX2Geometry
+				.toPoint(connection.localToParent(end.x, end.y));
+		Route route = obstacleSet.routes.get(connection);
+		if (route == null || !route.start.equals(startInParent)
+				|| !route.end.equals(endInParent)) {
+			route = obstacleSet.computeRoute(startInParent, endInParent);
+		}
+		if (route == null) {
+			obstacleSet.routes.remove(connection);
+			super.route(connection);
+			return;
+		}
+		obstacleSet.routes.put(connection, route);
+
+		// insert the bend points
+		List<Point> path = route.path;
+		if (path.size() > 2) {
+			double[] deltas = new double[(path.size() - 2) * 2];
+			for (int i = 1; i < path.size() - 1; i++) {
+				Point2D p = connection.parentToLocal(path.get(i).x,
+						path.get(i).y);
+				deltas[(i - 1) * 2] = p.getX() - start.x;
+				deltas[(i - 1) * 2 + 1] = p.getY() - start.y;
+			}
+			controlPointManipulator.addRoutingPoints(1, start, deltas);
+			controlPointManipulator.addPoints();
+		}
+	}
+
+	// marks the given connection as dirty, so that it is rerouted before the
+	// next pulse, unless it is no longer routed by this router
+	private void scheduleRefresh(Connection connection) {
+		if (connection.getRouter() == this) {
+			connection.scheduleRefresh();
+		}
+	}
+
+	/**
+	 * Sets the cost that is added per bend of a route. The {@link Connection}s
+	 * that are routed by this router are refreshed if the value changes.
+	 *
+	 * @param bendPenalty
+	 *            The cost that is added per bend of a route.
+	 */
+	public void setBendPenalty(double bendPenalty) {
+		if (this.bendPenalty == bendPenalty) {
+			return;
+		}
+		this.bendPenalty = bendPenalty;
+		clearRoutes();
+	}
+
+	/**
+	 * Sets the distance that is kept between a route and an obstacle. The
+	 * {@link Connection}s that are routed by this router are refreshed if the
+	 * value changes.
+	 *
+	 * @param margin
+	 *            The distance that is kept between a route and an obstacle.
+	 */
+	public void setMargin(double margin) {
+		if (this.margin == margin) {
+			return;
+		}
+		this.margin = margin;
+		clearRoutes();
+	}
+
+	private double[] toArray(TreeSet<Double> values) {
+		double[] array = new double[values.size()];
+		int i = 0;
+		for (double v : values) {
+			array[i++] = v;
+		}
+		return array;
+	}
+
+}
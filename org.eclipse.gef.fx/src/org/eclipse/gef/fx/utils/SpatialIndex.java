@@ -0,0 +1,349 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.fx.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.geometry.planar.Rectangle;
+
+/**
+ * The {@link SpatialIndex} is a uniform grid that maps elements to their
+ * (axis-aligned) bounds, so that all elements at a given position or within a
+ * given area can be determined without visiting all indexed elements. The
+ * bounds of an element can be updated incrementally using
+ * {@link #put(Object, Rectangle)}, which will only touch the grid cells that
+ * are covered by the old and new bounds of the element.
+ * <p>
+ * Elements that would cover more than {@link #MAX_CELLS_PER_ELEMENT} grid
+ * cells are not distributed to the grid, but are kept in a separate list that
+ * is always tested during queries, so that a few very large elements (e.g. a
+ * container spanning the whole diagram) do not degrade updates.
+ * <p>
+ * Elements are compared by identity.
+ *
+ * @param <T>
+ *            The type of the indexed elements.
+ */
+public class SpatialIndex<T> {
+
+	/**
+	 * The default width and height of a grid cell.
+	 */
+	public static final double DEFAULT_CELL_SIZE = 256;
+
+	/**
+	 * The maximum number of grid cells that an element may cover before it is
+	 * treated as an oversized element.
+	 */
+	public static final int MAX_CELLS_PER_ELEMENT = 64;
+
+	private static long key(int column, int row) {
+		return ((long) column << 32) | (row & 0xffffffffL);
+	}
+
+	private final double cellSize;
+	private final Map<T, Rectangle> bounds = new IdentityHashMap<>();
+	private final Map<T, int[]> cellRanges = new IdentityHashMap<>();
+	private final Map<Long, Set<T>> cells = new HashMap<>();
+	private final Set<T> oversized = Collections
+			.newSetFromMap(new IdentityHashMap<T, Boolean>());
+
+	/**
+	 * Constructs a new {@link SpatialIndex} that uses the
+	 * {@link #DEFAULT_CELL_SIZE}.
+	 */
+	public SpatialIndex() {
+		this(DEFAULT_CELL_SIZE);
+	}
+
+	/**
+	 * Constructs a new {@link SpatialIndex} that uses the given cell size.
+	 *
+	 * @param cellSize
+	 *            The width and height of a grid cell, which has to be greater
+	 *            than zero.
+	 */
+	public SpatialIndex(double cellSize) {
+		if (!(cellSize > 0)) {
+			throw new IllegalArgumentException(
+					"Cell size has to be greater than zero, but is " + cellSize
+							+ ".");
+		}
+		this.cellSize = cellSize;
+	}
+
+	private void addToCells(T element, int[] range) {
+		if (range == null) {
+			oversized.add(element);
+			return;
+		}
+		for (int c = range[0]; c <= range[2]; c++) {
+			for (int r = range[1]; r <= range[3]; r++) {
+				Long key = key(c, r);
+				Set<T> cell = cells.get(key);
+				if (cell == null) {
+					cell = Collections
+							.newSetFromMap(new IdentityHashMap<T, Boolean>());
+					cells.put(key, cell);
+				}
+				cell.add(element);
+			}
+		}
+	}
+
+	/**
+	 * Removes all elements from this {@link SpatialIndex}.
+	 */
+	public void clear() {
+		bounds.clear();
+		cellRanges.clear();
+		cells.clear();
+		oversized.clear();
+	}
+
+	/**
+	 * Returns <code>true</code> if the given element is indexed, otherwise
+	 * <code>false</code>.
+	 *
+	 * @param element
+	 *            The element to test.
+	 * @return <code>true</code> if the given element is indexed, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean contains(T element) {
+		return bounds.containsKey(element);
+	}
+
+	private int[] getCellRange(Rectangle r, long maxCells) {
+		int minColumn = (int) Math.floor(r.getX() / cellSize);
+		int minRow = (int) Math.floor(r.getY() / cellSize);
+		int maxColumn = (int) Math.floor((r.getX() + r.getWidth()) / cellSize);
+		int maxRow = (int) Math.floor((r.getY() + r.getHeight()) / cellSize);
+		long count = ((long) maxColumn - minColumn + 1)
+				* ((long) maxRow - minRow + 1);
+		if (count > maxCells) {
+			return null;
+		}
+		return new int[] { minColumn, minRow, maxColumn, maxRow };
+	}
+
+	/**
+	 * Returns the bounds that are indexed for the given element, or
+	 * <code>null</code> if the element is not indexed.
+	 *
+	 * @param element
+	 *            The element for which to return the bounds.
+	 * @return A copy of the bounds of the given element, or <code>null</code>.
+	 */
+	public Rectangle getBounds(T element) {
+		Rectangle r = bounds.get(element);
+		return r == null ? null : r.getCopy();
+	}
+
+	/**
+	 * Returns a {@link List} of all elements whose bounds contain the given
+	 * position.
+	 *
+	 * @param x
+	 *            The x-coordinate of the position.
+	 * @param y
+	 *            The y-coordinate of the position.
+	 * @return A {@link List} of all elements whose bounds contain the given
+	 *         position.
+	 */
+	public List<T> getElementsAt(double x, double y) {
+		List<T> result = new ArrayList<>();
+		Set<T> cell = cells.get(key((int) Math.floor(x / cellSize),
+				(int) Math.floor(y / cellSize)));
+		if (cell != null) {
+			for (T element : cell) {
+				if (isContained(x, y, bounds.get(element))) {
+					result.add(element);
+				}
+			}
+		}
+		for (T element : oversized) {
+			if (isContained(x, y, bounds.get(element))) {
+				result.add(element);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a {@link List} of all elements whose bounds are fully contained
+	 * within the given area.
+	 *
+	 * @param area
+	 *            The area in which the elements need to be contained.
+	 * @return A {@link List} of all elements whose bounds are fully contained
+	 *         within the given area.
+	 */
+	public List<T> getElementsContainedIn(Rectangle area) {
+		List<T> result = new ArrayList<>();
+		for (T element : getElementsIntersecting(area)) {
+			Rectangle r = bounds.get(element);
+			if (r.getX() >= area.getX() && r.getY() >= area.getY()
+					&& r.getX() + r.getWidth() <= area.getX() + area.getWidth()
+					&& r.getY() + r.getHeight() <= area.getY()
+							+ area.getHeight()) {
+				result.add(element);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns a {@link List} of all elements whose bounds intersect (or touch)
+	 * the given area.
+	 *
+	 * @param area
+	 *            The area which the elements need to intersect.
+	 * @return A {@link List} of all elements whose bounds intersect the given
+	 *         area.
+	 */
+	public List<T> getElementsIntersecting(Rectangle area) {
+		Set<T> candidates = Collections
+				.newSetFromMap(new IdentityHashMap<T, Boolean>());
+		int[] range = getCellRange(area, Long.MAX_VALUE);
+		long count = ((long) range[2] - range[0] + 1)
+				* ((long) range[3] - range[1] + 1);
+		if (count > cells.size()) {
+			// the area covers more cells than are occupied, therefore, visit
+			// the occupied cells instead
+			for (Map.Entry<Long, Set<T>> entry : cells.entrySet()) {
+				long key = entry.getKey();
+				int c = (int) (key >> 32);
+				int r = (int) key;
+				if (c >= range[0] && c <= range[2] && r >= range[1]
+						&& r <= range[3]) {
+					candidates.addAll(entry.getValue());
+				}
+			}
+		} else {
+			for (int c = range[0]; c <= range[2]; c++) {
+				for (int r = range[1]; r <= range[3]; r++) {
+					Set<T> cell = cells.get(key(c, r));
+					if (cell != null) {
+						candidates.addAll(cell);
+					}
+				}
+			}
+		}
+		candidates.addAll(oversized);
+		List<T> result = new ArrayList<>();
+		for (T element : candidates) {
+			if (isIntersecting(area, bounds.get(element))) {
+				result.add(element);
+			}
+		}
+		return result;
+	}
+
+	private boolean isContained(double x, double y, Rectangle r) {
+		return x >= r.getX() && y >= r.getY() && x <= r.getX() + r.getWidth()
+				&& y <= r.getY() + r.getHeight();
+	}
+
+	private boolean isIntersecting(Rectangle a, Rectangle b) {
+		return a.getX() <= b.getX() + b.getWidth()
+				&& b.getX() <= a.getX() + a.getWidth()
+				&& a.getY() <= b.getY() + b.getHeight()
+				&& b.getY() <= a.getY() + a.getHeight();
+	}
+
+	/**
+	 * Indexes the given element for the given bounds. If the element is
+	 * already indexed, its bounds are updated.
+	 *
+	 * @param element
+	 *            The element to index.
+	 * @param elementBounds
+	 *            The bounds of the element.
+	 */
+	public void put(T element, Rectangle elementBounds) {
+		if (element == null) {
+			throw new IllegalArgumentException("Element may not be null.");
+		}
+		if (elementBounds == null) {
+			throw new IllegalArgumentException("Bounds may not be null.");
+		}
+		int[] newRange = getCellRange(elementBounds,
+				MAX_CELLS_PER_ELEMENT);
+		if (bounds.containsKey(element)) {
+			int[] oldRange = cellRanges.get(element);
+			if (!Arrays.equals(oldRange, newRange)) {
+				removeFromCells(element, oldRange);
+				addToCells(element, newRange);
+				cellRanges.put(element, newRange);
+			}
+		} else {
+			addToCells(element, newRange);
+			cellRanges.put(element, newRange);
+		}
+		bounds.put(element, elementBounds.getCopy());
+	}
+
+	/**
+	 * Removes the given element from this {@link SpatialIndex}.
+	 *
+	 * @param element
+	 *            The element to remove.
+	 * @return <code>true</code> if the element was indexed, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean remove(T element) {
+		if (!bounds.containsKey(element)) {
+			return false;
+		}
+		removeFromCells(element, cellRanges.remove(element));
+		bounds.remove(element);
+		return true;
+	}
+
+	private void removeFromCells(T element, int[] range) {
+		if (range == null) {
+			oversized.remove(element);
+			return;
+		}
+		for (int c = range[0]; c <= range[2]; c++) {
+			for (int r = range[1]; r <= range[3]; r++) {
+				Long key = key(c, r);
+				Set<T> cell = cells.get(key);
+				if (cell != null) {
+					cell.remove(element);
+					if (cell.isEmpty()) {
+						cells.remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of indexed elements.
+	 *
+	 * @return The number of indexed elements.
+	 */
+	public int size() {
+		return bounds.size();
+	}
+
+}
@@ -0,0 +1,361 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.examples.benchmark;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.BoxLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.GridLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.HorizontalShiftAlgorithm;
+import org.eclipse.gef.layout.algorithms.MultilevelLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.RadialLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpaceTreeLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.DFSLayerProvider;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm.Direction;
+import org.eclipse.gef.layout.algorithms.TreeLayoutAlgorithm;
+
+/**
+ * The {@link LayoutBenchmark} measures the time and the allocated memory of
+ * the layout algorithms on {@link SyntheticGraphs} of increasing size, and
+ * evaluates the {@link LayoutQuality} of the results. The results are printed
+ * as comma separated values.
+ * <p>
+ * Usage:
+ * <code>LayoutBenchmark [-sizes 1000,10000,100000] [-graphs TREE,GRID]
+ * [-algorithms SPRING,TREE] [-warmup 1] [-iterations 3] [-budget 60]</code>
+ * <p>
+ * An algorithm is not measured for larger graphs of a family once a single
+ * layout pass exceeded the time budget (in seconds). Each layout pass is
+ * applied to a freshly generated graph, which is identical for all passes
+ * because of the fixed seed.
+ */
+public class LayoutBenchmark {
+
+	/**
+	 * The layout algorithms that are measured.
+	 */
+	public enum Algorithm {
+		/**
+		 * {@link SpringLayoutAlgorithm}
+		 */
+		SPRING {
+			@Override
+			public ILayoutAlgorithm create() {
+				return new SpringLayoutAlgorithm();
+			}
+		},
+		/**
+		 * {@link MultilevelLayoutAlgorithm}
+		 */
+		MULTILEVEL {
+			@Override
+			public ILayoutAlgorithm create() {
+				return new MultilevelLayoutAlgorithm();
+			}
+		},
+		/**
+		 * {@link SugiyamaLayoutAlgorithm} (using the {@link DFSLayerProvider},
+		 * because the default layer provider is limited to ten layers)
+		 */
+		SUGIYAMA {
+			@Override
+			public ILayoutAlgorithm create() {
+				return new SugiyamaLayoutAlgorithm(Direction.VERTICAL,
+						new DFSLayerProvider());
+			}
+		},
+		/**
+		 * {@link SpaceTreeLayoutAlgorithm}
+		 */
+		SPACE_TREE {
+			@Override
+			public ILayoutAlgorithm create() {
+				return new SpaceTreeLayoutAlgorithm();
+			}
+		},
+		/**
+		 * {@link TreeLayoutAlgorithm}
+		 */
+		TREE {
+			@Override
+			public ILayoutAlgorithm create() {
+				return new TreeLayoutAlgorithm();
+			}
+		},
+		/**
+		 * {@link RadialLayoutAlgorithm}
+		 */
+		RADIAL {
+			@Override
+			public ILayoutAlgorithm create() {
+				return new RadialLayoutAlgorithm();
+			}
+		},
+		/**
+		 * {@link GridLayoutAlgorithm}
+		 */
+		GRID {
+			@Override
+			public ILayoutAlgorithm create() {
+				return new GridLayoutAlgorithm();
+			}
+		},
+		/**
+		 * {@link BoxLayoutAlgorithm}
+		 */
+		BOX {
+			@Override
+			public ILayoutAlgorithm create() {
+				return new BoxLayoutAlgorithm();
+			}
+		},
+		/**
+		 * {@link HorizontalShiftAlgorithm}
+		 */
+		HORIZONTAL_SHIFT {
+			@Override
+			public ILayoutAlgorithm create() {
+				return new HorizontalShiftAlgorithm();
+			}
+		};
+
+		/**
+		 * Creates a new instance of the layout algorithm.
+		 *
+		 * @return A new {@link ILayoutAlgorithm}.
+		 */
+		public abstract ILayoutAlgorithm create();
+	}
+
+	/**
+	 * Edge crossings are only counted for graphs with at most this number of
+	 * edges, because the number of crossings (and therefore the time that is
+	 * needed to count them) grows quadratically for poor layouts.
+	 */
+	public static final int MAX_CROSSINGS_EDGES = 20000;
+
+	private static final long SEED = 42;
+
+	private static final String HEADER = "graph,nodes,edges,algorithm,time_ms,"
+			+ "allocated_mb,crossings,stress,area";
+
+	private final ThreadMXBean threadBean = ManagementFactory
+			.getThreadMXBean();
+	private boolean allocatedBytesSupported = true;
+	private int[] sizes = new int[] { 1000, 10000, 100000 };
+	private SyntheticGraphs[] graphs = SyntheticGraphs.values();
+	private Algorithm[] algorithms = Algorithm.values();
+	private int warmup = 1;
+	private int iterations = 3;
+	private double budget = 60;
+
+	/**
+	 * Runs the benchmark using the given command line arguments.
+	 *
+	 * @param args
+	 *            The command line arguments (see {@link LayoutBenchmark}).
+	 */
+	public static void main(String[] args) {
+		LayoutBenchmark benchmark = new LayoutBenchmark();
+		for (int i = 0; i + 1 < args.length; i += 2) {
+			String value = args[i + 1];
+			if ("-sizes".equals(args[i])) {
+				String[] parts = value.split(",");
+				benchmark.sizes = new int[parts.length];
+				for (int j = 0; j < parts.length; j++) {
+					benchmark.sizes[j] = Integer.parseInt(parts[j].trim());
+				}
+			} else if ("-graphs".equals(args[i])) {
+				String[] parts = value.split(",");
+				benchmark.graphs = new SyntheticGraphs[parts.length];
+				for (int j = 0; j < parts.length; j++) {
+					benchmark.graphs[j] = SyntheticGraphs
+							.valueOf(parts[j].trim());
+				}
+			} else if ("-algorithms".equals(args[i])) {
+				String[] parts = value.split(",");
+				benchmark.algorithms = new Algorithm[parts.length];
+				for (int j = 0; j < parts.length; j++) {
+					benchmark.algorithms[j] = Algorithm
+							.valueOf(parts[j].trim());
+				}
+			} else if ("-warmup".equals(args[i])) {
+				benchmark.warmup = Integer.parseInt(value);
+			} else if ("-iterations".equals(args[i])) {
+				benchmark.iterations = Math.max(1, Integer.parseInt(value));
+			} else if ("-budget".equals(args[i])) {
+				benchmark.budget = Double.parseDouble(value);
+			} else {
+				throw new IllegalArgumentException(
+						"Unknown option: " + args[i]);
+			}
+		}
+		benchmark.run(System.out);
+	}
+
+	/**
+	 * Returns the number of bytes that were allocated by the current thread so
+	 * far, or <code>-1</code> if this is not supported by the JVM.
+	 *
+	 * @return The number of bytes allocated by the current thread.
+	 */
+	private long getAllocatedBytes() {
+		if (!allocatedBytesSupported) {
+			return -1;
+		}
+		try {
+			// com.sun.management is imported optionally (see MANIFEST.MF), so
+			// it may not be resolvable within the running framework
+			if (threadBean instanceof com.sun.management.ThreadMXBean) {
+				return ((com.sun.management.ThreadMXBean) threadBean)
+						.getThreadAllocatedBytes(
+								Thread.currentThread().getId());
+			}
+		} catch (LinkageError e) {
+			// fall back to java.lang.management, which does not provide the
+			// allocated bytes
+		}
+		allocatedBytesSupported = false;
+		return -1;
+	}
+
+	private Graph layout(SyntheticGraphs family, int size,
+			Algorithm algorithm, long[] measurement) {
+		Graph graph = family.create(size, SEED);
+		// provide a square area with (roughly) 1000 square units per node
+		double side = Math.sqrt(size * 1000d);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, side, side));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm.create());
+		long allocated = getAllocatedBytes();
+		long start = System.nanoTime();
+		context.applyLayout(true);
+		measurement[0] = System.nanoTime() - start;
+		measurement[1] = allocated < 0 ? -1
+				: getAllocatedBytes() - allocated;
+		return graph;
+	}
+
+	/**
+	 * Joins the given columns to a row with as many columns as the header,
+	 * i.e. missing columns are left empty. Separators and line breaks within
+	 * the columns are replaced.
+	 *
+	 * @param columns
+	 *            The leading columns of the row.
+	 * @return The row.
+	 */
+	private String row(String... columns) {
+		String[] row = new String[HEADER.split(",").length];
+		Arrays.fill(row, "");
+		for (int i = 0; i < columns.length && i < row.length; i++) {
+			row[i] = String.valueOf(columns[i]).replace(',', ';')
+					.replaceAll("\\s+", " ");
+		}
+		return String.join(",", row);
+	}
+
+	/**
+	 * Runs the benchmark and prints the results to the given
+	 * {@link PrintStream}.
+	 *
+	 * @param out
+	 *            The {@link PrintStream} to print the results to.
+	 */
+	public void run(PrintStream out) {
+		out.println(HEADER);
+		for (SyntheticGraphs family : graphs) {
+			List<Algorithm> remaining = new ArrayList<>(
+					Arrays.asList(algorithms));
+			for (int size : sizes) {
+				for (Algorithm algorithm : new ArrayList<>(remaining)) {
+					try {
+						if (measure(out, family, size, algorithm)) {
+							// skip the larger graphs of this family
+							remaining.remove(algorithm);
+						}
+					} catch (RuntimeException e) {
+						out.println(row(family.toString(),
+								Integer.toString(size), "", algorithm.toString(),
+								"failed: " + e.getMessage()));
+						remaining.remove(algorithm);
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Measures the given {@link Algorithm} for a graph of the given family
+	 * and size, and prints the results to the given {@link PrintStream}.
+	 *
+	 * @param out
+	 *            The {@link PrintStream} to print the results to.
+	 * @param family
+	 *            The family of the graph.
+	 * @param size
+	 *            The number of nodes of the graph.
+	 * @param algorithm
+	 *            The {@link Algorithm} to measure.
+	 * @return <code>true</code> if the time budget was exceeded, otherwise
+	 *         <code>false</code>.
+	 */
+	private boolean measure(PrintStream out, SyntheticGraphs family,
+			int size, Algorithm algorithm) {
+		long[] measurement = new long[2];
+		for (int i = 0; i < warmup; i++) {
+			layout(family, size, algorithm, measurement);
+			if (measurement[0] / 1e9 > budget) {
+				break;
+			}
+		}
+		long[] times = new long[iterations];
+		long allocated = 0;
+		Graph graph = null;
+		for (int i = 0; i < iterations; i++) {
+			graph = layout(family, size, algorithm, measurement);
+			times[i] = measurement[0];
+			allocated = measurement[1];
+			if (measurement[0] / 1e9 > budget) {
+				times = Arrays.copyOf(times, i + 1);
+				break;
+			}
+		}
+		Arrays.sort(times);
+		double median = times[times.length / 2] / 1e6;
+		LayoutQuality quality = new LayoutQuality(graph);
+		String crossings = graph.getEdges().size() <= MAX_CROSSINGS_EDGES
+				? Long.toString(quality.getCrossings()) : "";
+		out.println(String.format(Locale.ENGLISH,
+				"%s,%d,%d,%s,%.1f,%.1f,%s,%.4f,%.0f", family, size,
+				graph.getEdges().size(), algorithm, median,
+				allocated < 0 ? -1 : allocated / (1024d * 1024d), crossings,
+				quality.getStress(), quality.getArea()));
+		return times[times.length - 1] / 1e9 > budget;
+	}
+
+}
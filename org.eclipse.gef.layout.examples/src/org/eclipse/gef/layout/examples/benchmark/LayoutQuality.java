@@ -0,0 +1,289 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.examples.benchmark;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link LayoutQuality} computes quality metrics for the current layout of
+ * a {@link Graph}: the number of edge crossings, the (sampled) stress, and the
+ * area of the bounding box of the nodes. Edges are regarded as straight lines
+ * between the centers of their nodes.
+ */
+public class LayoutQuality {
+
+	private static final int MAX_CELLS_PER_EDGE = 8;
+	private static final int STRESS_SOURCES = 32;
+
+	private final int n;
+	private final int m;
+	private final double[] x;
+	private final double[] y;
+	private final int[] sources;
+	private final int[] targets;
+	private double minX = Double.POSITIVE_INFINITY;
+	private double minY = Double.POSITIVE_INFINITY;
+	private double maxX = Double.NEGATIVE_INFINITY;
+	private double maxY = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Captures the current layout of the given {@link Graph}.
+	 *
+	 * @param graph
+	 *            The {@link Graph} whose layout is evaluated.
+	 */
+	public LayoutQuality(Graph graph) {
+		List<Node> nodes = graph.getNodes();
+		n = nodes.size();
+		x = new double[n];
+		y = new double[n];
+		Map<Node, Integer> indices = new IdentityHashMap<>();
+		for (int i = 0; i < n; i++) {
+			Node node = nodes.get(i);
+			indices.put(node, i);
+			Point location = LayoutProperties.getLocation(node);
+			Dimension size = LayoutProperties.getSize(node);
+			x[i] = location.x;
+			y[i] = location.y;
+			minX = Math.min(minX, x[i] - size.width / 2);
+			minY = Math.min(minY, y[i] - size.height / 2);
+			maxX = Math.max(maxX, x[i] + size.width / 2);
+			maxY = Math.max(maxY, y[i] + size.height / 2);
+		}
+		List<Edge> edges = graph.getEdges();
+		int[] s = new int[edges.size()];
+		int[] t = new int[edges.size()];
+		int count = 0;
+		for (Edge edge : edges) {
+			Integer source = indices.get(edge.getSource());
+			Integer target = indices.get(edge.getTarget());
+			if (source != null && target != null
+					&& source.intValue() != target.intValue()) {
+				s[count] = source;
+				t[count] = target;
+				count++;
+			}
+		}
+		m = count;
+		sources = Arrays.copyOf(s, m);
+		targets = Arrays.copyOf(t, m);
+	}
+
+	/**
+	 * Returns the area of the bounding box of all nodes.
+	 *
+	 * @return The area of the bounding box of all nodes.
+	 */
+	public double getArea() {
+		return n == 0 ? 0 : (maxX - minX) * (maxY - minY);
+	}
+
+	/**
+	 * Returns the number of pairs of edges that cross each other. Edges that
+	 * share a node are not counted. The edges are distributed into a uniform
+	 * grid, so that only edges that share a grid cell are tested against each
+	 * other. If the edges span too many cells (e.g. for long edges), all pairs
+	 * of edges are tested instead.
+	 *
+	 * @return The number of edge crossings.
+	 */
+	public long getCrossings() {
+		if (m < 2) {
+			return 0;
+		}
+		double width = Math.max(maxX - minX, 1);
+		double height = Math.max(maxY - minY, 1);
+		int columns = Math.max(1, (int) Math.sqrt(m * width / height));
+		int rows = Math.max(1, (int) Math.sqrt(m * height / width));
+		double cellWidth = width / columns;
+		double cellHeight = height / rows;
+		int[] cellStart = new int[columns * rows + 1];
+		int[] cellEdges = null;
+		int[] fill = null;
+		// count the cells per edge, then fill the cells (counting sort)
+		for (int pass = 0; pass < 2; pass++) {
+			for (int e = 0; e < m; e++) {
+				double sx = x[sources[e]];
+				double sy = y[sources[e]];
+				double tx = x[targets[e]];
+				double ty = y[targets[e]];
+				int c0 = cell(Math.min(sx, tx), minX, cellWidth, columns);
+				int c1 = cell(Math.max(sx, tx), minX, cellWidth, columns);
+				int r0 = cell(Math.min(sy, ty), minY, cellHeight, rows);
+				int r1 = cell(Math.max(sy, ty), minY, cellHeight, rows);
+				for (int r = r0; r <= r1; r++) {
+					for (int c = c0; c <= c1; c++) {
+						if (cellEdges == null) {
+							cellStart[r * columns + c + 1]++;
+						} else {
+							cellEdges[fill[r * columns + c]++] = e;
+						}
+					}
+				}
+			}
+			if (cellEdges == null) {
+				for (int i = 1; i < cellStart.length; i++) {
+					cellStart[i] += cellStart[i - 1];
+				}
+				if (cellStart[cellStart.length - 1] > MAX_CELLS_PER_EDGE * m) {
+					// the same pairs would be tested within many cells
+					return countCrossings(new int[] { 0, m }, null, 1, 1,
+							width, height);
+				}
+				cellEdges = new int[cellStart[cellStart.length - 1]];
+				fill = Arrays.copyOf(cellStart, cellStart.length);
+			}
+		}
+		return countCrossings(cellStart, cellEdges, columns, rows, cellWidth,
+				cellHeight);
+	}
+
+	private long countCrossings(int[] cellStart, int[] cellEdges, int columns,
+			int rows, double cellWidth, double cellHeight) {
+		long crossings = 0;
+		for (int cell = 0; cell < cellStart.length - 1; cell++) {
+			for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+				int e = cellEdges == null ? i : cellEdges[i];
+				for (int j = i + 1; j < cellStart[cell + 1]; j++) {
+					int f = cellEdges == null ? j : cellEdges[j];
+					if (sources[e] == sources[f] || sources[e] == targets[f]
+							|| targets[e] == sources[f]
+							|| targets[e] == targets[f]) {
+						continue;
+					}
+					double[] intersection = intersect(e, f);
+					// count each crossing only within the cell that contains
+					// the intersection point
+					if (intersection != null && cell(intersection[1], minY,
+							cellHeight, rows) * columns + cell(intersection[0],
+									minX, cellWidth, columns) == cell) {
+						crossings++;
+					}
+				}
+			}
+		}
+		return crossings;
+	}
+
+	private static int cell(double value, double origin, double cellSize,
+			int cells) {
+		return Math.max(0,
+				Math.min(cells - 1, (int) ((value - origin) / cellSize)));
+	}
+
+	private double[] intersect(int e, int f) {
+		double px = x[sources[e]];
+		double py = y[sources[e]];
+		double rx = x[targets[e]] - px;
+		double ry = y[targets[e]] - py;
+		double qx = x[sources[f]];
+		double qy = y[sources[f]];
+		double sx = x[targets[f]] - qx;
+		double sy = y[targets[f]] - qy;
+		double denominator = rx * sy - ry * sx;
+		if (denominator == 0) {
+			// parallel (overlapping segments are not counted)
+			return null;
+		}
+		double t = ((qx - px) * sy - (qy - py) * sx) / denominator;
+		double u = ((qx - px) * ry - (qy - py) * rx) / denominator;
+		if (t <= 0 || t >= 1 || u <= 0 || u >= 1) {
+			return null;
+		}
+		return new double[] { px + t * rx, py + t * ry };
+	}
+
+	/**
+	 * Returns the normalized stress of the layout, i.e. the mean of
+	 * <code>((|p(i) - p(j)| - l * d(i, j)) / (l * d(i, j)))^2</code> over all
+	 * connected pairs of nodes, where <code>d(i, j)</code> is the
+	 * graph-theoretical distance and <code>l</code> is the mean edge length.
+	 * The pairs are sampled from the shortest paths of a fixed number of
+	 * (reproducibly) random source nodes.
+	 *
+	 * @return The normalized stress of the layout.
+	 */
+	public double getStress() {
+		if (m == 0) {
+			return 0;
+		}
+		// undirected adjacency (CSR)
+		int[] start = new int[n + 1];
+		for (int e = 0; e < m; e++) {
+			start[sources[e] + 1]++;
+			start[targets[e] + 1]++;
+		}
+		for (int i = 0; i < n; i++) {
+			start[i + 1] += start[i];
+		}
+		int[] adjacent = new int[2 * m];
+		int[] fill = Arrays.copyOf(start, n);
+		double edgeLength = 0;
+		for (int e = 0; e < m; e++) {
+			adjacent[fill[sources[e]]++] = targets[e];
+			adjacent[fill[targets[e]]++] = sources[e];
+			edgeLength += Math.hypot(x[sources[e]] - x[targets[e]],
+					y[sources[e]] - y[targets[e]]);
+		}
+		edgeLength /= m;
+		if (edgeLength == 0) {
+			return 0;
+		}
+
+		Random random = new Random(n);
+		int[] distance = new int[n];
+		int[] queue = new int[n];
+		double stress = 0;
+		long pairs = 0;
+		for (int k = 0; k < Math.min(n, STRESS_SOURCES); k++) {
+			int source = random.nextInt(n);
+			Arrays.fill(distance, -1);
+			distance[source] = 0;
+			queue[0] = source;
+			int head = 0;
+			int tail = 1;
+			while (head < tail) {
+				int i = queue[head++];
+				for (int a = start[i]; a < start[i + 1]; a++) {
+					int j = adjacent[a];
+					if (distance[j] < 0) {
+						distance[j] = distance[i] + 1;
+						queue[tail++] = j;
+					}
+				}
+			}
+			for (int q = 1; q < tail; q++) {
+				int j = queue[q];
+				double ideal = edgeLength * distance[j];
+				double actual = Math.hypot(x[source] - x[j],
+						y[source] - y[j]);
+				stress += (actual - ideal) * (actual - ideal)
+						/ (ideal * ideal);
+				pairs++;
+			}
+		}
+		return pairs == 0 ? 0 : stress / pairs;
+	}
+
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.examples.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link SyntheticGraphs} generate reproducible graphs (for a given seed)
+ * of different families, which are used by the {@link LayoutBenchmark}.
+ */
+public enum SyntheticGraphs {
+
+	/**
+	 * A random graph with (on average) two edges per node.
+	 */
+	RANDOM {
+		@Override
+		protected void createEdges(Node[] nodes, Random random,
+				List<Edge> edges) {
+			Set<Long> pairs = new HashSet<>();
+			int n = nodes.length;
+			long count = Math.min(2L * n, (long) n * (n - 1) / 2);
+			while (edges.size() < count) {
+				int source = random.nextInt(n);
+				int target = random.nextInt(n);
+				if (source != target && pairs
+						.add((long) Math.min(source, target) * n
+								+ Math.max(source, target))) {
+					edges.add(new Edge(nodes[source], nodes[target]));
+				}
+			}
+		}
+	},
+
+	/**
+	 * A scale-free graph, generated by preferential attachment of each new
+	 * node to two existing nodes.
+	 */
+	SCALE_FREE {
+		@Override
+		protected void createEdges(Node[] nodes, Random random,
+				List<Edge> edges) {
+			// each node occurs once per incident edge, so that a uniform
+			// choice prefers nodes of high degree
+			int[] endpoints = new int[4 * nodes.length];
+			int size = 0;
+			for (int i = 1; i < nodes.length; i++) {
+				int previous = -1;
+				for (int j = 0; j < Math.min(i, 2); j++) {
+					int target = size == 0 ? 0 : endpoints[random.nextInt(size)];
+					if (target == previous) {
+						continue;
+					}
+					previous = target;
+					edges.add(new Edge(nodes[target], nodes[i]));
+					endpoints[size++] = target;
+					endpoints[size++] = i;
+				}
+			}
+		}
+	},
+
+	/**
+	 * A random tree, where each node is attached to a random predecessor.
+	 */
+	TREE {
+		@Override
+		protected void createEdges(Node[] nodes, Random random,
+				List<Edge> edges) {
+			for (int i = 1; i < nodes.length; i++) {
+				edges.add(new Edge(nodes[random.nextInt(i)], nodes[i]));
+			}
+		}
+	},
+
+	/**
+	 * A directed acyclic graph with (on average) two edges per node, which
+	 * are directed from nodes with a lower index to nodes with a higher
+	 * index.
+	 */
+	DAG {
+		@Override
+		protected void createEdges(Node[] nodes, Random random,
+				List<Edge> edges) {
+			for (int i = 1; i < nodes.length; i++) {
+				int previous = -1;
+				for (int j = 0; j < Math.min(i, 2); j++) {
+					// prefer nearby predecessors to obtain deep hierarchies
+					int source = Math.max(0,
+							i - 1 - random.nextInt(Math.min(i, 32)));
+					if (source != previous) {
+						edges.add(new Edge(nodes[source], nodes[i]));
+						previous = source;
+					}
+				}
+			}
+		}
+	},
+
+	/**
+	 * A square grid, where each node is connected to its right and its bottom
+	 * neighbor.
+	 */
+	GRID {
+		@Override
+		protected void createEdges(Node[] nodes, Random random,
+				List<Edge> edges) {
+			int columns = (int) Math.ceil(Math.sqrt(nodes.length));
+			for (int i = 0; i < nodes.length; i++) {
+				if ((i + 1) % columns != 0 && i + 1 < nodes.length) {
+					edges.add(new Edge(nodes[i], nodes[i + 1]));
+				}
+				if (i + columns < nodes.length) {
+					edges.add(new Edge(nodes[i], nodes[i + columns]));
+				}
+			}
+		}
+	};
+
+	/**
+	 * The size of the generated nodes.
+	 */
+	public static final Dimension NODE_SIZE = new Dimension(20, 10);
+
+	/**
+	 * Generates a new {@link Graph} of this family with the given number of
+	 * nodes. The same seed always results in the same graph.
+	 *
+	 * @param numberOfNodes
+	 *            The number of nodes to generate.
+	 * @param seed
+	 *            The seed for the random number generator.
+	 * @return The generated {@link Graph}.
+	 */
+	public Graph create(int numberOfNodes, long seed) {
+		Random random = new Random(seed);
+		Node[] nodes = new Node[numberOfNodes];
+		for (int i = 0; i < numberOfNodes; i++) {
+			nodes[i] = new Node.Builder().buildNode();
+			LayoutProperties.setLocation(nodes[i], new Point());
+			LayoutProperties.setSize(nodes[i], NODE_SIZE.getCopy());
+		}
+		List<Edge> edges = new ArrayList<>();
+		createEdges(nodes, random, edges);
+		return new Graph.Builder().nodes(nodes).edges(edges).build();
+	}
+
+	/**
+	 * Creates the edges of this family for the given nodes.
+	 *
+	 * @param nodes
+	 *            The nodes to connect.
+	 * @param random
+	 *            The {@link Random} to use.
+	 * @param edges
+	 *            The list to which the created edges are added.
+	 */
+	protected abstract void createEdges(Node[] nodes, Random random,
+			List<Edge> edges);
+
+}
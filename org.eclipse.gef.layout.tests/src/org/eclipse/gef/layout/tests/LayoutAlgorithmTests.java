@@ -10,8 +10,27 @@
  *******************************************************************************/
 package org.eclipse.gef.layout.tests;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.ConnectedComponentsLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.MultilevelLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.SugiyamaLayoutAlgorithm;
+import org.eclipse.gef.layout.algorithms.TreeLayoutAlgorithm;
 import org.eclipse.gef.layout.algorithms.TreeLayoutObserver;
+import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeListener;
+import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeNode;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -40,6 +59,643 @@ public class LayoutAlgorithmTests {
 		}
 	}
 
+	@Test
+	public void connectedComponentsLayout() {
+		// a tree of four nodes, a path of three nodes, and two single nodes
+		Node[] nodes = createNodes(9);
+		final int[] components = new int[] { 0, 0, 0, 0, 1, 1, 1, 2, 3 };
+		List<Edge> edges = new ArrayList<>();
+		edges.add(new Edge(nodes[0], nodes[1]));
+		edges.add(new Edge(nodes[0], nodes[2]));
+		edges.add(new Edge(nodes[2], nodes[3]));
+		edges.add(new Edge(nodes[4], nodes[5]));
+		edges.add(new Edge(nodes[5], nodes[6]));
+		Graph graph = new Graph.Builder().nodes(nodes).edges(edges).build();
+
+		final List<TreeLayoutAlgorithm> created = new ArrayList<>();
+		ConnectedComponentsLayoutAlgorithm algorithm = new ConnectedComponentsLayoutAlgorithm(
+				new Supplier<ILayoutAlgorithm>() {
+					@Override
+					public ILayoutAlgorithm get() {
+						TreeLayoutAlgorithm treeLayout = new TreeLayoutAlgorithm();
+						synchronized (created) {
+							created.add(treeLayout);
+						}
+						return treeLayout;
+					}
+				});
+		LayoutContext context = createLayoutContext(graph,
+				new Rectangle(0, 0, 200, 200), algorithm);
+		context.applyLayout(true);
+
+		// single nodes are not laid out by the inner algorithm
+		Assert.assertEquals(2, created.size());
+		Rectangle[] boxes = new Rectangle[4];
+		for (int i = 0; i < nodes.length; i++) {
+			Point location = LayoutProperties.getLocation(nodes[i]);
+			Assert.assertTrue(location.x >= 5 && location.x <= 195);
+			Assert.assertTrue(location.y >= 5 && location.y <= 195);
+			Rectangle box = new Rectangle(location.x - 5, location.y - 5, 10,
+					10);
+			int c = components[i];
+			boxes[c] = boxes[c] == null ? box : boxes[c].union(box);
+		}
+		// the inner layout is preserved
+		Assert.assertEquals(LayoutProperties.getLocation(nodes[1]).y,
+				LayoutProperties.getLocation(nodes[2]).y, 0.001);
+		Assert.assertTrue(LayoutProperties.getLocation(nodes[3]).y
+				> LayoutProperties.getLocation(nodes[2]).y);
+		// the components do not overlap
+		for (int c = 0; c < boxes.length; c++) {
+			for (int d = c + 1; d < boxes.length; d++) {
+				Assert.assertFalse(boxes[c].getShrinked(0.5, 0.5)
+						.touches(boxes[d].getShrinked(0.5, 0.5)));
+			}
+		}
+
+		// a connected graph is laid out directly
+		graph.getEdges().add(new Edge(nodes[3], nodes[4]));
+		graph.getEdges().add(new Edge(nodes[6], nodes[7]));
+		graph.getEdges().add(new Edge(nodes[7], nodes[8]));
+		context.applyLayout(true);
+		Assert.assertEquals(3, created.size());
+		Assert.assertSame(context, created.get(2).getLayoutContext());
+		context.applyLayout(true);
+		Assert.assertEquals(3, created.size());
+	}
+
+	@Test
+	public void connectedComponentsLayoutKeepsPinnedComponents() {
+		// two paths of three nodes, the first one contains a pinned node
+		Node[] nodes = createNodes(6);
+		Graph graph = new Graph.Builder().nodes(nodes)
+				.edges(new Edge(nodes[0], nodes[1]),
+						new Edge(nodes[1], nodes[2]),
+						new Edge(nodes[3], nodes[4]),
+						new Edge(nodes[4], nodes[5]))
+				.build();
+		LayoutProperties.setLocation(nodes[0], new Point(150, 150));
+		nodes[0].attributesProperty().put(LayoutProperties.MOVABLE_PROPERTY,
+				false);
+		LayoutContext context = createLayoutContext(graph,
+				new Rectangle(0, 0, 200, 200),
+				new ConnectedComponentsLayoutAlgorithm(
+						new Supplier<ILayoutAlgorithm>() {
+							@Override
+							public ILayoutAlgorithm get() {
+								return new TreeLayoutAlgorithm();
+							}
+						}));
+		context.applyLayout(true);
+
+		// the pinned component is not moved by the packing
+		Assert.assertEquals(new Point(150, 150),
+				LayoutProperties.getLocation(nodes[0]));
+		Rectangle pinned = null;
+		for (int i = 0; i < 3; i++) {
+			Rectangle box = new Rectangle(LayoutProperties.getLocation(nodes[i])
+					.getTranslated(-5, -5), new Dimension(10, 10));
+			pinned = pinned == null ? box : pinned.union(box);
+		}
+		// the other component is packed next to it
+		for (int i = 3; i < 6; i++) {
+			Point location = LayoutProperties.getLocation(nodes[i]);
+			Assert.assertFalse(pinned.getShrinked(0.5, 0.5).touches(
+					new Rectangle(location.x - 5, location.y - 5, 10, 10)));
+		}
+	}
+
+	@Test
+	public void connectedComponentsLayoutRepacksChangedComponents() {
+		// two paths of three nodes
+		Node[] nodes = createNodes(6);
+		Graph graph = new Graph.Builder().nodes(nodes)
+				.edges(new Edge(nodes[0], nodes[1]),
+						new Edge(nodes[1], nodes[2]),
+						new Edge(nodes[3], nodes[4]),
+						new Edge(nodes[4], nodes[5]))
+				.build();
+		final List<TreeLayoutAlgorithm> created = new ArrayList<>();
+		LayoutContext context = createLayoutContext(graph,
+				new Rectangle(0, 0, 200, 200),
+				new ConnectedComponentsLayoutAlgorithm(
+						new Supplier<ILayoutAlgorithm>() {
+							@Override
+							public ILayoutAlgorithm get() {
+								TreeLayoutAlgorithm treeLayout = new TreeLayoutAlgorithm();
+								synchronized (created) {
+									created.add(treeLayout);
+								}
+								return treeLayout;
+							}
+						}));
+		context.applyLayout(true);
+		Assert.assertEquals(2, created.size());
+		Point[] locations = new Point[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			locations[i] = LayoutProperties.getLocation(nodes[i]);
+		}
+
+		// add a node to the second component
+		Node added = new Node.Builder().buildNode();
+		LayoutProperties.setSize(added, new Dimension(10, 10));
+		graph.getNodes().add(added);
+		graph.getEdges().add(new Edge(nodes[5], added));
+		context.applyLayout(false);
+
+		// only the changed component is laid out and packed again
+		Assert.assertEquals(3, created.size());
+		for (int i = 0; i < 3; i++) {
+			Assert.assertEquals(locations[i],
+					LayoutProperties.getLocation(nodes[i]));
+		}
+		Assert.assertNotNull(LayoutProperties.getLocation(added));
+
+		// a clean pass lays out all components
+		context.applyLayout(true);
+		Assert.assertEquals(5, created.size());
+	}
+
+	@Test
+	public void connectedComponentsLayoutWithoutBounds() {
+		// two paths of three nodes
+		Node[] nodes = createNodes(6);
+		Graph graph = new Graph.Builder().nodes(nodes)
+				.edges(new Edge(nodes[0], nodes[1]),
+						new Edge(nodes[1], nodes[2]),
+						new Edge(nodes[3], nodes[4]),
+						new Edge(nodes[4], nodes[5]))
+				.build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(new ConnectedComponentsLayoutAlgorithm(
+				new Supplier<ILayoutAlgorithm>() {
+					@Override
+					public ILayoutAlgorithm get() {
+						return new TreeLayoutAlgorithm();
+					}
+				}));
+		context.applyLayout(true);
+
+		// the components do not overlap
+		Rectangle[] boxes = new Rectangle[2];
+		for (int i = 0; i < nodes.length; i++) {
+			Point location = LayoutProperties.getLocation(nodes[i]);
+			Rectangle box = new Rectangle(location.x - 5, location.y - 5, 10,
+					10);
+			boxes[i / 3] = boxes[i / 3] == null ? box : boxes[i / 3].union(box);
+		}
+		Assert.assertFalse(boxes[0].getShrinked(0.5, 0.5)
+				.touches(boxes[1].getShrinked(0.5, 0.5)));
+	}
+
+	@Test
+	public void incrementalSpringLayout() {
+		// binary tree
+		Node[] nodes = createNodes(20);
+		Edge[] edges = new Edge[nodes.length - 1];
+		for (int i = 1; i < nodes.length; i++) {
+			edges[i - 1] = new Edge(nodes[(i - 1) / 2], nodes[i]);
+		}
+		Graph graph = new Graph.Builder().nodes(nodes).edges(edges).build();
+		Rectangle bounds = new Rectangle(0, 0, 500, 500);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		algorithm.setIncremental(true);
+		LayoutContext context = createLayoutContext(graph, bounds, algorithm);
+		context.applyLayout(true);
+		Point[] locations = new Point[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			locations[i] = LayoutProperties.getLocation(nodes[i]).getCopy();
+		}
+
+		// add a leaf to node 6
+		Node leaf = createNodes(1)[0];
+		graph.getNodes().add(leaf);
+		graph.getEdges().add(new Edge(nodes[6], leaf));
+		context.applyLayout(true);
+
+		// the leaf is placed within the bounds, and nodes that are far away
+		// from it (path 19-9-4-1-0-2-6) keep their locations
+		Assert.assertTrue(bounds.contains(LayoutProperties.getLocation(leaf)));
+		Assert.assertEquals(locations[19],
+				LayoutProperties.getLocation(nodes[19]));
+		Assert.assertEquals(locations[9],
+				LayoutProperties.getLocation(nodes[9]));
+		Assert.assertEquals(locations[4],
+				LayoutProperties.getLocation(nodes[4]));
+	}
+
+	@Test
+	public void multilevelLayout() {
+		// 10x10 grid graph
+		int columns = 10;
+		Node[] nodes = createNodes(columns * columns);
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < nodes.length; i++) {
+			if (i % columns > 0) {
+				edges.add(new Edge(nodes[i - 1], nodes[i]));
+			}
+			if (i >= columns) {
+				edges.add(new Edge(nodes[i - columns], nodes[i]));
+			}
+		}
+		Graph graph = new Graph.Builder().nodes(nodes)
+				.edges(edges.toArray(new Edge[] {})).build();
+		Rectangle bounds = new Rectangle(0, 0, 500, 500);
+		LayoutContext context = createLayoutContext(graph, bounds,
+				new MultilevelLayoutAlgorithm());
+		context.applyLayout(true);
+
+		for (Node node : nodes) {
+			Point location = LayoutProperties.getLocation(node);
+			Assert.assertTrue(location + " not within " + bounds,
+					bounds.contains(location));
+		}
+		// adjacent nodes are placed close to each other
+		double maxEdgeLength = 0;
+		for (Edge edge : edges) {
+			maxEdgeLength = Math.max(maxEdgeLength,
+					LayoutProperties.getLocation(edge.getSource()).getDistance(
+							LayoutProperties.getLocation(edge.getTarget())));
+		}
+		Assert.assertTrue(maxEdgeLength < bounds.getWidth() / 4);
+	}
+
+	@Test
+	public void multilevelLayoutRefinesLayout() {
+		Graph graph = createChain(20);
+		Rectangle bounds = new Rectangle(0, 0, 500, 500);
+		LayoutContext context = createLayoutContext(graph, bounds,
+				new MultilevelLayoutAlgorithm());
+		context.applyLayout(true);
+		List<Node> nodes = new ArrayList<>(graph.getNodes());
+		Point[] locations = new Point[nodes.size()];
+		for (int i = 0; i < locations.length; i++) {
+			locations[i] = LayoutProperties.getLocation(nodes.get(i))
+					.getCopy();
+		}
+
+		// add a leaf without a location to the last node
+		Node leaf = new Node();
+		LayoutProperties.setSize(leaf, new Dimension(10, 10));
+		graph.getNodes().add(leaf);
+		graph.getEdges().add(new Edge(nodes.get(nodes.size() - 1), leaf));
+		context.applyLayout(false);
+
+		// the leaf is placed next to its neighbor, and the other nodes are
+		// only moved slightly
+		Point leafLocation = LayoutProperties.getLocation(leaf);
+		Assert.assertTrue(bounds.contains(leafLocation));
+		Assert.assertTrue(leafLocation.getDistance(LayoutProperties
+				.getLocation(nodes.get(nodes.size() - 1))) < 100);
+		for (int i = 0; i < locations.length; i++) {
+			Assert.assertTrue(locations[i].getDistance(
+					LayoutProperties.getLocation(nodes.get(i))) < 100);
+		}
+	}
+
+	@Test
+	public void multilevelLayoutPinsImmovableNodes() {
+		// 10x10 grid graph with two immovable corners
+		int columns = 10;
+		Node[] nodes = createNodes(columns * columns);
+		List<Edge> edges = new ArrayList<>();
+		for (int i = 0; i < nodes.length; i++) {
+			if (i % columns > 0) {
+				edges.add(new Edge(nodes[i - 1], nodes[i]));
+			}
+			if (i >= columns) {
+				edges.add(new Edge(nodes[i - columns], nodes[i]));
+			}
+		}
+		Node first = nodes[0];
+		Node last = nodes[nodes.length - 1];
+		LayoutProperties.setLocation(first, new Point(100, 100));
+		LayoutProperties.setLocation(last, new Point(300, 300));
+		first.attributesProperty().put(LayoutProperties.MOVABLE_PROPERTY,
+				false);
+		last.attributesProperty().put(LayoutProperties.MOVABLE_PROPERTY,
+				false);
+		Graph graph = new Graph.Builder().nodes(nodes)
+				.edges(edges.toArray(new Edge[] {})).build();
+		Rectangle bounds = new Rectangle(0, 0, 500, 500);
+		LayoutContext context = createLayoutContext(graph, bounds,
+				new MultilevelLayoutAlgorithm());
+		context.applyLayout(true);
+
+		Assert.assertEquals(new Point(100, 100),
+				LayoutProperties.getLocation(first));
+		Assert.assertEquals(new Point(300, 300),
+				LayoutProperties.getLocation(last));
+		// the other nodes are laid out around the pinned nodes, so that their
+		// neighbors are placed close to them
+		for (Node node : nodes) {
+			Point location = LayoutProperties.getLocation(node);
+			Assert.assertTrue(location + " not within " + bounds,
+					bounds.contains(location));
+		}
+		Assert.assertTrue(LayoutProperties.getLocation(nodes[1])
+				.getDistance(new Point(100, 100)) < 100);
+		Assert.assertTrue(LayoutProperties.getLocation(nodes[nodes.length - 2])
+				.getDistance(new Point(300, 300)) < 100);
+	}
+
+	@Test
+	public void nonCleanSpringLayout() {
+		// binary tree
+		Node[] nodes = createNodes(20);
+		Edge[] edges = new Edge[nodes.length - 1];
+		for (int i = 1; i < nodes.length; i++) {
+			edges[i - 1] = new Edge(nodes[(i - 1) / 2], nodes[i]);
+		}
+		Graph graph = new Graph.Builder().nodes(nodes).edges(edges).build();
+		Rectangle bounds = new Rectangle(0, 0, 500, 500);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		LayoutContext context = createLayoutContext(graph, bounds, algorithm);
+
+		// a non-clean layout pass without a previous pass is ignored
+		Point[] locations = new Point[nodes.length];
+		for (int i = 0; i < nodes.length; i++) {
+			locations[i] = LayoutProperties.getLocation(nodes[i]).getCopy();
+		}
+		context.applyLayout(false);
+		for (int i = 0; i < nodes.length; i++) {
+			Assert.assertEquals(locations[i],
+					LayoutProperties.getLocation(nodes[i]));
+		}
+
+		context.applyLayout(true);
+		for (int i = 0; i < nodes.length; i++) {
+			locations[i] = LayoutProperties.getLocation(nodes[i]).getCopy();
+		}
+
+		// a non-clean pass is ignored if the algorithm is not incremental
+		Node leaf = createNodes(1)[0];
+		graph.getNodes().add(leaf);
+		graph.getEdges().add(new Edge(nodes[6], leaf));
+		Point leafLocation = LayoutProperties.getLocation(leaf).getCopy();
+		context.applyLayout(false);
+		Assert.assertEquals(leafLocation, LayoutProperties.getLocation(leaf));
+		for (int i = 0; i < nodes.length; i++) {
+			Assert.assertEquals(locations[i],
+					LayoutProperties.getLocation(nodes[i]));
+		}
+
+		// a non-clean pass refines the previous layout if the algorithm is
+		// incremental
+		algorithm.setIncremental(true);
+		context.applyLayout(false);
+		Assert.assertTrue(bounds.contains(LayoutProperties.getLocation(leaf)));
+		Assert.assertEquals(locations[19],
+				LayoutProperties.getLocation(nodes[19]));
+		Assert.assertEquals(locations[9],
+				LayoutProperties.getLocation(nodes[9]));
+		Assert.assertEquals(locations[4],
+				LayoutProperties.getLocation(nodes[4]));
+	}
+
+	@Test
+	public void springLayoutIsReproducible() {
+		Point[][] locations = new Point[2][];
+		for (int pass = 0; pass < 2; pass++) {
+			Graph graph = createChain(10);
+			SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+			algorithm.setIterations(100);
+			algorithm.setIncremental(true);
+			LayoutContext context = createLayoutContext(graph,
+					new Rectangle(0, 0, 500, 400), algorithm);
+			context.applyLayout(true);
+			// new nodes are placed next to their neighbors
+			Node leaf = createNodes(1)[0];
+			graph.getNodes().add(leaf);
+			graph.getEdges().add(new Edge(graph.getNodes().get(0), leaf));
+			context.applyLayout(true);
+			locations[pass] = new Point[graph.getNodes().size()];
+			for (int i = 0; i < locations[pass].length; i++) {
+				locations[pass][i] = LayoutProperties
+						.getLocation(graph.getNodes().get(i));
+			}
+		}
+		Assert.assertArrayEquals(locations[0], locations[1]);
+	}
+
+	@Test
+	public void springLayoutWithinBounds() {
+		Graph graph = createChain(20);
+		Rectangle bounds = new Rectangle(0, 0, 500, 400);
+		SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		algorithm.setIterations(100);
+		LayoutContext context = createLayoutContext(graph, bounds, algorithm);
+		context.applyLayout(true);
+
+		for (Node node : graph.getNodes()) {
+			Point location = LayoutProperties.getLocation(node);
+			Assert.assertTrue(location + " not within " + bounds,
+					bounds.contains(location));
+		}
+	}
+
+	@Test
+	public void sugiyamaLongestPathLayering() {
+		// 0 -> 1 -> 2 -> 3, a long edge 0 -> 3, and a cycle 3 -> 4 -> 2
+		Node[] nodes = createNodes(5);
+		Graph graph = new Graph.Builder().nodes(nodes)
+				.edges(new Edge(nodes[0], nodes[1]),
+						new Edge(nodes[1], nodes[2]),
+						new Edge(nodes[2], nodes[3]),
+						new Edge(nodes[0], nodes[3]),
+						new Edge(nodes[3], nodes[4]),
+						new Edge(nodes[4], nodes[2]))
+				.build();
+		SugiyamaLayoutAlgorithm algorithm = new SugiyamaLayoutAlgorithm(
+				SugiyamaLayoutAlgorithm.Direction.VERTICAL,
+				new SugiyamaLayoutAlgorithm.LongestPathLayerProvider());
+		LayoutContext context = createLayoutContext(graph,
+				new Rectangle(0, 0, 400, 500), algorithm);
+		context.applyLayout(true);
+
+		// each node is placed on its own layer (the cycle is broken at the
+		// edge that closes it during the depth first search)
+		double layerSize = 2 * LayoutProperties.getLocation(nodes[0]).y;
+		for (int i = 0; i < nodes.length; i++) {
+			Assert.assertEquals((i + 0.5) * layerSize,
+					LayoutProperties.getLocation(nodes[i]).y, 1e-9);
+		}
+	}
+
+	/**
+	 * Creates a chain of the given number of nodes (see
+	 * {@link #createNodes(int)}).
+	 */
+	static Graph createChain(int nodeCount) {
+		Node[] nodes = createNodes(nodeCount);
+		Edge[] edges = new Edge[nodeCount - 1];
+		for (int i = 1; i < nodeCount; i++) {
+			edges[i - 1] = new Edge(nodes[i - 1], nodes[i]);
+		}
+		return new Graph.Builder().nodes(nodes).edges(edges).build();
+	}
+
+	private static LayoutContext createLayoutContext(Graph graph,
+			Rectangle bounds, ILayoutAlgorithm algorithm) {
+		LayoutProperties.setBounds(graph, bounds);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.setLayoutAlgorithm(algorithm);
+		return context;
+	}
+
+	/**
+	 * Creates the given number of nodes of size 10x10, which are located
+	 * diagonally at (i * 10, i * 5).
+	 */
+	static Node[] createNodes(int nodeCount) {
+		Node[] nodes = new Node[nodeCount];
+		for (int i = 0; i < nodeCount; i++) {
+			nodes[i] = new Node.Builder().buildNode();
+			LayoutProperties.setLocation(nodes[i], new Point(i * 10, i * 5));
+			LayoutProperties.setSize(nodes[i], new Dimension(10, 10));
+		}
+		return nodes;
+	}
+
+	@Test
+	public void treeLayoutCompactMode() {
+		// root with a left child (having three leaves) and a right leaf
+		Node[] nodes = createNodes(6);
+		Edge[] edges = new Edge[] { new Edge(nodes[0], nodes[1]),
+				new Edge(nodes[0], nodes[2]), new Edge(nodes[1], nodes[3]),
+				new Edge(nodes[1], nodes[4]), new Edge(nodes[1], nodes[5]) };
+		Graph graph = new Graph.Builder().nodes(nodes).edges(edges).build();
+		TreeLayoutAlgorithm algorithm = new TreeLayoutAlgorithm(
+				TreeLayoutAlgorithm.TOP_DOWN, new Dimension(10, 10));
+		algorithm.setMode(TreeLayoutAlgorithm.COMPACT);
+		LayoutContext context = createLayoutContext(graph,
+				new Rectangle(0, 0, 400, 400), algorithm);
+		context.applyLayout(true);
+
+		// the leaf child of the root is placed above a leaf of the other child
+		// (the order of the children is not specified), so that the tree
+		// occupies three instead of four slots
+		for (Node node : nodes) {
+			Point location = LayoutProperties.getLocation(node);
+			Assert.assertTrue(location.x >= 5 && location.x <= 25);
+		}
+		Point left = LayoutProperties.getLocation(nodes[1]);
+		Point right = LayoutProperties.getLocation(nodes[2]);
+		Assert.assertEquals(10, Math.abs(left.x - right.x), 0);
+		Assert.assertEquals((left.x + right.x) / 2,
+				LayoutProperties.getLocation(nodes[0]).x, 0);
+		Assert.assertEquals(15, LayoutProperties.getLocation(nodes[1]).x, 0);
+
+		// in layered mode, each leaf occupies its own slot
+		algorithm.setMode(TreeLayoutAlgorithm.LAYERED);
+		context.applyLayout(true);
+		left = LayoutProperties.getLocation(nodes[1]);
+		right = LayoutProperties.getLocation(nodes[2]);
+		Assert.assertEquals(20, Math.abs(left.x - right.x), 0);
+	}
+
+	@Test
+	public void treeLayoutMaximizesSizes() {
+		Node[] nodes = createNodes(6);
+		Edge[] edges = new Edge[nodes.length - 1];
+		for (int i = 1; i < nodes.length; i++) {
+			edges[i - 1] = new Edge(nodes[i < 3 ? 0 : 1], nodes[i]);
+		}
+		Graph graph = new Graph.Builder().nodes(nodes).edges(edges).build();
+		Rectangle bounds = new Rectangle(0, 0, 400, 400);
+		TreeLayoutAlgorithm algorithm = new TreeLayoutAlgorithm();
+		algorithm.setResizing(true);
+		LayoutContext context = createLayoutContext(graph, bounds, algorithm);
+		context.applyLayout(true);
+
+		// all nodes are enlarged uniformly and fitted into the bounds
+		Dimension size = LayoutProperties.getSize(nodes[0]);
+		Assert.assertTrue(size + " not enlarged", size.width > 10);
+		for (Node node : nodes) {
+			Assert.assertEquals(size, LayoutProperties.getSize(node));
+			Point location = LayoutProperties.getLocation(node);
+			Assert.assertTrue(location + " not within " + bounds,
+					bounds.contains(location));
+		}
+		Assert.assertEquals(LayoutProperties.getLocation(nodes[1]).y,
+				LayoutProperties.getLocation(nodes[2]).y, 0);
+	}
+
+	@Test
+	public void treeLayoutObserverIncremental() {
+		// chain 0 -> 1 -> 2
+		Node[] nodes = createNodes(4);
+		Graph graph = new Graph.Builder().nodes(nodes[0], nodes[1], nodes[2])
+				.edges(new Edge(nodes[0], nodes[1]),
+						new Edge(nodes[1], nodes[2]))
+				.build();
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		TreeLayoutObserver observer = new TreeLayoutObserver(context, null);
+		final List<TreeNode> changed = new ArrayList<>();
+		observer.addTreeListener(new TreeListener() {
+			@Override
+			protected void defaultHandle(TreeNode changedNode) {
+				changed.add(changedNode);
+			}
+		});
+		TreeNode root = observer.getTreeNode(nodes[0]);
+		Assert.assertEquals(2, root.getHeight());
+		Assert.assertEquals(1, root.getNumOfLeaves());
+
+		// a new node is added as a root
+		graph.getNodes().add(nodes[3]);
+		TreeNode treeNode = observer.getTreeNode(nodes[3]);
+		Assert.assertSame(observer.getSuperRoot(), treeNode.getParent());
+		Assert.assertEquals(0, treeNode.getDepth());
+		Assert.assertEquals(2, observer.getSuperRoot().getNumOfLeaves());
+		Assert.assertEquals(1, changed.size());
+
+		// connecting it moves it below the root
+		changed.clear();
+		Edge edge = new Edge(nodes[0], nodes[3]);
+		graph.getEdges().add(edge);
+		Assert.assertSame(root, treeNode.getParent());
+		Assert.assertEquals(1, treeNode.getDepth());
+		Assert.assertEquals(2, root.getNumOfLeaves());
+		Assert.assertEquals(3, root.getNumOfDescendants());
+		Assert.assertEquals(1, observer.getSuperRoot().getChildren().size());
+		Assert.assertEquals(1, changed.size());
+		Assert.assertSame(treeNode, changed.get(0));
+		Assert.assertEquals(root.getOrder(),
+				Math.min(observer.getTreeNode(nodes[2]).getOrder(),
+						treeNode.getOrder()));
+
+		// removing the middle node re-parents its child
+		graph.getEdges().add(new Edge(nodes[3], nodes[2]));
+		TreeNode leaf = observer.getTreeNode(nodes[2]);
+		graph.getEdges().remove(graph.getEdges().get(1));
+		graph.getNodes().remove(nodes[1]);
+		Assert.assertSame(treeNode, leaf.getParent());
+		Assert.assertEquals(2, leaf.getDepth());
+		Assert.assertEquals(2, root.getHeight());
+		Assert.assertEquals(1, root.getNumOfLeaves());
+		Assert.assertEquals(2, root.getNumOfDescendants());
+		Assert.assertTrue(treeNode.isFirstChild() && treeNode.isLastChild());
+
+		// removing the edge turns the node into a root again
+		graph.getEdges().remove(edge);
+		Assert.assertSame(observer.getSuperRoot(), treeNode.getParent());
+		Assert.assertEquals(0, treeNode.getDepth());
+		Assert.assertEquals(1, leaf.getDepth());
+		Assert.assertEquals(0, root.getHeight());
+		Assert.assertEquals(2, observer.getSuperRoot().getNumOfLeaves());
+
+		// no more updates after stopping
+		observer.stop();
+		changed.clear();
+		graph.getEdges().add(new Edge(nodes[0], nodes[3]));
+		Assert.assertTrue(changed.isEmpty());
+		Assert.assertSame(observer.getSuperRoot(), treeNode.getParent());
+	}
+
 	/**
 	 * Test issues with TreeLayoutObserver.TreeNode#isAncestorOf for tree nodes
 	 * that are their own descendants, using the protected addChild() method
@@ -0,0 +1,343 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.IAsyncLayoutListener;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.ILayoutFilter;
+import org.eclipse.gef.layout.LayoutBuffer;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.layout.algorithms.SpringLayoutAlgorithm;
+import org.junit.Test;
+
+public class LayoutContextTests {
+
+	private static class QueueExecutor implements Executor {
+		private final List<Runnable> queue = new ArrayList<>();
+
+		@Override
+		public void execute(Runnable command) {
+			queue.add(command);
+		}
+
+		public void runAll() {
+			while (!queue.isEmpty()) {
+				queue.remove(0).run();
+			}
+		}
+	}
+
+	@Test
+	public void asyncLayout() {
+		Graph graph = LayoutAlgorithmTests.createChain(10);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 500, 400));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		final List<String> passes = new ArrayList<>();
+		context.schedulePostLayoutPass(new Runnable() {
+			@Override
+			public void run() {
+				passes.add("post");
+			}
+		});
+
+		QueueExecutor worker = new QueueExecutor();
+		QueueExecutor apply = new QueueExecutor();
+		context.applyLayoutAsync(true, new Supplier<ILayoutAlgorithm>() {
+			@Override
+			public ILayoutAlgorithm get() {
+				SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+				algorithm.setIterations(100);
+				return algorithm;
+			}
+		}, worker, apply);
+		Node node = graph.getNodes().get(5);
+		Point initialLocation = LayoutProperties.getLocation(node).getCopy();
+
+		// the layout is computed on a snapshot
+		worker.runAll();
+		assertEquals(initialLocation, LayoutProperties.getLocation(node));
+		assertTrue(passes.isEmpty());
+
+		// the results are transferred back by the apply executor
+		apply.runAll();
+		assertFalse(initialLocation.equals(LayoutProperties.getLocation(node)));
+		assertEquals(1, passes.size());
+	}
+
+	@Test
+	public void asyncLayoutDiscardsStaleResults() {
+		Graph graph = LayoutAlgorithmTests.createChain(10);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 500, 400));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		Node node = graph.getNodes().get(5);
+		Point initialLocation = LayoutProperties.getLocation(node).getCopy();
+
+		QueueExecutor worker = new QueueExecutor();
+		QueueExecutor apply = new QueueExecutor();
+		context.applyLayoutAsync(true, new Supplier<ILayoutAlgorithm>() {
+			@Override
+			public ILayoutAlgorithm get() {
+				return new SpringLayoutAlgorithm();
+			}
+		}, worker, apply);
+		worker.runAll();
+		// a subsequent request supersedes the computed results
+		context.cancelAsyncLayout();
+		apply.runAll();
+		assertEquals(initialLocation, LayoutProperties.getLocation(node));
+	}
+
+	@Test
+	public void asyncLayoutBalancesPrePostPasses() {
+		Graph graph = LayoutAlgorithmTests.createChain(10);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 500, 400));
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		final List<String> passes = new ArrayList<>();
+		context.schedulePreLayoutPass(new Runnable() {
+			@Override
+			public void run() {
+				passes.add("pre");
+			}
+		});
+		context.schedulePostLayoutPass(new Runnable() {
+			@Override
+			public void run() {
+				passes.add("post");
+			}
+		});
+		context.addAsyncLayoutListener(new IAsyncLayoutListener() {
+			@Override
+			public void asyncLayoutApplied() {
+				passes.add("applied");
+			}
+
+			@Override
+			public void asyncLayoutCancelled() {
+				passes.add("cancelled");
+			}
+
+			@Override
+			public void asyncLayoutFailed(Throwable throwable) {
+				passes.add("failed");
+			}
+
+			@Override
+			public void asyncLayoutStarted() {
+				passes.add("started");
+			}
+		});
+		Node node = graph.getNodes().get(5);
+		Point initialLocation = LayoutProperties.getLocation(node).getCopy();
+
+		// a cancelled pass executes the post layout pass without results
+		QueueExecutor worker = new QueueExecutor();
+		QueueExecutor apply = new QueueExecutor();
+		Supplier<ILayoutAlgorithm> springLayout = new Supplier<ILayoutAlgorithm>() {
+			@Override
+			public ILayoutAlgorithm get() {
+				return new SpringLayoutAlgorithm();
+			}
+		};
+		context.applyLayoutAsync(true, springLayout, worker, apply);
+		assertEquals(Arrays.asList("pre", "started"), passes);
+		context.cancelAsyncLayout();
+		worker.runAll();
+		apply.runAll();
+		assertEquals(Arrays.asList("pre", "started", "post", "cancelled"),
+				passes);
+		assertEquals(initialLocation, LayoutProperties.getLocation(node));
+
+		// cancelling without a pending pass does nothing
+		passes.clear();
+		context.cancelAsyncLayout();
+		assertTrue(passes.isEmpty());
+
+		// a failed pass executes the post layout pass without results
+		context.applyLayoutAsync(true, new Supplier<ILayoutAlgorithm>() {
+			@Override
+			public ILayoutAlgorithm get() {
+				return new SpringLayoutAlgorithm() {
+					@Override
+					public void applyLayout(boolean clean) {
+						throw new IllegalStateException();
+					}
+				};
+			}
+		}, worker, apply);
+		worker.runAll();
+		apply.runAll();
+		assertEquals(Arrays.asList("pre", "started", "post", "failed"),
+				passes);
+		assertEquals(initialLocation, LayoutProperties.getLocation(node));
+
+		// an applied pass is reported after the post layout pass
+		passes.clear();
+		context.applyLayoutAsync(true, springLayout, worker, apply);
+		worker.runAll();
+		apply.runAll();
+		assertEquals(Arrays.asList("pre", "started", "post", "applied"),
+				passes);
+	}
+
+	@Test
+	public void asyncLayoutDoesNotBlockSyncLayout()
+			throws InterruptedException {
+		Graph graph = LayoutAlgorithmTests.createChain(10);
+		LayoutProperties.setBounds(graph, new Rectangle(0, 0, 500, 400));
+		final LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		final SpringLayoutAlgorithm algorithm = new SpringLayoutAlgorithm();
+		context.setLayoutAlgorithm(algorithm);
+
+		// the algorithm of the context may not be used for async passes
+		try {
+			context.applyLayoutAsync(true, new Supplier<ILayoutAlgorithm>() {
+				@Override
+				public ILayoutAlgorithm get() {
+					return algorithm;
+				}
+			}, new QueueExecutor(), new QueueExecutor());
+			fail("IllegalArgumentException expected");
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+
+		// an async pass that does not finish before it is released
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+		final ILayoutAlgorithm blocking = new SpringLayoutAlgorithm() {
+			@Override
+			public void applyLayout(boolean clean) {
+				started.countDown();
+				try {
+					release.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		ExecutorService worker = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> future = context.applyLayoutAsync(true,
+					new Supplier<ILayoutAlgorithm>() {
+						@Override
+						public ILayoutAlgorithm get() {
+							return blocking;
+						}
+					}, worker, new QueueExecutor());
+			assertTrue(started.await(10, TimeUnit.SECONDS));
+
+			// a synchronous pass is performed while the async pass is running
+			Node node = graph.getNodes().get(5);
+			Point initialLocation = LayoutProperties.getLocation(node)
+					.getCopy();
+			context.applyLayout(true);
+			assertFalse(
+					initialLocation.equals(LayoutProperties.getLocation(node)));
+			assertTrue(future.isCancelled());
+		} finally {
+			release.countDown();
+			worker.shutdown();
+		}
+	}
+
+	@Test
+	public void layoutBuffer() {
+		Graph graph = LayoutAlgorithmTests.createChain(3);
+		Node node = graph.getNodes().get(1);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.preLayout();
+
+		LayoutBuffer buffer = context.getLayoutBuffer();
+		assertSame(buffer, context.getLayoutBuffer());
+		assertEquals(3, buffer.getNodeCount());
+		assertEquals(2, buffer.getEdgeCount());
+		assertEquals(1, buffer.indexOf(node));
+		assertEquals(10, buffer.getXs()[1], 0);
+		assertEquals(5, buffer.getYs()[1], 0);
+		assertEquals(10, buffer.getWidths()[1], 0);
+		assertEquals(1, buffer.getEdgeSources()[1]);
+		assertEquals(2, buffer.getEdgeTargets()[1]);
+
+		// changes are only written back after the layout pass
+		buffer.setLocation(1, 100, 200);
+		assertEquals(new Point(10, 5), LayoutProperties.getLocation(node));
+		context.postLayout();
+		assertEquals(new Point(100, 200), LayoutProperties.getLocation(node));
+		assertNotSame(buffer, context.getLayoutBuffer());
+	}
+
+	@Test
+	public void layoutBufferSkipsUnspecifiedAndIrrelevantNodes() {
+		Graph graph = LayoutAlgorithmTests.createChain(3);
+		final Node irrelevant = graph.getNodes().get(2);
+		LayoutContext context = new LayoutContext();
+		context.setGraph(graph);
+		context.addLayoutFilter(new ILayoutFilter() {
+			@Override
+			public boolean isLayoutIrrelevant(Edge edge) {
+				return false;
+			}
+
+			@Override
+			public boolean isLayoutIrrelevant(Node node) {
+				return node == irrelevant;
+			}
+		});
+		context.preLayout();
+
+		// partially specified locations and sizes are not written back
+		LayoutBuffer buffer = context.getLayoutBuffer();
+		buffer.setLocation(0, 100, Double.NaN);
+		buffer.setSize(1, Double.NaN, 20);
+		assertFalse(buffer.isLayoutIrrelevant(1));
+		assertTrue(buffer.isLayoutIrrelevant(2));
+		buffer.setLocation(2, 100, 100);
+		context.postLayout();
+		assertEquals(new Point(0, 0),
+				LayoutProperties.getLocation(graph.getNodes().get(0)));
+		assertEquals(new Dimension(10, 10),
+				LayoutProperties.getSize(graph.getNodes().get(1)));
+		assertEquals(new Point(20, 10), LayoutProperties.getLocation(irrelevant));
+	}
+
+}
@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * An {@link IAsyncLayoutListener} can be registered at a {@link LayoutContext}
+ * to be notified about the progress of its asynchronous layout passes (see
+ * {@link LayoutContext#applyLayoutAsync(boolean, Supplier, Executor, Executor)}
+ * ), e.g. to indicate a running layout pass within the user interface.
+ */
+public interface IAsyncLayoutListener {
+
+	/**
+	 * Called when the results of an asynchronous layout pass have been
+	 * transferred to the graph and the post layout pass has been executed.
+	 * Called by the apply executor of the layout pass.
+	 */
+	public void asyncLayoutApplied();
+
+	/**
+	 * Called when an asynchronous layout pass has been cancelled, either
+	 * explicitly, or because another layout pass was requested before its
+	 * results were applied. Called by the thread that cancels the layout pass,
+	 * after the post layout pass has been executed to restore the layout.
+	 */
+	public void asyncLayoutCancelled();
+
+	/**
+	 * Called when the layout algorithm of an asynchronous layout pass failed
+	 * with the given {@link Throwable}. Called by the apply executor of the
+	 * layout pass, after the post layout pass has been executed to restore the
+	 * layout.
+	 *
+	 * @param throwable
+	 *            The {@link Throwable} that was thrown by the layout
+	 *            algorithm.
+	 */
+	public void asyncLayoutFailed(Throwable throwable);
+
+	/**
+	 * Called when an asynchronous layout pass was started, i.e. after the pre
+	 * layout pass has been executed and the layout algorithm was scheduled on
+	 * the layout executor. Called by the thread that requested the layout
+	 * pass.
+	 */
+	public void asyncLayoutStarted();
+
+}
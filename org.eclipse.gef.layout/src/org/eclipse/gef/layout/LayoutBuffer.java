@@ -0,0 +1,352 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Node;
+
+/**
+ * A {@link LayoutBuffer} is a dense, primitive representation of the layout
+ * relevant information of a {@link LayoutContext}'s nodes and edges. It
+ * provides the location ({@link LayoutProperties#LOCATION_PROPERTY}) and size
+ * ({@link LayoutProperties#SIZE_PROPERTY}) of each node within
+ * <code>double[]</code> arrays, as well as the source and target node index of
+ * each edge within <code>int[]</code> arrays, so that (iterative) layout
+ * algorithms can operate on them directly, without allocating {@link Point}s
+ * and {@link Dimension}s or notifying attribute listeners per step.
+ * <p>
+ * Changes to the buffer are written back to the node attributes in a single
+ * pass by {@link #commit()}, which is performed by the {@link LayoutContext}
+ * within {@link LayoutContext#postLayout()}. Only those locations and sizes
+ * that actually changed (and that are fully specified, i.e. do not contain
+ * {@link Double#NaN}) are written back. Nodes that are
+ * {@link LayoutContext#isLayoutIrrelevant(Node) layout irrelevant} are never
+ * written back.
+ * <p>
+ * Note that the node attributes are not updated before the buffer is
+ * committed, i.e. algorithms that mix buffer and attribute access need to
+ * {@link #commit()} the buffer before accessing the attributes.
+ */
+public class LayoutBuffer {
+
+	private final Node[] nodes;
+	private final Edge[] edges;
+	private final Map<Node, Integer> indices = new IdentityHashMap<>();
+
+	private final double[] x;
+	private final double[] y;
+	private final double[] width;
+	private final double[] height;
+	private final double[] initial;
+	private final boolean[] movable;
+	private final boolean[] resizable;
+	private final boolean[] irrelevant;
+	private final int[] edgeSources;
+	private final int[] edgeTargets;
+
+	/**
+	 * Constructs a new {@link LayoutBuffer} for the given nodes and edges,
+	 * reading the current locations and sizes from the node attributes.
+	 * Locations and sizes that are not specified are represented by
+	 * {@link Double#NaN}.
+	 *
+	 * @param nodes
+	 *            The nodes to buffer.
+	 * @param edges
+	 *            The edges to buffer. Edges whose source or target is not
+	 *            contained in the given nodes are assigned the node index
+	 *            <code>-1</code>.
+	 */
+	public LayoutBuffer(List<Node> nodes, List<Edge> edges) {
+		this(nodes, edges, null);
+	}
+
+	/**
+	 * Constructs a new {@link LayoutBuffer} for the nodes and edges of the
+	 * given {@link LayoutContext}'s graph. Nodes that are
+	 * {@link LayoutContext#isLayoutIrrelevant(Node) layout irrelevant}
+	 * according to the given {@link LayoutContext} are buffered, but not
+	 * written back by {@link #commit()}.
+	 *
+	 * @param context
+	 *            The {@link LayoutContext} for which to buffer the nodes and
+	 *            edges.
+	 */
+	public LayoutBuffer(LayoutContext context) {
+		this(context.getGraph().getNodes(), context.getGraph().getEdges(),
+				context);
+	}
+
+	private LayoutBuffer(List<Node> nodes, List<Edge> edges,
+			LayoutContext context) {
+		this.nodes = nodes.toArray(new Node[nodes.size()]);
+		this.edges = edges.toArray(new Edge[edges.size()]);
+		int n = this.nodes.length;
+		x = new double[n];
+		y = new double[n];
+		width = new double[n];
+		height = new double[n];
+		initial = new double[4 * n];
+		movable = new boolean[n];
+		resizable = new boolean[n];
+		irrelevant = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			Node node = this.nodes[i];
+			indices.put(node, i);
+			Point location = LayoutProperties.getLocation(node);
+			x[i] = location == null ? Double.NaN : location.x;
+			y[i] = location == null ? Double.NaN : location.y;
+			Dimension size = LayoutProperties.getSize(node);
+			width[i] = size == null ? Double.NaN : size.width;
+			height[i] = size == null ? Double.NaN : size.height;
+			initial[4 * i] = x[i];
+			initial[4 * i + 1] = y[i];
+			initial[4 * i + 2] = width[i];
+			initial[4 * i + 3] = height[i];
+			movable[i] = LayoutProperties.isMovable(node);
+			resizable[i] = LayoutProperties.isResizable(node);
+			irrelevant[i] = context != null
+					&& context.isLayoutIrrelevant(node);
+		}
+		int m = this.edges.length;
+		edgeSources = new int[m];
+		edgeTargets = new int[m];
+		for (int e = 0; e < m; e++) {
+			edgeSources[e] = indexOf(this.edges[e].getSource());
+			edgeTargets[e] = indexOf(this.edges[e].getTarget());
+		}
+	}
+
+	private static boolean changed(double oldFirst, double oldSecond,
+			double newFirst, double newSecond) {
+		if (Double.isNaN(newFirst) || Double.isNaN(newSecond)) {
+			// a partially specified location or size cannot be written back
+			return false;
+		}
+		return Double.compare(oldFirst, newFirst) != 0
+				|| Double.compare(oldSecond, newSecond) != 0;
+	}
+
+	/**
+	 * Writes all changed locations and sizes back to the attributes of the
+	 * respective nodes. Locations and sizes that contain {@link Double#NaN}
+	 * are skipped as a whole, as are nodes that are layout irrelevant.
+	 */
+	public void commit() {
+		for (int i = 0; i < nodes.length; i++) {
+			if (irrelevant[i]) {
+				continue;
+			}
+			if (changed(initial[4 * i], initial[4 * i + 1], x[i], y[i])) {
+				LayoutProperties.setLocation(nodes[i], new Point(x[i], y[i]));
+				initial[4 * i] = x[i];
+				initial[4 * i + 1] = y[i];
+			}
+			if (changed(initial[4 * i + 2], initial[4 * i + 3], width[i],
+					height[i])) {
+				LayoutProperties.setSize(nodes[i],
+						new Dimension(width[i], height[i]));
+				initial[4 * i + 2] = width[i];
+				initial[4 * i + 3] = height[i];
+			}
+		}
+	}
+
+	/**
+	 * Returns the {@link Edge} at the given index.
+	 *
+	 * @param index
+	 *            The index of the {@link Edge} to return.
+	 * @return The {@link Edge} at the given index.
+	 */
+	public Edge getEdge(int index) {
+		return edges[index];
+	}
+
+	/**
+	 * Returns the number of buffered edges.
+	 *
+	 * @return The number of buffered edges.
+	 */
+	public int getEdgeCount() {
+		return edges.length;
+	}
+
+	/**
+	 * Returns the (live) array that provides the source node index for each
+	 * edge.
+	 *
+	 * @return The (live) array of edge source indices.
+	 */
+	public int[] getEdgeSources() {
+		return edgeSources;
+	}
+
+	/**
+	 * Returns the (live) array that provides the target node index for each
+	 * edge.
+	 *
+	 * @return The (live) array of edge target indices.
+	 */
+	public int[] getEdgeTargets() {
+		return edgeTargets;
+	}
+
+	/**
+	 * Returns the (live) array that provides the height of each node.
+	 *
+	 * @return The (live) array of node heights.
+	 */
+	public double[] getHeights() {
+		return height;
+	}
+
+	/**
+	 * Returns the {@link Node} at the given index.
+	 *
+	 * @param index
+	 *            The index of the {@link Node} to return.
+	 * @return The {@link Node} at the given index.
+	 */
+	public Node getNode(int index) {
+		return nodes[index];
+	}
+
+	/**
+	 * Returns the number of buffered nodes.
+	 *
+	 * @return The number of buffered nodes.
+	 */
+	public int getNodeCount() {
+		return nodes.length;
+	}
+
+	/**
+	 * Returns the (live) array that provides the width of each node.
+	 *
+	 * @return The (live) array of node widths.
+	 */
+	public double[] getWidths() {
+		return width;
+	}
+
+	/**
+	 * Returns the (live) array that provides the x-coordinate of the location
+	 * of each node.
+	 *
+	 * @return The (live) array of x-coordinates.
+	 */
+	public double[] getXs() {
+		return x;
+	}
+
+	/**
+	 * Returns the (live) array that provides the y-coordinate of the location
+	 * of each node.
+	 *
+	 * @return The (live) array of y-coordinates.
+	 */
+	public double[] getYs() {
+		return y;
+	}
+
+	/**
+	 * Returns the index of the given {@link Node} within this
+	 * {@link LayoutBuffer}, or <code>-1</code> if the node is not buffered.
+	 *
+	 * @param node
+	 *            The {@link Node} for which to return the index.
+	 * @return The index of the given {@link Node}, or <code>-1</code>.
+	 */
+	public int indexOf(Node node) {
+		Integer index = indices.get(node);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * Returns whether the node at the given index is layout irrelevant (see
+	 * {@link LayoutContext#isLayoutIrrelevant(Node)}), so that its location
+	 * and size are not written back by {@link #commit()}.
+	 *
+	 * @param index
+	 *            The index of the node.
+	 * @return <code>true</code> if the node is layout irrelevant, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isLayoutIrrelevant(int index) {
+		return irrelevant[index];
+	}
+
+	/**
+	 * Returns whether the node at the given index is movable (see
+	 * {@link LayoutProperties#isMovable(Node)}).
+	 *
+	 * @param index
+	 *            The index of the node.
+	 * @return <code>true</code> if the node is movable, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isMovable(int index) {
+		return movable[index];
+	}
+
+	/**
+	 * Returns whether the node at the given index is resizable (see
+	 * {@link LayoutProperties#isResizable(Node)}).
+	 *
+	 * @param index
+	 *            The index of the node.
+	 * @return <code>true</code> if the node is resizable, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isResizable(int index) {
+		return resizable[index];
+	}
+
+	/**
+	 * Sets the location of the node at the given index.
+	 *
+	 * @param index
+	 *            The index of the node.
+	 * @param x
+	 *            The new x-coordinate.
+	 * @param y
+	 *            The new y-coordinate.
+	 */
+	public void setLocation(int index, double x, double y) {
+		this.x[index] = x;
+		this.y[index] = y;
+	}
+
+	/**
+	 * Sets the size of the node at the given index.
+	 *
+	 * @param index
+	 *            The index of the node.
+	 * @param width
+	 *            The new width.
+	 * @param height
+	 *            The new height.
+	 */
+	public void setSize(int index, double width, double height) {
+		this.width[index] = width;
+		this.height[index] = height;
+	}
+
+}
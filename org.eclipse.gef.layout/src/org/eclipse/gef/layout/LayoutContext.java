@@ -13,8 +13,21 @@
 package org.eclipse.gef.layout;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
+import org.eclipse.gef.common.attributes.IAttributeStore;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
@@ -26,7 +39,17 @@ import javafx.beans.property.SimpleObjectProperty;
  * The {@link LayoutContext} provides the context in which to layout a
  * {@link Graph}. It maintains an {@link ILayoutAlgorithm} that can be applied,
  * supports the handling and execution of pre and post {@link Runnable}s, and
- * filtering of layout objects using {@link ILayoutFilter}.
+ * filtering of layout objects using {@link ILayoutFilter}. Moreover, it
+ * provides a {@link LayoutBuffer} per layout pass, which is committed within
+ * {@link #postLayout()}.
+ * <p>
+ * Besides synchronous layout passes ({@link #applyLayout(boolean)}), the
+ * {@link LayoutContext} supports asynchronous layout passes
+ * ({@link #applyLayoutAsync(boolean, Supplier, Executor, Executor)}), for
+ * which a dedicated layout algorithm is applied to a snapshot of the graph on
+ * a worker thread, and the results are transferred back to the graph
+ * afterwards. The progress of asynchronous layout passes is reported to the
+ * registered {@link IAsyncLayoutListener}s.
  * 
  * @author mwienand
  *
@@ -47,6 +70,22 @@ public class LayoutContext {
 	private final List<Runnable> postLayoutPass = new ArrayList<>();
 	private final List<Runnable> preLayoutPass = new ArrayList<>();
 	private final List<ILayoutFilter> layoutFilters = new ArrayList<>();
+	private final List<IAsyncLayoutListener> asyncLayoutListeners = new ArrayList<>();
+	private LayoutBuffer layoutBuffer;
+	private final AtomicInteger layoutRequest = new AtomicInteger();
+	private Future<?> asyncLayout;
+
+	/**
+	 * Adds the given {@link IAsyncLayoutListener} to this
+	 * {@link LayoutContext}.
+	 * 
+	 * @param asyncLayoutListener
+	 *            The {@link IAsyncLayoutListener} to add to this context.
+	 */
+	public void addAsyncLayoutListener(
+			IAsyncLayoutListener asyncLayoutListener) {
+		asyncLayoutListeners.add(asyncLayoutListener);
+	}
 
 	/**
 	 * Adds the given ILayoutFilter to this {@link LayoutContext}.
@@ -68,7 +107,8 @@ public class LayoutContext {
 	 *            re-compute the layout, otherwise <code>false</code>.
 	 */
 	public void applyLayout(boolean clear) {
-		// we should schedule
+		// results of pending asynchronous layout passes are outdated
+		cancelAsyncLayout();
 
 		ILayoutAlgorithm layoutAlgorithm = layoutAlgorithmProperty.get();
 		if (layoutAlgorithm != null) {
@@ -79,12 +119,235 @@ public class LayoutContext {
 		}
 	}
 
+	/**
+	 * Applies a layout algorithm to the graph of this {@link LayoutContext}
+	 * asynchronously. The pre layout pass is executed, a snapshot of the graph
+	 * (copies of all nodes and edges including their attributes) is created,
+	 * and a dedicated layout algorithm is obtained from the given
+	 * <i>layoutAlgorithmFactory</i> within the calling thread. The layout
+	 * algorithm is then applied to the snapshot using the given
+	 * <i>layoutExecutor</i>. Once the layout algorithm finishes, the changed
+	 * attributes are transferred back to the graph, and the post layout pass
+	 * is executed, using the given <i>applyExecutor</i>, e.g. an executor that
+	 * delegates to the JavaFX application thread.
+	 * <p>
+	 * The layout algorithm that is provided by the factory is only used for
+	 * the asynchronous layout pass, i.e. it must not be shared with other
+	 * layout passes. Therefore, asynchronous layout passes never block
+	 * synchronous ones, and cancelling a pass does not need to interrupt its
+	 * layout algorithm. The results of an asynchronous layout pass are
+	 * discarded when it is cancelled ({@link #cancelAsyncLayout()}), or when
+	 * another (synchronous or asynchronous) layout pass is requested before
+	 * the results are applied. In this case, as well as when the layout
+	 * algorithm fails, the post layout pass is executed without transferring
+	 * any results, so that every pre layout pass is balanced by a post layout
+	 * pass, which restores the (unchanged) layout of the graph.
+	 * <p>
+	 * The registered {@link IAsyncLayoutListener}s are notified when the
+	 * layout pass is started, and when it is applied, cancelled, or failed.
+	 *
+	 * @param clear
+	 *            <code>true</code> to indicate that the algorithm has to fully
+	 *            re-compute the layout, otherwise <code>false</code>.
+	 * @param layoutAlgorithmFactory
+	 *            The {@link Supplier} that creates the layout algorithm for
+	 *            the asynchronous layout pass.
+	 * @param layoutExecutor
+	 *            The {@link Executor} that is used to apply the layout
+	 *            algorithm.
+	 * @param applyExecutor
+	 *            The {@link Executor} that is used to transfer the results
+	 *            back to the graph and to perform the post layout pass.
+	 * @return A {@link Future} representing the computation of the layout,
+	 *         which can be used to cancel it, or <code>null</code> if no
+	 *         layout algorithm is provided.
+	 */
+	public Future<?> applyLayoutAsync(final boolean clear,
+			Supplier<? extends ILayoutAlgorithm> layoutAlgorithmFactory,
+			Executor layoutExecutor, final Executor applyExecutor) {
+		cancelAsyncLayout();
+
+		final ILayoutAlgorithm layoutAlgorithm = layoutAlgorithmFactory.get();
+		if (layoutAlgorithm == null) {
+			return null;
+		}
+		if (layoutAlgorithm == layoutAlgorithmProperty.get()) {
+			throw new IllegalArgumentException(
+					"The layout algorithm of an asynchronous layout pass may not be shared with this LayoutContext.");
+		}
+		preLayout();
+		final int request = layoutRequest.get();
+		final Graph original = graph;
+		final Map<Node, Node> originals = new IdentityHashMap<>();
+		final Map<Edge, Edge> originalEdges = new IdentityHashMap<>();
+		final LayoutContext snapshot = createSnapshot(originals,
+				originalEdges);
+		FutureTask<Void> task = new FutureTask<>(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					layoutAlgorithm.setLayoutContext(snapshot);
+					layoutAlgorithm.applyLayout(clear);
+					snapshot.postLayout();
+				} catch (final RuntimeException e) {
+					applyExecutor.execute(new Runnable() {
+						@Override
+						public void run() {
+							// a cancelled pass was already rolled back
+							if (request != layoutRequest.get()) {
+								return;
+							}
+							asyncLayout = null;
+							layoutBuffer = null;
+							postLayout();
+							for (IAsyncLayoutListener listener : new ArrayList<>(
+									asyncLayoutListeners)) {
+								listener.asyncLayoutFailed(e);
+							}
+						}
+					});
+					throw e;
+				}
+				if (Thread.currentThread().isInterrupted()
+						|| request != layoutRequest.get()) {
+					return;
+				}
+				applyExecutor.execute(new Runnable() {
+					@Override
+					public void run() {
+						// discard the results if a newer layout pass was
+						// requested in the meantime
+						if (request != layoutRequest.get()) {
+							return;
+						}
+						asyncLayout = null;
+						transferAttributes(snapshot.getGraph(), original);
+						for (Node copy : originals.keySet()) {
+							transferAttributes(copy, originals.get(copy));
+						}
+						for (Edge copy : originalEdges.keySet()) {
+							transferAttributes(copy, originalEdges.get(copy));
+						}
+						layoutBuffer = null;
+						postLayout();
+						for (IAsyncLayoutListener listener : new ArrayList<>(
+								asyncLayoutListeners)) {
+							listener.asyncLayoutApplied();
+						}
+					}
+				});
+			}
+		}, null);
+		asyncLayout = task;
+		layoutExecutor.execute(task);
+		for (IAsyncLayoutListener listener : new ArrayList<>(
+				asyncLayoutListeners)) {
+			listener.asyncLayoutStarted();
+		}
+		return task;
+	}
+
+	/**
+	 * Cancels the pending asynchronous layout pass (if any), so that its
+	 * results are discarded. The post layout pass is executed for the
+	 * cancelled layout pass (without transferring any results), so that its
+	 * pre layout pass is balanced and the (unchanged) layout of the graph is
+	 * restored, and the registered {@link IAsyncLayoutListener}s are notified.
+	 */
+	public void cancelAsyncLayout() {
+		layoutRequest.incrementAndGet();
+		if (asyncLayout != null) {
+			asyncLayout.cancel(true);
+			asyncLayout = null;
+			layoutBuffer = null;
+			postLayout();
+			for (IAsyncLayoutListener listener : new ArrayList<>(
+					asyncLayoutListeners)) {
+				listener.asyncLayoutCancelled();
+			}
+		}
+	}
+
+	/**
+	 * Creates a new {@link LayoutContext} for a snapshot of the graph of this
+	 * {@link LayoutContext}, i.e. for copies of all nodes and edges including
+	 * their attributes. The snapshot does not share the layout algorithm,
+	 * filters, and pre and post layout passes of this {@link LayoutContext}.
+	 * It can be used to compute a layout (e.g. on a background thread) without
+	 * affecting the original graph.
+	 * 
+	 * @param originals
+	 *            A {@link Map} that is filled with the original {@link Node}
+	 *            per copied {@link Node}.
+	 * @return A new {@link LayoutContext} for a snapshot of the graph.
+	 */
+	public LayoutContext createSnapshot(Map<Node, Node> originals) {
+		return createSnapshot(originals, new IdentityHashMap<Edge, Edge>());
+	}
+
+	private LayoutContext createSnapshot(Map<Node, Node> originals,
+			Map<Edge, Edge> originalEdges) {
+		Map<Node, Node> copies = new IdentityHashMap<>();
+		List<Node> nodes = new ArrayList<>();
+		for (Node node : graph.getNodes()) {
+			Node copy = new Node(copyAttributes(node));
+			copies.put(node, copy);
+			originals.put(copy, node);
+			nodes.add(copy);
+		}
+		List<Edge> edges = new ArrayList<>();
+		for (Edge edge : graph.getEdges()) {
+			Node source = copies.get(edge.getSource());
+			Node target = copies.get(edge.getTarget());
+			if (source != null && target != null) {
+				Edge copy = new Edge(copyAttributes(edge), source,
+						target);
+				originalEdges.put(copy, edge);
+				edges.add(copy);
+			}
+		}
+		LayoutContext snapshot = new LayoutContext();
+		snapshot.setGraph(new Graph(copyAttributes(graph), nodes, edges));
+		return snapshot;
+	}
+
+	private static Map<String, Object> copyAttributes(IAttributeStore store) {
+		Map<String, Object> attributes = new HashMap<>(store.getAttributes());
+		// layout algorithms may modify geometric attributes in-place
+		for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+			Object value = entry.getValue();
+			if (value instanceof Point) {
+				entry.setValue(((Point) value).getCopy());
+			} else if (value instanceof Dimension) {
+				entry.setValue(((Dimension) value).getCopy());
+			} else if (value instanceof Rectangle) {
+				entry.setValue(((Rectangle) value).getCopy());
+			}
+		}
+		return attributes;
+	}
+
+	private static void transferAttributes(IAttributeStore copy,
+			IAttributeStore original) {
+		Map<String, Object> attributes = original.getAttributes();
+		for (Map.Entry<String, Object> entry : copy.getAttributes()
+				.entrySet()) {
+			if (!Objects.equals(attributes.get(entry.getKey()),
+					entry.getValue())) {
+				attributes.put(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
 	/**
 	 * Initiated by the context or by an {@link ILayoutAlgorithm} to perform
 	 * steps that are scheduled to be run after the layout pass. Should not be
 	 * called by clients.
 	 */
 	public void postLayout() {
+		// write back the buffered layout information before the post layout
+		// runnables are executed, so that they can access the results
+		flushLayoutBuffer();
 		for (Runnable r : new ArrayList<>(postLayoutPass)) {
 			r.run();
 		}
@@ -96,11 +359,28 @@ public class LayoutContext {
 	 * called by clients.
 	 */
 	public void preLayout() {
+		// the pre layout runnables may change the layout information, so that
+		// a buffer needs to be re-created
+		layoutBuffer = null;
 		for (Runnable r : preLayoutPass) {
 			r.run();
 		}
 	}
 
+	/**
+	 * Commits and discards the {@link LayoutBuffer} of the current layout
+	 * pass (if any), so that the node attributes reflect the buffered layout
+	 * information. Should be called by an {@link ILayoutAlgorithm} that used
+	 * the {@link LayoutBuffer} before it (or a subsequent algorithm) accesses
+	 * the node attributes directly.
+	 */
+	public void flushLayoutBuffer() {
+		if (layoutBuffer != null) {
+			layoutBuffer.commit();
+			layoutBuffer = null;
+		}
+	}
+
 	/**
 	 * Returns the graph that is to be layouted.
 	 * 
@@ -122,7 +402,11 @@ public class LayoutContext {
 		if (graph == null) {
 			graph = new Graph();
 		}
+		if (this.graph != graph) {
+			cancelAsyncLayout();
+		}
 		this.graph = graph;
+		layoutBuffer = null;
 	}
 
 	/**
@@ -147,6 +431,22 @@ public class LayoutContext {
 		return graph.getEdges().toArray(new Edge[] {});
 	}
 
+	/**
+	 * Returns the {@link LayoutBuffer} for the current layout pass, which is
+	 * created on demand for the nodes and edges of the {@link #getGraph()
+	 * graph}. The buffer is committed (and discarded) within
+	 * {@link #postLayout()} or {@link #flushLayoutBuffer()}, skipping the
+	 * nodes that are {@link #isLayoutIrrelevant(Node) layout irrelevant}.
+	 *
+	 * @return The {@link LayoutBuffer} for the current layout pass.
+	 */
+	public LayoutBuffer getLayoutBuffer() {
+		if (layoutBuffer == null) {
+			layoutBuffer = new LayoutBuffer(this);
+		}
+		return layoutBuffer;
+	}
+
 	/**
 	 * Returns the static layout algorithm used to layout a newly initialized
 	 * graph or after heavy changes to it.
@@ -210,6 +510,18 @@ public class LayoutContext {
 		return layoutAlgorithmProperty;
 	};
 
+	/**
+	 * Removes the given {@link IAsyncLayoutListener} from this
+	 * {@link LayoutContext}.
+	 * 
+	 * @param asyncLayoutListener
+	 *            The {@link IAsyncLayoutListener} to remove from this context.
+	 */
+	public void removeAsyncLayoutListener(
+			IAsyncLayoutListener asyncLayoutListener) {
+		asyncLayoutListeners.remove(asyncLayoutListener);
+	}
+
 	/**
 	 * Removes the given ILayoutFilter from this {@link LayoutContext}.
 	 * 
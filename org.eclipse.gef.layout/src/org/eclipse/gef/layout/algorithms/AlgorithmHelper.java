@@ -12,10 +12,15 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.LayoutBuffer;
 import org.eclipse.gef.layout.LayoutProperties;
 
 /**
@@ -28,6 +33,12 @@ import org.eclipse.gef.layout.LayoutProperties;
  */
 class AlgorithmHelper {
 
+	/**
+	 * The distance that is kept between the nodes and the layout bounds when
+	 * fitting or moving nodes into the bounds.
+	 */
+	static final int INSETS = 4;
+
 	/**
 	 * The minimum size of a node.
 	 */
@@ -56,62 +67,90 @@ class AlgorithmHelper {
 	 */
 	public static void fitWithinBounds(Node[] entities,
 			Rectangle destinationBounds, boolean resize) {
-		if (entities.length == 1) {
-			fitSingleEntity(entities[0], destinationBounds, resize);
+		LayoutBuffer buffer = new LayoutBuffer(Arrays.asList(entities),
+				Collections.<Edge> emptyList());
+		fitWithinBounds(buffer, destinationBounds, resize);
+		buffer.commit();
+	}
+
+	/**
+	 * Fits the nodes of the given {@link LayoutBuffer} within given bounds,
+	 * preserving their relative locations. If a node is resizable and the
+	 * <i>resize</i> flag is set to <code>true</code>, then the node will be
+	 * scaled according to the bounds change, i.e.
+	 * <code>scale_factor = dst_bounds / start_bounds</code>. Operates on the
+	 * primitive arrays of the buffer, i.e. does not allocate per node.
+	 * 
+	 * @param buffer
+	 *            The {@link LayoutBuffer} providing the nodes to fit.
+	 * @param destinationBounds
+	 *            The {@link Rectangle} representing the layout bounds.
+	 * @param resize
+	 *            <code>true</code> to indicate that the nodes can be resized,
+	 *            otherwise <code>false</code>.
+	 */
+	public static void fitWithinBounds(LayoutBuffer buffer,
+			Rectangle destinationBounds, boolean resize) {
+		int n = buffer.getNodeCount();
+		if (n == 1) {
+			fitSingleEntity(buffer, destinationBounds, resize);
 			return;
 		}
-		Rectangle startingBounds = getLayoutBounds(entities, false);
-		double sizeScale = Math.min(
-				destinationBounds.getWidth() / startingBounds.getWidth(),
-				destinationBounds.getHeight() / startingBounds.getHeight());
-		for (int i = 0; i < entities.length; i++) {
-			Node entity = entities[i];
-			Dimension size = LayoutProperties.getSize(entity);
-			if (LayoutProperties.isMovable(entity)) {
-				Point location = LayoutProperties.getLocation(entity);
-				double percentX = startingBounds.getWidth() == 0 ? 0
-						: (location.x - startingBounds.getX())
-								/ (startingBounds.getWidth());
-				double percentY = startingBounds.getHeight() == 0 ? 0
-						: (location.y - startingBounds.getY())
-								/ (startingBounds.getHeight());
-				if (resize && LayoutProperties.isResizable(entity)) {
-					size.width *= sizeScale;
-					size.height *= sizeScale;
-					LayoutProperties.setSize(entity, new Dimension(size));
-				}
-				location.x = destinationBounds.getX() + size.width / 2
-						+ percentX
-								* (destinationBounds.getWidth() - size.width);
-				location.y = destinationBounds.getY() + size.height / 2
-						+ percentY
-								* (destinationBounds.getHeight() - size.height);
-			} else if (resize && LayoutProperties.isResizable(entity)) {
-				LayoutProperties.setSize(entity, size.getScaled(sizeScale));
+		double[] x = buffer.getXs();
+		double[] y = buffer.getYs();
+		double[] width = buffer.getWidths();
+		double[] height = buffer.getHeights();
+		// determine the bounds of the node centers
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		double startWidth = maxX - minX;
+		double startHeight = maxY - minY;
+		double sizeScale = Math.min(destinationBounds.getWidth() / startWidth,
+				destinationBounds.getHeight() / startHeight);
+		for (int i = 0; i < n; i++) {
+			boolean scale = resize && buffer.isResizable(i);
+			if (scale) {
+				width[i] *= sizeScale;
+				height[i] *= sizeScale;
+			}
+			if (buffer.isMovable(i)) {
+				double percentX = startWidth == 0 ? 0
+						: (x[i] - minX) / startWidth;
+				double percentY = startHeight == 0 ? 0
+						: (y[i] - minY) / startHeight;
+				x[i] = destinationBounds.getX() + width[i] / 2
+						+ percentX * (destinationBounds.getWidth() - width[i]);
+				y[i] = destinationBounds.getY() + height[i] / 2 + percentY
+						* (destinationBounds.getHeight() - height[i]);
 			}
 		}
 	}
 
-	private static void fitSingleEntity(Node entity,
+	private static void fitSingleEntity(LayoutBuffer buffer,
 			Rectangle destinationBounds, boolean resize) {
-		if (LayoutProperties.isMovable(entity)) {
-			LayoutProperties.setLocation(entity,
-					new Point(
-							destinationBounds.getX()
-									+ destinationBounds.getWidth() / 2,
-							destinationBounds.getY()
-									+ destinationBounds.getHeight() / 2));
+		if (buffer.isMovable(0)) {
+			buffer.setLocation(0,
+					destinationBounds.getX() + destinationBounds.getWidth() / 2,
+					destinationBounds.getY()
+							+ destinationBounds.getHeight() / 2);
 		}
-		if (resize && LayoutProperties.isResizable(entity)) {
+		if (resize && buffer.isResizable(0)) {
 			double width = destinationBounds.getWidth();
 			double height = destinationBounds.getHeight();
 			double preferredAspectRatio = LayoutProperties
-					.getPreferredAspectRatio(entity);
+					.getPreferredAspectRatio(buffer.getNode(0));
 			if (preferredAspectRatio > 0) {
-				LayoutProperties.setSize(entity,
-						fixAspectRatio(width, height, preferredAspectRatio));
+				setSize(buffer, 0, width, height, preferredAspectRatio);
 			} else {
-				LayoutProperties.setSize(entity, new Dimension(width, height));
+				buffer.setSize(0, width, height);
 			}
 		}
 	}
@@ -125,29 +164,49 @@ class AlgorithmHelper {
 	 *            The {@link Node}s of which the sizes are maximized.
 	 */
 	public static void maximizeSizes(Node[] entities) {
-		if (entities.length > 1) {
-			Dimension minDistance = getMinimumDistance(entities);
-			double nodeSize = Math.max(minDistance.width, minDistance.height)
+		LayoutBuffer buffer = new LayoutBuffer(Arrays.asList(entities),
+				Collections.<Edge> emptyList());
+		maximizeSizes(buffer);
+		buffer.commit();
+	}
+
+	/**
+	 * Resizes the nodes of the given {@link LayoutBuffer} so that they have a
+	 * maximal area without overlapping each other, with additional empty space
+	 * of 20% of node's width (or height, if bigger). It does nothing if there's
+	 * less than two nodes.
+	 * 
+	 * @param buffer
+	 *            The {@link LayoutBuffer} providing the nodes of which the
+	 *            sizes are maximized.
+	 */
+	public static void maximizeSizes(LayoutBuffer buffer) {
+		int n = buffer.getNodeCount();
+		if (n > 1) {
+			double[] minDistance = getMinimumDistance(buffer.getXs(),
+					buffer.getYs(), n);
+			double nodeSize = Math.max(minDistance[0], minDistance[1])
 					* PADDING_PERCENT;
-			double width = nodeSize;
-			double height = nodeSize;
-			for (int i = 0; i < entities.length; i++) {
-				Node entity = entities[i];
-				if (LayoutProperties.isResizable(entity)) {
+			for (int i = 0; i < n; i++) {
+				if (buffer.isResizable(i)) {
 					double preferredRatio = LayoutProperties
-							.getPreferredAspectRatio(entity);
+							.getPreferredAspectRatio(buffer.getNode(i));
 					if (preferredRatio > 0) {
-						LayoutProperties.setSize(entity,
-								fixAspectRatio(width, height, preferredRatio));
+						setSize(buffer, i, nodeSize, nodeSize, preferredRatio);
 					} else {
-						LayoutProperties.setSize(entity,
-								new Dimension(width, height));
+						buffer.setSize(i, nodeSize, nodeSize);
 					}
 				}
 			}
 		}
 	}
 
+	private static void setSize(LayoutBuffer buffer, int index, double width,
+			double height, double preferredRatio) {
+		Dimension size = fixAspectRatio(width, height, preferredRatio);
+		buffer.setSize(index, size.width, size.height);
+	}
+
 	private static Dimension fixAspectRatio(double width, double height,
 			double preferredRatio) {
 		double actualRatio = width / height;
@@ -237,26 +296,121 @@ class AlgorithmHelper {
 	 *         y-direction).
 	 */
 	public static Dimension getMinimumDistance(Node[] entities) {
-		Dimension horAndVertdistance = new Dimension(Double.MAX_VALUE,
-				Double.MAX_VALUE);
-		double minDistance = Double.MAX_VALUE;
-
-		// TODO: Very Slow!
+		double[] x = new double[entities.length];
+		double[] y = new double[entities.length];
 		for (int i = 0; i < entities.length; i++) {
-			Point location1 = LayoutProperties.getLocation(entities[i]);
-			for (int j = i + 1; j < entities.length; j++) {
-				Point location2 = LayoutProperties.getLocation(entities[j]);
-				double distanceX = location1.x - location2.x;
-				double distanceY = location1.y - location2.y;
-				double distance = distanceX * distanceX + distanceY * distanceY;
+			Point location = LayoutProperties.getLocation(entities[i]);
+			x[i] = location.x;
+			y[i] = location.y;
+		}
+		double[] distance = getMinimumDistance(x, y, entities.length);
+		return new Dimension(distance[0], distance[1]);
+	}
+
+	/**
+	 * Determines the closest pair of the given points and returns its distance
+	 * in x- and y-direction (see {@link #getMinimumDistance(Node[])}). The
+	 * points are distributed onto a uniform grid (with approximately one point
+	 * per cell), so that the nearest neighbor of each point can be found by
+	 * only examining the grid cells around it, which results in (expected)
+	 * linear time for evenly distributed points.
+	 * 
+	 * @param x
+	 *            The x-coordinates of the points.
+	 * @param y
+	 *            The y-coordinates of the points.
+	 * @param n
+	 *            The number of points.
+	 * @return A <code>double[]</code> containing the minimum distance in x-
+	 *         and y-direction, or {@link Double#MAX_VALUE} if less than two
+	 *         points are given.
+	 */
+	public static double[] getMinimumDistance(double[] x, double[] y, int n) {
+		double[] distance = new double[] { Double.MAX_VALUE,
+				Double.MAX_VALUE };
+		if (n < 2) {
+			return distance;
+		}
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < n; i++) {
+			minX = Math.min(minX, x[i]);
+			minY = Math.min(minY, y[i]);
+			maxX = Math.max(maxX, x[i]);
+			maxY = Math.max(maxY, y[i]);
+		}
+		double cellSize = Math.max(maxX - minX, maxY - minY) / Math.sqrt(n);
+		if (cellSize == 0 || Double.isNaN(cellSize)
+				|| Double.isInfinite(cellSize)) {
+			// all points share the same location
+			distance[0] = distance[1] = 0;
+			return distance;
+		}
+		int columns = (int) ((maxX - minX) / cellSize) + 1;
+		int rows = (int) ((maxY - minY) / cellSize) + 1;
 
-				if (distance < minDistance) {
-					minDistance = distance;
-					horAndVertdistance.width = Math.abs(distanceX);
-					horAndVertdistance.height = Math.abs(distanceY);
+		// sort the points into the grid cells (counting sort)
+		int[] cells = new int[n];
+		int[] cellStart = new int[columns * rows + 1];
+		for (int i = 0; i < n; i++) {
+			cells[i] = (int) ((y[i] - minY) / cellSize) * columns
+					+ (int) ((x[i] - minX) / cellSize);
+			cellStart[cells[i] + 1]++;
+		}
+		for (int c = 0; c < columns * rows; c++) {
+			cellStart[c + 1] += cellStart[c];
+		}
+		int[] points = new int[n];
+		int[] fill = new int[columns * rows];
+		for (int i = 0; i < n; i++) {
+			points[cellStart[cells[i]] + fill[cells[i]]++] = i;
+		}
+
+		// search the rings of cells around each point, until the rings are
+		// farther away than the closest pair found so far
+		double minDistance = Double.MAX_VALUE;
+		for (int i = 0; i < n && minDistance > 0; i++) {
+			int column = cells[i] % columns;
+			int row = cells[i] / columns;
+			int maxRing = Math.max(columns, rows);
+			for (int ring = 0; ring <= maxRing; ring++) {
+				double ringDistance = (ring - 1) * cellSize;
+				if (ring > 1 && ringDistance * ringDistance >= minDistance) {
+					break;
+				}
+				for (int r = row - ring; r <= row + ring; r++) {
+					if (r < 0 || r >= rows) {
+						continue;
+					}
+					boolean border = r == row - ring || r == row + ring;
+					int step = border || ring == 0 ? 1 : 2 * ring;
+					for (int c = column - ring; c <= column + ring; c += step) {
+						if (c < 0 || c >= columns) {
+							continue;
+						}
+						int cell = r * columns + c;
+						for (int p = cellStart[cell]; p < cellStart[cell
+								+ 1]; p++) {
+							int j = points[p];
+							if (j <= i) {
+								continue;
+							}
+							double distanceX = x[i] - x[j];
+							double distanceY = y[i] - y[j];
+							double d = distanceX * distanceX
+									+ distanceY * distanceY;
+							if (d < minDistance) {
+								minDistance = d;
+								distance[0] = Math.abs(distanceX);
+								distance[1] = Math.abs(distanceY);
+							}
+						}
+					}
 				}
 			}
 		}
-		return horAndVertdistance;
+		return distance;
 	}
 }
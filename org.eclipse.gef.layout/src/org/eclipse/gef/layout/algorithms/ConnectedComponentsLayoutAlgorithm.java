@@ -0,0 +1,617 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Supplier;
+
+import org.eclipse.gef.common.attributes.IAttributeStore;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutBuffer;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link ConnectedComponentsLayoutAlgorithm} splits the graph into its
+ * connected components, lays out each component independently (and in
+ * parallel) using a separate instance of an inner {@link ILayoutAlgorithm},
+ * and finally packs the bounding boxes of the components row by row into the
+ * layout bounds.
+ * <p>
+ * Each component is laid out on a copy of its nodes and edges (including their
+ * attributes) within bounds that are proportional to its number of nodes.
+ * Components that consist of a single node are not passed to the inner
+ * algorithm. If the graph is connected, the inner algorithm is applied to the
+ * graph directly.
+ * <p>
+ * Components that contain nodes that are not
+ * {@link LayoutProperties#isMovable(Node) movable} are laid out within the
+ * layout bounds (so that the pinned nodes keep their locations), but they are
+ * not moved by the packing. Within a layout pass that is not clean (see
+ * {@link #applyLayout(boolean)}), the components whose nodes and edges did not
+ * change since the previous pass are neither laid out nor moved. The remaining
+ * components are packed next to these fixed components, i.e. into the largest
+ * part of the layout bounds that is not covered by them.
+ * <p>
+ * In case the graph does not provide layout bounds (see
+ * {@link LayoutProperties#getBounds(Graph)}), each component is laid out
+ * within a square whose area is proportional to its number of nodes, and the
+ * components are packed (without scaling) below the fixed components, or at
+ * the origin.
+ */
+public class ConnectedComponentsLayoutAlgorithm implements ILayoutAlgorithm {
+
+	/**
+	 * The default spacing between the components.
+	 */
+	public static final double DEFAULT_SPACING = 10;
+
+	// the extent that is reserved per node (in both dimensions) if the graph
+	// does not provide layout bounds
+	private static final double NODE_EXTENT = 50;
+
+	private LayoutContext context;
+	private final Supplier<? extends ILayoutAlgorithm> algorithmFactory;
+	private ILayoutAlgorithm connectedAlgorithm;
+	private double spacing = DEFAULT_SPACING;
+	private ForkJoinPool pool = ForkJoinPool.commonPool();
+	// the nodes and edges of the components of the previous layout pass,
+	// indexed by their nodes
+	private Map<Node, Set<Object>> previousContents = new IdentityHashMap<>();
+
+	/**
+	 * Constructs a new {@link ConnectedComponentsLayoutAlgorithm} that uses
+	 * the given factory to create the inner {@link ILayoutAlgorithm}s. A new
+	 * instance is created for every component (during each layout pass), so
+	 * that the components can be laid out concurrently.
+	 *
+	 * @param algorithmFactory
+	 *            The factory that creates the inner {@link ILayoutAlgorithm}s.
+	 */
+	public ConnectedComponentsLayoutAlgorithm(
+			Supplier<? extends ILayoutAlgorithm> algorithmFactory) {
+		if (algorithmFactory == null) {
+			throw new IllegalArgumentException(
+					"Algorithm factory may not be null.");
+		}
+		this.algorithmFactory = algorithmFactory;
+	}
+
+	@Override
+	public void applyLayout(boolean clean) {
+		Graph graph = context.getGraph();
+		List<Node> nodes = graph.getNodes();
+		int n = nodes.size();
+		if (n == 0) {
+			return;
+		}
+		Map<Node, Integer> indices = new IdentityHashMap<>();
+		for (int i = 0; i < n; i++) {
+			indices.put(nodes.get(i), i);
+		}
+		int[] parents = new int[n];
+		for (int i = 0; i < n; i++) {
+			parents[i] = i;
+		}
+		List<Edge> edges = graph.getEdges();
+		int[] sources = new int[edges.size()];
+		int[] targets = new int[edges.size()];
+		for (int e = 0; e < edges.size(); e++) {
+			Integer source = indices.get(edges.get(e).getSource());
+			Integer target = indices.get(edges.get(e).getTarget());
+			sources[e] = source == null ? -1 : source;
+			targets[e] = target == null ? -1 : target;
+			if (source != null && target != null) {
+				union(parents, source, target);
+			}
+		}
+
+		// number the components and group the nodes (counting sort)
+		int[] componentOf = new int[n];
+		int[] componentIndex = new int[n];
+		Arrays.fill(componentIndex, -1);
+		int numberOfComponents = 0;
+		for (int i = 0; i < n; i++) {
+			int root = find(parents, i);
+			if (componentIndex[root] < 0) {
+				componentIndex[root] = numberOfComponents++;
+			}
+			componentOf[i] = componentIndex[root];
+		}
+		if (numberOfComponents == 1) {
+			if (connectedAlgorithm == null) {
+				connectedAlgorithm = algorithmFactory.get();
+			}
+			connectedAlgorithm.setLayoutContext(context);
+			connectedAlgorithm.applyLayout(clean);
+			previousContents = new IdentityHashMap<>();
+			Set<Object> contents = newIdentitySet();
+			contents.addAll(nodes);
+			for (int e = 0; e < edges.size(); e++) {
+				if (sources[e] >= 0 && targets[e] >= 0) {
+					contents.add(edges.get(e));
+				}
+			}
+			for (Node node : nodes) {
+				previousContents.put(node, contents);
+			}
+			return;
+		}
+		int[] componentStart = new int[numberOfComponents + 1];
+		for (int i = 0; i < n; i++) {
+			componentStart[componentOf[i] + 1]++;
+		}
+		for (int c = 0; c < numberOfComponents; c++) {
+			componentStart[c + 1] += componentStart[c];
+		}
+		int[] componentNodes = new int[n];
+		int[] fill = Arrays.copyOf(componentStart, numberOfComponents);
+		for (int i = 0; i < n; i++) {
+			componentNodes[fill[componentOf[i]]++] = i;
+		}
+
+		// collect the contents of the components, and determine the
+		// components that are not changed (within a non-clean pass) or that
+		// contain pinned nodes, which are not moved by the packing
+		LayoutBuffer buffer = context.getLayoutBuffer();
+		List<Set<Object>> contents = new ArrayList<>();
+		for (int c = 0; c < numberOfComponents; c++) {
+			Set<Object> componentContents = newIdentitySet();
+			for (int k = componentStart[c]; k < componentStart[c + 1]; k++) {
+				componentContents.add(nodes.get(componentNodes[k]));
+			}
+			contents.add(componentContents);
+		}
+		for (int e = 0; e < edges.size(); e++) {
+			if (sources[e] >= 0 && targets[e] >= 0) {
+				contents.get(componentOf[sources[e]]).add(edges.get(e));
+			}
+		}
+		boolean[] unchanged = new boolean[numberOfComponents];
+		boolean[] fixed = new boolean[numberOfComponents];
+		for (int c = 0; c < numberOfComponents; c++) {
+			Set<Object> previous = previousContents
+					.get(nodes.get(componentNodes[componentStart[c]]));
+			unchanged[c] = !clean && previous != null
+					&& previous.equals(contents.get(c));
+			fixed[c] = unchanged[c];
+			for (int k = componentStart[c]; k < componentStart[c + 1]
+					&& !fixed[c]; k++) {
+				fixed[c] = !buffer.isMovable(componentNodes[k]);
+			}
+		}
+		previousContents = new IdentityHashMap<>();
+		for (int c = 0; c < numberOfComponents; c++) {
+			for (int k = componentStart[c]; k < componentStart[c + 1]; k++) {
+				previousContents.put(nodes.get(componentNodes[k]),
+						contents.get(c));
+			}
+		}
+
+		// create a copy of each changed component that is not a single node
+		Rectangle bounds = LayoutProperties.getBounds(graph);
+		Node[] copies = new Node[n];
+		List<List<Node>> componentCopies = new ArrayList<>();
+		List<List<Edge>> componentEdgeCopies = new ArrayList<>();
+		for (int c = 0; c < numberOfComponents; c++) {
+			List<Node> copyNodes = new ArrayList<>();
+			if (!unchanged[c]
+					&& componentStart[c + 1] - componentStart[c] > 1) {
+				for (int k = componentStart[c]; k < componentStart[c
+						+ 1]; k++) {
+					int i = componentNodes[k];
+					copies[i] = new Node(copyAttributes(nodes.get(i)));
+					copyNodes.add(copies[i]);
+				}
+			}
+			componentCopies.add(copyNodes);
+			componentEdgeCopies.add(new ArrayList<Edge>());
+		}
+		for (int e = 0; e < edges.size(); e++) {
+			if (sources[e] >= 0 && targets[e] >= 0
+					&& copies[sources[e]] != null) {
+				componentEdgeCopies.get(componentOf[sources[e]])
+						.add(new Edge(copyAttributes(edges.get(e)),
+								copies[sources[e]], copies[targets[e]]));
+			}
+		}
+
+		// lay out the components concurrently
+		List<ForkJoinTask<?>> tasks = new ArrayList<>();
+		for (int c = 0; c < numberOfComponents; c++) {
+			if (componentCopies.get(c).isEmpty()) {
+				continue;
+			}
+			Rectangle componentBounds;
+			if (bounds == null) {
+				double extent = Math.sqrt(componentCopies.get(c).size())
+						* NODE_EXTENT;
+				componentBounds = new Rectangle(0, 0, extent, extent);
+			} else if (fixed[c]) {
+				// pinned nodes are located relative to the layout bounds
+				componentBounds = bounds.getCopy();
+			} else {
+				// the area of the component is proportional to its size
+				double share = Math.sqrt(
+						(double) componentCopies.get(c).size() / n);
+				componentBounds = new Rectangle(0, 0,
+						bounds.getWidth() * share, bounds.getHeight() * share);
+			}
+			Map<String, Object> attributes = copyAttributes(graph);
+			Graph componentGraph = new Graph(attributes,
+					componentCopies.get(c), componentEdgeCopies.get(c));
+			LayoutProperties.setBounds(componentGraph, componentBounds);
+			final LayoutContext componentContext = new LayoutContext();
+			componentContext.setGraph(componentGraph);
+			componentContext.setLayoutAlgorithm(algorithmFactory.get());
+			final boolean cleanComponent = clean;
+			tasks.add(pool.submit(new Runnable() {
+				@Override
+				public void run() {
+					componentContext.applyLayout(cleanComponent);
+				}
+			}));
+		}
+		for (ForkJoinTask<?> task : tasks) {
+			task.join();
+		}
+
+		// transfer the results
+		double[] x = buffer.getXs();
+		double[] y = buffer.getYs();
+		double[] width = buffer.getWidths();
+		double[] height = buffer.getHeights();
+		for (int i = 0; i < n; i++) {
+			if (copies[i] != null) {
+				Point location = LayoutProperties.getLocation(copies[i]);
+				Dimension size = LayoutProperties.getSize(copies[i]);
+				if (location != null && buffer.isMovable(i)) {
+					buffer.setLocation(i, location.x, location.y);
+				}
+				if (size != null && buffer.isResizable(i)) {
+					buffer.setSize(i, size.width, size.height);
+				}
+			}
+		}
+		packComponents(buffer, getPackingArea(bounds, fixed, componentStart,
+				componentNodes, x, y, width, height), bounds != null, fixed,
+				componentStart, componentNodes, x, y, width, height);
+		context.flushLayoutBuffer();
+	}
+
+	private static Map<String, Object> copyAttributes(IAttributeStore store) {
+		Map<String, Object> attributes = new HashMap<>(store.getAttributes());
+		// layout algorithms may modify geometric attributes in-place
+		for (Map.Entry<String, Object> entry : attributes.entrySet()) {
+			Object value = entry.getValue();
+			if (value instanceof Point) {
+				entry.setValue(((Point) value).getCopy());
+			} else if (value instanceof Dimension) {
+				entry.setValue(((Dimension) value).getCopy());
+			} else if (value instanceof Rectangle) {
+				entry.setValue(((Rectangle) value).getCopy());
+			}
+		}
+		return attributes;
+	}
+
+	private static int find(int[] parents, int i) {
+		while (parents[i] != i) {
+			// path halving
+			parents[i] = parents[parents[i]];
+			i = parents[i];
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the {@link ForkJoinPool} that is used to lay out the components.
+	 *
+	 * @return The {@link ForkJoinPool} that is used to lay out the components.
+	 */
+	public ForkJoinPool getForkJoinPool() {
+		return pool;
+	}
+
+	@Override
+	public LayoutContext getLayoutContext() {
+		return context;
+	}
+
+	/**
+	 * Returns the bounding box of the nodes of the given component, or
+	 * <code>null</code> if none of its nodes is located.
+	 */
+	private static Rectangle getComponentBounds(int c, int[] componentStart,
+			int[] componentNodes, double[] x, double[] y, double[] width,
+			double[] height) {
+		Rectangle componentBounds = null;
+		for (int k = componentStart[c]; k < componentStart[c + 1]; k++) {
+			int i = componentNodes[k];
+			if (Double.isNaN(x[i]) || Double.isNaN(y[i])) {
+				continue;
+			}
+			double w = orZero(width[i]);
+			double h = orZero(height[i]);
+			Rectangle box = new Rectangle(x[i] - w / 2, y[i] - h / 2, w, h);
+			componentBounds = componentBounds == null ? box
+					: componentBounds.union(box);
+		}
+		return componentBounds;
+	}
+
+	/**
+	 * Returns the area into which the components that are not fixed are
+	 * packed, i.e. the largest part of the layout bounds (to the left, to the
+	 * right, above, or below) that is not covered by the fixed components.
+	 * If the graph does not provide layout bounds, an empty area below the
+	 * fixed components (or at the origin) is returned.
+	 */
+	private Rectangle getPackingArea(Rectangle bounds, boolean[] fixed,
+			int[] componentStart, int[] componentNodes, double[] x,
+			double[] y, double[] width, double[] height) {
+		Rectangle fixedBounds = null;
+		for (int c = 0; c < fixed.length; c++) {
+			if (fixed[c]) {
+				Rectangle componentBounds = getComponentBounds(c,
+						componentStart, componentNodes, x, y, width, height);
+				if (componentBounds != null) {
+					fixedBounds = fixedBounds == null ? componentBounds
+							: fixedBounds.union(componentBounds);
+				}
+			}
+		}
+		if (fixedBounds == null) {
+			return bounds == null ? new Rectangle() : bounds;
+		}
+		double left = fixedBounds.getX() - spacing;
+		double top = fixedBounds.getY() - spacing;
+		double right = fixedBounds.getX() + fixedBounds.getWidth() + spacing;
+		double bottom = fixedBounds.getY() + fixedBounds.getHeight()
+				+ spacing;
+		if (bounds == null) {
+			return new Rectangle(fixedBounds.getX(), bottom, 0, 0);
+		}
+		double boundsRight = bounds.getX() + bounds.getWidth();
+		double boundsBottom = bounds.getY() + bounds.getHeight();
+		Rectangle[] candidates = new Rectangle[] {
+				new Rectangle(bounds.getX(), bounds.getY(),
+						left - bounds.getX(), bounds.getHeight()),
+				new Rectangle(right, bounds.getY(), boundsRight - right,
+						bounds.getHeight()),
+				new Rectangle(bounds.getX(), bounds.getY(), bounds.getWidth(),
+						top - bounds.getY()),
+				new Rectangle(bounds.getX(), bottom, bounds.getWidth(),
+						boundsBottom - bottom) };
+		Rectangle area = null;
+		for (Rectangle candidate : candidates) {
+			if (candidate.getWidth() > 0 && candidate.getHeight() > 0
+					&& (area == null || candidate.getWidth()
+							* candidate.getHeight() > area.getWidth()
+									* area.getHeight())) {
+				area = candidate;
+			}
+		}
+		// the fixed components cover the layout bounds
+		return area == null ? bounds : area;
+	}
+
+	/**
+	 * Returns the spacing between the components.
+	 *
+	 * @return The spacing between the components.
+	 */
+	public double getSpacing() {
+		return spacing;
+	}
+
+	private static Set<Object> newIdentitySet() {
+		return Collections
+				.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+	}
+
+	private static double orZero(double value) {
+		return Double.isNaN(value) ? 0 : value;
+	}
+
+	/**
+	 * Packs the bounding boxes of the components that are not fixed into rows
+	 * (sorted by decreasing height) within the given area, so that the
+	 * packing approximates the aspect ratio of the area. If the area is
+	 * bounded, the node centers are scaled down (keeping the node sizes) if
+	 * the packing exceeds it.
+	 */
+	private void packComponents(LayoutBuffer buffer, Rectangle area,
+			boolean bounded, boolean[] fixed, int[] componentStart,
+			int[] componentNodes, double[] x, double[] y, double[] width,
+			double[] height) {
+		int numberOfComponents = fixed.length;
+		final double[] boxes = new double[4 * numberOfComponents];
+		List<Integer> order = new ArrayList<>();
+		double totalArea = 0;
+		double maxWidth = 0;
+		for (int c = 0; c < numberOfComponents; c++) {
+			if (fixed[c]) {
+				continue;
+			}
+			double minX = Double.POSITIVE_INFINITY;
+			double minY = Double.POSITIVE_INFINITY;
+			double maxX = Double.NEGATIVE_INFINITY;
+			double maxY = Double.NEGATIVE_INFINITY;
+			for (int k = componentStart[c]; k < componentStart[c + 1]; k++) {
+				int i = componentNodes[k];
+				double w = orZero(width[i]) / 2;
+				double h = orZero(height[i]) / 2;
+				minX = Math.min(minX, orZero(x[i]) - w);
+				minY = Math.min(minY, orZero(y[i]) - h);
+				maxX = Math.max(maxX, orZero(x[i]) + w);
+				maxY = Math.max(maxY, orZero(y[i]) + h);
+			}
+			boxes[4 * c] = minX;
+			boxes[4 * c + 1] = minY;
+			boxes[4 * c + 2] = maxX - minX + spacing;
+			boxes[4 * c + 3] = maxY - minY + spacing;
+			totalArea += boxes[4 * c + 2] * boxes[4 * c + 3];
+			maxWidth = Math.max(maxWidth, boxes[4 * c + 2]);
+			order.add(c);
+		}
+		if (order.isEmpty()) {
+			return;
+		}
+		Collections.sort(order, new Comparator<Integer>() {
+			@Override
+			public int compare(Integer a, Integer b) {
+				return Double.compare(boxes[4 * b + 3], boxes[4 * a + 3]);
+			}
+		});
+		double aspectRatio = bounded && area.getHeight() > 0
+				? area.getWidth() / area.getHeight() : 1;
+		double rowWidth = Math.max(maxWidth,
+				Math.sqrt(totalArea * aspectRatio));
+
+		// place the components row by row (next fit, decreasing height)
+		double[] offsets = new double[2 * numberOfComponents];
+		double rowX = 0;
+		double rowY = 0;
+		double rowHeight = 0;
+		double packedWidth = 0;
+		for (int c : order) {
+			if (rowX > 0 && rowX + boxes[4 * c + 2] > rowWidth) {
+				rowX = 0;
+				rowY += rowHeight;
+				rowHeight = 0;
+			}
+			offsets[2 * c] = rowX - boxes[4 * c];
+			offsets[2 * c + 1] = rowY - boxes[4 * c + 1];
+			rowX += boxes[4 * c + 2];
+			rowHeight = Math.max(rowHeight, boxes[4 * c + 3]);
+			packedWidth = Math.max(packedWidth, rowX - spacing);
+		}
+		double packedHeight = rowY + rowHeight - spacing;
+
+		// compute the packed node centers and their extent
+		double[] centers = new double[2 * x.length];
+		double halfWidth = 0;
+		double halfHeight = 0;
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for (int c : order) {
+			for (int k = componentStart[c]; k < componentStart[c + 1]; k++) {
+				int i = componentNodes[k];
+				centers[2 * i] = orZero(x[i]) + offsets[2 * c];
+				centers[2 * i + 1] = orZero(y[i]) + offsets[2 * c + 1];
+				halfWidth = Math.max(halfWidth, orZero(width[i]) / 2);
+				halfHeight = Math.max(halfHeight, orZero(height[i]) / 2);
+				minX = Math.min(minX, centers[2 * i]);
+				minY = Math.min(minY, centers[2 * i + 1]);
+				maxX = Math.max(maxX, centers[2 * i]);
+				maxY = Math.max(maxY, centers[2 * i + 1]);
+			}
+		}
+
+		// scale the centers down (uniformly) if the packing does not fit
+		boolean scaled = bounded && (packedWidth > area.getWidth()
+				|| packedHeight > area.getHeight());
+		double scale = 1;
+		if (scaled) {
+			if (maxX > minX) {
+				scale = Math.min(scale,
+						(area.getWidth() - 2 * halfWidth) / (maxX - minX));
+			}
+			if (maxY > minY) {
+				scale = Math.min(scale,
+						(area.getHeight() - 2 * halfHeight) / (maxY - minY));
+			}
+			scale = Math.max(0, scale);
+		}
+		for (int c : order) {
+			for (int k = componentStart[c]; k < componentStart[c + 1]; k++) {
+				int i = componentNodes[k];
+				if (!buffer.isMovable(i)) {
+					continue;
+				}
+				if (scaled) {
+					buffer.setLocation(i,
+							area.getX() + halfWidth
+									+ (centers[2 * i] - minX) * scale,
+							area.getY() + halfHeight
+									+ (centers[2 * i + 1] - minY) * scale);
+				} else {
+					buffer.setLocation(i, area.getX() + centers[2 * i],
+							area.getY() + centers[2 * i + 1]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sets the {@link ForkJoinPool} that is used to lay out the components.
+	 * By default, the {@link ForkJoinPool#commonPool() common pool} is used.
+	 *
+	 * @param pool
+	 *            The {@link ForkJoinPool} that is used to lay out the
+	 *            components.
+	 */
+	public void setForkJoinPool(ForkJoinPool pool) {
+		if (pool == null) {
+			throw new IllegalArgumentException("Pool may not be null.");
+		}
+		this.pool = pool;
+	}
+
+	@Override
+	public void setLayoutContext(LayoutContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * Sets the spacing between the components.
+	 *
+	 * @param spacing
+	 *            The spacing between the components.
+	 */
+	public void setSpacing(double spacing) {
+		if (spacing < 0) {
+			throw new IllegalArgumentException(
+					"Invalid spacing: " + spacing);
+		}
+		this.spacing = spacing;
+	}
+
+	private static void union(int[] parents, int i, int j) {
+		int rootI = find(parents, i);
+		int rootJ = find(parents, j);
+		if (rootI != rootJ) {
+			parents[rootI] = rootJ;
+		}
+	}
+
+}
@@ -0,0 +1,647 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutBuffer;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+
+/**
+ * The {@link MultilevelLayoutAlgorithm} is a force-directed layout algorithm
+ * that is suitable for large graphs. In contrast to the
+ * {@link SpringLayoutAlgorithm}, which starts from a random placement of all
+ * nodes, the graph is successively coarsened by collapsing matched pairs of
+ * adjacent nodes, until only a few nodes remain. The coarsest graph is laid out
+ * first, and the resulting positions are then prolonged level by level to the
+ * finer graphs, where they are refined by a few force-directed iterations
+ * (following the multilevel scheme of Walshaw). The repulsive forces are only
+ * computed between nodes that are close to each other (using a uniform grid),
+ * so that each iteration requires (expected) linear time.
+ * <p>
+ * The resulting layout is fitted within the bounds of the graph (see
+ * {@link LayoutProperties#getBounds(org.eclipse.gef.graph.Graph)}). Nodes that
+ * are not {@link LayoutProperties#isMovable(org.eclipse.gef.graph.Node)
+ * movable} are pinned to their locations, i.e. they are never collapsed during
+ * coarsening and only exert forces on the other nodes during refinement. In
+ * this case, the other nodes are laid out around the pinned nodes and are only
+ * moved into the bounds of the graph (instead of fitting the whole layout).
+ * <p>
+ * A layout pass that is not clean (see {@link #applyLayout(boolean)}) refines
+ * the current layout instead, i.e. it performs the force-directed iterations
+ * of the finest level only, starting at the current node locations (nodes
+ * without a location are placed at the center of their located neighbors).
+ */
+public class MultilevelLayoutAlgorithm implements ILayoutAlgorithm {
+
+	/**
+	 * A level of the multilevel hierarchy, i.e. a (coarsened) graph with its
+	 * adjacency given in compressed sparse row format.
+	 */
+	private static class Level {
+		private int nodeCount;
+		// node weights, i.e. the number of collapsed original nodes
+		private double[] mass;
+		// neighbors of node i are adjacency[adjacencyStart[i] ...
+		// adjacencyStart[i + 1] - 1]
+		private int[] adjacencyStart;
+		private int[] adjacency;
+		// index of the corresponding node on the next coarser level
+		private int[] coarseIndex;
+		// pinned (immovable) nodes and their locations
+		private boolean[] pinned;
+		private double[] pinnedX;
+		private double[] pinnedY;
+	}
+
+	/**
+	 * The default number of force-directed iterations per level.
+	 */
+	public static final int DEFAULT_ITERATIONS = 50;
+
+	/**
+	 * Coarsening stops when a level has at most this number of nodes.
+	 */
+	private static final int COARSEST_NODE_COUNT = 10;
+
+	/**
+	 * Coarsening stops when a level is not at least reduced by this factor.
+	 */
+	private static final double MIN_COARSENING_FACTOR = 0.9;
+
+	/**
+	 * The natural spring length is scaled by this factor per level (see
+	 * Walshaw: "A Multilevel Algorithm for Force-Directed Graph Drawing").
+	 */
+	private static final double LEVEL_SCALE = Math.sqrt(7d / 4d);
+
+	/**
+	 * The temperature (maximum displacement) is reduced by this factor after
+	 * each iteration.
+	 */
+	private static final double COOLING_FACTOR = 0.9;
+
+	/**
+	 * The natural spring length that is used if the node sizes are unknown.
+	 */
+	private static final double DEFAULT_SPRING_LENGTH = 10;
+
+	/**
+	 * Minimum distance considered between nodes.
+	 */
+	private static final double MIN_DISTANCE = 0.01;
+
+	private int iterations = DEFAULT_ITERATIONS;
+	private boolean resize = false;
+	private LayoutContext context;
+
+	/**
+	 * Default constructor.
+	 */
+	public MultilevelLayoutAlgorithm() {
+	}
+
+	public void applyLayout(boolean clean) {
+		LayoutBuffer buffer = context.getLayoutBuffer();
+		int n = buffer.getNodeCount();
+		if (n == 0) {
+			return;
+		}
+		Level level = createFinestLevel(buffer);
+		if (!clean) {
+			refineLayout(buffer, level);
+			return;
+		}
+
+		// build multilevel hierarchy
+		List<Level> levels = new ArrayList<>();
+		levels.add(level);
+		while (level.nodeCount > COARSEST_NODE_COUNT) {
+			Level coarse = coarsen(level);
+			if (coarse.nodeCount > MIN_COARSENING_FACTOR * level.nodeCount) {
+				level.coarseIndex = null;
+				break;
+			}
+			levels.add(coarse);
+			level = coarse;
+		}
+
+		// layout coarsest level from random positions (around the pinned
+		// nodes, which are simulated within the coordinate system of the
+		// graph)
+		Random random = new Random(n);
+		double k = getSpringLength(buffer)
+				* Math.pow(LEVEL_SCALE, levels.size() - 1);
+		double[] x = new double[level.nodeCount];
+		double[] y = new double[level.nodeCount];
+		double extent = k * Math.sqrt(level.nodeCount);
+		Rectangle area = new Rectangle(0, 0, extent, extent);
+		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
+		boolean hasPinned = hasPinned(level);
+		if (hasPinned) {
+			area = bounds != null ? bounds : getPinnedBounds(level)
+					.union(new Rectangle(0, 0, extent, extent));
+		}
+		for (int i = 0; i < level.nodeCount; i++) {
+			if (level.pinned[i]) {
+				x[i] = level.pinnedX[i];
+				y[i] = level.pinnedY[i];
+			} else {
+				x[i] = area.getX() + random.nextDouble() * area.getWidth();
+				y[i] = area.getY() + random.nextDouble() * area.getHeight();
+			}
+		}
+		refine(level, x, y, k, Math.max(extent,
+				Math.max(area.getWidth(), area.getHeight())));
+
+		// prolong and refine level by level
+		for (int l = levels.size() - 2; l >= 0; l--) {
+			Level fine = levels.get(l);
+			k /= LEVEL_SCALE;
+			double[] fineX = new double[fine.nodeCount];
+			double[] fineY = new double[fine.nodeCount];
+			for (int i = 0; i < fine.nodeCount; i++) {
+				int c = fine.coarseIndex[i];
+				if (fine.pinned[i]) {
+					fineX[i] = fine.pinnedX[i];
+					fineY[i] = fine.pinnedY[i];
+					continue;
+				}
+				// separate collapsed nodes slightly
+				fineX[i] = x[c] + (random.nextDouble() - 0.5) * k * 0.1;
+				fineY[i] = y[c] + (random.nextDouble() - 0.5) * k * 0.1;
+			}
+			x = fineX;
+			y = fineY;
+			refine(fine, x, y, k, k);
+		}
+
+		// transfer results to the layout buffer
+		for (int i = 0; i < n; i++) {
+			if (buffer.isMovable(i)) {
+				buffer.setLocation(i, x[i], y[i]);
+			}
+		}
+		if (resize) {
+			AlgorithmHelper.maximizeSizes(buffer);
+		}
+		if (bounds != null) {
+			int insets = AlgorithmHelper.INSETS;
+			Rectangle destinationBounds = new Rectangle(bounds.getX() + insets,
+					bounds.getY() + insets, bounds.getWidth() - 2 * insets,
+					bounds.getHeight() - 2 * insets);
+			if (hasPinned) {
+				// fitting would relocate the nodes relative to the pinned
+				// nodes, so that they are only moved into the bounds
+				moveWithinBounds(buffer, destinationBounds);
+			} else {
+				AlgorithmHelper.fitWithinBounds(buffer, destinationBounds,
+						resize);
+			}
+		}
+		context.flushLayoutBuffer();
+	}
+
+	private Level coarsen(Level fine) {
+		int n = fine.nodeCount;
+		int[] coarseIndex = new int[n];
+		Arrays.fill(coarseIndex, -1);
+		int coarseCount = 0;
+		// match each node with its lightest unmatched neighbor, so that the
+		// masses of the coarse nodes stay balanced
+		for (int u = 0; u < n; u++) {
+			if (coarseIndex[u] >= 0) {
+				continue;
+			}
+			// pinned nodes are never collapsed
+			int match = -1;
+			for (int a = fine.adjacencyStart[u]; !fine.pinned[u]
+					&& a < fine.adjacencyStart[u + 1]; a++) {
+				int v = fine.adjacency[a];
+				if (coarseIndex[v] < 0 && v != u && !fine.pinned[v]
+						&& (match < 0 || fine.mass[v] < fine.mass[match])) {
+					match = v;
+				}
+			}
+			coarseIndex[u] = coarseCount;
+			if (match >= 0) {
+				coarseIndex[match] = coarseCount;
+			}
+			coarseCount++;
+		}
+		fine.coarseIndex = coarseIndex;
+
+		Level coarse = new Level();
+		coarse.nodeCount = coarseCount;
+		coarse.mass = new double[coarseCount];
+		coarse.pinned = new boolean[coarseCount];
+		coarse.pinnedX = new double[coarseCount];
+		coarse.pinnedY = new double[coarseCount];
+		for (int u = 0; u < n; u++) {
+			int c = coarseIndex[u];
+			coarse.mass[c] += fine.mass[u];
+			if (fine.pinned[u]) {
+				coarse.pinned[c] = true;
+				coarse.pinnedX[c] = fine.pinnedX[u];
+				coarse.pinnedY[c] = fine.pinnedY[u];
+			}
+		}
+
+		// determine the members of each coarse node (counting sort)
+		int[] memberStart = new int[coarseCount + 1];
+		for (int u = 0; u < n; u++) {
+			memberStart[coarseIndex[u] + 1]++;
+		}
+		for (int c = 0; c < coarseCount; c++) {
+			memberStart[c + 1] += memberStart[c];
+		}
+		int[] members = new int[n];
+		int[] fill = new int[coarseCount];
+		for (int u = 0; u < n; u++) {
+			members[memberStart[coarseIndex[u]] + fill[coarseIndex[u]]++] = u;
+		}
+
+		// merge the adjacencies of the members (omitting duplicates)
+		int[] lastSeen = new int[coarseCount];
+		Arrays.fill(lastSeen, -1);
+		int[] adjacency = new int[fine.adjacency.length];
+		coarse.adjacencyStart = new int[coarseCount + 1];
+		int size = 0;
+		for (int c = 0; c < coarseCount; c++) {
+			coarse.adjacencyStart[c] = size;
+			lastSeen[c] = c;
+			for (int m = memberStart[c]; m < memberStart[c + 1]; m++) {
+				int u = members[m];
+				for (int a = fine.adjacencyStart[u]; a < fine.adjacencyStart[u
+						+ 1]; a++) {
+					int neighbor = coarseIndex[fine.adjacency[a]];
+					if (lastSeen[neighbor] != c) {
+						lastSeen[neighbor] = c;
+						adjacency[size++] = neighbor;
+					}
+				}
+			}
+		}
+		coarse.adjacencyStart[coarseCount] = size;
+		coarse.adjacency = Arrays.copyOf(adjacency, size);
+		return coarse;
+	}
+
+	private Level createFinestLevel(LayoutBuffer buffer) {
+		int n = buffer.getNodeCount();
+		int[] sources = buffer.getEdgeSources();
+		int[] targets = buffer.getEdgeTargets();
+		Level level = new Level();
+		level.nodeCount = n;
+		level.mass = new double[n];
+		Arrays.fill(level.mass, 1);
+		// immovable nodes are pinned (if their location is known)
+		level.pinned = new boolean[n];
+		level.pinnedX = new double[n];
+		level.pinnedY = new double[n];
+		for (int i = 0; i < n; i++) {
+			double x = buffer.getXs()[i];
+			double y = buffer.getYs()[i];
+			if (!buffer.isMovable(i) && !Double.isNaN(x)
+					&& !Double.isNaN(y)) {
+				level.pinned[i] = true;
+				level.pinnedX[i] = x;
+				level.pinnedY[i] = y;
+			}
+		}
+		level.adjacencyStart = new int[n + 1];
+		for (int e = 0; e < sources.length; e++) {
+			if (isProperEdge(sources[e], targets[e])) {
+				level.adjacencyStart[sources[e] + 1]++;
+				level.adjacencyStart[targets[e] + 1]++;
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			level.adjacencyStart[i + 1] += level.adjacencyStart[i];
+		}
+		level.adjacency = new int[level.adjacencyStart[n]];
+		int[] fill = new int[n];
+		for (int e = 0; e < sources.length; e++) {
+			int s = sources[e];
+			int t = targets[e];
+			if (isProperEdge(s, t)) {
+				level.adjacency[level.adjacencyStart[s] + fill[s]++] = t;
+				level.adjacency[level.adjacencyStart[t] + fill[t]++] = s;
+			}
+		}
+		return level;
+	}
+
+	/**
+	 * Returns the number of force-directed iterations that are performed per
+	 * level.
+	 *
+	 * @return The number of iterations per level.
+	 */
+	public int getIterations() {
+		return iterations;
+	}
+
+	public LayoutContext getLayoutContext() {
+		return context;
+	}
+
+	private Rectangle getPinnedBounds(Level level) {
+		Rectangle bounds = null;
+		for (int i = 0; i < level.nodeCount; i++) {
+			if (level.pinned[i]) {
+				Rectangle point = new Rectangle(level.pinnedX[i],
+						level.pinnedY[i], 0, 0);
+				bounds = bounds == null ? point : bounds.union(point);
+			}
+		}
+		return bounds;
+	}
+
+	private double getSpringLength(LayoutBuffer buffer) {
+		double[] width = buffer.getWidths();
+		double[] height = buffer.getHeights();
+		double sum = 0;
+		int count = 0;
+		for (int i = 0; i < buffer.getNodeCount(); i++) {
+			double size = Math.max(width[i], height[i]);
+			if (!Double.isNaN(size)) {
+				sum += size;
+				count++;
+			}
+		}
+		return count == 0 || sum == 0 ? DEFAULT_SPRING_LENGTH
+				: 2 * sum / count;
+	}
+
+	private boolean hasPinned(Level level) {
+		for (int i = 0; i < level.nodeCount; i++) {
+			if (level.pinned[i]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isProperEdge(int source, int target) {
+		return source >= 0 && target >= 0 && source != target;
+	}
+
+	/**
+	 * Returns <code>true</code> if this algorithm is set to resize elements.
+	 *
+	 * @return <code>true</code> if this algorithm is set to resize elements.
+	 */
+	public boolean isResizing() {
+		return resize;
+	}
+
+	private void moveWithinBounds(LayoutBuffer buffer, Rectangle bounds) {
+		double[] x = buffer.getXs();
+		double[] y = buffer.getYs();
+		double[] width = buffer.getWidths();
+		double[] height = buffer.getHeights();
+		for (int i = 0; i < buffer.getNodeCount(); i++) {
+			if (!buffer.isMovable(i)) {
+				continue;
+			}
+			double halfWidth = Double.isNaN(width[i]) ? 0 : width[i] / 2;
+			double halfHeight = Double.isNaN(height[i]) ? 0 : height[i] / 2;
+			x[i] = Math.max(bounds.getX() + halfWidth,
+					Math.min(bounds.getX() + bounds.getWidth() - halfWidth,
+							x[i]));
+			y[i] = Math.max(bounds.getY() + halfHeight,
+					Math.min(bounds.getY() + bounds.getHeight() - halfHeight,
+							y[i]));
+		}
+	}
+
+	private void refineLayout(LayoutBuffer buffer, Level level) {
+		int n = level.nodeCount;
+		double[] x = Arrays.copyOf(buffer.getXs(), n);
+		double[] y = Arrays.copyOf(buffer.getYs(), n);
+		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
+		boolean[] located = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			located[i] = !Double.isNaN(x[i]) && !Double.isNaN(y[i]);
+		}
+
+		// use the current (mean) edge length as the spring length, so that
+		// the layout is not contracted or expanded (e.g. after it was fitted
+		// into the bounds)
+		double sum = 0;
+		int count = 0;
+		for (int i = 0; i < n; i++) {
+			for (int a = level.adjacencyStart[i]; a < level.adjacencyStart[i
+					+ 1]; a++) {
+				int j = level.adjacency[a];
+				if (located[i] && located[j]) {
+					sum += Math.hypot(x[j] - x[i], y[j] - y[i]);
+					count++;
+				}
+			}
+		}
+		double k = count == 0 || sum == 0 ? getSpringLength(buffer)
+				: sum / count;
+
+		// place the nodes without a location at the center of their located
+		// neighbors, or randomly if none of their neighbors is located
+		Random random = new Random(n);
+		for (int i = 0; i < n; i++) {
+			if (located[i]) {
+				continue;
+			}
+			double sumX = 0;
+			double sumY = 0;
+			int neighbors = 0;
+			for (int a = level.adjacencyStart[i]; a < level.adjacencyStart[i
+					+ 1]; a++) {
+				int j = level.adjacency[a];
+				if (located[j]) {
+					sumX += x[j];
+					sumY += y[j];
+					neighbors++;
+				}
+			}
+			Rectangle area = bounds != null ? bounds
+					: new Rectangle(0, 0, k * Math.sqrt(n), k * Math.sqrt(n));
+			x[i] = neighbors > 0 ? sumX / neighbors
+					: area.getX() + random.nextDouble() * area.getWidth();
+			y[i] = neighbors > 0 ? sumY / neighbors
+					: area.getY() + random.nextDouble() * area.getHeight();
+			x[i] += (random.nextDouble() - 0.5) * k * 0.1;
+			y[i] += (random.nextDouble() - 0.5) * k * 0.1;
+		}
+
+		// refine the finest level only (the current layout is kept as far as
+		// possible, so that the temperature is limited to a fraction of the
+		// spring length)
+		refine(level, x, y, k, k / 4);
+		for (int i = 0; i < n; i++) {
+			if (buffer.isMovable(i)) {
+				buffer.setLocation(i, x[i], y[i]);
+			}
+		}
+		if (bounds != null) {
+			int insets = AlgorithmHelper.INSETS;
+			moveWithinBounds(buffer,
+					new Rectangle(bounds.getX() + insets,
+							bounds.getY() + insets,
+							bounds.getWidth() - 2 * insets,
+							bounds.getHeight() - 2 * insets));
+		}
+		context.flushLayoutBuffer();
+	}
+
+	private void refine(Level level, double[] x, double[] y, double k,
+			double temperature) {
+		int n = level.nodeCount;
+		double[] dispX = new double[n];
+		double[] dispY = new double[n];
+		double radius = 2 * k;
+		int[] cells = new int[n];
+		int[] points = new int[n];
+		for (int iteration = 0; iteration < iterations; iteration++) {
+			Arrays.fill(dispX, 0);
+			Arrays.fill(dispY, 0);
+
+			// repulsive forces between nearby nodes (using a uniform grid
+			// with cells at least as large as the repulsion radius)
+			double minX = Double.POSITIVE_INFINITY;
+			double minY = Double.POSITIVE_INFINITY;
+			double maxX = Double.NEGATIVE_INFINITY;
+			double maxY = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < n; i++) {
+				minX = Math.min(minX, x[i]);
+				minY = Math.min(minY, y[i]);
+				maxX = Math.max(maxX, x[i]);
+				maxY = Math.max(maxY, y[i]);
+			}
+			double cellSize = Math.max(radius,
+					Math.max(maxX - minX, maxY - minY) / Math.sqrt(n));
+			int columns = (int) ((maxX - minX) / cellSize) + 1;
+			int rows = (int) ((maxY - minY) / cellSize) + 1;
+			int[] cellStart = new int[columns * rows + 1];
+			for (int i = 0; i < n; i++) {
+				cells[i] = (int) ((y[i] - minY) / cellSize) * columns
+						+ (int) ((x[i] - minX) / cellSize);
+				cellStart[cells[i] + 1]++;
+			}
+			for (int c = 0; c < columns * rows; c++) {
+				cellStart[c + 1] += cellStart[c];
+			}
+			int[] fill = new int[columns * rows];
+			for (int i = 0; i < n; i++) {
+				points[cellStart[cells[i]] + fill[cells[i]]++] = i;
+			}
+			double kk = k * k;
+			for (int i = 0; i < n; i++) {
+				int column = cells[i] % columns;
+				int row = cells[i] / columns;
+				for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1,
+						row + 1); r++) {
+					for (int c = Math.max(0, column - 1); c <= Math
+							.min(columns - 1, column + 1); c++) {
+						int cell = r * columns + c;
+						for (int p = cellStart[cell]; p < cellStart[cell
+								+ 1]; p++) {
+							int j = points[p];
+							if (j == i) {
+								continue;
+							}
+							double dx = x[i] - x[j];
+							double dy = y[i] - y[j];
+							double distance = Math.sqrt(dx * dx + dy * dy);
+							if (distance > radius) {
+								continue;
+							}
+							if (distance < MIN_DISTANCE) {
+								// push coincident nodes apart deterministically
+								dx = i < j ? MIN_DISTANCE : -MIN_DISTANCE;
+								dy = 0;
+								distance = MIN_DISTANCE;
+							}
+							double force = kk * level.mass[j]
+									/ (distance * distance);
+							dispX[i] += dx * force;
+							dispY[i] += dy * force;
+						}
+					}
+				}
+			}
+
+			// attractive forces along the edges
+			for (int i = 0; i < n; i++) {
+				for (int a = level.adjacencyStart[i]; a < level.adjacencyStart[i
+						+ 1]; a++) {
+					int j = level.adjacency[a];
+					double dx = x[j] - x[i];
+					double dy = y[j] - y[i];
+					double distance = Math.sqrt(dx * dx + dy * dy);
+					double force = distance / k;
+					dispX[i] += dx * force;
+					dispY[i] += dy * force;
+				}
+			}
+
+			// move (unpinned) nodes, limiting the displacement to the
+			// temperature
+			for (int i = 0; i < n; i++) {
+				if (level.pinned[i]) {
+					continue;
+				}
+				double length = Math
+						.sqrt(dispX[i] * dispX[i] + dispY[i] * dispY[i]);
+				if (length > 0) {
+					double scale = Math.min(length, temperature) / length;
+					x[i] += dispX[i] * scale;
+					y[i] += dispY[i] * scale;
+				}
+			}
+			temperature *= COOLING_FACTOR;
+		}
+	}
+
+	/**
+	 * Sets the number of force-directed iterations that are performed per
+	 * level.
+	 *
+	 * @param iterations
+	 *            The number of iterations per level.
+	 */
+	public void setIterations(int iterations) {
+		this.iterations = iterations;
+	}
+
+	public void setLayoutContext(LayoutContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * Sets whether or not this algorithm should resize elements.
+	 *
+	 * @param resizing
+	 *            <code>true</code> if this algorithm should resize elements
+	 *            (default is <code>false</code>)
+	 */
+	public void setResizing(boolean resizing) {
+		resize = resizing;
+	}
+
+}
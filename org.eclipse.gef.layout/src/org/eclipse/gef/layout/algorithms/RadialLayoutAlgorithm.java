@@ -16,6 +16,7 @@ import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutBuffer;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -53,14 +54,18 @@ public class RadialLayoutAlgorithm implements ILayoutAlgorithm {
 		Node[] entities = context.getNodes();
 		Rectangle bounds = LayoutProperties.getBounds(context.getGraph());
 		computeRadialPositions(entities, bounds);
+		// the node attributes have been changed directly
+		context.flushLayoutBuffer();
+		LayoutBuffer buffer = context.getLayoutBuffer();
 		if (resize)
-			AlgorithmHelper.maximizeSizes(entities);
-		int insets = 4;
+			AlgorithmHelper.maximizeSizes(buffer);
+		int insets = AlgorithmHelper.INSETS;
 		bounds.setX(bounds.getX() + insets);
 		bounds.setY(bounds.getY() + insets);
 		bounds.setWidth(bounds.getWidth() - 2 * insets);
 		bounds.setHeight(bounds.getHeight() - 2 * insets);
-		AlgorithmHelper.fitWithinBounds(entities, bounds, resize);
+		AlgorithmHelper.fitWithinBounds(buffer, bounds, resize);
+		context.flushLayoutBuffer();
 	}
 
 	private void computeRadialPositions(Node[] entities, Rectangle bounds) {
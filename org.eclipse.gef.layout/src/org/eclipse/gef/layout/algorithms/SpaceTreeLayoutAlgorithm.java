@@ -83,7 +83,7 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 			SpaceTreeNode child2 = (SpaceTreeNode) child;
 			child2.expanded = false;
 
-			if (child.depth >= 0)
+			if (child.depth >= 0 && child.depth < spaceTreeLayers.size())
 				spaceTreeLayers.get(child.depth).removeNode(child2);
 
 			if (expanded) {
@@ -1021,6 +1021,10 @@ public class SpaceTreeLayoutAlgorithm implements ILayoutAlgorithm {
 	}
 
 	public void setLayoutContext(LayoutContext context) {
+		if (treeObserver != null && context == this.context) {
+			// the tree structure is maintained incrementally
+			return;
+		}
 		if (this.context != null) {
 			treeObserver.stop();
 		}
@@ -14,14 +14,17 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Random;
+import java.util.Set;
 
-import org.eclipse.gef.geometry.planar.Dimension;
-import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutBuffer;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 
@@ -29,6 +32,15 @@ import org.eclipse.gef.layout.LayoutProperties;
  * The SpringLayoutAlgorithm has its own data repository and relation
  * repository. A user can populate the repository, specify the layout
  * conditions, do the computation and query the computed results.
+ * <p>
+ * In {@link #setIncremental(boolean) incremental} mode, a layout pass that
+ * follows a previous layout pass keeps the existing node positions. New nodes
+ * are placed near their neighbors, and only the nodes around the changed parts
+ * of the graph are moved, using a bounded number of iterations, so that live
+ * views remain stable when the graph is edited. Layout passes that are not
+ * clean (see {@link #applyLayout(boolean)}) are only performed in incremental
+ * mode (and only if a previous layout pass was performed), otherwise they are
+ * ignored.
  * 
  * @author Jingwei Wu
  * @author Rob Lintern
@@ -79,6 +91,23 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	private static final double MIN_DISTANCE = 1.0d;
 
+	/**
+	 * The default number of iterations for incremental layout passes.
+	 */
+	private static final int DEFAULT_INCREMENTAL_ITERATIONS = 50;
+
+	/**
+	 * The number of hops (from changed nodes) within which nodes are moved
+	 * during incremental layout passes.
+	 */
+	private static final int INCREMENTAL_RADIUS = 2;
+
+	/**
+	 * Incremental layout passes terminate when the average displacement of the
+	 * moved nodes (relative to the scaled bounds) falls below this threshold.
+	 */
+	private static final double INCREMENTAL_DISPLACEMENT_THRESHOLD = 0.001;
+
 	/**
 	 * The variable can be customized to set the number of iterations used.
 	 */
@@ -96,6 +125,12 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	private boolean sprRandom = DEFAULT_SPRING_RANDOM;
 
+	/**
+	 * The generator for random placements, which is seeded per layout pass, so
+	 * that layout passes are reproducible.
+	 */
+	private Random random;
+
 	/**
 	 * The variable can be customized to set the spring layout move-control.
 	 */
@@ -122,9 +157,31 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	private boolean resize = false;
 
+	/**
+	 * Variable indicating whether the algorithm should perform incremental
+	 * layout passes.
+	 */
+	private boolean incremental = false;
+
+	/**
+	 * The maximum number of iterations for incremental layout passes.
+	 */
+	private int incrementalIterations = DEFAULT_INCREMENTAL_ITERATIONS;
+
 	private int iteration;
 
-	private double[][] srcDestToSumOfWeights;
+	// sum of weights of the edges between two nodes (in compressed sparse row
+	// format), i.e. the related nodes of node i are
+	// relatedNodes[relatedStart[i] ... relatedStart[i + 1] - 1]
+	private int[] relatedStart;
+	private int[] relatedNodes;
+	private double[] relatedWeights;
+
+	// the nodes and edges of the previous layout pass (if any)
+	private Set<Node> previousNodes;
+	private Set<Edge> previousEdges;
+	private Rectangle previousBounds;
+	private boolean warmStart;
 
 	private Node[] entities;
 
@@ -134,6 +191,8 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 
 	private double[] sizeW, sizeH;
 
+	private boolean[] movable;
+
 	private Rectangle bounds;
 
 	private double boundsScaleX = 0.2;
@@ -145,27 +204,280 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	private LayoutContext context;
 
 	public void applyLayout(boolean clean) {
-		initLayout();
-		if (!clean) {
+		// a layout pass that is not clean refines the previous layout in
+		// incremental mode, and is ignored otherwise
+		if (!clean && (!incremental || previousNodes == null)) {
 			return;
 		}
+		initLayout(incremental);
 
-		while (performAnotherNonContinuousIteration()) {
-			computeOneIteration();
+		if (warmStart) {
+			applyIncrementalLayout();
+		} else {
+			while (performAnotherNonContinuousIteration()) {
+				computeOneIteration();
+			}
+			saveLocations();
+			fitLayoutWithinBounds();
 		}
 
+		// remember the laid out nodes and edges for incremental layout passes
+		LayoutBuffer buffer = context.getLayoutBuffer();
+		previousNodes = Collections
+				.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+		previousNodes.addAll(Arrays.asList(entities));
+		previousEdges = Collections
+				.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+		for (int i = 0; i < buffer.getEdgeCount(); i++) {
+			previousEdges.add(buffer.getEdge(i));
+		}
+		previousBounds = bounds == null ? null : bounds.getCopy();
+		context.flushLayoutBuffer();
+	}
+
+	/**
+	 * Keeps the positions of the previous layout pass, places new nodes near
+	 * their neighbors, and performs a bounded number of iterations for the
+	 * nodes around the changed parts of the graph.
+	 */
+	private void applyIncrementalLayout() {
+		double[] mobility = computeMobility();
+		placeNewNodes();
+		double maxMovement = 0.2d * sprMove;
+		int activeCount = 0;
+		for (int i = 0; i < mobility.length; i++) {
+			if (mobility[i] > 0) {
+				activeCount++;
+			}
+		}
+		for (int i = 0; i < incrementalIterations && activeCount > 0; i++) {
+			double displacement = computeIncrementalIteration(mobility,
+					maxMovement);
+			maxMovement *= 0.95;
+			if (displacement < INCREMENTAL_DISPLACEMENT_THRESHOLD
+					* activeCount) {
+				break;
+			}
+		}
 		saveLocations();
+
+		// only re-fit the layout if necessary, so that it remains stable
+		Rectangle layoutBounds = getLayoutBounds();
+		if (!bounds.equals(previousBounds) || !bounds.contains(layoutBounds)) {
+			fitLayoutWithinBounds();
+		}
+	}
+
+	/**
+	 * Computes forces for the nodes that may be moved during an incremental
+	 * layout pass, and moves them accordingly.
+	 * 
+	 * @param mobility
+	 *            The mobility of each node, i.e. <code>1</code> for changed
+	 *            nodes, decreasing with the distance from changed nodes, and
+	 *            <code>0</code> for nodes that may not be moved.
+	 * @param maxMovement
+	 *            The maximum (relative) movement of a node.
+	 * @return The sum of the (relative) displacements of all nodes.
+	 */
+	private double computeIncrementalIteration(double[] mobility,
+			double maxMovement) {
+		double[] weights = new double[entities.length];
+		double displacement = 0;
+		for (int i = 0; i < entities.length; i++) {
+			if (mobility[i] <= 0) {
+				continue;
+			}
+			for (int r = relatedStart[i]; r < relatedStart[i + 1]; r++) {
+				weights[relatedNodes[r]] += relatedWeights[r];
+			}
+			double forceX = 0;
+			double forceY = 0;
+			for (int j = 0; j < entities.length; j++) {
+				if (j == i) {
+					continue;
+				}
+				double dx = (locationsX[i] - locationsX[j]) / bounds.getWidth()
+						/ boundsScaleX;
+				double dy = (locationsY[i] - locationsY[j])
+						/ bounds.getHeight() / boundsScaleY;
+				double distance_sq = Math.max(MIN_DISTANCE * MIN_DISTANCE,
+						dx * dx + dy * dy);
+				double distance = Math.sqrt(distance_sq);
+				double f;
+				if (weights[j] > 0) {
+					f = -sprStrain * Math.log(distance / sprLength)
+							* weights[j];
+				} else {
+					f = sprGravitation / distance_sq;
+				}
+				forceX += f * dx / distance;
+				forceY += f * dy / distance;
+			}
+			for (int r = relatedStart[i]; r < relatedStart[i + 1]; r++) {
+				weights[relatedNodes[r]] = 0;
+			}
+
+			double deltaX = sprMove * forceX * mobility[i];
+			double deltaY = sprMove * forceY * mobility[i];
+			double dist = Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+			if (dist > maxMovement * mobility[i]) {
+				deltaX *= maxMovement * mobility[i] / dist;
+				deltaY *= maxMovement * mobility[i] / dist;
+				dist = maxMovement * mobility[i];
+			}
+			locationsX[i] += deltaX * bounds.getWidth() * boundsScaleX;
+			locationsY[i] += deltaY * bounds.getHeight() * boundsScaleY;
+			keepWithinBounds(i);
+			displacement += dist;
+		}
+		return displacement;
+	}
+
+	/**
+	 * Determines the mobility of each node for an incremental layout pass.
+	 * New nodes, as well as the nodes of added or removed edges, are changed
+	 * and may be fully moved. The mobility of their neighbors decreases with
+	 * the distance (in hops) from the changed nodes, and nodes that are
+	 * farther away than {@link #INCREMENTAL_RADIUS} are not moved at all.
+	 * 
+	 * @return The mobility of each node.
+	 */
+	private double[] computeMobility() {
+		int n = entities.length;
+		int[] hops = new int[n];
+		Arrays.fill(hops, -1);
+		int[] queue = new int[n];
+		int queueEnd = 0;
+		for (int i = 0; i < n; i++) {
+			if (!previousNodes.contains(entities[i])) {
+				hops[i] = 0;
+				queue[queueEnd++] = i;
+			}
+		}
+		LayoutBuffer buffer = context.getLayoutBuffer();
+		Set<Edge> edges = Collections
+				.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+		for (int e = 0; e < buffer.getEdgeCount(); e++) {
+			Edge edge = buffer.getEdge(e);
+			edges.add(edge);
+			if (!previousEdges.contains(edge)) {
+				queueEnd = enqueueChanged(buffer.getEdgeSources()[e], hops,
+						queue, queueEnd);
+				queueEnd = enqueueChanged(buffer.getEdgeTargets()[e], hops,
+						queue, queueEnd);
+			}
+		}
+		for (Edge edge : previousEdges) {
+			if (!edges.contains(edge)) {
+				queueEnd = enqueueChanged(buffer.indexOf(edge.getSource()),
+						hops, queue, queueEnd);
+				queueEnd = enqueueChanged(buffer.indexOf(edge.getTarget()),
+						hops, queue, queueEnd);
+			}
+		}
+
+		// breadth-first search from the changed nodes
+		double[] mobility = new double[n];
+		for (int q = 0; q < queueEnd; q++) {
+			int i = queue[q];
+			mobility[i] = movable[i] ? 1d / (1 << hops[i]) : 0;
+			if (hops[i] < INCREMENTAL_RADIUS) {
+				for (int r = relatedStart[i]; r < relatedStart[i + 1]; r++) {
+					int j = relatedNodes[r];
+					if (hops[j] < 0) {
+						hops[j] = hops[i] + 1;
+						queue[queueEnd++] = j;
+					}
+				}
+			}
+		}
+		return mobility;
+	}
+
+	private int enqueueChanged(int index, int[] hops, int[] queue,
+			int queueEnd) {
+		if (index >= 0 && hops[index] < 0) {
+			hops[index] = 0;
+			queue[queueEnd++] = index;
+		}
+		return queueEnd;
+	}
+
+	private void fitLayoutWithinBounds() {
+		LayoutBuffer buffer = context.getLayoutBuffer();
 		if (resize)
-			AlgorithmHelper.maximizeSizes(entities);
+			AlgorithmHelper.maximizeSizes(buffer);
 
 		if (fitWithinBounds) {
 			Rectangle bounds2 = new Rectangle(bounds);
-			int insets = 4;
+			int insets = AlgorithmHelper.INSETS;
 			bounds2.setX(bounds2.getX() + insets);
 			bounds2.setY(bounds2.getY() + insets);
 			bounds2.setWidth(bounds2.getWidth() - 2 * insets);
 			bounds2.setHeight(bounds2.getHeight() - 2 * insets);
-			AlgorithmHelper.fitWithinBounds(entities, bounds2, resize);
+			AlgorithmHelper.fitWithinBounds(buffer, bounds2, resize);
+		}
+	}
+
+	/**
+	 * Places the (movable) nodes that were not part of the previous layout pass
+	 * at the center of their already placed neighbors (with a small random offset),
+	 * or randomly within the bounds if none of their neighbors is placed.
+	 */
+	private void placeNewNodes() {
+		int n = entities.length;
+		boolean[] placed = new boolean[n];
+		int unplaced = 0;
+		for (int i = 0; i < n; i++) {
+			placed[i] = previousNodes.contains(entities[i]) || !movable[i];
+			if (!placed[i]) {
+				unplaced++;
+			}
+		}
+		double jitterX = 0.02 * bounds.getWidth();
+		double jitterY = 0.02 * bounds.getHeight();
+		while (unplaced > 0) {
+			boolean progress = false;
+			for (int i = 0; i < n; i++) {
+				if (placed[i]) {
+					continue;
+				}
+				double sumX = 0;
+				double sumY = 0;
+				int count = 0;
+				for (int r = relatedStart[i]; r < relatedStart[i + 1]; r++) {
+					int j = relatedNodes[r];
+					if (placed[j]) {
+						sumX += locationsX[j];
+						sumY += locationsY[j];
+						count++;
+					}
+				}
+				if (count > 0) {
+					locationsX[i] = sumX / count
+							+ (random.nextDouble() - 0.5) * jitterX;
+					locationsY[i] = sumY / count
+							+ (random.nextDouble() - 0.5) * jitterY;
+					keepWithinBounds(i);
+					placed[i] = true;
+					unplaced--;
+					progress = true;
+				}
+			}
+			if (!progress) {
+				// place the remaining nodes randomly
+				for (int i = 0; i < n; i++) {
+					if (!placed[i]) {
+						locationsX[i] = bounds.getX()
+								+ random.nextDouble() * bounds.getWidth();
+						locationsY[i] = bounds.getY()
+								+ random.nextDouble() * bounds.getHeight();
+						placed[i] = true;
+					}
+				}
+				unplaced = 0;
+			}
 		}
 	}
 
@@ -187,8 +499,6 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	public void performNIteration(int n) {
 		context.preLayout();
 		if (iteration == 0) {
-			entities = context.getNodes();
-			loadLocations();
 			initLayout();
 		}
 		bounds = LayoutProperties.getBounds(context.getGraph());
@@ -205,8 +515,6 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	public void performOneIteration() {
 		context.preLayout();
 		if (iteration == 0) {
-			entities = context.getNodes();
-			loadLocations();
 			initLayout();
 		}
 		bounds = LayoutProperties.getBounds(context.getGraph());
@@ -233,6 +541,52 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		resize = resizing;
 	}
 
+	/**
+	 * Returns <code>true</code> if this algorithm performs incremental layout
+	 * passes, otherwise <code>false</code>.
+	 * 
+	 * @return <code>true</code> if this algorithm performs incremental layout
+	 *         passes, otherwise <code>false</code>.
+	 */
+	public boolean isIncremental() {
+		return incremental;
+	}
+
+	/**
+	 * Specifies whether this algorithm performs incremental layout passes. If
+	 * enabled, a layout pass that follows a previous layout pass keeps the
+	 * existing node positions, places new nodes near their neighbors, and only
+	 * moves the nodes around the changed parts of the graph. Layout passes that
+	 * are not clean are only performed if enabled.
+	 * 
+	 * @param incremental
+	 *            <code>true</code> to perform incremental layout passes
+	 *            (default is <code>false</code>)
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
+	}
+
+	/**
+	 * Returns the maximum number of iterations of incremental layout passes.
+	 * 
+	 * @return The maximum number of iterations of incremental layout passes.
+	 */
+	public int getIncrementalIterations() {
+		return incrementalIterations;
+	}
+
+	/**
+	 * Sets the maximum number of iterations of incremental layout passes.
+	 * 
+	 * @param iterations
+	 *            The maximum number of iterations of incremental layout
+	 *            passes.
+	 */
+	public void setIncrementalIterations(int iterations) {
+		incrementalIterations = iterations;
+	}
+
 	/**
 	 * Sets the spring layout move-control.
 	 * 
@@ -376,32 +730,64 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	private long startTime = 0;
 
 	private void initLayout() {
-		entities = context.getNodes();
+		initLayout(incremental);
+	}
+
+	private void initLayout(boolean allowWarmStart) {
+		LayoutBuffer buffer = context.getLayoutBuffer();
+		entities = new Node[buffer.getNodeCount()];
+		for (int i = 0; i < entities.length; i++) {
+			entities[i] = buffer.getNode(i);
+		}
 		bounds = LayoutProperties.getBounds(context.getGraph());
 		loadLocations();
-
-		srcDestToSumOfWeights = new double[entities.length][entities.length];
-		HashMap<Node, Integer> entityToPosition = new HashMap<>();
+		random = new Random(entities.length);
+
+		// collect the (weighted) relations between the nodes; multiple edges
+		// between the same nodes are summed up when the weights are loaded
+		int[] sources = buffer.getEdgeSources();
+		int[] targets = buffer.getEdgeTargets();
+		relatedStart = new int[entities.length + 1];
+		for (int i = 0; i < buffer.getEdgeCount(); i++) {
+			if (isRelation(sources[i], targets[i])) {
+				relatedStart[sources[i] + 1]++;
+				relatedStart[targets[i] + 1]++;
+			}
+		}
 		for (int i = 0; i < entities.length; i++) {
-			entityToPosition.put(entities[i], new Integer(i));
+			relatedStart[i + 1] += relatedStart[i];
 		}
-
-		Edge[] connections = context.getEdges();
-		for (int i = 0; i < connections.length; i++) {
-			Edge connection = connections[i];
-			Integer source = entityToPosition.get(connection.getSource());
-			Integer target = entityToPosition.get(connection.getTarget());
-			if (source == null || target == null)
+		relatedNodes = new int[relatedStart[entities.length]];
+		relatedWeights = new double[relatedNodes.length];
+		int[] fill = new int[entities.length];
+		for (int i = 0; i < buffer.getEdgeCount(); i++) {
+			int source = sources[i];
+			int target = targets[i];
+			if (!isRelation(source, target))
 				continue;
-			double weight = LayoutProperties.getWeight(connection);
+			double weight = LayoutProperties.getWeight(buffer.getEdge(i));
 			weight = (weight <= 0 ? 0.1 : weight);
-			srcDestToSumOfWeights[source.intValue()][target
-					.intValue()] += weight;
-			srcDestToSumOfWeights[target.intValue()][source
-					.intValue()] += weight;
+			int r = relatedStart[source] + fill[source]++;
+			relatedNodes[r] = target;
+			relatedWeights[r] = weight;
+			r = relatedStart[target] + fill[target]++;
+			relatedNodes[r] = source;
+			relatedWeights[r] = weight;
+		}
+
+		// warm start from the previous positions in incremental mode (or for
+		// layout passes that are not clean)
+		warmStart = false;
+		if (allowWarmStart && previousNodes != null) {
+			for (Node entity : entities) {
+				if (previousNodes.contains(entity)) {
+					warmStart = true;
+					break;
+				}
+			}
 		}
 
-		if (sprRandom)
+		if (sprRandom && !warmStart)
 			placeRandomly(); // put vertices in random places
 
 		iteration = 1;
@@ -409,6 +795,23 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		startTime = System.currentTimeMillis();
 	}
 
+	private boolean isRelation(int source, int target) {
+		return source >= 0 && target >= 0 && source != target;
+	}
+
+	// moves the node at the given index into the (inset) bounds
+	private void keepWithinBounds(int i) {
+		int insets = AlgorithmHelper.INSETS;
+		double halfWidth = Double.isNaN(sizeW[i]) ? 0 : sizeW[i] / 2;
+		double halfHeight = Double.isNaN(sizeH[i]) ? 0 : sizeH[i] / 2;
+		locationsX[i] = Math.max(bounds.getX() + insets + halfWidth,
+				Math.min(locationsX[i], bounds.getX() + bounds.getWidth()
+						- insets - halfWidth));
+		locationsY[i] = Math.max(bounds.getY() + insets + halfHeight,
+				Math.min(locationsY[i], bounds.getY() + bounds.getHeight()
+						- insets - halfHeight));
+	}
+
 	private void loadLocations() {
 		if (locationsX == null || locationsX.length != entities.length) {
 			int length = entities.length;
@@ -418,20 +821,31 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 			sizeH = new double[length];
 			forcesX = new double[length];
 			forcesY = new double[length];
+			movable = new boolean[length];
 		}
+		LayoutBuffer buffer = context.getLayoutBuffer();
 		for (int i = 0; i < entities.length; i++) {
-			Point location = LayoutProperties.getLocation(entities[i]);
-			locationsX[i] = location.x;
-			locationsY[i] = location.y;
-			Dimension size = LayoutProperties.getSize(entities[i]);
-			sizeW[i] = size.width;
-			sizeH[i] = size.height;
+			int index = indexOf(buffer, i);
+			locationsX[i] = buffer.getXs()[index];
+			locationsY[i] = buffer.getYs()[index];
+			sizeW[i] = buffer.getWidths()[index];
+			sizeH[i] = buffer.getHeights()[index];
+			movable[i] = buffer.isMovable(index);
+		}
+	}
+
+	// determines the buffer index of the entity at the given index
+	private int indexOf(LayoutBuffer buffer, int i) {
+		if (i < buffer.getNodeCount() && buffer.getNode(i) == entities[i]) {
+			return i;
 		}
+		return buffer.indexOf(entities[i]);
 	}
 
 	private void saveLocations() {
 		if (entities == null)
 			return;
+		LayoutBuffer buffer = context.getLayoutBuffer();
 		for (int i = 0; i < entities.length; i++) {
 			// TODO ensure no dynamic layout passes are triggered as a result of
 			// storing the positions
@@ -440,8 +854,10 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 				locationsX[i] = 0;
 				locationsY[i] = 0;
 			}
-			LayoutProperties.setLocation(entities[i],
-					new Point(locationsX[i], locationsY[i]));
+			int index = indexOf(buffer, i);
+			if (index >= 0) {
+				buffer.setLocation(index, locationsX[i], locationsY[i]);
+			}
 		}
 	}
 
@@ -526,9 +942,9 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 			locationsY[1] = bounds.getY() + bounds.getHeight();
 			for (int i = 2; i < locationsX.length; i++) {
 				locationsX[i] = bounds.getX()
-						+ Math.random() * bounds.getWidth();
+						+ random.nextDouble() * bounds.getWidth();
 				locationsY[i] = bounds.getY()
-						+ Math.random() * bounds.getHeight();
+						+ random.nextDouble() * bounds.getHeight();
 			}
 		}
 	}
@@ -543,6 +959,7 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 		double forcesY[][] = new double[2][this.forcesX.length];
 		double locationsX[] = new double[this.forcesX.length];
 		double locationsY[] = new double[this.forcesX.length];
+		double weights[] = new double[this.forcesX.length];
 
 		// // initialize all forces to zero
 		for (int j = 0; j < 2; j++) {
@@ -557,6 +974,10 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 
 		for (int k = 0; k < 2; k++) {
 			for (int i = 0; i < this.locationsX.length; i++) {
+				// load the weights of the relations of node i
+				for (int r = relatedStart[i]; r < relatedStart[i + 1]; r++) {
+					weights[relatedNodes[r]] += relatedWeights[r];
+				}
 
 				for (int j = i + 1; j < locationsX.length; j++) {
 					double dx = (locationsX[i] - locationsX[j])
@@ -574,7 +995,7 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 					// destObj
 					// If no relation between srcObj and destObj then increase
 					// force on srcObj (a push) from direction of destObj.
-					double sumOfWeights = srcDestToSumOfWeights[i][j];
+					double sumOfWeights = weights[j];
 
 					double f;
 					if (sumOfWeights > 0) {
@@ -594,10 +1015,14 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 					forcesX[k][j] -= dfx;
 					forcesY[k][j] -= dfy;
 				}
+
+				for (int r = relatedStart[i]; r < relatedStart[i + 1]; r++) {
+					weights[relatedNodes[r]] = 0;
+				}
 			}
 
 			for (int i = 0; i < entities.length; i++) {
-				if (LayoutProperties.isMovable(entities[i])) {
+				if (movable[i]) {
 					double deltaX = sprMove * forcesX[k][i];
 					double deltaY = sprMove * forcesY[k][i];
 
@@ -642,7 +1067,7 @@ public class SpringLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	protected void computePositions() {
 		for (int i = 0; i < entities.length; i++) {
-			if (LayoutProperties.isMovable(entities[i])) {
+			if (movable[i]) {
 				double deltaX = sprMove * forcesX[i];
 				double deltaY = sprMove * forcesY[i];
 
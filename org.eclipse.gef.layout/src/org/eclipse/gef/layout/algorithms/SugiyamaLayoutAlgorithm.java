@@ -18,6 +18,7 @@
 package org.eclipse.gef.layout.algorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
@@ -34,6 +35,7 @@ import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
 import org.eclipse.gef.layout.LayoutContext;
@@ -1114,6 +1116,190 @@ public class SugiyamaLayoutAlgorithm implements ILayoutAlgorithm {
 		}
 	}
 
+	/**
+	 * Assigns the nodes to layers according to the longest path from a
+	 * source, so that every node is placed directly below its lowest
+	 * predecessor. Cycles are broken by reversing the back edges of a depth
+	 * first search. Dummy nodes are inserted for edges that span multiple
+	 * layers, so that the resulting hierarchy is proper.
+	 * <p>
+	 * The edges are read from the graphs of the given nodes once and stored
+	 * in an index-based adjacency structure, so that the layering runs in
+	 * linear time (with respect to the number of nodes and edges).
+	 */
+	public static class LongestPathLayerProvider implements LayerProvider {
+
+		@Override
+		public List<List<NodeWrapper>> calculateLayers(List<Node> nodes) {
+			int n = nodes.size();
+			Map<Node, Integer> indices = new IdentityHashMap<>();
+			for (int i = 0; i < n; i++) {
+				indices.put(nodes.get(i), i);
+			}
+
+			// collect the edges between the given nodes (self loops are
+			// irrelevant for the layering)
+			Set<Graph> graphs = Collections
+					.newSetFromMap(new IdentityHashMap<Graph, Boolean>());
+			int[] sources = new int[16];
+			int[] targets = new int[16];
+			int m = 0;
+			for (Node node : nodes) {
+				Graph graph = node.getGraph();
+				if (graph == null || !graphs.add(graph)) {
+					continue;
+				}
+				for (Edge edge : graph.getEdges()) {
+					Integer source = indices.get(edge.getSource());
+					Integer target = indices.get(edge.getTarget());
+					if (source == null || target == null
+							|| source.intValue() == target.intValue()) {
+						continue;
+					}
+					if (m == sources.length) {
+						sources = Arrays.copyOf(sources, 2 * m);
+						targets = Arrays.copyOf(targets, 2 * m);
+					}
+					sources[m] = source;
+					targets[m] = target;
+					m++;
+				}
+			}
+
+			// outgoing edges (CSR)
+			int[] outStart = new int[n + 1];
+			for (int e = 0; e < m; e++) {
+				outStart[sources[e] + 1]++;
+			}
+			for (int i = 0; i < n; i++) {
+				outStart[i + 1] += outStart[i];
+			}
+			int[] outEdges = new int[m];
+			int[] fill = Arrays.copyOf(outStart, n);
+			for (int e = 0; e < m; e++) {
+				outEdges[fill[sources[e]]++] = e;
+			}
+
+			reverseBackEdges(n, sources, targets, outStart, outEdges);
+
+			// longest path layering in topological order (Kahn)
+			int[] inDegree = new int[n];
+			Arrays.fill(outStart, 0);
+			for (int e = 0; e < m; e++) {
+				outStart[sources[e] + 1]++;
+				inDegree[targets[e]]++;
+			}
+			for (int i = 0; i < n; i++) {
+				outStart[i + 1] += outStart[i];
+			}
+			System.arraycopy(outStart, 0, fill, 0, n);
+			for (int e = 0; e < m; e++) {
+				outEdges[fill[sources[e]]++] = e;
+			}
+			int[] layerOf = new int[n];
+			int[] queue = new int[n];
+			int tail = 0;
+			for (int i = 0; i < n; i++) {
+				if (inDegree[i] == 0) {
+					queue[tail++] = i;
+				}
+			}
+			int numberOfLayers = n == 0 ? 0 : 1;
+			for (int head = 0; head < tail; head++) {
+				int i = queue[head];
+				numberOfLayers = Math.max(numberOfLayers, layerOf[i] + 1);
+				for (int a = outStart[i]; a < outStart[i + 1]; a++) {
+					int j = targets[outEdges[a]];
+					layerOf[j] = Math.max(layerOf[j], layerOf[i] + 1);
+					if (--inDegree[j] == 0) {
+						queue[tail++] = j;
+					}
+				}
+			}
+
+			// wrap the nodes and chain them via dummies across the layers
+			List<List<NodeWrapper>> layers = new ArrayList<>(numberOfLayers);
+			for (int l = 0; l < numberOfLayers; l++) {
+				layers.add(new ArrayList<NodeWrapper>());
+			}
+			NodeWrapper[] wrappers = new NodeWrapper[n];
+			for (int i = 0; i < n; i++) {
+				wrappers[i] = new NodeWrapper(nodes.get(i), layerOf[i]);
+				layers.get(layerOf[i]).add(wrappers[i]);
+			}
+			// marks the targets that are already connected to a source, so
+			// that multiple edges result in a single connection
+			int[] connected = new int[n];
+			Arrays.fill(connected, -1);
+			for (int i = 0; i < n; i++) {
+				for (int a = outStart[i]; a < outStart[i + 1]; a++) {
+					int j = targets[outEdges[a]];
+					if (connected[j] == i) {
+						continue;
+					}
+					connected[j] = i;
+					NodeWrapper predecessor = wrappers[i];
+					for (int level = layerOf[i]
+							+ 1; level < layerOf[j]; level++) {
+						NodeWrapper dummy = new NodeWrapper(level);
+						dummy.addPredecessor(predecessor);
+						predecessor.addSuccessor(dummy);
+						predecessor = dummy;
+						layers.get(level).add(dummy);
+					}
+					wrappers[j].addPredecessor(predecessor);
+					predecessor.addSuccessor(wrappers[j]);
+				}
+			}
+			for (List<NodeWrapper> layer : layers) {
+				for (int index = 0; index < layer.size(); index++) {
+					layer.get(index).index = index;
+				}
+			}
+			return layers;
+		}
+
+		/**
+		 * Reverses the back edges of an (iterative) depth first search, so
+		 * that the resulting graph is acyclic.
+		 */
+		private static void reverseBackEdges(int n, int[] sources,
+				int[] targets, int[] outStart, int[] outEdges) {
+			// 0: unvisited, 1: on the stack, 2: finished
+			byte[] state = new byte[n];
+			int[] stack = new int[n];
+			int[] next = new int[n];
+			for (int root = 0; root < n; root++) {
+				if (state[root] != 0) {
+					continue;
+				}
+				int size = 0;
+				stack[size++] = root;
+				state[root] = 1;
+				next[root] = outStart[root];
+				while (size > 0) {
+					int i = stack[size - 1];
+					if (next[i] == outStart[i + 1]) {
+						state[i] = 2;
+						size--;
+						continue;
+					}
+					int e = outEdges[next[i]++];
+					int j = targets[e];
+					if (state[j] == 0) {
+						state[j] = 1;
+						next[j] = outStart[j];
+						stack[size++] = j;
+					} else if (state[j] == 1) {
+						// back edge
+						targets[e] = sources[e];
+						sources[e] = j;
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * 
 	 * @author Rene Kuhlemann
@@ -19,15 +19,19 @@ import java.util.Iterator;
 import org.eclipse.gef.geometry.planar.Dimension;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.geometry.planar.Rectangle;
-import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutBuffer;
 import org.eclipse.gef.layout.LayoutContext;
 import org.eclipse.gef.layout.LayoutProperties;
 import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeNode;
 
 /**
  * The TreeLayoutAlgorithm class implements a simple algorithm to arrange graph
- * nodes in a layered tree-like layout.
+ * nodes in a layered tree-like layout. In {@link #LAYERED} mode (default), each
+ * leaf occupies its own slot along the breadth of the tree, and parents are
+ * centered above the slots of their leaves. In {@link #COMPACT} mode, subtrees
+ * are placed as close to each other as possible using the linear time variant
+ * of Walker's algorithm (by Buchheim, Jünger, and Leipert).
  * 
  * @author Casey Best
  * @author Ian Bull
@@ -63,8 +67,22 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 	 */
 	public final static int RIGHT_LEFT = 4;
 
+	/**
+	 * Layout mode constant for which each leaf occupies its own slot along the
+	 * breadth of the tree.
+	 */
+	public final static int LAYERED = 1;
+
+	/**
+	 * Layout mode constant for which subtrees are placed as close to each
+	 * other as possible (Buchheim-Walker).
+	 */
+	public final static int COMPACT = 2;
+
 	private int direction = TOP_DOWN;
 
+	private int mode = LAYERED;
+
 	private boolean resize = false;
 
 	private LayoutContext context;
@@ -149,6 +167,29 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 					"Invalid direction: " + direction);
 	}
 
+	/**
+	 * Returns the layout mode of this {@link TreeLayoutAlgorithm}.
+	 * 
+	 * @return The layout mode of this {@link TreeLayoutAlgorithm}.
+	 */
+	public int getMode() {
+		return mode;
+	}
+
+	/**
+	 * Changes the layout mode of this {@link TreeLayoutAlgorithm} to the given
+	 * value. The mode may either be {@link #LAYERED} or {@link #COMPACT}.
+	 * 
+	 * @param mode
+	 *            The new layout mode for this {@link TreeLayoutAlgorithm}.
+	 */
+	public void setMode(int mode) {
+		if (mode == LAYERED || mode == COMPACT)
+			this.mode = mode;
+		else
+			throw new IllegalArgumentException("Invalid mode: " + mode);
+	}
+
 	/**
 	 * 
 	 * @return true if this algorithm is set to resize elements
@@ -168,6 +209,10 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 	}
 
 	public void setLayoutContext(LayoutContext context) {
+		if (treeObserver != null && context == this.context) {
+			// the tree structure is maintained incrementally
+			return;
+		}
 		if (treeObserver != null) {
 			treeObserver.stop();
 		}
@@ -187,22 +232,25 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 
 		internalApplyLayout();
 
-		Node[] entities = context.getNodes();
+		// the node attributes have been changed directly
+		context.flushLayoutBuffer();
+		LayoutBuffer buffer = context.getLayoutBuffer();
 		if (resize) {
-			AlgorithmHelper.maximizeSizes(entities);
+			AlgorithmHelper.maximizeSizes(buffer);
 		}
-		scaleEntities(entities);
+		scaleEntities(buffer);
+		context.flushLayoutBuffer();
 	}
 
-	private void scaleEntities(Node[] entities) {
+	private void scaleEntities(LayoutBuffer buffer) {
 		if (nodeSpace == null) {
 			Rectangle resizedBounds = new Rectangle(bounds);
-			int insets = 4;
+			int insets = AlgorithmHelper.INSETS;
 			resizedBounds.setX(resizedBounds.getX() + insets);
 			resizedBounds.setY(resizedBounds.getY() + insets);
 			resizedBounds.setWidth(resizedBounds.getWidth() - 2 * insets);
 			resizedBounds.setHeight(resizedBounds.getHeight() - 2 * insets);
-			AlgorithmHelper.fitWithinBounds(entities, resizedBounds, resize);
+			AlgorithmHelper.fitWithinBounds(buffer, resizedBounds, resize);
 		}
 	}
 
@@ -213,7 +261,11 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 	void internalApplyLayout() {
 		TreeNode superRoot = treeObserver.getSuperRoot();
 		bounds = LayoutProperties.getBounds(context.getGraph());
-		updateLeafAndLayerSizes();
+		if (mode == COMPACT) {
+			computeCompactPositions(superRoot);
+			return;
+		}
+		updateLeafAndLayerSizes(superRoot.numOfLeaves);
 		int leafCountSoFar = 0;
 		for (Iterator<TreeNode> iterator = superRoot.getChildren()
 				.iterator(); iterator.hasNext();) {
@@ -223,7 +275,19 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 		}
 	}
 
-	private void updateLeafAndLayerSizes() {
+	private void computeCompactPositions(TreeNode superRoot) {
+		WalkerTreeLayout walker = new WalkerTreeLayout(superRoot);
+		double minX = walker.getMinX();
+		updateLeafAndLayerSizes(walker.getMaxX() - minX + 1);
+		for (TreeNode treeNode : walker.getTreeNodes()) {
+			if (treeNode != superRoot) {
+				setLocation(treeNode, walker.getX(treeNode) - minX + 0.5,
+						treeNode.depth + 0.5);
+			}
+		}
+	}
+
+	private void updateLeafAndLayerSizes(double breadth) {
 		if (nodeSpace != null) {
 			if (getDirection() == TOP_DOWN || getDirection() == BOTTOM_UP) {
 				leafSize = nodeSpace.getWidth();
@@ -235,10 +299,10 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 		} else {
 			TreeNode superRoot = treeObserver.getSuperRoot();
 			if (direction == TOP_DOWN || direction == BOTTOM_UP) {
-				leafSize = bounds.getWidth() / superRoot.numOfLeaves;
+				leafSize = bounds.getWidth() / breadth;
 				layerSize = bounds.getHeight() / superRoot.height;
 			} else {
-				leafSize = bounds.getHeight() / superRoot.numOfLeaves;
+				leafSize = bounds.getHeight() / breadth;
 				layerSize = bounds.getWidth() / superRoot.height;
 			}
 		}
@@ -252,7 +316,23 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 		double breadthPosition = relativePosition
 				+ entityInfo.numOfLeaves / 2.0;
 		double depthPosition = (entityInfo.depth + 0.5);
+		setLocation(entityInfo, breadthPosition, depthPosition);
 
+		for (Iterator<TreeNode> iterator = entityInfo.children
+				.iterator(); iterator.hasNext();) {
+			TreeNode childInfo = iterator.next();
+			computePositionRecursively(childInfo, relativePosition);
+			relativePosition += childInfo.numOfLeaves;
+		}
+	}
+
+	/**
+	 * Sets the location of the given {@link TreeNode} according to the given
+	 * breadth and depth positions (in leaf and layer units) and the direction
+	 * of this {@link TreeLayoutAlgorithm}.
+	 */
+	private void setLocation(TreeNode entityInfo, double breadthPosition,
+			double depthPosition) {
 		switch (direction) {
 		case TOP_DOWN:
 			LayoutProperties.setLocation(entityInfo.getNode(), new Point(
@@ -273,13 +353,6 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 							breadthPosition * leafSize));
 			break;
 		}
-
-		for (Iterator<TreeNode> iterator = entityInfo.children
-				.iterator(); iterator.hasNext();) {
-			TreeNode childInfo = iterator.next();
-			computePositionRecursively(childInfo, relativePosition);
-			relativePosition += childInfo.numOfLeaves;
-		}
 	}
 
 	@Override
@@ -300,6 +373,7 @@ public class TreeLayoutAlgorithm implements ILayoutAlgorithm {
 			sb.append("top -> down");
 			break;
 		}
+		sb.append(", mode : " + (mode == COMPACT ? "compact" : "layered"));
 		sb.append(", resize : " + resize);
 		sb.append(" }");
 		// TODO: include node space??
@@ -13,23 +13,36 @@
  ******************************************************************************/
 package org.eclipse.gef.layout.algorithms;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 import java.util.Set;
 
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.layout.LayoutContext;
 
+import javafx.collections.ListChangeListener;
+
 /**
  * A helper class for layout algorithms that are based on tree structure. It
  * keeps track of changes in observed layout context and stores current
  * information about the tree structure - children of each node and several
  * other parameters.
+ * <p>
+ * Changes to the nodes and edges of the observed {@link Graph} are processed
+ * incrementally: only the affected nodes are re-parented, and only the
+ * parameters of the moved subtrees and of their ancestors are updated, before
+ * the {@link TreeListener}s are notified about the affected nodes.
  * 
  * @author Ian Bull
  * @author Mateusz Matela
@@ -179,6 +192,9 @@ public class TreeLayoutObserver {
 		 * @return order of this node
 		 */
 		public int getOrder() {
+			if (owner != null) {
+				owner.validateOrders();
+			}
 			return order;
 		}
 
@@ -281,13 +297,13 @@ public class TreeLayoutObserver {
 		protected void findNewParent() {
 			if (parent != null)
 				parent.children.remove(this);
-			Node[] predecessingNodes = node.getAllPredecessorNodes()
-					.toArray(new Node[] {});
+			List<Node> predecessingNodes = owner.getPredecessors(node);
 			parent = null;
-			for (int i = 0; i < predecessingNodes.length; i++) {
+			for (int i = 0; i < predecessingNodes.size(); i++) {
 				TreeNode potentialParent = owner.layoutToTree
-						.get(predecessingNodes[i]);
-				if (!children.contains(potentialParent)
+						.get(predecessingNodes.get(i));
+				if (potentialParent != this
+						&& !children.contains(potentialParent)
 						&& isBetterParent(potentialParent))
 					parent = potentialParent;
 			}
@@ -395,6 +411,46 @@ public class TreeLayoutObserver {
 	private TreeNode superRoot;
 	private ArrayList<TreeListener> treeListeners = new ArrayList<>();
 
+	// adjacency of the observed graph (one entry per edge)
+	private final Map<Node, List<Node>> predecessors = new IdentityHashMap<>();
+	private final Map<Node, List<Node>> successors = new IdentityHashMap<>();
+	private Graph graph;
+	private boolean ordersChanged = false;
+
+	private ListChangeListener<Node> nodesListener = new ListChangeListener<Node>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Node> c) {
+			while (c.next()) {
+				if (c.wasPermutated()) {
+					continue;
+				}
+				for (Node node : c.getRemoved()) {
+					nodeRemoved(node);
+				}
+				for (Node node : c.getAddedSubList()) {
+					nodeAdded(node);
+				}
+			}
+		}
+	};
+
+	private ListChangeListener<Edge> edgesListener = new ListChangeListener<Edge>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Edge> c) {
+			while (c.next()) {
+				if (c.wasPermutated()) {
+					continue;
+				}
+				for (Edge edge : c.getRemoved()) {
+					edgeRemoved(edge);
+				}
+				for (Edge edge : c.getAddedSubList()) {
+					edgeAdded(edge);
+				}
+			}
+		}
+	};
+
 	/**
 	 * Constructs a new {@link TreeLayoutObserver} for observing the given
 	 * {@link LayoutContext}. The given {@link TreeNodeFactory} will be used for
@@ -421,9 +477,22 @@ public class TreeLayoutObserver {
 	 * as creating new <code>TreeLayoutObserver</code>).
 	 */
 	public void recomputeTree() {
+		stop();
+		graph = context.getGraph();
+		if (graph != null) {
+			graph.getNodes().addListener(nodesListener);
+			graph.getEdges().addListener(edgesListener);
+		}
+		layoutToTree.clear();
+		predecessors.clear();
+		successors.clear();
+		for (Edge edge : context.getEdges()) {
+			addAdjacency(edge);
+		}
 		superRoot = factory.createTreeNode(null, this);
 		layoutToTree.put(null, superRoot);
 		createTrees(context.getNodes());
+		ordersChanged = false;
 	}
 
 	/**
@@ -432,6 +501,11 @@ public class TreeLayoutObserver {
 	 * updated only when {@link #recomputeTree()} is called.
 	 */
 	public void stop() {
+		if (graph != null) {
+			graph.getNodes().removeListener(nodesListener);
+			graph.getEdges().removeListener(edgesListener);
+			graph = null;
+		}
 	}
 
 	/**
@@ -441,6 +515,11 @@ public class TreeLayoutObserver {
 	 * @return Super Root
 	 */
 	public TreeNode getSuperRoot() {
+		if (graph != null && graph != context.getGraph()) {
+			// the observed graph was replaced
+			recomputeTree();
+		}
+		validateOrders();
 		return superRoot;
 	}
 
@@ -482,7 +561,234 @@ public class TreeLayoutObserver {
 	 *            listener to remove
 	 */
 	public void removeTreeListener(TreeListener listener) {
-		treeListeners.add(listener);
+		treeListeners.remove(listener);
+	}
+
+	private void addAdjacency(Edge edge) {
+		getAdjacency(successors, edge.getSource()).add(edge.getTarget());
+		getAdjacency(predecessors, edge.getTarget()).add(edge.getSource());
+	}
+
+	private void edgeAdded(Edge edge) {
+		addAdjacency(edge);
+		TreeNode source = layoutToTree.get(edge.getSource());
+		TreeNode target = layoutToTree.get(edge.getTarget());
+		if (source != null && target != null) {
+			relationAdded(source, target);
+		}
+	}
+
+	private void edgeRemoved(Edge edge) {
+		List<Node> targets = successors.get(edge.getSource());
+		if (targets != null) {
+			targets.remove(edge.getTarget());
+		}
+		List<Node> sources = predecessors.get(edge.getTarget());
+		if (sources != null) {
+			sources.remove(edge.getSource());
+		}
+		TreeNode source = layoutToTree.get(edge.getSource());
+		TreeNode target = layoutToTree.get(edge.getTarget());
+		if (source != null && target != null && target.parent == source
+				&& !getPredecessors(target.node).contains(source.node)) {
+			target.findNewParent();
+			treeNodeMoved(target, source);
+			ordersChanged = true;
+			for (TreeListener listener : new ArrayList<>(treeListeners)) {
+				listener.parentChanged(target, source);
+			}
+		}
+	}
+
+	private List<Node> getAdjacency(Map<Node, List<Node>> adjacency,
+			Node node) {
+		List<Node> adjacent = adjacency.get(node);
+		if (adjacent == null) {
+			adjacent = new ArrayList<>(2);
+			adjacency.put(node, adjacent);
+		}
+		return adjacent;
+	}
+
+	private List<Node> getPredecessors(Node node) {
+		List<Node> sources = predecessors.get(node);
+		return sources == null ? Collections.<Node> emptyList() : sources;
+	}
+
+	private List<Node> getSuccessors(Node node) {
+		List<Node> targets = successors.get(node);
+		return targets == null ? Collections.<Node> emptyList() : targets;
+	}
+
+	private void nodeAdded(Node node) {
+		if (layoutToTree.containsKey(node)) {
+			return;
+		}
+		TreeNode treeNode = getTreeNode(node);
+		treeNode.numOfLeaves = 1;
+		superRoot.addChild(treeNode);
+		treeNodeMoved(treeNode, null);
+		ordersChanged = true;
+		for (TreeListener listener : new ArrayList<>(treeListeners)) {
+			listener.nodeAdded(treeNode);
+		}
+		// edges may have been added before the node
+		for (Node predecessor : new ArrayList<>(getPredecessors(node))) {
+			TreeNode source = layoutToTree.get(predecessor);
+			if (source != null) {
+				relationAdded(source, treeNode);
+			}
+		}
+		for (Node successor : new ArrayList<>(getSuccessors(node))) {
+			TreeNode target = layoutToTree.get(successor);
+			if (target != null) {
+				relationAdded(treeNode, target);
+			}
+		}
+	}
+
+	private void nodeRemoved(Node node) {
+		TreeNode treeNode = layoutToTree.remove(node);
+		if (treeNode == null || treeNode == superRoot) {
+			return;
+		}
+		TreeNode parent = treeNode.parent;
+		parent.children.remove(treeNode);
+		treeNodeMoved(null, parent);
+		List<TreeNode> orphans = new ArrayList<>(treeNode.children);
+		for (TreeNode orphan : orphans) {
+			orphan.findNewParent();
+			treeNodeMoved(orphan, treeNode);
+		}
+		treeNode.children.clear();
+		ordersChanged = true;
+		for (TreeListener listener : new ArrayList<>(treeListeners)) {
+			listener.nodeRemoved(treeNode);
+			for (TreeNode orphan : orphans) {
+				listener.parentChanged(orphan, treeNode);
+			}
+		}
+	}
+
+	private void relationAdded(TreeNode source, TreeNode target) {
+		if (source == target || target.parent == source
+				|| !target.isBetterParent(source)) {
+			return;
+		}
+		TreeNode previousParent = target.parent;
+		previousParent.children.remove(target);
+		source.addChild(target);
+		treeNodeMoved(target, previousParent);
+		ordersChanged = true;
+		for (TreeListener listener : new ArrayList<>(treeListeners)) {
+			listener.parentChanged(target, previousParent);
+		}
+	}
+
+	/**
+	 * Updates the parameters of the given moved subtree as well as those of
+	 * the ancestors of its previous and its current parent.
+	 *
+	 * @param moved
+	 *            The {@link TreeNode} that was (re-)attached, or
+	 *            <code>null</code>.
+	 * @param previousParent
+	 *            The {@link TreeNode} that was the previous parent of the moved
+	 *            node, or <code>null</code>.
+	 */
+	private void treeNodeMoved(TreeNode moved, TreeNode previousParent) {
+		if (previousParent != null && previousParent != superRoot
+				&& !layoutToTree.containsKey(previousParent.node)) {
+			// the previous parent was removed
+			previousParent = null;
+		}
+		if (previousParent != null) {
+			updateAncestors(previousParent);
+		}
+		if (moved != null) {
+			// update the depths within the moved subtree
+			Deque<TreeNode> stack = new ArrayDeque<>();
+			stack.push(moved);
+			while (!stack.isEmpty()) {
+				TreeNode treeNode = stack.pop();
+				treeNode.depth = treeNode.parent.depth + 1;
+				for (TreeNode child : treeNode.children) {
+					if (child != treeNode) {
+						stack.push(child);
+					}
+				}
+			}
+			updateAncestors(moved.parent);
+		}
+	}
+
+	/**
+	 * Recomputes the height, the number of leaves, and the number of
+	 * descendants of the given {@link TreeNode} and propagates the changes
+	 * towards the {@link #getSuperRoot() Super Root}.
+	 *
+	 * @param treeNode
+	 *            The {@link TreeNode} whose children have changed.
+	 */
+	private void updateAncestors(TreeNode treeNode) {
+		boolean childrenChanged = true;
+		while (treeNode != null) {
+			int height = 0;
+			int numOfLeaves = 0;
+			int numOfDescendants = 0;
+			for (ListIterator<TreeNode> iterator = treeNode.children
+					.listIterator(); iterator.hasNext();) {
+				TreeNode child = iterator.next();
+				if (childrenChanged) {
+					child.firstChild = numOfLeaves == 0;
+					child.lastChild = !iterator.hasNext();
+				}
+				height = Math.max(height, child.height + 1);
+				numOfLeaves += child.numOfLeaves;
+				numOfDescendants += child.numOfDescendants + 1;
+			}
+			if (treeNode.children.isEmpty()) {
+				numOfLeaves = 1;
+			}
+			if (!childrenChanged && height == treeNode.height
+					&& numOfLeaves == treeNode.numOfLeaves
+					&& numOfDescendants == treeNode.numOfDescendants) {
+				// the ancestors are not affected
+				return;
+			}
+			treeNode.height = height;
+			treeNode.numOfLeaves = numOfLeaves;
+			treeNode.numOfDescendants = numOfDescendants;
+			childrenChanged = false;
+			treeNode = treeNode.parent == treeNode ? null : treeNode.parent;
+		}
+	}
+
+	/**
+	 * Re-assigns the (depth first) order of all nodes if the tree structure
+	 * changed since the orders were last assigned. The orders cannot be
+	 * maintained locally, because they depend on the number of leaves that
+	 * precede a node, so that they are only re-assigned on demand.
+	 */
+	private void validateOrders() {
+		if (!ordersChanged) {
+			return;
+		}
+		ordersChanged = false;
+		Deque<TreeNode> stack = new ArrayDeque<>();
+		superRoot.order = 0;
+		stack.push(superRoot);
+		while (!stack.isEmpty()) {
+			TreeNode treeNode = stack.pop();
+			int order = treeNode.order;
+			for (TreeNode child : treeNode.children) {
+				if (child != treeNode) {
+					child.order = order;
+					order += child.numOfLeaves;
+					stack.push(child);
+				}
+			}
+		}
 	}
 
 	/**
@@ -492,10 +798,13 @@ public class TreeLayoutObserver {
 	 * @param nodes
 	 */
 	private void createTrees(Node[] nodes) {
+		Set<Node> graphNodes = Collections
+				.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+		Collections.addAll(graphNodes, nodes);
 		HashSet<Node> alreadyVisited = new HashSet<>();
 		LinkedList<Object[]> nodesToAdd = new LinkedList<>();
 		for (int i = 0; i < nodes.length; i++) {
-			Node root = findRoot(nodes[i], alreadyVisited);
+			Node root = findRoot(nodes[i], graphNodes, alreadyVisited);
 			if (root != null) {
 				alreadyVisited.add(root);
 				nodesToAdd.addLast(new Object[] { root, superRoot });
@@ -509,13 +818,11 @@ public class TreeLayoutObserver {
 			TreeNode currentRoot = (TreeNode) dequeued[1];
 
 			currentRoot.addChild(currentNode);
-			Node[] children = currentNode.node.getAllSuccessorNodes()
-					.toArray(new Node[] {});
-			for (int i = 0; i < children.length; i++) {
-				if (!alreadyVisited.contains(children[i])) {
-					alreadyVisited.add(children[i]);
-					nodesToAdd
-							.addLast(new Object[] { children[i], currentNode });
+			for (Node child : getSuccessors(currentNode.node)) {
+				if (graphNodes.contains(child)
+						&& !alreadyVisited.contains(child)) {
+					alreadyVisited.add(child);
+					nodesToAdd.addLast(new Object[] { child, currentNode });
 				}
 			}
 		}
@@ -531,12 +838,16 @@ public class TreeLayoutObserver {
 	 * 
 	 * @param nodeLayout
 	 *            starting node
+	 * @param graphNodes
+	 *            the nodes of the observed graph (other predecessors are
+	 *            ignored)
 	 * @param alreadyVisited
 	 *            set of nodes that can't lay on path to the root (if one does,
 	 *            method stops and returns null).
 	 * @return
 	 */
-	private Node findRoot(Node nodeLayout, Set<Node> alreadyVisited) {
+	private Node findRoot(Node nodeLayout, Set<Node> graphNodes,
+			Set<Node> alreadyVisited) {
 		HashSet<Node> alreadyVisitedRoot = new HashSet<>();
 		while (true) {
 			if (alreadyVisited.contains(nodeLayout))
@@ -544,13 +855,17 @@ public class TreeLayoutObserver {
 			if (alreadyVisitedRoot.contains(nodeLayout))
 				return nodeLayout;
 			alreadyVisitedRoot.add(nodeLayout);
-			Node[] predecessingNodes = nodeLayout.getAllPredecessorNodes()
-					.toArray(new Node[] {});
-			if (predecessingNodes.length > 0) {
-				nodeLayout = predecessingNodes[0];
-			} else {
+			Node predecessor = null;
+			for (Node candidate : getPredecessors(nodeLayout)) {
+				if (graphNodes.contains(candidate)) {
+					predecessor = candidate;
+					break;
+				}
+			}
+			if (predecessor == null) {
 				return nodeLayout;
 			}
+			nodeLayout = predecessor;
 		}
 	}
 }
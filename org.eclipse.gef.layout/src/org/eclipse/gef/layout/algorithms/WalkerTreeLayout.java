@@ -0,0 +1,290 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.layout.algorithms;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.layout.algorithms.TreeLayoutObserver.TreeNode;
+
+/**
+ * The {@link WalkerTreeLayout} computes compact breadth positions for the
+ * nodes of a tree (given by a {@link TreeNode}) using the linear time variant
+ * of Walker's algorithm by Buchheim, Jünger, and Leipert ("Improving Walker's
+ * Algorithm to Run in Linear Time"). Subtrees are placed as close to each
+ * other as possible, while siblings are separated by (at least) one unit, and
+ * parents are centered above their children.
+ * <p>
+ * The tree is traversed iteratively, so that deep trees do not exhaust the
+ * stack.
+ */
+class WalkerTreeLayout {
+
+	private static class Info {
+		private final TreeNode node;
+		private final Info parent;
+		private final Info[] children;
+		// 1-based index among the siblings
+		private final int number;
+		private double prelim;
+		private double mod;
+		private double change;
+		private double shift;
+		private Info thread;
+		private Info ancestor;
+		private double x;
+		// sum of the modifiers of the ancestors (and this node)
+		private double modSum;
+		// traversal state
+		private int childIndex;
+		private Info defaultAncestor;
+
+		private Info(TreeNode node, Info parent, int number) {
+			this.node = node;
+			this.parent = parent;
+			this.number = number;
+			this.children = new Info[node.getChildren().size()];
+			this.ancestor = this;
+		}
+
+		private Info getLeftSibling() {
+			return number > 1 ? parent.children[number - 2] : null;
+		}
+
+		private Info getLeftmostSibling() {
+			return parent.children[0];
+		}
+
+		private Info nextLeft() {
+			return children.length > 0 ? children[0] : thread;
+		}
+
+		private Info nextRight() {
+			return children.length > 0 ? children[children.length - 1]
+					: thread;
+		}
+	}
+
+	private static final double DISTANCE = 1;
+
+	private final Map<TreeNode, Info> infos = new IdentityHashMap<>();
+	private final List<Info> preOrder = new ArrayList<>();
+	private double minX = Double.POSITIVE_INFINITY;
+	private double maxX = Double.NEGATIVE_INFINITY;
+
+	/**
+	 * Computes the breadth positions for the given tree.
+	 *
+	 * @param root
+	 *            The root of the tree, e.g. the super root of a
+	 *            {@link TreeLayoutObserver}, which is excluded from the
+	 *            {@link #getMinX() extent} of the layout.
+	 */
+	WalkerTreeLayout(TreeNode root) {
+		Info rootInfo = createInfos(root);
+		firstWalk(rootInfo);
+		secondWalk(rootInfo);
+	}
+
+	private Info ancestor(Info vim, Info v, Info defaultAncestor) {
+		return vim.ancestor.parent == v.parent ? vim.ancestor : defaultAncestor;
+	}
+
+	private Info apportion(Info v, Info defaultAncestor) {
+		Info w = v.getLeftSibling();
+		if (w == null) {
+			return defaultAncestor;
+		}
+		Info vip = v;
+		Info vop = v;
+		Info vim = w;
+		Info vom = v.getLeftmostSibling();
+		double sip = vip.mod;
+		double sop = vop.mod;
+		double sim = vim.mod;
+		double som = vom.mod;
+		while (vim.nextRight() != null && vip.nextLeft() != null) {
+			vim = vim.nextRight();
+			vip = vip.nextLeft();
+			vom = vom.nextLeft();
+			vop = vop.nextRight();
+			vop.ancestor = v;
+			double shift = (vim.prelim + sim) - (vip.prelim + sip) + DISTANCE;
+			if (shift > 0) {
+				moveSubtree(ancestor(vim, v, defaultAncestor), v, shift);
+				sip += shift;
+				sop += shift;
+			}
+			sim += vim.mod;
+			sip += vip.mod;
+			som += vom.mod;
+			sop += vop.mod;
+		}
+		if (vim.nextRight() != null && vop.nextRight() == null) {
+			vop.thread = vim.nextRight();
+			vop.mod += sim - sop;
+		}
+		if (vip.nextLeft() != null && vom.nextLeft() == null) {
+			vom.thread = vip.nextLeft();
+			vom.mod += sip - som;
+			defaultAncestor = v;
+		}
+		return defaultAncestor;
+	}
+
+	private Info createInfos(TreeNode root) {
+		Info rootInfo = new Info(root, null, 1);
+		infos.put(root, rootInfo);
+		Deque<Info> stack = new ArrayDeque<>();
+		stack.push(rootInfo);
+		while (!stack.isEmpty()) {
+			Info info = stack.pop();
+			preOrder.add(info);
+			List<TreeNode> children = info.node.getChildren();
+			for (int i = 0; i < info.children.length; i++) {
+				Info child = new Info(children.get(i), info, i + 1);
+				infos.put(child.node, child);
+				info.children[i] = child;
+			}
+			for (int i = info.children.length - 1; i >= 0; i--) {
+				stack.push(info.children[i]);
+			}
+		}
+		return rootInfo;
+	}
+
+	private void executeShifts(Info v) {
+		double shift = 0;
+		double change = 0;
+		for (int i = v.children.length - 1; i >= 0; i--) {
+			Info w = v.children[i];
+			w.prelim += shift;
+			w.mod += shift;
+			change += w.change;
+			shift += w.shift + change;
+		}
+	}
+
+	private void firstWalk(Info root) {
+		// post-order traversal, apportioning each subtree directly after it
+		// has been walked
+		Deque<Info> stack = new ArrayDeque<>();
+		root.childIndex = 0;
+		root.defaultAncestor = root.children.length > 0 ? root.children[0]
+				: null;
+		stack.push(root);
+		while (!stack.isEmpty()) {
+			Info v = stack.peek();
+			if (v.childIndex < v.children.length) {
+				Info w = v.children[v.childIndex];
+				w.childIndex = 0;
+				w.defaultAncestor = w.children.length > 0 ? w.children[0]
+						: null;
+				stack.push(w);
+				continue;
+			}
+			Info leftSibling = v.parent == null ? null : v.getLeftSibling();
+			if (v.children.length == 0) {
+				v.prelim = leftSibling == null ? 0
+						: leftSibling.prelim + DISTANCE;
+			} else {
+				executeShifts(v);
+				double midpoint = (v.children[0].prelim
+						+ v.children[v.children.length - 1].prelim) / 2;
+				if (leftSibling == null) {
+					v.prelim = midpoint;
+				} else {
+					v.prelim = leftSibling.prelim + DISTANCE;
+					v.mod = v.prelim - midpoint;
+				}
+			}
+			stack.pop();
+			if (!stack.isEmpty()) {
+				Info parent = stack.peek();
+				parent.defaultAncestor = apportion(v, parent.defaultAncestor);
+				parent.childIndex++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the maximum breadth position (excluding the root).
+	 *
+	 * @return The maximum breadth position.
+	 */
+	double getMaxX() {
+		return maxX;
+	}
+
+	/**
+	 * Returns the minimum breadth position (excluding the root).
+	 *
+	 * @return The minimum breadth position.
+	 */
+	double getMinX() {
+		return minX;
+	}
+
+	/**
+	 * Returns the {@link TreeNode}s of the tree in pre-order.
+	 *
+	 * @return The {@link TreeNode}s of the tree in pre-order.
+	 */
+	List<TreeNode> getTreeNodes() {
+		List<TreeNode> nodes = new ArrayList<>(preOrder.size());
+		for (Info info : preOrder) {
+			nodes.add(info.node);
+		}
+		return nodes;
+	}
+
+	/**
+	 * Returns the breadth position of the given {@link TreeNode}.
+	 *
+	 * @param node
+	 *            The {@link TreeNode} for which to return the breadth
+	 *            position.
+	 * @return The breadth position of the given {@link TreeNode}.
+	 */
+	double getX(TreeNode node) {
+		return infos.get(node).x;
+	}
+
+	private void moveSubtree(Info wm, Info wp, double shift) {
+		double subtrees = wp.number - wm.number;
+		wp.change -= shift / subtrees;
+		wp.shift += shift;
+		wm.change += shift / subtrees;
+		wp.prelim += shift;
+		wp.mod += shift;
+	}
+
+	private void secondWalk(Info root) {
+		// the pre-order ensures that the modifiers of the ancestors have
+		// already been accumulated
+		for (Info v : preOrder) {
+			double m = v.parent == null ? -root.prelim : v.parent.modSum;
+			v.x = v.prelim + m;
+			v.modSum = m + v.mod;
+			if (v != root) {
+				minX = Math.min(minX, v.x);
+				maxX = Math.max(maxX, v.x);
+			}
+		}
+	}
+
+}
@@ -188,6 +188,7 @@ public class GeometricCurvePart extends AbstractGeometricElementPart<Connection>
 	@Override
 	protected Connection doCreateVisual() {
 		Connection visual = new Connection();
+		visual.setRefreshDeferred(true);
 		visual.setInterpolator(new PolyBezierInterpolator());
 		((GeometryNode<?>) visual.getCurve()).setStrokeLineCap(StrokeLineCap.BUTT);
 		return visual;
@@ -21,6 +21,7 @@ import org.eclipse.gef.common.adapt.inject.AdaptableTypeListener;
 import org.eclipse.gef.common.adapt.inject.AdapterInjectionSupport;
 import org.eclipse.gef.common.adapt.inject.AdapterMap;
 import org.eclipse.gef.common.adapt.inject.AdapterMaps;
+import org.eclipse.gef.mvc.fx.behaviors.ConnectionRoutingBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.ContentBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.ContentPartPool;
 import org.eclipse.gef.mvc.fx.behaviors.FocusBehavior;
@@ -28,12 +29,14 @@ import org.eclipse.gef.mvc.fx.behaviors.GridBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.HoverBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.RevealPrimarySelectionBehavior;
 import org.eclipse.gef.mvc.fx.behaviors.SelectionBehavior;
+import org.eclipse.gef.mvc.fx.behaviors.SpatialIndexBehavior;
 import org.eclipse.gef.mvc.fx.domain.HistoricizingDomain;
 import org.eclipse.gef.mvc.fx.domain.IDomain;
 import org.eclipse.gef.mvc.fx.models.FocusModel;
 import org.eclipse.gef.mvc.fx.models.GridModel;
 import org.eclipse.gef.mvc.fx.models.HoverModel;
 import org.eclipse.gef.mvc.fx.models.SelectionModel;
+import org.eclipse.gef.mvc.fx.models.SpatialIndexModel;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
 import org.eclipse.gef.mvc.fx.parts.AbstractFeedbackPart;
 import org.eclipse.gef.mvc.fx.parts.AbstractHandlePart;
@@ -212,6 +215,24 @@ public class MvcFxModule extends AbstractModule {
 				.in(AdaptableScopes.typed(IDomain.class));
 	}
 
+	/**
+	 * Adds a binding for {@link ConnectionRoutingBehavior} to the
+	 * {@link AdapterMap} binder for {@link IRootPart}.
+	 *
+	 * @param adapterMapBinder
+	 *            The {@link MapBinder} to be used for the binding registration.
+	 *            In this case, will be obtained from
+	 *            {@link AdapterMaps#getAdapterMapBinder(Binder, Class)} using
+	 *            {@link IRootPart} as a key.
+	 *
+	 * @see AdapterMaps#getAdapterMapBinder(Binder, Class)
+	 */
+	protected void bindConnectionRoutingBehaviorAsIRootPartAdapter(
+			MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+		adapterMapBinder.addBinding(AdapterKey.defaultRole())
+				.to(ConnectionRoutingBehavior.class);
+	}
+
 	/**
 	 * Adds a binding for {@link ClickDragTool} to the {@link AdapterMap} binder
 	 * for {@link IDomain}.
@@ -691,6 +712,8 @@ public class MvcFxModule extends AbstractModule {
 		bindRevealPrimarySelectionBehaviorAsIRootPartAdapter(adapterMapBinder);
 		bindGridBehaviorAsIRootPartAdapter(adapterMapBinder);
 		bindFocusBehaviorAsIRootPartAdapter(adapterMapBinder);
+		bindSpatialIndexBehaviorAsIRootPartAdapter(adapterMapBinder);
+		bindConnectionRoutingBehaviorAsIRootPartAdapter(adapterMapBinder);
 		// creation and deletion policy
 		bindCreationPolicyAsIRootPartAdapter(adapterMapBinder);
 		bindDeletionPolicyAsIRootPartAdapter(adapterMapBinder);
@@ -758,6 +781,7 @@ public class MvcFxModule extends AbstractModule {
 		bindFocusModelAsContentViewerAdapter(adapterMapBinder);
 		bindHoverModelAsContentViewerAdapter(adapterMapBinder);
 		bindSelectionModelAsContentViewerAdapter(adapterMapBinder);
+		bindSpatialIndexModelAsContentViewerAdapter(adapterMapBinder);
 		bindRootPartAsContentViewerAdapter(adapterMapBinder);
 		bindFocusFeedbackPartFactoryAsContentViewerAdapter(adapterMapBinder);
 		bindHoverFeedbackPartFactoryAsContentViewerAdapter(adapterMapBinder);
@@ -1003,6 +1027,43 @@ public class MvcFxModule extends AbstractModule {
 				.in(AdaptableScopes.typed(IViewer.class));
 	}
 
+	/**
+	 * Adds a binding for {@link SpatialIndexBehavior} to the
+	 * {@link AdapterMap} binder for {@link IRootPart}.
+	 *
+	 * @param adapterMapBinder
+	 *            The {@link MapBinder} to be used for the binding registration.
+	 *            In this case, will be obtained from
+	 *            {@link AdapterMaps#getAdapterMapBinder(Binder, Class)} using
+	 *            {@link IRootPart} as a key.
+	 *
+	 * @see AdapterMaps#getAdapterMapBinder(Binder, Class)
+	 */
+	protected void bindSpatialIndexBehaviorAsIRootPartAdapter(
+			MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+		adapterMapBinder.addBinding(AdapterKey.defaultRole())
+				.to(SpatialIndexBehavior.class);
+	}
+
+	/**
+	 * Adds a binding for {@link SpatialIndexModel} to the {@link AdapterMap}
+	 * binder for {@link IViewer}.
+	 *
+	 * @param adapterMapBinder
+	 *            The {@link MapBinder} to be used for the binding registration.
+	 *            In this case, will be obtained from
+	 *            {@link AdapterMaps#getAdapterMapBinder(Binder, Class)} using
+	 *            {@link IViewer} as a key.
+	 *
+	 * @see AdapterMaps#getAdapterMapBinder(Binder, Class)
+	 */
+	protected void bindSpatialIndexModelAsContentViewerAdapter(
+			MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
+		adapterMapBinder.addBinding(AdapterKey.defaultRole())
+				.to(SpatialIndexModel.class)
+				.in(AdaptableScopes.typed(IViewer.class));
+	}
+
 	/**
 	 * Adds a binding for {@link TransformProvider} to the {@link AdapterMap}
 	 * binder for {@link AbstractContentPart}, using the
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.behaviors;
+
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.ConnectionRefreshScheduler;
+import org.eclipse.gef.mvc.fx.parts.IRootPart;
+
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+/**
+ * The {@link ConnectionRoutingBehavior} can be registered on an
+ * {@link IRootPart} to provide a routing service that is scoped to the
+ * host's viewer. While it is active, a {@link ConnectionRefreshScheduler} is
+ * installed at the {@link IRootPart}'s visual, so that all dirty
+ * {@link Connection}s of the viewer that
+ * {@link Connection#setRefreshDeferred(boolean) defer their refreshes} are
+ * routed within a single pass per pulse, independent of the other viewers
+ * within the same scene, and the outlines and transformations of their shared
+ * anchorages are only computed once per pass.
+ */
+public class ConnectionRoutingBehavior extends AbstractBehavior {
+
+	private ConnectionRefreshScheduler scheduler;
+
+	@Override
+	protected void doActivate() {
+		Node rootVisual = getHost().getVisual();
+		if (rootVisual instanceof Parent) {
+			scheduler = ConnectionRefreshScheduler
+					.install((Parent) rootVisual);
+		}
+	}
+
+	@Override
+	protected void doDeactivate() {
+		if (scheduler != null) {
+			ConnectionRefreshScheduler
+					.uninstall((Parent) getHost().getVisual());
+			scheduler = null;
+		}
+	}
+
+	/**
+	 * Routes all dirty {@link Connection}s of the host's viewer within a
+	 * single pass, e.g. before their geometry is evaluated. Does nothing if
+	 * this behavior is not active.
+	 */
+	public void flush() {
+		if (scheduler != null) {
+			scheduler.flush();
+		}
+	}
+
+	/**
+	 * Returns the {@link ConnectionRefreshScheduler} that is installed at the
+	 * {@link IRootPart}'s visual while this behavior is active, or
+	 * <code>null</code>.
+	 *
+	 * @return The {@link ConnectionRefreshScheduler} of the host's viewer, or
+	 *         <code>null</code>.
+	 */
+	public ConnectionRefreshScheduler getScheduler() {
+		return scheduler;
+	}
+
+}
@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -265,6 +266,48 @@ public class ContentBehavior extends AbstractBehavior implements IDisposable {
 		return getHost().getRoot().getAdapter(ContentPartPool.class);
 	}
 
+	/**
+	 * Computes a longest strictly increasing subsequence of the given values
+	 * in <code>O(n log n)</code>.
+	 *
+	 * @param values
+	 *            The values for which to compute a longest increasing
+	 *            subsequence.
+	 * @return The (ascending) positions of the values that form a longest
+	 *         increasing subsequence.
+	 */
+	private static int[] longestIncreasingSubsequence(int[] values) {
+		// tails[k] is the position of the smallest value that ends an
+		// increasing subsequence of length k + 1
+		int[] tails = new int[values.length];
+		int[] predecessors = new int[values.length];
+		int length = 0;
+		for (int i = 0; i < values.length; i++) {
+			int low = 0;
+			int high = length;
+			while (low < high) {
+				int mid = (low + high) >>> 1;
+				if (values[tails[mid]] < values[i]) {
+					low = mid + 1;
+				} else {
+					high = mid;
+				}
+			}
+			predecessors[i] = low > 0 ? tails[low - 1] : -1;
+			tails[low] = i;
+			if (low == length) {
+				length++;
+			}
+		}
+		int[] subsequence = new int[length];
+		int position = length > 0 ? tails[length - 1] : -1;
+		for (int k = length - 1; k >= 0; k--) {
+			subsequence[k] = position;
+			position = predecessors[position];
+		}
+		return subsequence;
+	}
+
 	/**
 	 * Updates the host {@link IVisualPart}'s {@link IContentPart} anchorages
 	 * (see {@link IVisualPart#getAnchoragesUnmodifiable()}) so that it is in
@@ -329,6 +372,59 @@ public class ContentBehavior extends AbstractBehavior implements IDisposable {
 		}
 	}
 
+	/**
+	 * Adds an {@link IContentPart} for the given content child to the host
+	 * {@link IVisualPart} at the given index, without synchronizing the other
+	 * children. This can be used instead of
+	 * {@link #synchronizeContentChildren(List)} if the change of the content
+	 * children is known.
+	 *
+	 * @param contentChild
+	 *            The content child for which an {@link IContentPart} is
+	 *            added.
+	 * @param index
+	 *            The index at which the {@link IContentPart} is added.
+	 */
+	public void synchronizeContentChildAdded(Object contentChild, int index) {
+		if (contentChild == null) {
+			throw new IllegalArgumentException("contentChild may not be null");
+		}
+		IContentPart<? extends Node> contentPart = findOrCreatePartFor(
+				contentChild);
+		if (contentPart.getParent() == getHost()) {
+			getHost().reorderChild(contentPart, index);
+			return;
+		}
+		if (contentPart.getParent() != null) {
+			throw new IllegalStateException(
+					"Located a ContentPart which controls the same (or an equal) content element but is already bound to a parent. A content element may only be controlled by a single ContentPart.");
+		}
+		getHost().addChild(contentPart, index);
+	}
+
+	/**
+	 * Removes the {@link IContentPart} for the given content child from the
+	 * host {@link IVisualPart}, without synchronizing the other children. This
+	 * can be used instead of {@link #synchronizeContentChildren(List)} if the
+	 * change of the content children is known.
+	 *
+	 * @param contentChild
+	 *            The content child whose {@link IContentPart} is removed.
+	 * @return <code>true</code> if an {@link IContentPart} was removed,
+	 *         <code>false</code> if the host does not have an
+	 *         {@link IContentPart} child for the given content child.
+	 */
+	public boolean synchronizeContentChildRemoved(Object contentChild) {
+		IContentPart<? extends Node> contentPart = getHost().getRoot()
+				.getViewer().getContentPartMap().get(contentChild);
+		if (contentPart == null || contentPart.getParent() != getHost()) {
+			return false;
+		}
+		getHost().removeChild(contentPart);
+		disposeIfObsolete(contentPart);
+		return true;
+	}
+
 	/**
 	 * Updates the host {@link IVisualPart}'s {@link IContentPart} children (see
 	 * {@link IVisualPart#getChildrenUnmodifiable()}) so that it is in sync with
@@ -357,63 +453,115 @@ public class ContentBehavior extends AbstractBehavior implements IDisposable {
 		Map<Object, IContentPart<? extends Node>> contentPartMap = new HashMap<>();
 		// find all content parts for which no content element exists in
 		// contentChildren, and therefore have to be removed
-		Set<? extends Object> newContents = new HashSet<>(contentChildren);
+		Map<Object, Integer> contentIndices = new HashMap<>();
+		for (int i = contentChildren.size() - 1; i >= 0; i--) {
+			contentIndices.put(contentChildren.get(i), i);
+		}
 		List<IContentPart<? extends Node>> toRemove = new ArrayList<>();
+		List<IContentPart<? extends Node>> toKeep = new ArrayList<>();
 		for (IContentPart<? extends Node> cp : childContentParts) {
 			// store content part in map
 			contentPartMap.put(cp.getContent(), cp);
 			// mark for removal
-			if (!newContents.contains(cp.getContent())) {
+			if (!contentIndices.containsKey(cp.getContent())) {
 				toRemove.add(cp);
+			} else {
+				toKeep.add(cp);
 			}
 		}
 		// remove the parts
-		childContentParts.removeAll(toRemove);
-		for (IContentPart<? extends Node> cp : toRemove) {
-			getHost().removeChild(cp);
-			disposeIfObsolete(cp);
+		if (!toRemove.isEmpty()) {
+			getHost().removeChildren(toRemove);
+			for (IContentPart<? extends Node> cp : toRemove) {
+				disposeIfObsolete(cp);
+			}
 		}
-		// walk over the new content children to reorder existing parts or
-		// create missing parts
-		Object content;
-		int contentChildrenSize = contentChildren.size();
-		int childContentPartsSize = childContentParts.size();
-		for (int i = 0; i < contentChildrenSize; i++) {
-			content = contentChildren.get(i);
-			// Do a quick check to see if the existing content part is at the
-			// correct location in the children list.
-			if (i < childContentPartsSize
-					&& childContentParts.get(i).getContent() == content) {
-				continue;
+
+		// the kept parts that form a longest increasing subsequence w.r.t.
+		// their content indices can stay where they are, all others have to
+		// be moved, so that the number of moved parts is minimal
+		int[] indices = new int[toKeep.size()];
+		for (int i = 0; i < indices.length; i++) {
+			indices[i] = contentIndices.get(toKeep.get(i).getContent());
+		}
+		Set<IContentPart<? extends Node>> stay = Collections
+				.newSetFromMap(new IdentityHashMap<IContentPart<? extends Node>, Boolean>());
+		for (int i : longestIncreasingSubsequence(indices)) {
+			stay.add(toKeep.get(i));
+		}
+		List<IContentPart<? extends Node>> toMove = new ArrayList<>();
+		for (IContentPart<? extends Node> cp : toKeep) {
+			if (!stay.contains(cp)) {
+				toMove.add(cp);
+			}
+		}
+		if (!toMove.isEmpty()) {
+			getHost().removeChildren(toMove);
+		}
+
+		// determine the positions of the staying parts within the children
+		// (which may contain other visual parts in between)
+		Map<IVisualPart<? extends Node>, Integer> childIndices = new IdentityHashMap<>();
+		List<IVisualPart<? extends Node>> children = getHost()
+				.getChildrenUnmodifiable();
+		for (int i = 0; i < children.size(); i++) {
+			if (stay.contains(children.get(i))) {
+				childIndices.put(children.get(i), i);
 			}
-			// Look to see if the ContentPart is already around but in the
-			// wrong location.
+		}
+
+		// walk over the new content children to insert moved and missing
+		// parts, so that consecutive parts are inserted at once in front of
+		// the next staying part
+		List<IContentPart<? extends Node>> toInsert = new ArrayList<>();
+		Set<Object> processed = new HashSet<>();
+		int inserted = 0;
+		int nextIndex = 0;
+		for (Object content : contentChildren) {
+			boolean duplicate = !processed.add(content);
 			IContentPart<? extends Node> contentPart = contentPartMap
 					.get(content);
-			if (contentPart != null) {
-				// Re-order the existing content part to its designated
-				// location in the children list.
-				// TODO: this is wrong, it has to take into consideration the
-				// visual parts in between
-				getHost().reorderChild(contentPart, i);
-			} else {
-				// A ContentPart for this model does not exist yet. Create and
-				// insert one.
+			if (duplicate && contentPart != null) {
+				// an existing part is placed at the first occurrence of its
+				// (duplicate) content
+				continue;
+			}
+			if (contentPart == null && !duplicate) {
+				// A ContentPart for this model does not exist yet. Create one.
 				contentPart = findOrCreatePartFor(content);
-				if (contentPart.getParent() != null) {
-					// TODO: Up to now a model element may only be controlled by
-					// a single content part; unless we differentiate content
-					// elements by context (which is not covered by the current
-					// content part map implementation) it is an illegal state
-					// if we locate a content part, which is already bound to a
-					// parent and whose content is equal to the one we are
-					// processing here.
-					throw new IllegalStateException(
-							"Located a ContentPart which controls the same (or an equal) content element but is already bound to a parent. A content element may only be controlled by a single ContentPart.");
+			}
+			// a duplicate content without an existing part would be
+			// controlled by the part that is created for its first occurrence
+			if (duplicate || contentPart.getParent() != null
+					&& !stay.contains(contentPart)) {
+				// TODO: Up to now a model element may only be controlled by
+				// a single content part; unless we differentiate content
+				// elements by context (which is not covered by the current
+				// content part map implementation) it is an illegal state
+				// if we locate a content part, which is already bound to a
+				// parent and whose content is equal to the one we are
+				// processing here.
+				throw new IllegalStateException(
+						"Located a ContentPart which controls the same (or an equal) content element but is already bound to a parent. A content element may only be controlled by a single ContentPart.");
+			}
+			if (stay.contains(contentPart)) {
+				// insert the pending parts in front of the staying part
+				if (!toInsert.isEmpty()) {
+					getHost().addChildren(toInsert,
+							childIndices.get(contentPart) + inserted);
+					inserted += toInsert.size();
+					toInsert = new ArrayList<>();
 				}
-				getHost().addChild(contentPart, i);
+				nextIndex = childIndices.get(contentPart) + inserted + 1;
+			} else {
+				// (re-)insert the moved or created part at its designated
+				// location
+				toInsert.add(contentPart);
 			}
 		}
+		if (!toInsert.isEmpty()) {
+			getHost().addChildren(toInsert, nextIndex);
+		}
 	}
 
 }
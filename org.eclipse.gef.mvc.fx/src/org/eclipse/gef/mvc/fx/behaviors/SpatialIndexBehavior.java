@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.behaviors;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.eclipse.gef.fx.listeners.VisualChangeListener;
+import org.eclipse.gef.fx.utils.NodeUtils;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.mvc.fx.models.SpatialIndexModel;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IRootPart;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.transform.Transform;
+
+/**
+ * The {@link SpatialIndexBehavior} keeps the bounds of the visuals of all
+ * active {@link IContentPart}s of its host's viewer up-to-date within the
+ * {@link SpatialIndexModel} of the viewer. It is bound to the
+ * {@link IRootPart} and observes the children of all visual parts, so that a
+ * single behavior maintains the index of a viewer. The bounds are updated
+ * incrementally upon bounds-in-local and local-to-parent-transform changes,
+ * which are reported by a {@link VisualChangeListener} per
+ * {@link IContentPart}, relative to the {@link IRootPart}'s visual.
+ * <p>
+ * In case no {@link SpatialIndexModel} is bound to the viewer, the
+ * {@link SpatialIndexBehavior} does nothing.
+ */
+public class SpatialIndexBehavior extends AbstractBehavior {
+
+	/**
+	 * Indexes an {@link IContentPart} while it is active.
+	 */
+	private class ContentPartObserver implements ChangeListener<Boolean> {
+
+		private final IContentPart<? extends Node> contentPart;
+
+		private final VisualChangeListener visualChangeListener = new VisualChangeListener() {
+			@Override
+			protected void boundsInLocalChanged(Bounds oldBounds,
+					Bounds newBounds) {
+				updateBounds(contentPart);
+			}
+
+			@Override
+			protected void localToParentTransformChanged(Node observed,
+					Transform oldTransform, Transform newTransform) {
+				updateBounds(contentPart);
+			}
+		};
+
+		public ContentPartObserver(IContentPart<? extends Node> contentPart) {
+			this.contentPart = contentPart;
+		}
+
+		@Override
+		public void changed(ObservableValue<? extends Boolean> observable,
+				Boolean oldValue, Boolean newValue) {
+			if (newValue) {
+				index();
+			} else {
+				unindex();
+			}
+		}
+
+		public void index() {
+			Node visual = contentPart.getVisual();
+			Node rootVisual = getHost().getVisual();
+			// only index visuals that are actually part of the visualization
+			if (!visualChangeListener.isRegistered()
+					&& rootVisual instanceof Parent
+					&& NodeUtils.isNested((Parent) rootVisual, visual)) {
+				visualChangeListener.register(visual, rootVisual);
+				updateBounds(contentPart);
+			}
+		}
+
+		public void unindex() {
+			if (visualChangeListener.isRegistered()) {
+				visualChangeListener.unregister();
+			}
+			SpatialIndexModel spatialIndexModel = getSpatialIndexModel();
+			if (spatialIndexModel != null) {
+				spatialIndexModel.remove(contentPart);
+			}
+		}
+	}
+
+	private final Map<IVisualPart<? extends Node>, ContentPartObserver> contentPartObservers = new IdentityHashMap<>();
+
+	private ListChangeListener<IVisualPart<? extends Node>> childrenObserver = new ListChangeListener<IVisualPart<? extends Node>>() {
+		@Override
+		public void onChanged(
+				ListChangeListener.Change<? extends IVisualPart<? extends Node>> change) {
+			while (change.next()) {
+				for (IVisualPart<? extends Node> removed : change
+						.getRemoved()) {
+					unobserve(removed);
+				}
+				for (IVisualPart<? extends Node> added : change
+						.getAddedSubList()) {
+					observe(added);
+				}
+			}
+		}
+	};
+
+	@Override
+	protected void doActivate() {
+		if (getSpatialIndexModel() == null) {
+			return;
+		}
+		observe(getHost());
+	}
+
+	@Override
+	protected void doDeactivate() {
+		if (getSpatialIndexModel() == null) {
+			return;
+		}
+		unobserve(getHost());
+	}
+
+	/**
+	 * Returns the {@link SpatialIndexModel} of the host's viewer, or
+	 * <code>null</code> if no {@link SpatialIndexModel} is bound.
+	 *
+	 * @return The {@link SpatialIndexModel} of the host's viewer, or
+	 *         <code>null</code>.
+	 */
+	protected SpatialIndexModel getSpatialIndexModel() {
+		IViewer viewer = getHost().getRoot() == null ? null
+				: getHost().getRoot().getViewer();
+		return viewer == null ? null
+				: viewer.getAdapter(SpatialIndexModel.class);
+	}
+
+	// observes the children of the given part and its descendants, and
+	// indexes the active content parts among them
+	private void observe(IVisualPart<? extends Node> part) {
+		part.getChildrenUnmodifiable().addListener(childrenObserver);
+		if (part instanceof IContentPart
+				&& !contentPartObservers.containsKey(part)) {
+			ContentPartObserver observer = new ContentPartObserver(
+					(IContentPart<? extends Node>) part);
+			contentPartObservers.put(part, observer);
+			part.activeProperty().addListener(observer);
+			if (part.isActive()) {
+				observer.index();
+			}
+		}
+		for (IVisualPart<? extends Node> child : part
+				.getChildrenUnmodifiable()) {
+			observe(child);
+		}
+	}
+
+	private void unobserve(IVisualPart<? extends Node> part) {
+		part.getChildrenUnmodifiable().removeListener(childrenObserver);
+		ContentPartObserver observer = contentPartObservers.remove(part);
+		if (observer != null) {
+			part.activeProperty().removeListener(observer);
+			observer.unindex();
+		}
+		for (IVisualPart<? extends Node> child : part
+				.getChildrenUnmodifiable()) {
+			unobserve(child);
+		}
+	}
+
+	/**
+	 * Computes the bounds of the given {@link IContentPart}'s visual within
+	 * the local coordinate system of the {@link IRootPart}'s visual and puts
+	 * them into the {@link SpatialIndexModel}.
+	 *
+	 * @param contentPart
+	 *            The {@link IContentPart} whose bounds are updated.
+	 */
+	protected void updateBounds(IContentPart<? extends Node> contentPart) {
+		SpatialIndexModel spatialIndexModel = getSpatialIndexModel();
+		if (spatialIndexModel == null) {
+			return;
+		}
+		Node visual = contentPart.getVisual();
+		Node rootVisual = getHost().getVisual();
+		Bounds boundsInRoot = rootVisual
+				.sceneToLocal(visual.localToScene(visual.getBoundsInLocal()));
+		if (boundsInRoot != null) {
+			spatialIndexModel.put(contentPart,
+					FX2Geometry.toRectangle(boundsInRoot));
+		}
+	}
+
+}
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.mvc.fx.models;
+
+import java.util.List;
+
+import org.eclipse.gef.common.dispose.IDisposable;
+import org.eclipse.gef.fx.utils.SpatialIndex;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.mvc.fx.behaviors.SpatialIndexBehavior;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IRootPart;
+
+import javafx.scene.Node;
+
+/**
+ * The {@link SpatialIndexModel} stores the bounds of the visuals of all
+ * (active) {@link IContentPart}s of a viewer within a {@link SpatialIndex}, so
+ * that the {@link IContentPart}s at a given position or within a given area
+ * can be determined without traversing the scene graph. The bounds are
+ * specified within the local coordinate system of the {@link IRootPart}'s
+ * visual, so that they are not affected by scrolling or zooming.
+ * <p>
+ * The bounds are maintained by the {@link SpatialIndexBehavior} of the
+ * {@link IRootPart}.
+ */
+public class SpatialIndexModel implements IDisposable {
+
+	private SpatialIndex<IContentPart<? extends Node>> index = new SpatialIndex<>();
+
+	@Override
+	public void dispose() {
+		index.clear();
+	}
+
+	/**
+	 * Returns the indexed bounds of the given {@link IContentPart} (within the
+	 * local coordinate system of the {@link IRootPart}'s visual) or
+	 * <code>null</code> if the part is not indexed.
+	 *
+	 * @param contentPart
+	 *            The {@link IContentPart} for which to return the bounds.
+	 * @return The indexed bounds of the given {@link IContentPart} or
+	 *         <code>null</code>.
+	 */
+	public Rectangle getBounds(IContentPart<? extends Node> contentPart) {
+		return index.getBounds(contentPart);
+	}
+
+	/**
+	 * Returns all {@link IContentPart}s whose bounds contain the given
+	 * position, which is interpreted within the local coordinate system of the
+	 * {@link IRootPart}'s visual.
+	 *
+	 * @param x
+	 *            The x-coordinate of the position.
+	 * @param y
+	 *            The y-coordinate of the position.
+	 * @return All {@link IContentPart}s whose bounds contain the given
+	 *         position.
+	 */
+	public List<IContentPart<? extends Node>> getContentPartsAt(double x,
+			double y) {
+		return index.getElementsAt(x, y);
+	}
+
+	/**
+	 * Returns all {@link IContentPart}s whose bounds are fully contained
+	 * within the given area, which is interpreted within the local coordinate
+	 * system of the {@link IRootPart}'s visual.
+	 *
+	 * @param area
+	 *            The area that has to contain the bounds.
+	 * @return All {@link IContentPart}s whose bounds are fully contained
+	 *         within the given area.
+	 */
+	public List<IContentPart<? extends Node>> getContentPartsContainedIn(
+			Rectangle area) {
+		return index.getElementsContainedIn(area);
+	}
+
+	/**
+	 * Returns all {@link IContentPart}s whose bounds intersect the given area,
+	 * which is interpreted within the local coordinate system of the
+	 * {@link IRootPart}'s visual.
+	 *
+	 * @param area
+	 *            The area that has to be intersected by the bounds.
+	 * @return All {@link IContentPart}s whose bounds intersect the given area.
+	 */
+	public List<IContentPart<? extends Node>> getContentPartsIntersecting(
+			Rectangle area) {
+		return index.getElementsIntersecting(area);
+	}
+
+	/**
+	 * Returns <code>true</code> if the given {@link IContentPart} is indexed,
+	 * otherwise <code>false</code>.
+	 *
+	 * @param contentPart
+	 *            The {@link IContentPart} to test.
+	 * @return <code>true</code> if the given {@link IContentPart} is indexed,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isIndexed(IContentPart<? extends Node> contentPart) {
+		return index.contains(contentPart);
+	}
+
+	/**
+	 * Indexes the given {@link IContentPart} for the given bounds, which are
+	 * interpreted within the local coordinate system of the {@link IRootPart}
+	 * 's visual. If the part is already indexed, its bounds are updated.
+	 *
+	 * @param contentPart
+	 *            The {@link IContentPart} to index.
+	 * @param boundsInRoot
+	 *            The bounds of the part's visual within the local coordinate
+	 *            system of the {@link IRootPart}'s visual.
+	 */
+	public void put(IContentPart<? extends Node> contentPart,
+			Rectangle boundsInRoot) {
+		index.put(contentPart, boundsInRoot);
+	}
+
+	/**
+	 * Removes the given {@link IContentPart} from the index.
+	 *
+	 * @param contentPart
+	 *            The {@link IContentPart} to remove.
+	 */
+	public void remove(IContentPart<? extends Node> contentPart) {
+		index.remove(contentPart);
+	}
+
+}
@@ -16,8 +16,10 @@ package org.eclipse.gef.mvc.fx.parts;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.gef.common.activate.ActivatableSupport;
 import org.eclipse.gef.common.adapt.AdaptableSupport;
@@ -172,14 +174,29 @@ public abstract class AbstractVisualPart<V extends Node>
 		if (!Collections.disjoint(this.children, children)) {
 			List<? extends IVisualPart<? extends Node>> alreadyContainedChildren = new ArrayList<>(
 					children);
-			children.retainAll(this.children);
+			alreadyContainedChildren.retainAll(this.children);
 			throw new IllegalArgumentException(
 					"Cannot add " + children + " as children of " + this
 							+ " because the following are already children: "
 							+ alreadyContainedChildren + ".");
 		}
+		checkNoDuplicates(children);
+		// add all children at once, so that a single change is fired
+		this.children.addAll(index, children);
+		for (IVisualPart<? extends Node> child : children) {
+			child.setParent(this);
+		}
+
+		refreshVisual();
 		for (int i = 0; i < children.size(); i++) {
-			addChild(children.get(i), index + i);
+			doAddChildVisual(children.get(i), index + i);
+			children.get(i).refreshVisual();
+		}
+
+		if (isActive()) {
+			for (IVisualPart<? extends Node> child : children) {
+				child.activate();
+			}
 		}
 	}
 
@@ -252,6 +269,19 @@ public abstract class AbstractVisualPart<V extends Node>
 		refreshVisual();
 	}
 
+	private void checkNoDuplicates(
+			List<? extends IVisualPart<? extends Node>> children) {
+		Set<IVisualPart<? extends Node>> distinct = Collections.newSetFromMap(
+				new IdentityHashMap<IVisualPart<? extends Node>, Boolean>());
+		for (IVisualPart<? extends Node> child : children) {
+			if (!distinct.add(child)) {
+				throw new IllegalArgumentException("Cannot add or remove "
+						+ children + " as children of " + this + " because "
+						+ child + " is contained more than once.");
+			}
+		}
+	}
+
 	@Override
 	public ReadOnlyListProperty<IVisualPart<? extends Node>> childrenProperty() {
 		if (childrenUnmodifiableProperty == null) {
@@ -707,10 +737,28 @@ public abstract class AbstractVisualPart<V extends Node>
 							+ " because the following are no children: "
 							+ notContainedChildren + ".");
 		}
-		// TODO: use children.removeAll and perform the de-registration here
-		for (IVisualPart<? extends Node> child : children) {
-			removeChild(child);
+		checkNoDuplicates(children);
+		Set<IVisualPart<? extends Node>> toRemove = Collections.newSetFromMap(
+				new IdentityHashMap<IVisualPart<? extends Node>, Boolean>());
+		toRemove.addAll(children);
+		if (isActive()) {
+			for (IVisualPart<? extends Node> child : toRemove) {
+				child.deactivate();
+			}
 		}
+
+		// remove the child visuals in reverse order, so that the indices
+		// match those of removing the children one after the other
+		for (int i = this.children.size() - 1; i >= 0; i--) {
+			IVisualPart<? extends Node> child = this.children.get(i);
+			if (toRemove.contains(child)) {
+				doRemoveChildVisual(child, i);
+				child.setParent(null);
+			}
+		}
+
+		// remove all children at once, so that a single change is fired
+		this.children.removeAll(toRemove);
 	}
 
 	@Override
@@ -13,7 +13,11 @@ package org.eclipse.gef.mvc.fx.policies;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.eclipse.gef.fx.anchors.DynamicAnchor;
 import org.eclipse.gef.fx.anchors.IAnchor;
@@ -27,6 +31,7 @@ import org.eclipse.gef.geometry.convert.fx.Geometry2FX;
 import org.eclipse.gef.geometry.euclidean.Vector;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.mvc.fx.models.GridModel;
+import org.eclipse.gef.mvc.fx.models.SpatialIndexModel;
 import org.eclipse.gef.mvc.fx.operations.AbstractCompositeOperation;
 import org.eclipse.gef.mvc.fx.operations.BendConnectionOperation;
 import org.eclipse.gef.mvc.fx.operations.BendContentOperation;
@@ -43,6 +48,7 @@ import org.eclipse.gef.mvc.fx.viewer.IViewer;
 
 import com.google.inject.Provider;
 
+import javafx.geometry.Point2D;
 import javafx.scene.Node;
 
 /**
@@ -298,11 +304,19 @@ public class BendConnectionPolicy extends AbstractTransactionPolicy {
 			Point selectedPointCurrentPositionInScene = FX2Geometry
 					.toPoint(getConnection().localToScene(
 							Geometry2FX.toFXPoint(positionInLocal)));
-			List<Node> pickedNodes = NodeUtils.getNodesAt(
-					getHost().getRoot().getVisual(),
-					selectedPointCurrentPositionInScene.x,
-					selectedPointCurrentPositionInScene.y);
-			anchor = getCompatibleAnchor(getParts(pickedNodes));
+			SpatialIndexModel spatialIndexModel = getHost().getRoot()
+					.getViewer().getAdapter(SpatialIndexModel.class);
+			if (spatialIndexModel != null) {
+				anchor = getCompatibleAnchor(getPartsAt(spatialIndexModel,
+						selectedPointCurrentPositionInScene.x,
+						selectedPointCurrentPositionInScene.y));
+			} else {
+				List<Node> pickedNodes = NodeUtils.getNodesAt(
+						getHost().getRoot().getVisual(),
+						selectedPointCurrentPositionInScene.x,
+						selectedPointCurrentPositionInScene.y);
+				anchor = getCompatibleAnchor(getParts(pickedNodes));
+			}
 		}
 		if (anchor == null) {
 			anchor = createUnconnectedAnchor(positionInLocal);
@@ -519,6 +533,58 @@ public class BendConnectionPolicy extends AbstractTransactionPolicy {
 		return parts;
 	}
 
+	/**
+	 * Determines the {@link IContentPart}s at the given scene position using
+	 * the given {@link SpatialIndexModel}. Only those parts are returned whose
+	 * visual actually contains the position. The parts are returned in
+	 * z-order, i.e. top-most first, so that nested parts are returned before
+	 * their ancestors, and overlapping siblings are returned in reverse order
+	 * of their indices within their parent.
+	 *
+	 * @param spatialIndexModel
+	 *            The {@link SpatialIndexModel} to query.
+	 * @param sceneX
+	 *            The x-coordinate of the position in scene coordinates.
+	 * @param sceneY
+	 *            The y-coordinate of the position in scene coordinates.
+	 * @return The {@link IContentPart}s at the given position.
+	 */
+	private List<IContentPart<? extends Node>> getPartsAt(
+			SpatialIndexModel spatialIndexModel, double sceneX,
+			double sceneY) {
+		Point2D positionInRoot = getHost().getRoot().getVisual()
+				.sceneToLocal(sceneX, sceneY);
+		final Map<IContentPart<? extends Node>, List<Integer>> paths = new HashMap<>();
+		for (IContentPart<? extends Node> candidate : spatialIndexModel
+				.getContentPartsAt(positionInRoot.getX(),
+						positionInRoot.getY())) {
+			// check precisely
+			if (!NodeUtils.getNodesAt(candidate.getVisual(), sceneX, sceneY)
+					.isEmpty()) {
+				paths.put(candidate, getZOrderPath(candidate.getVisual()));
+			}
+		}
+		List<IContentPart<? extends Node>> parts = new ArrayList<>(
+				paths.keySet());
+		Collections.sort(parts, new Comparator<IContentPart<? extends Node>>() {
+			@Override
+			public int compare(IContentPart<? extends Node> o1,
+					IContentPart<? extends Node> o2) {
+				List<Integer> p1 = paths.get(o1);
+				List<Integer> p2 = paths.get(o2);
+				for (int i = 0; i < p1.size() && i < p2.size(); i++) {
+					if (!p1.get(i).equals(p2.get(i))) {
+						// the sibling with the greater index is on top
+						return p2.get(i) - p1.get(i);
+					}
+				}
+				// descendants are on top of their ancestors
+				return p2.size() - p1.size();
+			}
+		});
+		return parts;
+	}
+
 	/**
 	 * Returns the current position for the given explicit anchor index.
 	 *
@@ -547,6 +613,25 @@ public class BendConnectionPolicy extends AbstractTransactionPolicy {
 				.getOperations().get(1);
 	}
 
+	/**
+	 * Returns the indices of the given {@link Node} and its ancestors within
+	 * their respective parents, starting at the root of the scene graph.
+	 * Comparing these paths lexicographically yields the z-order of nodes.
+	 *
+	 * @param node
+	 *            The {@link Node} for which to determine the path.
+	 * @return The indices of the given node and its ancestors within their
+	 *         parents, starting at the root.
+	 */
+	private List<Integer> getZOrderPath(Node node) {
+		List<Integer> path = new ArrayList<>();
+		for (Node n = node; n.getParent() != null; n = n.getParent()) {
+			path.add(n.getParent().getChildrenUnmodifiable().indexOf(n));
+		}
+		Collections.reverse(path);
+		return path;
+	}
+
 	@Override
 	public void init() {
 		selectedExplicitAnchorIndices.clear();
@@ -22,6 +22,7 @@ import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.gef.common.adapt.AdapterKey;
 import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.mvc.fx.models.SpatialIndexModel;
 import org.eclipse.gef.mvc.fx.operations.SelectOperation;
 import org.eclipse.gef.mvc.fx.parts.AbstractFeedbackPart;
 import org.eclipse.gef.mvc.fx.parts.DefaultSelectionFeedbackPartFactory;
@@ -49,6 +50,11 @@ import javafx.scene.shape.StrokeType;
  * The {@link MarqueeOnDragPolicy} is an {@link IOnDragPolicy} that performs
  * marquee selection when the mouse is dragged. The start and end position of
  * the mouse span a marquee area. Everything within that area will be selected.
+ * <p>
+ * In case a {@link SpatialIndexModel} is bound to the viewer, the parts within
+ * the marquee area are determined using the index. Otherwise, the scene graph
+ * is traversed (see {@link #findContainedNodes(Node, double, double, double,
+ * double)}).
  *
  * @author anyssen
  * @author mwienand
@@ -208,20 +214,49 @@ public class MarqueeOnDragPolicy extends AbstractInteractionPolicy
 			return;
 		}
 
-		// compute bounding box in scene coordinates
 		IRootPart<? extends Node> root = getHost().getRoot();
 		Node rootVisual = root.getVisual();
 		endPosInRoot = rootVisual.sceneToLocal(e.getSceneX(), e.getSceneY());
-		Point2D start = rootVisual.localToScene(startPosInRoot);
-		Point2D end = rootVisual.localToScene(endPosInRoot);
-		double[] bbox = bbox(start, end);
 
-		// find nodes contained in bbox
-		List<Node> nodes = findContainedNodes(rootVisual.getScene().getRoot(),
-				bbox[0], bbox[1], bbox[2], bbox[3]);
-
-		// find content parts for contained nodes
-		List<IContentPart<? extends Node>> parts = getParts(nodes);
+		// find content parts contained in bbox
+		List<IContentPart<? extends Node>> parts;
+		SpatialIndexModel spatialIndexModel = root.getViewer()
+				.getAdapter(SpatialIndexModel.class);
+		if (spatialIndexModel != null) {
+			// query the spatial index (using root coordinates)
+			double[] bbox = bbox(startPosInRoot, endPosInRoot);
+			parts = new ArrayList<>(spatialIndexModel
+					.getContentPartsContainedIn(new org.eclipse.gef.geometry.planar.Rectangle(
+							bbox[0], bbox[1], bbox[2] - bbox[0],
+							bbox[3] - bbox[1])));
+
+			// apply the same filter as findContainedNodes(), i.e. only keep
+			// parts whose visuals are (still) fully contained and whose
+			// ancestors intersect the marquee area (in scene coordinates)
+			double[] sceneBbox = bbox(rootVisual.localToScene(startPosInRoot),
+					rootVisual.localToScene(endPosInRoot));
+			Iterator<IContentPart<? extends Node>> it = parts.iterator();
+			while (it.hasNext()) {
+				if (!isContainedNode(rootVisual.getScene().getRoot(),
+						it.next().getVisual(), sceneBbox[0], sceneBbox[1],
+						sceneBbox[2], sceneBbox[3])) {
+					it.remove();
+				}
+			}
+		} else {
+			// compute bounding box in scene coordinates
+			Point2D start = rootVisual.localToScene(startPosInRoot);
+			Point2D end = rootVisual.localToScene(endPosInRoot);
+			double[] bbox = bbox(start, end);
+
+			// find nodes contained in bbox
+			List<Node> nodes = findContainedNodes(
+					rootVisual.getScene().getRoot(), bbox[0], bbox[1], bbox[2],
+					bbox[3]);
+
+			// find content parts for contained nodes
+			parts = getParts(nodes);
+		}
 
 		// filter out all parts that are not selectable
 		Iterator<IContentPart<? extends Node>> it = parts.iterator();
@@ -295,6 +330,52 @@ public class MarqueeOnDragPolicy extends AbstractInteractionPolicy
 		getCursorSupport().restoreCursor();
 	}
 
+	/**
+	 * Returns <code>true</code> if the given {@link Node} is a descendant of
+	 * the given root {@link Node} that would be returned by
+	 * {@link #findContainedNodes(Node, double, double, double, double)}, i.e.
+	 * if it is fully contained within the bounds specified by
+	 * <code>[x0, y0, x1, y1]</code>, and all its ancestors intersect these
+	 * bounds.
+	 *
+	 * @param root
+	 *            The root {@link Node}.
+	 * @param node
+	 *            The {@link Node} to test.
+	 * @param x0
+	 *            The minimum x-coordinate.
+	 * @param y0
+	 *            The minimum y-coordinate.
+	 * @param x1
+	 *            The maximum x-coordinate.
+	 * @param y1
+	 *            The maximum y-coordinate.
+	 * @return <code>true</code> if the given {@link Node} is contained within
+	 *         the specified bounds, otherwise <code>false</code>.
+	 */
+	protected static boolean isContainedNode(Node root, Node node, double x0,
+			double y0, double x1, double y1) {
+		Bounds bounds = node.localToScene(node.getBoundsInLocal());
+		if (bounds.getMinX() < x0 || bounds.getMaxX() > x1
+				|| bounds.getMinY() < y0 || bounds.getMaxY() > y1) {
+			return false;
+		}
+		Node current = node;
+		while (current != root) {
+			current = current.getParent();
+			if (current == null) {
+				// not a descendant of the root node
+				return false;
+			}
+			bounds = current.localToScene(current.getBoundsInLocal());
+			if (bounds.getMaxX() < x0 || bounds.getMinX() > x1
+					|| bounds.getMaxY() < y0 || bounds.getMinY() > y1) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/**
 	 * Returns <code>true</code> if the given {@link MouseEvent} should trigger
 	 * marquee selection. Otherwise returns <code>false</code>. Per default
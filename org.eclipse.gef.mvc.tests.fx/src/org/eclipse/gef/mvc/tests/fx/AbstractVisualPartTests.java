@@ -11,8 +11,12 @@
 package org.eclipse.gef.mvc.tests.fx;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -30,8 +34,13 @@ public class AbstractVisualPartTests {
 
 	public class AbstractVisualPartStub extends AbstractVisualPart<Node> {
 
+		// simulates the child visuals, so that the passed-in indices can be
+		// checked
+		private List<IVisualPart<? extends Node>> childVisuals = new ArrayList<>();
+
 		@Override
 		protected void doAddChildVisual(IVisualPart<? extends Node> child, int index) {
+			childVisuals.add(index, child);
 		}
 
 		@Override
@@ -45,6 +54,7 @@ public class AbstractVisualPartTests {
 
 		@Override
 		protected void doRemoveChildVisual(IVisualPart<? extends Node> child, int index) {
+			assertSame(child, childVisuals.remove(index));
 		}
 	}
 
@@ -109,6 +119,79 @@ public class AbstractVisualPartTests {
 		Assert.assertEquals(2, parent.getChildrenUnmodifiable().size());
 	}
 
+	@Test
+	public void testAddChildren() {
+		AbstractVisualPartStub parent = new AbstractVisualPartStub();
+		AbstractVisualPartStub child1 = new AbstractVisualPartStub();
+		AbstractVisualPartStub child2 = new AbstractVisualPartStub();
+		AbstractVisualPartStub child3 = new AbstractVisualPartStub();
+		AbstractVisualPartStub child4 = new AbstractVisualPartStub();
+		parent.addChildren(Arrays.asList(child1, child2));
+
+		// check that the children are inserted in between the existing
+		// children by a single change, and that their visuals are inserted
+		// at the same indices
+		ListChangeExpector<IVisualPart<? extends Object>> listChangeListener = new ListChangeExpector<>(
+				parent.getChildrenUnmodifiable());
+		parent.getChildrenUnmodifiable().addListener(listChangeListener);
+		listChangeListener.addExpectation(Collections.<IVisualPart<? extends Object>>emptyList(),
+				Arrays.<IVisualPart<? extends Object>>asList(child3, child4));
+		parent.addChildren(Arrays.asList(child3, child4), 1);
+		listChangeListener.check();
+		assertEquals(Arrays.asList(child1, child3, child4, child2), parent.getChildrenUnmodifiable());
+		assertEquals(parent.getChildrenUnmodifiable(), parent.childVisuals);
+		assertSame(parent, child3.getParent());
+		assertSame(parent, child4.getParent());
+	}
+
+	@Test
+	public void testAddDuplicateChildren() {
+		AbstractVisualPartStub parent = new AbstractVisualPartStub();
+		AbstractVisualPartStub child1 = new AbstractVisualPartStub();
+		AbstractVisualPartStub child2 = new AbstractVisualPartStub();
+		parent.addChild(child1);
+		try {
+			parent.addChildren(Arrays.asList(child2, child2));
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException e) {
+		}
+		try {
+			parent.addChildren(Arrays.asList(child2, child1));
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException e) {
+		}
+		assertEquals(Collections.singletonList(child1), parent.getChildrenUnmodifiable());
+		assertEquals(parent.getChildrenUnmodifiable(), parent.childVisuals);
+		assertNull(child2.getParent());
+	}
+
+	@Test
+	public void testMoveChildren() {
+		AbstractVisualPartStub parent = new AbstractVisualPartStub();
+		List<AbstractVisualPartStub> children = new ArrayList<>();
+		for (int i = 0; i < 6; i++) {
+			children.add(new AbstractVisualPartStub());
+		}
+		parent.addChildren(children);
+
+		// move children by removing and re-inserting them, interleaved with
+		// the addition and removal of other children
+		AbstractVisualPartStub added = new AbstractVisualPartStub();
+		parent.removeChildren(Arrays.asList(children.get(4), children.get(0), children.get(2)));
+		assertEquals(Arrays.asList(children.get(1), children.get(3), children.get(5)),
+				parent.getChildrenUnmodifiable());
+		assertEquals(parent.getChildrenUnmodifiable(), parent.childVisuals);
+		parent.addChildren(Arrays.asList(children.get(4), added), 0);
+		parent.addChildren(Arrays.asList(children.get(0)), 3);
+		parent.addChildren(Arrays.asList(children.get(2)), 5);
+		assertEquals(Arrays.asList(children.get(4), added, children.get(1), children.get(0), children.get(3),
+				children.get(2), children.get(5)), parent.getChildrenUnmodifiable());
+		assertEquals(parent.getChildrenUnmodifiable(), parent.childVisuals);
+		for (IVisualPart<? extends Node> child : parent.getChildrenUnmodifiable()) {
+			assertSame(parent, child.getParent());
+		}
+	}
+
 	@Test
 	public void testRemoveChild() {
 		AbstractVisualPartStub parent = new AbstractVisualPartStub();
@@ -138,6 +221,48 @@ public class AbstractVisualPartTests {
 		Assert.assertEquals(0, parent.getChildrenUnmodifiable().size());
 	}
 
+	@Test
+	public void testRemoveChildren() {
+		AbstractVisualPartStub parent = new AbstractVisualPartStub();
+		AbstractVisualPartStub child1 = new AbstractVisualPartStub();
+		AbstractVisualPartStub child2 = new AbstractVisualPartStub();
+		AbstractVisualPartStub child3 = new AbstractVisualPartStub();
+		AbstractVisualPartStub child4 = new AbstractVisualPartStub();
+		parent.addChildren(Arrays.asList(child1, child2, child3, child4));
+
+		// check that non-adjacent children are removed by a single change,
+		// and that their visuals are removed at the right indices
+		ListChangeExpector<IVisualPart<? extends Object>> listChangeListener = new ListChangeExpector<>(
+				parent.getChildrenUnmodifiable());
+		parent.getChildrenUnmodifiable().addListener(listChangeListener);
+		listChangeListener.addExpectation(Collections.<IVisualPart<? extends Object>>singletonList(child1),
+				Collections.<IVisualPart<? extends Object>>emptyList());
+		listChangeListener.addExpectation(Collections.<IVisualPart<? extends Object>>singletonList(child3),
+				Collections.<IVisualPart<? extends Object>>emptyList());
+		parent.removeChildren(Arrays.asList(child3, child1));
+		listChangeListener.check();
+		assertEquals(Arrays.asList(child2, child4), parent.getChildrenUnmodifiable());
+		assertEquals(parent.getChildrenUnmodifiable(), parent.childVisuals);
+		assertNull(child1.getParent());
+		assertNull(child3.getParent());
+	}
+
+	@Test
+	public void testRemoveDuplicateChildren() {
+		AbstractVisualPartStub parent = new AbstractVisualPartStub();
+		AbstractVisualPartStub child1 = new AbstractVisualPartStub();
+		AbstractVisualPartStub child2 = new AbstractVisualPartStub();
+		parent.addChildren(Arrays.asList(child1, child2));
+		try {
+			parent.removeChildren(Arrays.asList(child1, child1));
+			fail("Expected an IllegalArgumentException.");
+		} catch (IllegalArgumentException e) {
+		}
+		assertEquals(Arrays.asList(child1, child2), parent.getChildrenUnmodifiable());
+		assertEquals(parent.getChildrenUnmodifiable(), parent.childVisuals);
+		assertSame(parent, child1.getParent());
+	}
+
 	@Test
 	public void testReorderChild() {
 		AbstractVisualPartStub parent = new AbstractVisualPartStub();
@@ -161,5 +286,7 @@ public class AbstractVisualPartTests {
 		parent.reorderChild(child2, 2);
 		listChangeListener.check();
 		Assert.assertEquals(3, parent.getChildrenUnmodifiable().size());
+		assertEquals(Arrays.asList(child1, child3, child2), parent.getChildrenUnmodifiable());
+		assertEquals(parent.getChildrenUnmodifiable(), parent.childVisuals);
 	}
 }
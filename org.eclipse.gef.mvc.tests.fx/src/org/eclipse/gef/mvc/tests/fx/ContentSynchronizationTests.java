@@ -15,7 +15,9 @@ package org.eclipse.gef.mvc.tests.fx;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
@@ -27,6 +29,7 @@ import org.eclipse.gef.mvc.fx.behaviors.ContentBehavior;
 import org.eclipse.gef.mvc.fx.domain.IDomain;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.mvc.fx.parts.IContentPartFactory;
+import org.eclipse.gef.mvc.fx.parts.PartUtils;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 import org.eclipse.gef.mvc.tests.fx.rules.FXNonApplicationThreadRule;
 import org.eclipse.gef.mvc.tests.fx.stubs.Cell;
@@ -73,6 +76,26 @@ public class ContentSynchronizationTests {
 		});
 	}
 
+	/**
+	 * Asserts that the content part children of the root part, as well as
+	 * their visuals, are ordered like the given contents.
+	 */
+	private static void assertContentChildren(List<? extends Object> contents) {
+		List<IContentPart<? extends Node>> contentParts = PartUtils
+				.filterParts(viewer.getRootPart().getChildrenUnmodifiable(), IContentPart.class);
+		List<Object> contentChildren = new ArrayList<>();
+		List<Node> visuals = new ArrayList<>();
+		for (IContentPart<? extends Node> contentPart : contentParts) {
+			contentChildren.add(contentPart.getContent());
+			visuals.add(contentPart.getVisual());
+			assertSame(contentPart, viewer.getContentPartMap().get(contentPart.getContent()));
+		}
+		assertEquals(contents, contentChildren);
+		if (!visuals.isEmpty()) {
+			assertEquals(visuals, visuals.get(0).getParent().getChildrenUnmodifiable());
+		}
+	}
+
 	@After
 	public void deactivate() throws Throwable {
 		ctx.runAndWait(() -> {
@@ -81,6 +104,154 @@ public class ContentSynchronizationTests {
 		});
 	}
 
+	/**
+	 * This scenario tests if the synchronization keeps the parts of contents
+	 * that are contained multiple times, and places them at the first
+	 * occurrence of their content.
+	 */
+	@Test
+	public void duplicateContents() throws Throwable {
+		Cell a = new Cell("a");
+		Cell b = new Cell("b");
+		Cell c = new Cell("c");
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Arrays.asList(a, b));
+		});
+		IContentPart<? extends Node> partA = viewer.getContentPartMap().get(a);
+		IContentPart<? extends Node> partB = viewer.getContentPartMap().get(b);
+
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Arrays.asList(b, a, b, a));
+		});
+		assertContentChildren(Arrays.asList(b, a));
+		assertSame(partA, viewer.getContentPartMap().get(a));
+		assertSame(partB, viewer.getContentPartMap().get(b));
+
+		// a duplicate content for which no part exists yet cannot be
+		// controlled by a single part
+		AtomicReference<IllegalStateException> exceptionRef = new AtomicReference<>();
+		ctx.runAndWait(() -> {
+			try {
+				viewer.getContents().setAll(Arrays.asList(a, c, c));
+			} catch (IllegalStateException e) {
+				exceptionRef.set(e);
+			}
+		});
+		assertNotNull(exceptionRef.get());
+	}
+
+	/**
+	 * This scenario tests if single content children can be added, removed,
+	 * and moved without synchronizing the other children, and if the parts
+	 * are re-used in this case.
+	 */
+	@Test
+	public void deltaSynchronization() throws Throwable {
+		Cell a = new Cell("a");
+		Cell b = new Cell("b");
+		Cell c = new Cell("c");
+		Cell d = new Cell("d");
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Arrays.asList(a, b, c));
+		});
+		ContentBehavior contentBehavior = viewer.getRootPart().getAdapter(ContentBehavior.class);
+		IContentPart<? extends Node> partA = viewer.getContentPartMap().get(a);
+		IContentPart<? extends Node> partC = viewer.getContentPartMap().get(c);
+
+		// add
+		ctx.runAndWait(() -> {
+			contentBehavior.synchronizeContentChildAdded(d, 1);
+		});
+		assertContentChildren(Arrays.asList(a, d, b, c));
+		IContentPart<? extends Node> partD = viewer.getContentPartMap().get(d);
+		assertNotNull(partD);
+
+		// remove
+		List<Boolean> removed = new ArrayList<>();
+		ctx.runAndWait(() -> {
+			removed.add(contentBehavior.synchronizeContentChildRemoved(b));
+			removed.add(contentBehavior.synchronizeContentChildRemoved(b));
+		});
+		assertEquals(Arrays.asList(true, false), removed);
+		assertContentChildren(Arrays.asList(a, d, c));
+		assertNull(viewer.getContentPartMap().get(b));
+
+		// move (the existing part is re-ordered)
+		ctx.runAndWait(() -> {
+			contentBehavior.synchronizeContentChildAdded(c, 0);
+		});
+		assertContentChildren(Arrays.asList(c, a, d));
+		assertSame(partA, viewer.getContentPartMap().get(a));
+		assertSame(partC, viewer.getContentPartMap().get(c));
+		assertSame(partD, viewer.getContentPartMap().get(d));
+	}
+
+	/**
+	 * This scenario tests if the synchronization correctly handles contents
+	 * that are added, removed, and moved at once.
+	 */
+	@Test
+	public void interleavedAddRemoveAndMove() throws Throwable {
+		Cell a = new Cell("a");
+		Cell b = new Cell("b");
+		Cell c = new Cell("c");
+		Cell d = new Cell("d");
+		Cell e = new Cell("e");
+		Cell f = new Cell("f");
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Arrays.asList(a, b, c, d));
+		});
+		IContentPart<? extends Node> partA = viewer.getContentPartMap().get(a);
+		IContentPart<? extends Node> partC = viewer.getContentPartMap().get(c);
+
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Arrays.asList(e, c, f, a));
+		});
+		assertContentChildren(Arrays.asList(e, c, f, a));
+		assertSame(partA, viewer.getContentPartMap().get(a));
+		assertSame(partC, viewer.getContentPartMap().get(c));
+		assertNull(viewer.getContentPartMap().get(b));
+		assertNull(viewer.getContentPartMap().get(d));
+
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Arrays.asList(a, b, e, d, c));
+		});
+		assertContentChildren(Arrays.asList(a, b, e, d, c));
+		assertNull(viewer.getContentPartMap().get(f));
+	}
+
+	/**
+	 * This scenario tests if the synchronization reorders the existing parts
+	 * (and their visuals) when the contents are reordered.
+	 */
+	@Test
+	public void reorderContents() throws Throwable {
+		Cell a = new Cell("a");
+		Cell b = new Cell("b");
+		Cell c = new Cell("c");
+		Cell d = new Cell("d");
+		ctx.runAndWait(() -> {
+			viewer.getContents().setAll(Arrays.asList(a, b, c, d));
+		});
+		assertContentChildren(Arrays.asList(a, b, c, d));
+		List<IContentPart<? extends Node>> parts = new ArrayList<>();
+		for (Cell cell : Arrays.asList(a, b, c, d)) {
+			parts.add(viewer.getContentPartMap().get(cell));
+		}
+
+		for (List<Cell> contents : Arrays.asList(Arrays.asList(d, a, c, b), Arrays.asList(b, c, d, a),
+				Arrays.asList(a, b, c, d))) {
+			ctx.runAndWait(() -> {
+				viewer.getContents().setAll(contents);
+			});
+			assertContentChildren(contents);
+		}
+		// the parts are re-used
+		for (int i = 0; i < parts.size(); i++) {
+			assertSame(parts.get(i), viewer.getContentPartMap().get(Arrays.asList(a, b, c, d).get(i)));
+		}
+	}
+
 	/**
 	 * This scenario tests if the synchronization works correctly, when the
 	 * contents are replaced with a previously nested content element.
@@ -17,11 +17,18 @@ package org.eclipse.gef.zest.fx.jface;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Set;
 
 import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.common.attributes.IAttributeStore;
 import org.eclipse.gef.fx.swt.canvas.IFXCanvasFactory;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
@@ -32,6 +39,9 @@ import org.eclipse.gef.mvc.fx.models.SelectionModel;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
 import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.GraphLayoutBehavior;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.eclipse.gef.zest.fx.parts.GraphPart.RelayoutPolicy;
 import org.eclipse.jface.viewers.ContentViewer;
 import org.eclipse.jface.viewers.IColorProvider;
 import org.eclipse.jface.viewers.IContentProvider;
@@ -55,6 +65,7 @@ import com.google.inject.Module;
 import com.google.inject.Provider;
 
 import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableMap;
 import javafx.embed.swt.FXCanvas;
 import javafx.embed.swt.SWTFXUtils;
 import javafx.scene.Scene;
@@ -62,6 +73,14 @@ import javafx.scene.Scene;
 /**
  * The {@link ZestContentViewer} is a {@link ContentViewer} that is capable of
  * displaying {@link Graph}s.
+ * <p>
+ * When the input changes, a new {@link Graph} is created. Upon
+ * {@link #refresh()}, the {@link Graph} is constructed anew from the providers,
+ * and the differences are applied to the displayed {@link Graph}: nodes are
+ * matched by the identity of their content elements, and edges by their source
+ * and target nodes. Only the changed nodes, edges, and attributes are updated,
+ * so that the existing parts are preserved and the layout is updated
+ * incrementally.
  *
  * @author mwienand
  * @author anyssen
@@ -82,6 +101,9 @@ public class ZestContentViewer extends ContentViewer {
 	private IViewer viewer;
 	private ILayoutAlgorithm layoutAlgorithm;
 	private Map<Object, Node> contentNodeMap = new IdentityHashMap<>();
+	private Graph rootGraph;
+	// attribute keys that were provided for a graph, node, or edge
+	private Map<IAttributeStore, Set<String>> providedAttributes = new IdentityHashMap<>();
 
 	/**
 	 * Constructs a new {@link ZestContentViewer}. The given {@link Module} is
@@ -480,15 +502,94 @@ public class ZestContentViewer extends ContentViewer {
 	@Override
 	protected void inputChanged(Object input, Object oldInput) {
 		if (input != oldInput && (input == null || !input.equals(oldInput))) {
+			// create a new graph for the new input
+			rootGraph = null;
 			refresh();
 		}
 	}
 
+	private void putNestedNodes(Graph graph, Map<Node, Object> templateNodeContents, Map<Node, Node> nodeMatches,
+			Map<Object, Node> newContentNodeMap) {
+		// the nodes of an added nested graph are added, too
+		for (Node node : graph.getNodes()) {
+			nodeMatches.put(node, node);
+			newContentNodeMap.put(templateNodeContents.get(node), node);
+			if (node.getNestedGraph() != null) {
+				putNestedNodes(node.getNestedGraph(), templateNodeContents, nodeMatches, newContentNodeMap);
+			}
+		}
+	}
+
+	private void putProvidedAttributes(IAttributeStore store, IAttributeStore template,
+			Map<IAttributeStore, Set<String>> newProvidedAttributes, Map<Set<String>, Set<String>> keySets) {
+		// share equal key sets (most elements provide the same attributes)
+		Set<String> keys = keySets.get(template.attributesProperty().keySet());
+		if (keys == null) {
+			keys = Collections.unmodifiableSet(new HashSet<>(template.attributesProperty().keySet()));
+			keySets.put(keys, keys);
+		}
+		newProvidedAttributes.put(store, keys);
+	}
+
+	private void putProvidedAttributes(Graph graph, Map<IAttributeStore, Set<String>> newProvidedAttributes,
+			Map<Set<String>, Set<String>> keySets) {
+		putProvidedAttributes(graph, graph, newProvidedAttributes, keySets);
+		for (Node node : graph.getNodes()) {
+			putProvidedAttributes(node, node, newProvidedAttributes, keySets);
+			if (node.getNestedGraph() != null) {
+				putProvidedAttributes(node.getNestedGraph(), newProvidedAttributes, keySets);
+			}
+		}
+		for (Edge edge : graph.getEdges()) {
+			putProvidedAttributes(edge, edge, newProvidedAttributes, keySets);
+		}
+	}
+
+	/**
+	 * Constructs a {@link Graph} using the {@link IContentProvider} and
+	 * {@link ILabelProvider}. If a {@link Graph} is already displayed for the
+	 * current input, the differences between the constructed {@link Graph} and
+	 * the displayed {@link Graph} are applied to the displayed {@link Graph}.
+	 * Otherwise, the constructed {@link Graph} is displayed.
+	 */
 	@Override
 	public void refresh() {
-		contentNodeMap.clear();
-		viewer.getContents()
-				.setAll(Collections.singletonList(createRootGraph(getContentProvider(), getLabelProvider())));
+		Map<Object, Node> oldContentNodeMap = contentNodeMap;
+		contentNodeMap = new IdentityHashMap<>();
+		Graph graph = createRootGraph(getContentProvider(), getLabelProvider());
+		Map<IAttributeStore, Set<String>> newProvidedAttributes = new IdentityHashMap<>();
+		Map<Set<String>, Set<String>> keySets = new HashMap<>();
+		if (rootGraph == null || !viewer.getContents().contains(rootGraph)) {
+			putProvidedAttributes(graph, newProvidedAttributes, keySets);
+			providedAttributes = newProvidedAttributes;
+			rootGraph = graph;
+			viewer.getContents().setAll(Collections.singletonList(graph));
+			return;
+		}
+
+		// defer the layout until all changes are applied
+		IContentPart<? extends javafx.scene.Node> rootGraphPart = viewer.getContentPartMap().get(rootGraph);
+		GraphPart graphPart = rootGraphPart instanceof GraphPart ? (GraphPart) rootGraphPart : null;
+		RelayoutPolicy relayoutPolicy = null;
+		if (graphPart != null) {
+			relayoutPolicy = graphPart.getRelayoutPolicy();
+			graphPart.setRelayoutPolicy(RelayoutPolicy.NONE);
+		}
+		boolean changed;
+		try {
+			changed = updateGraph(rootGraph, graph, oldContentNodeMap, newProvidedAttributes, keySets);
+		} finally {
+			if (graphPart != null) {
+				graphPart.setRelayoutPolicy(relayoutPolicy);
+			}
+		}
+		providedAttributes = newProvidedAttributes;
+		if (changed && graphPart != null && relayoutPolicy != RelayoutPolicy.NONE) {
+			GraphLayoutBehavior layoutBehavior = graphPart.getAdapter(GraphLayoutBehavior.class);
+			if (layoutBehavior != null) {
+				layoutBehavior.applyLayout(relayoutPolicy == RelayoutPolicy.FULL);
+			}
+		}
 	}
 
 	/**
@@ -544,4 +645,174 @@ public class ZestContentViewer extends ContentViewer {
 		return "rgb(" + color.getRed() + "," + color.getGreen() + "," + color.getBlue() + ")";
 	}
 
+	private void updateAttributes(IAttributeStore store, IAttributeStore template) {
+		ObservableMap<String, Object> attributes = store.attributesProperty();
+		Map<String, Object> templateAttributes = template.attributesProperty();
+		// remove attributes that are no longer provided (others, e.g. the
+		// layout results, are preserved)
+		Set<String> oldKeys = providedAttributes.get(store);
+		if (oldKeys != null) {
+			for (String key : oldKeys) {
+				if (!templateAttributes.containsKey(key)) {
+					attributes.remove(key);
+				}
+			}
+		}
+		// values are only replaced if they changed; providers are always
+		// replaced, so that the visuals re-evaluate them
+		for (Entry<String, Object> entry : templateAttributes.entrySet()) {
+			Object value = attributes.get(entry.getKey());
+			if (value instanceof Provider || !attributes.containsKey(entry.getKey())
+					|| !Objects.equals(value, entry.getValue())) {
+				attributes.put(entry.getKey(), entry.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Applies the differences between the given template {@link Graph} (which
+	 * was constructed from the providers) and the given displayed
+	 * {@link Graph} to the displayed {@link Graph}. Existing {@link Node}s are
+	 * matched by the identity of their content elements, and existing
+	 * {@link Edge}s by their source and target {@link Node}s. Returns
+	 * <code>true</code> if nodes or edges were added or removed.
+	 */
+	private boolean updateGraph(Graph graph, Graph template, Map<Object, Node> oldContentNodeMap,
+			Map<IAttributeStore, Set<String>> newProvidedAttributes, Map<Set<String>, Set<String>> keySets) {
+		// map template nodes to their content elements
+		Map<Node, Object> templateNodeContents = new IdentityHashMap<>();
+		for (Entry<Object, Node> entry : contentNodeMap.entrySet()) {
+			templateNodeContents.put(entry.getValue(), entry.getKey());
+		}
+		// match nodes (recursively for nested graphs)
+		Map<Node, Node> nodeMatches = new IdentityHashMap<>();
+		List<Graph[]> graphs = new ArrayList<>();
+		Map<Object, Node> newContentNodeMap = new IdentityHashMap<>();
+		updateNodes(graph, template, oldContentNodeMap, templateNodeContents, nodeMatches, graphs,
+				newContentNodeMap, newProvidedAttributes, keySets);
+		boolean changed = false;
+		for (Graph[] pair : graphs) {
+			changed |= updateNodesAndEdges(pair[0], pair[1], nodeMatches, newProvidedAttributes, keySets);
+		}
+		contentNodeMap = newContentNodeMap;
+		return changed;
+	}
+
+	private void updateNodes(Graph graph, Graph template, Map<Object, Node> oldContentNodeMap,
+			Map<Node, Object> templateNodeContents, Map<Node, Node> nodeMatches, List<Graph[]> graphs,
+			Map<Object, Node> newContentNodeMap, Map<IAttributeStore, Set<String>> newProvidedAttributes,
+			Map<Set<String>, Set<String>> keySets) {
+		updateAttributes(graph, template);
+		putProvidedAttributes(graph, template, newProvidedAttributes, keySets);
+		graphs.add(new Graph[] { graph, template });
+		for (Node templateNode : template.getNodes()) {
+			Object content = templateNodeContents.get(templateNode);
+			Node node = oldContentNodeMap.get(content);
+			// an existing node is only kept if it remains within the same
+			// graph and is still (or still not) nesting a graph
+			if (node != null && node.getGraph() == graph
+					&& (node.getNestedGraph() == null) == (templateNode.getNestedGraph() == null)) {
+				updateAttributes(node, templateNode);
+				putProvidedAttributes(node, templateNode, newProvidedAttributes, keySets);
+				if (node.getNestedGraph() != null) {
+					updateNodes(node.getNestedGraph(), templateNode.getNestedGraph(), oldContentNodeMap,
+							templateNodeContents, nodeMatches, graphs, newContentNodeMap, newProvidedAttributes,
+							keySets);
+				}
+			} else {
+				// the template node is added instead
+				node = templateNode;
+				putProvidedAttributes(node, node, newProvidedAttributes, keySets);
+				if (node.getNestedGraph() != null) {
+					putProvidedAttributes(node.getNestedGraph(), newProvidedAttributes, keySets);
+					putNestedNodes(node.getNestedGraph(), templateNodeContents, nodeMatches, newContentNodeMap);
+				}
+			}
+			nodeMatches.put(templateNode, node);
+			newContentNodeMap.put(content, node);
+		}
+	}
+
+	private boolean updateNodesAndEdges(Graph graph, Graph template, Map<Node, Node> nodeMatches,
+			Map<IAttributeStore, Set<String>> newProvidedAttributes, Map<Set<String>, Set<String>> keySets) {
+		// index the existing edges by source and target
+		Map<Node, Map<Node, LinkedList<Edge>>> edgesBySourceAndTarget = new IdentityHashMap<>();
+		for (Edge edge : graph.getEdges()) {
+			Map<Node, LinkedList<Edge>> edgesByTarget = edgesBySourceAndTarget.get(edge.getSource());
+			if (edgesByTarget == null) {
+				edgesByTarget = new IdentityHashMap<>();
+				edgesBySourceAndTarget.put(edge.getSource(), edgesByTarget);
+			}
+			LinkedList<Edge> edges = edgesByTarget.get(edge.getTarget());
+			if (edges == null) {
+				edges = new LinkedList<>();
+				edgesByTarget.put(edge.getTarget(), edges);
+			}
+			edges.add(edge);
+		}
+
+		// determine the nodes to add and remove
+		Set<Node> keptNodes = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+		List<Node> addedNodes = new ArrayList<>();
+		for (Node templateNode : template.getNodes()) {
+			Node node = nodeMatches.get(templateNode);
+			if (node == templateNode) {
+				node.setGraph(graph);
+				addedNodes.add(node);
+			} else {
+				keptNodes.add(node);
+			}
+		}
+		Set<Node> removedNodes = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+		for (Node node : graph.getNodes()) {
+			if (!keptNodes.contains(node)) {
+				removedNodes.add(node);
+			}
+		}
+
+		// determine the edges to add and remove
+		Set<Edge> keptEdges = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+		List<Edge> addedEdges = new ArrayList<>();
+		for (Edge templateEdge : template.getEdges()) {
+			Node source = templateEdge.getSource() == null ? null : nodeMatches.get(templateEdge.getSource());
+			Node target = templateEdge.getTarget() == null ? null : nodeMatches.get(templateEdge.getTarget());
+			Map<Node, LinkedList<Edge>> edgesByTarget = edgesBySourceAndTarget.get(source);
+			LinkedList<Edge> edges = edgesByTarget == null ? null : edgesByTarget.get(target);
+			if (edges != null && !edges.isEmpty()) {
+				Edge edge = edges.removeFirst();
+				updateAttributes(edge, templateEdge);
+				putProvidedAttributes(edge, templateEdge, newProvidedAttributes, keySets);
+				keptEdges.add(edge);
+			} else {
+				templateEdge.setSource(source);
+				templateEdge.setTarget(target);
+				templateEdge.setGraph(graph);
+				putProvidedAttributes(templateEdge, templateEdge, newProvidedAttributes, keySets);
+				addedEdges.add(templateEdge);
+			}
+		}
+		Set<Edge> removedEdges = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+		for (Edge edge : graph.getEdges()) {
+			if (!keptEdges.contains(edge)) {
+				removedEdges.add(edge);
+			}
+		}
+
+		// apply the changes in bulk (edges are removed before their nodes and
+		// added after them)
+		if (!removedEdges.isEmpty()) {
+			graph.getEdges().removeAll(removedEdges);
+		}
+		if (!removedNodes.isEmpty()) {
+			graph.getNodes().removeAll(removedNodes);
+		}
+		if (!addedNodes.isEmpty()) {
+			graph.getNodes().addAll(addedNodes);
+		}
+		if (!addedEdges.isEmpty()) {
+			graph.getEdges().addAll(addedEdges);
+		}
+		return !removedEdges.isEmpty() || !removedNodes.isEmpty() || !addedNodes.isEmpty() || !addedEdges.isEmpty();
+	}
+
 }
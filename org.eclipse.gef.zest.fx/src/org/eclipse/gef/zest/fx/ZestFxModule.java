@@ -45,12 +45,16 @@ import org.eclipse.gef.mvc.fx.policies.TraverseFocusOnTypePolicy;
 import org.eclipse.gef.mvc.fx.providers.GeometricOutlineProvider;
 import org.eclipse.gef.mvc.fx.providers.ShapeBoundsProvider;
 import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.zest.fx.behaviors.EdgeBatchRenderingBehavior;
 import org.eclipse.gef.zest.fx.behaviors.EdgeHidingBehavior;
 import org.eclipse.gef.zest.fx.behaviors.EdgeLabelHidingBehavior;
 import org.eclipse.gef.zest.fx.behaviors.EdgeLayoutBehavior;
 import org.eclipse.gef.zest.fx.behaviors.GraphLayoutBehavior;
+import org.eclipse.gef.zest.fx.behaviors.GraphVirtualizationBehavior;
+import org.eclipse.gef.zest.fx.behaviors.LevelOfDetailBehavior;
 import org.eclipse.gef.zest.fx.behaviors.NodeHidingBehavior;
 import org.eclipse.gef.zest.fx.behaviors.NodeLayoutBehavior;
+import org.eclipse.gef.zest.fx.models.CssStyleModel;
 import org.eclipse.gef.zest.fx.models.HidingModel;
 import org.eclipse.gef.zest.fx.models.NavigationModel;
 import org.eclipse.gef.zest.fx.parts.EdgeLabelPart;
@@ -252,6 +256,9 @@ public class ZestFxModule extends MvcFxModule {
 	protected void bindGraphPartAdapters(MapBinder<AdapterKey<?>, Object> adapterMapBinder) {
 		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(LayoutContext.class);
 		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(GraphLayoutBehavior.class);
+		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(GraphVirtualizationBehavior.class);
+		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(LevelOfDetailBehavior.class);
+		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(EdgeBatchRenderingBehavior.class);
 	}
 
 	/**
@@ -306,6 +313,7 @@ public class ZestFxModule extends MvcFxModule {
 		super.bindIViewerAdaptersForContentViewer(adapterMapBinder);
 		bindNavigationModelAsContentViewerAdapter(adapterMapBinder);
 		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(HidingModel.class);
+		adapterMapBinder.addBinding(AdapterKey.defaultRole()).to(CssStyleModel.class);
 	}
 
 	/**
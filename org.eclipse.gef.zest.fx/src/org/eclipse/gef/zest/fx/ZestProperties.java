@@ -333,6 +333,46 @@ public class ZestProperties {
 	 */
 	public static final String LAYOUT_ALGORITHM__G = "graph-layout-algorithm";
 
+	/**
+	 * This attribute determines if parts are only created for the nodes and
+	 * edges of a (root) graph that are located within (or near) the viewport.
+	 * This attribute does not have a default value, i.e. all nodes and edges
+	 * are represented by parts.
+	 *
+	 * @see #getVirtualized(Graph)
+	 * @see #setVirtualized(Graph, Boolean)
+	 */
+	public static final String VIRTUALIZED__G = "graph-virtualized";
+
+	/**
+	 * This attribute determines if the non-interactive edges of a (root) graph
+	 * are rendered in bulk onto a canvas instead of being represented by
+	 * parts. This attribute does not have a default value, i.e. all edges are
+	 * represented by parts.
+	 *
+	 * @see #getBatchedEdges(Graph)
+	 * @see #setBatchedEdges(Graph, Boolean)
+	 */
+	public static final String BATCHED_EDGES__G = "graph-batched-edges";
+
+	/**
+	 * Returns the value of the {@link #BATCHED_EDGES__G} attribute of the
+	 * given {@link Graph}.
+	 *
+	 * @param graph
+	 *            The {@link Graph} for which to return the value of its
+	 *            {@link #BATCHED_EDGES__G} attribute.
+	 * @return The value of the {@link #BATCHED_EDGES__G} attribute of the
+	 *         given {@link Graph}.
+	 */
+	public static Boolean getBatchedEdges(Graph graph) {
+		Object value = graph.attributesProperty().get(BATCHED_EDGES__G);
+		if (value instanceof Provider) {
+			return (Boolean) ((Provider<?>) value).get();
+		}
+		return (Boolean) value;
+	}
+
 	/**
 	 * Returns the value of the {@link #CONTROL_POINTS__E} attribute of the
 	 * given {@link Edge}.
@@ -736,6 +776,27 @@ public class ZestProperties {
 		return (ILayoutAlgorithm) value;
 	}
 
+	/**
+	 * Returns the {@link Provider} that is the value of the
+	 * {@link #LAYOUT_ALGORITHM__G} attribute of the given {@link Graph}, or
+	 * <code>null</code> if the attribute is not set or was set to an
+	 * {@link ILayoutAlgorithm} (instead of a {@link Provider}).
+	 *
+	 * @param graph
+	 *            The {@link Graph} of which the layout algorithm provider is
+	 *            determined.
+	 * @return The layout algorithm provider of the given {@link Graph}, or
+	 *         <code>null</code>.
+	 */
+	@SuppressWarnings("unchecked")
+	public static Provider<ILayoutAlgorithm> getLayoutAlgorithmProvider(Graph graph) {
+		Object value = graph.attributesProperty().get(LAYOUT_ALGORITHM__G);
+		if (value instanceof Provider) {
+			return (Provider<ILayoutAlgorithm>) value;
+		}
+		return null;
+	}
+
 	/**
 	 * Returns the value of the {@link #LAYOUT_IRRELEVANT__NE} attribute of the
 	 * given {@link Edge}. If the attribute is not set for the given
@@ -1066,6 +1127,41 @@ public class ZestProperties {
 		return (String) value;
 	}
 
+	/**
+	 * Returns the value of the {@link #VIRTUALIZED__G} attribute of the given
+	 * {@link Graph}.
+	 *
+	 * @param graph
+	 *            The {@link Graph} for which to return the value of its
+	 *            {@link #VIRTUALIZED__G} attribute.
+	 * @return The value of the {@link #VIRTUALIZED__G} attribute of the given
+	 *         {@link Graph}.
+	 */
+	public static Boolean getVirtualized(Graph graph) {
+		Object value = graph.attributesProperty().get(VIRTUALIZED__G);
+		if (value instanceof Provider) {
+			return (Boolean) ((Provider<?>) value).get();
+		}
+		return (Boolean) value;
+	}
+
+	/**
+	 * Sets the value of the {@link #BATCHED_EDGES__G} attribute of the given
+	 * {@link Graph} to the given value.
+	 *
+	 * @param graph
+	 *            The {@link Graph} of which the batched edges flag is changed.
+	 * @param batchedEdges
+	 *            The new batched edges flag for the given {@link Graph}.
+	 */
+	public static void setBatchedEdges(Graph graph, Boolean batchedEdges) {
+		if (batchedEdges == null) {
+			graph.attributesProperty().remove(BATCHED_EDGES__G);
+		} else {
+			graph.attributesProperty().put(BATCHED_EDGES__G, batchedEdges);
+		}
+	}
+
 	/**
 	 * Sets the value of the {@link #CONTROL_POINTS__E} attribute of the given
 	 * {@link Edge} to the given value.
@@ -2586,4 +2682,21 @@ public class ZestProperties {
 			node.attributesProperty().put(TOOLTIP__N, tooltip);
 		}
 	}
+
+	/**
+	 * Sets the value of the {@link #VIRTUALIZED__G} attribute of the given
+	 * {@link Graph} to the given value.
+	 *
+	 * @param graph
+	 *            The {@link Graph} of which the virtualized flag is changed.
+	 * @param virtualized
+	 *            The new virtualized flag for the given {@link Graph}.
+	 */
+	public static void setVirtualized(Graph graph, Boolean virtualized) {
+		if (virtualized == null) {
+			graph.attributesProperty().remove(VIRTUALIZED__G);
+		} else {
+			graph.attributesProperty().put(VIRTUALIZED__G, virtualized);
+		}
+	}
 }
@@ -106,7 +106,9 @@ public abstract class AbstractHidingBehavior extends AbstractBehavior {
 	 * {@link #determineHiddenStatus()} and compares the result with the
 	 * previous hidden status. If the {@link #getHost() host} was previously
 	 * hidden and is not hidden anymore, {@link #show()} is called. Otherwise,
-	 * {@link #hide()} is called.
+	 * {@link #hide()} is called. Called once per (bulk) operation of the
+	 * {@link HidingModel}, i.e. the given change may report multiple hidden or
+	 * shown nodes (see {@link HidingModel.HiddenNodesChange}).
 	 *
 	 * @param change
 	 *            The change event of the {@link HidingModel}.
@@ -0,0 +1,756 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.gef.fx.nodes.Connection;
+import org.eclipse.gef.fx.nodes.IConnectionRouter;
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.fx.nodes.StraightRouter;
+import org.eclipse.gef.fx.utils.SpatialIndex;
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.geometry.planar.AffineTransform;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
+import org.eclipse.gef.mvc.fx.models.HoverModel;
+import org.eclipse.gef.mvc.fx.models.SelectionModel;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.models.HidingModel;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.eclipse.gef.zest.fx.parts.NodePart;
+
+import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
+import javafx.collections.ObservableMap;
+import javafx.collections.SetChangeListener;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+
+/**
+ * The {@link EdgeBatchRenderingBehavior} is responsible for rendering the edges
+ * of a (root) {@link Graph} for which the {@link ZestProperties#BATCHED_EDGES__G}
+ * attribute is set to <code>true</code>. In this case, the {@link GraphPart}
+ * does not create {@link EdgePart}s for the non-interactive edges, which are
+ * instead drawn in bulk (as polylines through their routed points) onto a
+ * {@link Canvas} within the
+ * {@link InfiniteCanvas#getScrolledUnderlayGroup() scrolled underlay group} of
+ * the {@link InfiniteCanvas}. The {@link Canvas} covers the viewport, and only
+ * the edges that pass through the viewport are drawn. The bounds of the edges
+ * are maintained within a {@link SpatialIndex}, which is rebuilt when nodes or
+ * edges are added, removed, or changed, so that the edges that pass through
+ * the viewport can be determined without visiting all edges.
+ * <p>
+ * The routed points of an edge are computed like for an {@link EdgePart}, i.e.
+ * using the {@link ZestProperties#ROUTER__E router} of the edge, and starting
+ * and ending at the outlines of the nodes. The routed points are cached until
+ * nodes or edges are added, removed, or changed. Like {@link EdgePart}s that
+ * are {@link LevelOfDetailBehavior#isSimplified(IVisualPart) simplified}, the
+ * batched edges are drawn as polylines, i.e. the
+ * {@link ZestProperties#INTERPOLATOR__E interpolator} of the edge is ignored.
+ * <p>
+ * Hovered or selected edges, as well as (up to
+ * {@link #getMaxPromotedEdges()}) edges that are connected to a hovered or
+ * selected node are {@link #isPromoted(Edge) promoted}, i.e. they are
+ * represented by {@link EdgePart}s, so that they can be interacted with. The
+ * other edges of a hovered or selected node with many edges remain batched.
+ * When the promoted edges change, only the content children for the affected
+ * edges are synchronized (see {@link GraphPart#refreshEdgeContentChildren}).
+ */
+// only applicable for GraphPart (see #getHost())
+public class EdgeBatchRenderingBehavior extends AbstractBehavior {
+
+	/**
+	 * The default {@link Paint} that is used to draw the batched edges.
+	 */
+	public static final Paint DEFAULT_STROKE = Color.rgb(99, 123, 71);
+
+	/**
+	 * The default line width (in graph coordinates) that is used to draw the
+	 * batched edges.
+	 */
+	public static final double DEFAULT_LINE_WIDTH = 1.5;
+
+	/**
+	 * The default maximum number of edges that are promoted per hovered or
+	 * selected node.
+	 */
+	public static final int DEFAULT_MAX_PROMOTED_EDGES = 100;
+
+	private final Canvas canvas = new Canvas();
+	private Paint stroke = DEFAULT_STROKE;
+	private double lineWidth = DEFAULT_LINE_WIDTH;
+	private boolean batched;
+	private boolean redrawScheduled;
+	private int maxPromotedEdges = DEFAULT_MAX_PROMOTED_EDGES;
+	// the hovered and selected nodes and edges
+	private Set<Object> promoted = Collections.emptySet();
+	private Set<Edge> promotedEdges = Collections.emptySet();
+
+	// index state
+	private boolean indexValid;
+	private final SpatialIndex<Edge> edgeIndex = new SpatialIndex<>();
+	private final Map<org.eclipse.gef.graph.Node, List<Edge>> incidentEdges = new IdentityHashMap<>();
+	private final Map<Edge, double[]> routes = new IdentityHashMap<>();
+	// routes the batched edges (outside of the scene graph)
+	private final Connection routingConnection = new Connection();
+	private final IConnectionRouter defaultRouter = new StraightRouter();
+
+	private ChangeListener<Object> viewportChangeListener = new ChangeListener<Object>() {
+		@Override
+		public void changed(ObservableValue<? extends Object> observable, Object oldValue, Object newValue) {
+			if (batched) {
+				redraw();
+			}
+		}
+	};
+
+	private MapChangeListener<String, Object> graphAttributesObserver = new MapChangeListener<String, Object>() {
+		@Override
+		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
+			if (ZestProperties.BATCHED_EDGES__G.equals(change.getKey())) {
+				refreshBatched();
+				getHost().refreshContentChildren();
+			}
+		}
+	};
+
+	private MapChangeListener<String, Object> elementAttributesObserver = new MapChangeListener<String, Object>() {
+		@Override
+		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
+			indexValid = false;
+			scheduleRedraw();
+		}
+	};
+
+	private ListChangeListener<Object> graphChildrenObserver = new ListChangeListener<Object>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Object> c) {
+			while (c.next()) {
+				for (Object removed : c.getRemoved()) {
+					getAttributes(removed).removeListener(elementAttributesObserver);
+				}
+				for (Object added : c.getAddedSubList()) {
+					getAttributes(added).addListener(elementAttributesObserver);
+				}
+			}
+			indexValid = false;
+			scheduleRedraw();
+		}
+	};
+
+	private ChangeListener<IVisualPart<? extends Node>> hoverObserver =
+			new ChangeListener<IVisualPart<? extends Node>>() {
+		@Override
+		public void changed(ObservableValue<? extends IVisualPart<? extends Node>> observable,
+				IVisualPart<? extends Node> oldValue, IVisualPart<? extends Node> newValue) {
+			refreshPromoted();
+		}
+	};
+
+	private ListChangeListener<IContentPart<? extends Node>> selectionObserver =
+			new ListChangeListener<IContentPart<? extends Node>>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends IContentPart<? extends Node>> c) {
+			refreshPromoted();
+		}
+	};
+
+	private SetChangeListener<org.eclipse.gef.graph.Node> hidingObserver =
+			new SetChangeListener<org.eclipse.gef.graph.Node>() {
+		@Override
+		public void onChanged(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
+			scheduleRedraw();
+		}
+	};
+
+	private Runnable redraw = new Runnable() {
+		@Override
+		public void run() {
+			if (redrawScheduled) {
+				redraw();
+			}
+		}
+	};
+
+	/**
+	 * Creates a new {@link EdgeBatchRenderingBehavior}.
+	 */
+	public EdgeBatchRenderingBehavior() {
+		canvas.setMouseTransparent(true);
+		canvas.setManaged(false);
+	}
+
+	private void buildIndex() {
+		edgeIndex.clear();
+		incidentEdges.clear();
+		routes.clear();
+		double[] source = new double[2];
+		double[] target = new double[2];
+		for (Edge edge : getHost().getContent().getEdges()) {
+			for (org.eclipse.gef.graph.Node node : new org.eclipse.gef.graph.Node[] { edge.getSource(),
+					edge.getTarget() }) {
+				if (node == null) {
+					continue;
+				}
+				List<Edge> edges = incidentEdges.get(node);
+				if (edges == null) {
+					edges = new ArrayList<>();
+					incidentEdges.put(node, edges);
+				}
+				edges.add(edge);
+			}
+			if (edge.getSource() == null || edge.getTarget() == null || !computeCenter(edge.getSource(), source)
+					|| !computeCenter(edge.getTarget(), target)) {
+				continue;
+			}
+			// index the bounds of the polyline
+			double x0 = Math.min(source[0], target[0]);
+			double y0 = Math.min(source[1], target[1]);
+			double x1 = Math.max(source[0], target[0]);
+			double y1 = Math.max(source[1], target[1]);
+			for (Point p : ZestProperties.getControlPoints(edge)) {
+				x0 = Math.min(x0, p.x);
+				y0 = Math.min(y0, p.y);
+				x1 = Math.max(x1, p.x);
+				y1 = Math.max(y1, p.y);
+			}
+			edgeIndex.put(edge, new Rectangle(x0, y0, x1 - x0, y1 - y0));
+		}
+		indexValid = true;
+	}
+
+	/**
+	 * Stores the center of the given node (<code>[center-x, center-y]</code>)
+	 * within the given array, followed by its size if the array provides room
+	 * for it (<code>[center-x, center-y, width, height]</code>). Returns
+	 * <code>false</code> if the position of the node is unknown.
+	 */
+	private boolean computeCenter(org.eclipse.gef.graph.Node node, double[] center) {
+		// prefer the actual visual if available
+		IContentPart<? extends Node> part = getHost().getRoot().getViewer().getContentPartMap().get(node);
+		if (part != null && part.getParent() == getHost()) {
+			Bounds bounds = part.getVisual().getBoundsInParent();
+			center[0] = bounds.getMinX() + bounds.getWidth() / 2;
+			center[1] = bounds.getMinY() + bounds.getHeight() / 2;
+			if (center.length > 3) {
+				center[2] = bounds.getWidth();
+				center[3] = bounds.getHeight();
+			}
+			return true;
+		}
+		Point position = ZestProperties.getPosition(node);
+		Dimension size = ZestProperties.getSize(node);
+		if (size == null) {
+			size = LayoutProperties.getSize(node);
+		}
+		if (center.length > 3) {
+			center[2] = size == null ? 0 : size.width;
+			center[3] = size == null ? 0 : size.height;
+		}
+		if (position != null) {
+			center[0] = position.x + (size == null ? 0 : size.width / 2);
+			center[1] = position.y + (size == null ? 0 : size.height / 2);
+			return true;
+		}
+		Point location = LayoutProperties.getLocation(node);
+		if (location != null) {
+			center[0] = location.x;
+			center[1] = location.y;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Computes the edges that are promoted because they are hovered or
+	 * selected, or because they are connected to a hovered or selected node
+	 * (limited to {@link #getMaxPromotedEdges()} per node).
+	 */
+	private Set<Edge> computePromotedEdges() {
+		if (!batched || promoted.isEmpty()) {
+			return Collections.emptySet();
+		}
+		if (!indexValid) {
+			buildIndex();
+		}
+		Set<Edge> edges = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+		for (Object element : promoted) {
+			if (element instanceof Edge) {
+				edges.add((Edge) element);
+			} else if (incidentEdges.containsKey(element)) {
+				List<Edge> incident = incidentEdges.get(element);
+				edges.addAll(incident.subList(0, Math.min(incident.size(), maxPromotedEdges)));
+			}
+		}
+		return edges;
+	}
+
+	/**
+	 * Computes the routed points of the given {@link Edge} within the
+	 * coordinate system of the {@link #getHost() host} visual (<code>[x0, y0,
+	 * x1, y1, ...]</code>), or returns <code>null</code> if the position of
+	 * its source or target node is unknown. The start and end points are
+	 * located on the bounds of the source and target nodes, in the direction
+	 * of the adjacent control point (or the other node).
+	 */
+	private double[] computeRoute(Edge edge) {
+		double[] source = new double[4];
+		double[] target = new double[4];
+		if (edge.getSource() == null || edge.getTarget() == null || !computeCenter(edge.getSource(), source)
+				|| !computeCenter(edge.getTarget(), target)) {
+			return null;
+		}
+		List<Point> controlPoints = ZestProperties.getControlPoints(edge);
+		Point sourceReference = controlPoints.isEmpty() ? new Point(target[0], target[1]) : controlPoints.get(0);
+		Point targetReference = controlPoints.isEmpty() ? new Point(source[0], source[1])
+				: controlPoints.get(controlPoints.size() - 1);
+		IConnectionRouter router = ZestProperties.getRouter(edge);
+		routingConnection.setRouter(router == null ? defaultRouter : router);
+		routingConnection.setStartPoint(computeOutlinePoint(source, sourceReference));
+		routingConnection.setEndPoint(computeOutlinePoint(target, targetReference));
+		routingConnection.setControlPoints(controlPoints);
+		List<Point> points = routingConnection.getPointsUnmodifiable();
+		double[] route = new double[2 * points.size()];
+		for (int i = 0; i < points.size(); i++) {
+			route[2 * i] = points.get(i).x;
+			route[2 * i + 1] = points.get(i).y;
+		}
+		return route;
+	}
+
+	/**
+	 * Returns the point on the bounds of a node (given by its center and size,
+	 * see {@link #computeCenter(org.eclipse.gef.graph.Node, double[])}) in the
+	 * direction of the given reference point, or the center of the node if the
+	 * reference point is located within its bounds.
+	 */
+	private static Point computeOutlinePoint(double[] node, Point reference) {
+		double dx = reference.x - node[0];
+		double dy = reference.y - node[1];
+		double scale = Double.POSITIVE_INFINITY;
+		if (dx != 0) {
+			scale = Math.min(scale, node[2] / 2 / Math.abs(dx));
+		}
+		if (dy != 0) {
+			scale = Math.min(scale, node[3] / 2 / Math.abs(dy));
+		}
+		if (scale >= 1) {
+			return new Point(node[0], node[1]);
+		}
+		return new Point(node[0] + dx * scale, node[1] + dy * scale);
+	}
+
+	@Override
+	protected void doActivate() {
+		getHost().getContent().attributesProperty().addListener(graphAttributesObserver);
+		IViewer viewer = getHost().getRoot().getViewer();
+		viewer.getAdapter(HoverModel.class).hoverProperty().addListener(hoverObserver);
+		viewer.getAdapter(SelectionModel.class).getSelectionUnmodifiable().addListener(selectionObserver);
+		HidingModel hidingModel = viewer.getAdapter(HidingModel.class);
+		if (hidingModel != null) {
+			hidingModel.hiddenProperty().addListener(hidingObserver);
+		}
+		refreshBatched();
+	}
+
+	@Override
+	protected void doDeactivate() {
+		setBatched(false);
+		getHost().getContent().attributesProperty().removeListener(graphAttributesObserver);
+		IViewer viewer = getHost().getRoot().getViewer();
+		viewer.getAdapter(HoverModel.class).hoverProperty().removeListener(hoverObserver);
+		viewer.getAdapter(SelectionModel.class).getSelectionUnmodifiable().removeListener(selectionObserver);
+		HidingModel hidingModel = viewer.getAdapter(HidingModel.class);
+		if (hidingModel != null) {
+			hidingModel.hiddenProperty().removeListener(hidingObserver);
+		}
+	}
+
+	private ObservableMap<String, Object> getAttributes(Object element) {
+		return element instanceof Edge ? ((Edge) element).attributesProperty()
+				: ((org.eclipse.gef.graph.Node) element).attributesProperty();
+	}
+
+	/**
+	 * Returns the {@link #isBatched(Edge) batched} {@link Edge}s whose bounds
+	 * (i.e. the bounds of the polyline through the node centers and control
+	 * points) intersect the given area (within the coordinate system of the
+	 * {@link #getHost() host} visual). Edges that are invisible or connected to
+	 * hidden nodes are not returned.
+	 *
+	 * @param area
+	 *            The area within the coordinate system of the host visual.
+	 * @return The batched {@link Edge}s that intersect the given area.
+	 */
+	public List<Edge> getBatchedEdges(Rectangle area) {
+		if (!batched) {
+			return Collections.emptyList();
+		}
+		if (!indexValid) {
+			buildIndex();
+		}
+		HidingModel hidingModel = getHost().getRoot().getViewer().getAdapter(HidingModel.class);
+		List<Edge> edges = new ArrayList<>();
+		for (Edge edge : edgeIndex.getElementsIntersecting(area)) {
+			if (isBatched(edge) && !Boolean.TRUE.equals(ZestProperties.getInvisible(edge))
+					&& !isHidden(hidingModel, edge.getSource()) && !isHidden(hidingModel, edge.getTarget())) {
+				edges.add(edge);
+			}
+		}
+		return edges;
+	}
+
+	/**
+	 * Returns the {@link Canvas} onto which the batched edges are drawn.
+	 *
+	 * @return The {@link Canvas} onto which the batched edges are drawn.
+	 */
+	protected Canvas getCanvas() {
+		return canvas;
+	}
+
+	@Override
+	public GraphPart getHost() {
+		return (GraphPart) super.getHost();
+	}
+
+	/**
+	 * Returns the {@link InfiniteCanvas} of the viewer of the
+	 * {@link #getHost() host}.
+	 *
+	 * @return The {@link InfiniteCanvas} of the viewer of the
+	 *         {@link #getHost() host}.
+	 */
+	protected InfiniteCanvas getInfiniteCanvas() {
+		return ((InfiniteCanvasViewer) getHost().getRoot().getViewer()).getCanvas();
+	}
+
+	/**
+	 * Returns the line width (in graph coordinates) that is used to draw the
+	 * batched edges.
+	 *
+	 * @return The line width that is used to draw the batched edges.
+	 */
+	public double getLineWidth() {
+		return lineWidth;
+	}
+
+	/**
+	 * Returns the maximum number of edges that are promoted per hovered or
+	 * selected node.
+	 *
+	 * @return The maximum number of edges that are promoted per node.
+	 */
+	public int getMaxPromotedEdges() {
+		return maxPromotedEdges;
+	}
+
+	/**
+	 * Returns the {@link Paint} that is used to draw the batched edges.
+	 *
+	 * @return The {@link Paint} that is used to draw the batched edges.
+	 */
+	public Paint getStroke() {
+		return stroke;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given {@link Edge} is drawn onto the
+	 * {@link Canvas} instead of being represented by an {@link EdgePart}, i.e.
+	 * if edges are batched and the given {@link Edge} is not
+	 * {@link #isPromoted(Edge) promoted}. Otherwise returns <code>false</code>.
+	 *
+	 * @param edge
+	 *            The {@link Edge} to test.
+	 * @return <code>true</code> if the given {@link Edge} is batched, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isBatched(Edge edge) {
+		return batched && !isPromoted(edge);
+	}
+
+	/**
+	 * Returns <code>true</code> if the edges of the {@link #getHost() host} are
+	 * batched, i.e. it is a root graph and the
+	 * {@link ZestProperties#BATCHED_EDGES__G} attribute is set to
+	 * <code>true</code>. Otherwise returns <code>false</code>.
+	 *
+	 * @return <code>true</code> if the edges are batched, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isBatching() {
+		return batched;
+	}
+
+	private boolean isHidden(HidingModel hidingModel, org.eclipse.gef.graph.Node node) {
+		return Boolean.TRUE.equals(ZestProperties.getInvisible(node))
+				|| hidingModel != null && hidingModel.isHidden(node);
+	}
+
+	/**
+	 * Returns <code>true</code> if the given {@link Edge} is represented by an
+	 * {@link EdgePart} even though edges are batched, because it is hovered or
+	 * selected, or because it is connected to a hovered or selected node (see
+	 * {@link #getMaxPromotedEdges()}). Otherwise returns <code>false</code>.
+	 *
+	 * @param edge
+	 *            The {@link Edge} to test.
+	 * @return <code>true</code> if the given {@link Edge} is promoted,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isPromoted(Edge edge) {
+		return promotedEdges.contains(edge);
+	}
+
+	/**
+	 * Redraws all batched edges that pass through the viewport onto the
+	 * {@link Canvas}. The {@link Canvas} is relocated and resized so that it
+	 * covers the viewport.
+	 */
+	protected void redraw() {
+		redrawScheduled = false;
+		GraphicsContext gc = canvas.getGraphicsContext2D();
+		gc.setTransform(1, 0, 0, 1, 0, 0);
+		gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+		if (!batched) {
+			return;
+		}
+
+		// cover the viewport
+		InfiniteCanvas infiniteCanvas = getInfiniteCanvas();
+		Bounds viewportInScene = infiniteCanvas.localToScene(infiniteCanvas.getLayoutBounds());
+		Bounds viewport = infiniteCanvas.getScrolledUnderlayGroup().sceneToLocal(viewportInScene);
+		canvas.setLayoutX(viewport.getMinX());
+		canvas.setLayoutY(viewport.getMinY());
+		canvas.setWidth(Math.ceil(viewport.getWidth()));
+		canvas.setHeight(Math.ceil(viewport.getHeight()));
+
+		// draw within the coordinate system of the host visual
+		AffineTransform hostToScene = FX2Geometry.toAffineTransform(getHost().getVisual().getLocalToSceneTransform());
+		AffineTransform canvasToScene = FX2Geometry.toAffineTransform(canvas.getLocalToSceneTransform());
+		AffineTransform hostToCanvas = canvasToScene.getInverse().concatenate(hostToScene);
+		gc.setTransform(hostToCanvas.getM00(), hostToCanvas.getM10(), hostToCanvas.getM01(), hostToCanvas.getM11(),
+				hostToCanvas.getTranslateX(), hostToCanvas.getTranslateY());
+		gc.setStroke(stroke);
+		gc.setLineWidth(lineWidth);
+		Bounds visible = getHost().getVisual().sceneToLocal(viewportInScene);
+		double minX = visible.getMinX() - lineWidth;
+		double minY = visible.getMinY() - lineWidth;
+		double maxX = visible.getMaxX() + lineWidth;
+		double maxY = visible.getMaxY() + lineWidth;
+
+		// collect all visible segments within a single path (culled by the
+		// bounds of the polylines)
+		gc.beginPath();
+		for (Edge edge : getBatchedEdges(new Rectangle(minX, minY, maxX - minX, maxY - minY))) {
+			double[] route = routes.get(edge);
+			if (route == null) {
+				route = computeRoute(edge);
+				if (route == null) {
+					continue;
+				}
+				routes.put(edge, route);
+			}
+			gc.moveTo(route[0], route[1]);
+			for (int i = 2; i < route.length; i += 2) {
+				gc.lineTo(route[i], route[i + 1]);
+			}
+		}
+		gc.stroke();
+	}
+
+	/**
+	 * Determines if the edges of the {@link #getHost() host} are batched, i.e.
+	 * it is a root graph and the {@link ZestProperties#BATCHED_EDGES__G}
+	 * attribute is set to <code>true</code>.
+	 */
+	private void refreshBatched() {
+		Graph graph = getHost().getContent();
+		setBatched(isActive() && graph != null && graph.getNestingNode() == null
+				&& Boolean.TRUE.equals(ZestProperties.getBatchedEdges(graph)));
+	}
+
+	/**
+	 * Determines the hovered and selected nodes and edges. If the
+	 * {@link #isPromoted(Edge) promoted} edges changed, the content children of
+	 * the {@link #getHost() host} are refreshed for the affected edges, so that
+	 * {@link EdgePart}s are created for the promoted edges (and removed for the
+	 * edges that are no longer promoted).
+	 */
+	private void refreshPromoted() {
+		Set<Object> newPromoted = new HashSet<>();
+		IViewer viewer = getHost().getRoot().getViewer();
+		IVisualPart<? extends Node> hover = viewer.getAdapter(HoverModel.class).getHover();
+		if (hover instanceof NodePart || hover instanceof EdgePart) {
+			newPromoted.add(((IContentPart<? extends Node>) hover).getContent());
+		}
+		for (IContentPart<? extends Node> selected : viewer.getAdapter(SelectionModel.class)
+				.getSelectionUnmodifiable()) {
+			if (selected instanceof NodePart || selected instanceof EdgePart) {
+				newPromoted.add(selected.getContent());
+			}
+		}
+		if (!newPromoted.equals(promoted)) {
+			promoted = newPromoted;
+			refreshPromotedEdges();
+		}
+	}
+
+	/**
+	 * Recomputes the promoted edges and refreshes the content children of the
+	 * {@link #getHost() host} for those edges that were promoted or demoted.
+	 */
+	private void refreshPromotedEdges() {
+		Set<Edge> newPromotedEdges = computePromotedEdges();
+		if (!newPromotedEdges.equals(promotedEdges)) {
+			Set<Edge> affected = Collections.newSetFromMap(new IdentityHashMap<Edge, Boolean>());
+			affected.addAll(promotedEdges);
+			affected.addAll(newPromotedEdges);
+			for (Edge edge : promotedEdges) {
+				if (newPromotedEdges.contains(edge)) {
+					affected.remove(edge);
+				}
+			}
+			promotedEdges = newPromotedEdges;
+			getHost().refreshEdgeContentChildren(affected);
+			redraw();
+		}
+	}
+
+	/**
+	 * Schedules a {@link #redraw()} (on the JavaFX application thread), so that
+	 * multiple changes (e.g. the positions of all nodes after a layout pass)
+	 * only lead to a single redraw.
+	 */
+	protected void scheduleRedraw() {
+		if (batched && !redrawScheduled) {
+			redrawScheduled = true;
+			Platform.runLater(redraw);
+		}
+	}
+
+	private void setBatched(boolean batched) {
+		if (this.batched == batched) {
+			return;
+		}
+		this.batched = batched;
+		Graph graph = getHost().getContent();
+		InfiniteCanvas infiniteCanvas = getInfiniteCanvas();
+		if (batched) {
+			infiniteCanvas.getScrolledUnderlayGroup().getChildren().add(canvas);
+			infiniteCanvas.layoutBoundsProperty().addListener(viewportChangeListener);
+			getHost().getVisual().localToSceneTransformProperty().addListener(viewportChangeListener);
+			graph.getNodes().addListener(graphChildrenObserver);
+			graph.getEdges().addListener(graphChildrenObserver);
+			for (org.eclipse.gef.graph.Node node : graph.getNodes()) {
+				node.attributesProperty().addListener(elementAttributesObserver);
+			}
+			for (Edge edge : graph.getEdges()) {
+				edge.attributesProperty().addListener(elementAttributesObserver);
+			}
+			promotedEdges = computePromotedEdges();
+			redraw();
+		} else {
+			redrawScheduled = false;
+			infiniteCanvas.getScrolledUnderlayGroup().getChildren().remove(canvas);
+			infiniteCanvas.layoutBoundsProperty().removeListener(viewportChangeListener);
+			getHost().getVisual().localToSceneTransformProperty().removeListener(viewportChangeListener);
+			graph.getNodes().removeListener(graphChildrenObserver);
+			graph.getEdges().removeListener(graphChildrenObserver);
+			for (org.eclipse.gef.graph.Node node : graph.getNodes()) {
+				node.attributesProperty().removeListener(elementAttributesObserver);
+			}
+			for (Edge edge : graph.getEdges()) {
+				edge.attributesProperty().removeListener(elementAttributesObserver);
+			}
+			canvas.setWidth(0);
+			canvas.setHeight(0);
+			edgeIndex.clear();
+			incidentEdges.clear();
+			routes.clear();
+			promotedEdges = Collections.emptySet();
+			indexValid = false;
+		}
+	}
+
+	/**
+	 * Sets the line width (in graph coordinates) that is used to draw the
+	 * batched edges.
+	 *
+	 * @param lineWidth
+	 *            The new line width.
+	 */
+	public void setLineWidth(double lineWidth) {
+		if (lineWidth < 0) {
+			throw new IllegalArgumentException("Invalid line width: " + lineWidth);
+		}
+		this.lineWidth = lineWidth;
+		scheduleRedraw();
+	}
+
+	/**
+	 * Sets the maximum number of edges that are promoted per hovered or
+	 * selected node. The other edges of such a node remain batched.
+	 *
+	 * @param maxPromotedEdges
+	 *            The new maximum number of edges that are promoted per node.
+	 */
+	public void setMaxPromotedEdges(int maxPromotedEdges) {
+		if (maxPromotedEdges < 0) {
+			throw new IllegalArgumentException("Invalid maximum number of promoted edges: " + maxPromotedEdges);
+		}
+		this.maxPromotedEdges = maxPromotedEdges;
+		if (isActive()) {
+			refreshPromotedEdges();
+		}
+	}
+
+	/**
+	 * Sets the {@link Paint} that is used to draw the batched edges.
+	 *
+	 * @param stroke
+	 *            The new {@link Paint}.
+	 */
+	public void setStroke(Paint stroke) {
+		if (stroke == null) {
+			throw new IllegalArgumentException("stroke may not be null.");
+		}
+		this.stroke = stroke;
+		scheduleRedraw();
+	}
+
+}
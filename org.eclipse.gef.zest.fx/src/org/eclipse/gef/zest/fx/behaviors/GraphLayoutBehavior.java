@@ -12,10 +12,17 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.behaviors;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+
 import org.eclipse.gef.fx.nodes.InfiniteCanvas;
 import org.eclipse.gef.geometry.planar.Rectangle;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.layout.IAsyncLayoutListener;
 import org.eclipse.gef.layout.ILayoutAlgorithm;
 import org.eclipse.gef.layout.ILayoutFilter;
 import org.eclipse.gef.layout.LayoutContext;
@@ -26,10 +33,14 @@ import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
 import org.eclipse.gef.zest.fx.ZestProperties;
 import org.eclipse.gef.zest.fx.models.HidingModel;
 import org.eclipse.gef.zest.fx.models.NavigationModel;
+import org.eclipse.gef.zest.fx.models.NavigationModel.LayoutState;
 import org.eclipse.gef.zest.fx.models.NavigationModel.ViewportState;
 import org.eclipse.gef.zest.fx.parts.GraphPart;
 import org.eclipse.gef.zest.fx.parts.NodePart;
 
+import com.google.inject.Provider;
+
+import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.geometry.Bounds;
@@ -39,6 +50,20 @@ import javafx.scene.Parent;
 /**
  * The {@link GraphLayoutBehavior} is responsible for initiating layout passes.
  * It is only applicable to {@link GraphPart}.
+ * <p>
+ * Layout passes can optionally be performed asynchronously (see
+ * {@link #setAsyncLayout(boolean)}), in which case a dedicated layout
+ * algorithm is applied to a snapshot of the graph on a background thread, and
+ * the results are applied on the JavaFX application thread. This requires the
+ * layout algorithm of the graph to be specified by a {@link Provider} (see
+ * {@link ZestProperties#setLayoutAlgorithm(Graph, Provider)}) that creates a
+ * new {@link ILayoutAlgorithm} per call. Otherwise, layout passes are silently
+ * performed synchronously, even if asynchronous layout passes are enabled. The
+ * progress of asynchronous layout passes can be observed by registering an
+ * {@link IAsyncLayoutListener} at the {@link #getLayoutContext() layout
+ * context}. When an asynchronous layout pass is cancelled, e.g. because it is
+ * superseded by another layout pass, the post layout pass is executed without
+ * applying any results, so that the visuals reflect the (unchanged) layout.
  *
  * @author mwienand
  *
@@ -46,6 +71,16 @@ import javafx.scene.Parent;
 // only applicable for GraphPart (see #getHost())
 public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
+	private static final Executor FX_APPLICATION_THREAD_EXECUTOR = new Executor() {
+		@Override
+		public void execute(Runnable command) {
+			Platform.runLater(command);
+		}
+	};
+
+	private boolean asyncLayout = false;
+	private ExecutorService layoutExecutor;
+
 	private Runnable postLayout = new Runnable() {
 		@Override
 		public void run() {
@@ -80,7 +115,11 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 
 	/**
 	 * Performs one layout pass using the static layout algorithm that is
-	 * configured for the layout context.
+	 * configured for the layout context. If {@link #isAsyncLayout()
+	 * asynchronous layout passes} are enabled and a dedicated layout algorithm
+	 * can be created (see {@link #createAsyncLayoutAlgorithm()}), the layout
+	 * pass is performed asynchronously. Otherwise, it is performed
+	 * synchronously.
 	 *
 	 * @param clean
 	 *            Whether to fully re-compute the layout or not.
@@ -107,7 +146,17 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		}
 
 		// apply layout (if no algorithm is set, will be a no-op)
-		layoutContext.applyLayout(true);
+		final ILayoutAlgorithm asyncLayoutAlgorithm = asyncLayout ? createAsyncLayoutAlgorithm() : null;
+		if (asyncLayoutAlgorithm != null) {
+			layoutContext.applyLayoutAsync(clean, new Supplier<ILayoutAlgorithm>() {
+				@Override
+				public ILayoutAlgorithm get() {
+					return asyncLayoutAlgorithm;
+				}
+			}, getLayoutExecutor(), FX_APPLICATION_THREAD_EXECUTOR);
+		} else {
+			layoutContext.applyLayout(clean);
+		}
 	}
 
 	/**
@@ -130,6 +179,30 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		return newBounds;
 	}
 
+	/**
+	 * Creates a dedicated {@link ILayoutAlgorithm} for an asynchronous layout
+	 * pass, using the layout algorithm {@link Provider} of the graph (see
+	 * {@link ZestProperties#setLayoutAlgorithm(Graph, Provider)}). Returns
+	 * <code>null</code> if the graph does not specify a {@link Provider}, or
+	 * if the {@link Provider} does not create a new {@link ILayoutAlgorithm},
+	 * because a layout algorithm may not be shared between (synchronous and
+	 * asynchronous) layout passes.
+	 *
+	 * @return A new {@link ILayoutAlgorithm} for an asynchronous layout pass,
+	 *         or <code>null</code> if none can be created.
+	 */
+	protected ILayoutAlgorithm createAsyncLayoutAlgorithm() {
+		Provider<ILayoutAlgorithm> provider = ZestProperties.getLayoutAlgorithmProvider(getHost().getContent());
+		if (provider == null) {
+			return null;
+		}
+		ILayoutAlgorithm layoutAlgorithm = provider.get();
+		if (layoutAlgorithm == getLayoutContext().getLayoutAlgorithm()) {
+			return null;
+		}
+		return layoutAlgorithm;
+	}
+
 	@Override
 	protected void doActivate() {
 		LayoutContext layoutContext = getLayoutContext();
@@ -182,16 +255,31 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		// nesting part and one for the viewport of the graph part, so that
 		// nested graphs are not unnecessarily layouted
 		if (savedViewport == null || isNested || isViewportChanged) {
-			LayoutProperties.setBounds(getHost().getContent(), computeLayoutBounds());
-			applyLayout(true);
+			Rectangle bounds = computeLayoutBounds();
+			LayoutProperties.setBounds(getHost().getContent(), bounds);
+			// restore a cached (or prefetched) layout if possible
+			LayoutState layoutState = navigationModel == null ? null
+					: navigationModel.getLayoutState(getHost().getContent(), bounds);
+			if (layoutState != null && layoutState.isApplicable(getHost().getContent())) {
+				restoreLayout(layoutState);
+			} else {
+				applyLayout(true);
+			}
 		}
 	}
 
 	@Override
 	protected void doDeactivate() {
 		LayoutContext layoutContext = getLayoutContext();
+		// unschedule the layout passes first, so that the visuals are not
+		// updated when a pending asynchronous layout pass is cancelled
 		layoutContext.unschedulePreLayoutPass(preLayout);
 		layoutContext.unschedulePostLayoutPass(postLayout);
+		layoutContext.cancelAsyncLayout();
+		if (layoutExecutor != null) {
+			layoutExecutor.shutdownNow();
+			layoutExecutor = null;
+		}
 		if (nestingVisual != null) {
 			// remove layout change listener from nesting visual
 			nestingVisual.layoutBoundsProperty().removeListener(nestingVisualLayoutBoundsChangeListener);
@@ -223,6 +311,28 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		return getHost().getAdapter(LayoutContext.class);
 	}
 
+	/**
+	 * Returns the {@link ExecutorService} that is used to perform asynchronous
+	 * layout passes. The {@link ExecutorService} uses a single (daemon) thread,
+	 * so that the layout passes are performed sequentially.
+	 *
+	 * @return The {@link ExecutorService} that is used to perform asynchronous
+	 *         layout passes.
+	 */
+	protected ExecutorService getLayoutExecutor() {
+		if (layoutExecutor == null) {
+			layoutExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "Zest Layout");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return layoutExecutor;
+	}
+
 	/**
 	 * Returns the {@link NodePart} that contains the nested graph to which the
 	 * behavior corresponds, if this behavior is related to a nested graph.
@@ -237,6 +347,17 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		return null;
 	}
 
+	/**
+	 * Returns <code>true</code> if layout passes are performed asynchronously,
+	 * otherwise <code>false</code> (default).
+	 *
+	 * @return <code>true</code> if layout passes are performed asynchronously,
+	 *         otherwise <code>false</code>.
+	 */
+	public boolean isAsyncLayout() {
+		return asyncLayout;
+	}
+
 	@Override
 	protected void postLayout() {
 		// execute post-layout of all nodes and edges
@@ -246,6 +367,14 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 				childLayoutBehavior.postLayout();
 			}
 		}
+
+		// cache the layout, so that it can be restored when navigating
+		Graph graph = getHost().getContent();
+		Rectangle bounds = LayoutProperties.getBounds(graph);
+		NavigationModel navigationModel = getHost().getRoot().getViewer().getAdapter(NavigationModel.class);
+		if (navigationModel != null && bounds != null) {
+			navigationModel.setLayoutState(graph, bounds, new LayoutState(graph));
+		}
 	}
 
 	@Override
@@ -259,6 +388,51 @@ public class GraphLayoutBehavior extends AbstractLayoutBehavior {
 		}
 	}
 
+	/**
+	 * Restores the given {@link LayoutState} instead of performing a layout
+	 * pass. The pre and post layout passes are executed as for a regular
+	 * layout pass, so that the visuals are updated accordingly.
+	 *
+	 * @param layoutState
+	 *            The {@link LayoutState} to restore.
+	 */
+	protected void restoreLayout(LayoutState layoutState) {
+		Graph graph = getHost().getContent();
+		LayoutContext layoutContext = getLayoutContext();
+		if (layoutContext.getGraph() != graph) {
+			layoutContext.setGraph(graph);
+		}
+		// results of pending asynchronous layout passes are outdated
+		layoutContext.cancelAsyncLayout();
+		layoutContext.preLayout();
+		layoutState.apply(graph);
+		layoutContext.postLayout();
+	}
+
+	/**
+	 * Specifies whether layout passes are to be performed asynchronously. If
+	 * enabled, a dedicated layout algorithm (see
+	 * {@link #createAsyncLayoutAlgorithm()}) is applied to a snapshot of the
+	 * graph on a background thread, and the results are applied on the JavaFX
+	 * application thread. Outdated results, i.e. results of layout passes that
+	 * were superseded by subsequent layout requests, are discarded, and the
+	 * post layout pass is executed without applying them.
+	 * <p>
+	 * Note that asynchronous layout passes require the layout algorithm of the
+	 * graph to be specified by a {@link Provider} that creates a new
+	 * {@link ILayoutAlgorithm} per call (see
+	 * {@link ZestProperties#setLayoutAlgorithm(Graph, Provider)}). If no
+	 * dedicated layout algorithm can be created, layout passes are silently
+	 * performed synchronously.
+	 *
+	 * @param asyncLayout
+	 *            <code>true</code> to perform layout passes asynchronously,
+	 *            <code>false</code> to perform them synchronously.
+	 */
+	public void setAsyncLayout(boolean asyncLayout) {
+		this.asyncLayout = asyncLayout;
+	}
+
 	/**
 	 * Updates the bounds property from the visual (viewport or nesting node)
 	 */
@@ -0,0 +1,728 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.gef.fx.nodes.InfiniteCanvas;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
+import org.eclipse.gef.mvc.fx.behaviors.ContentPartPool;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+/**
+ * The {@link GraphVirtualizationBehavior} is responsible for the
+ * virtualization of a (root) {@link Graph} for which the
+ * {@link ZestProperties#VIRTUALIZED__G} attribute is set to <code>true</code>.
+ * In this case, the {@link GraphPart} only creates parts for the nodes and
+ * edges that are {@link #getRealizedNodes() realized}, i.e. nodes whose bounds
+ * intersect the viewport (extended by a {@link #getMargin() margin}), edges
+ * that pass through it, and the nodes connected by those edges. Parts of
+ * elements that are no longer realized are stored within the
+ * {@link ContentPartPool}, so that they can be revived when the viewport is
+ * scrolled back.
+ * <p>
+ * The bounds of all nodes are maintained within a uniform grid, which is
+ * rebuilt after each layout pass, and which is invalidated when nodes or
+ * edges are added or removed, or when the {@link ZestProperties#POSITION__N
+ * position} or {@link ZestProperties#SIZE__N size} of a node changes (e.g.
+ * when it is dragged), so that it is rebuilt when the realized elements are
+ * determined the next time. An invisible
+ * placeholder that spans the bounds of all nodes is inserted as the first child
+ * of the visual of the {@link GraphPart}, so that the scrollable bounds of the
+ * {@link InfiniteCanvas} cover the whole graph.
+ * <p>
+ * As the layout algorithm operates on all nodes, the positions and sizes of
+ * the nodes without part are transferred between the {@link ZestProperties}
+ * and the {@link LayoutProperties} by this behavior.
+ */
+// only applicable for GraphPart (see #getHost())
+public class GraphVirtualizationBehavior extends AbstractBehavior {
+
+	/**
+	 * The default margin by which the viewport is extended (in each direction)
+	 * to determine the realized nodes and edges, relative to the size of the
+	 * viewport.
+	 */
+	public static final double DEFAULT_MARGIN = 0.5;
+
+	/**
+	 * The size that is assumed for nodes without part, which do not specify a
+	 * {@link ZestProperties#SIZE__N size}.
+	 */
+	public static final Dimension ESTIMATED_NODE_SIZE = new Dimension(60, 30);
+
+	// edges spanning more grid cells are tested for every query
+	private static final int MAX_EDGE_CELLS = 16;
+
+	private double margin = DEFAULT_MARGIN;
+	private final Rectangle placeholder = new Rectangle();
+
+	// index state
+	private boolean indexValid;
+	private org.eclipse.gef.graph.Node[] nodes = new org.eclipse.gef.graph.Node[0];
+	private Edge[] edges = new Edge[0];
+	private double[] nodeBounds = new double[0];
+	private int[] edgeEnds = new int[0];
+	private int[] nodeCellStart = new int[1];
+	private int[] nodeCellItems = new int[0];
+	private int[] edgeCellStart = new int[1];
+	private int[] edgeCellItems = new int[0];
+	private int[] longEdges = new int[0];
+	private int[] nodeStamps = new int[0];
+	private int[] edgeStamps = new int[0];
+	private int stamp;
+	private double gridX;
+	private double gridY;
+	private double cellWidth = 1;
+	private double cellHeight = 1;
+	private int columns = 1;
+	private int rows = 1;
+
+	// query state
+	private Bounds realizedBounds;
+	private List<org.eclipse.gef.graph.Node> realizedNodes = Collections.emptyList();
+	private List<Edge> realizedEdges = Collections.emptyList();
+
+	private ChangeListener<Object> viewportChangeListener = new ChangeListener<Object>() {
+		@Override
+		public void changed(ObservableValue<? extends Object> observable, Object oldValue, Object newValue) {
+			updateRealizedElements(false);
+		}
+	};
+
+	private MapChangeListener<String, Object> graphAttributesObserver = new MapChangeListener<String, Object>() {
+		@Override
+		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
+			if (ZestProperties.VIRTUALIZED__G.equals(change.getKey())) {
+				invalidate();
+				update(true);
+				getHost().refreshContentChildren();
+			}
+		}
+	};
+
+	private MapChangeListener<String, Object> nodeAttributesObserver = new MapChangeListener<String, Object>() {
+		@Override
+		public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
+			if (ZestProperties.POSITION__N.equals(change.getKey()) || ZestProperties.SIZE__N.equals(change.getKey())) {
+				invalidate();
+			}
+		}
+	};
+
+	private ListChangeListener<org.eclipse.gef.graph.Node> nodesObserver =
+			new ListChangeListener<org.eclipse.gef.graph.Node>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
+			while (change.next()) {
+				if (change.wasAdded() || change.wasRemoved()) {
+					invalidate();
+				}
+				for (org.eclipse.gef.graph.Node node : change.getRemoved()) {
+					node.attributesProperty().removeListener(nodeAttributesObserver);
+				}
+				for (org.eclipse.gef.graph.Node node : change.getAddedSubList()) {
+					node.attributesProperty().addListener(nodeAttributesObserver);
+				}
+			}
+		}
+	};
+
+	private ListChangeListener<Edge> edgesObserver = new ListChangeListener<Edge>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Edge> change) {
+			while (change.next()) {
+				if (change.wasAdded() || change.wasRemoved()) {
+					invalidate();
+				}
+			}
+		}
+	};
+
+	private Runnable preLayout = new Runnable() {
+		@Override
+		public void run() {
+			preLayout();
+		}
+	};
+
+	private Runnable postLayout = new Runnable() {
+		@Override
+		public void run() {
+			postLayout();
+		}
+	};
+
+	/**
+	 * Creates a new {@link GraphVirtualizationBehavior}.
+	 */
+	public GraphVirtualizationBehavior() {
+		placeholder.setFill(Color.TRANSPARENT);
+		placeholder.setMouseTransparent(true);
+		placeholder.setManaged(false);
+	}
+
+	private void buildIndex() {
+		Graph graph = getHost().getContent();
+		nodes = graph.getNodes().toArray(new org.eclipse.gef.graph.Node[0]);
+		edges = graph.getEdges().toArray(new Edge[0]);
+		int n = nodes.length;
+		int m = edges.length;
+		Map<org.eclipse.gef.graph.Node, Integer> indices = new IdentityHashMap<>();
+		nodeBounds = new double[4 * n];
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		int placed = 0;
+		for (int i = 0; i < n; i++) {
+			indices.put(nodes[i], i);
+			if (computeBounds(nodes[i], nodeBounds, 4 * i)) {
+				minX = Math.min(minX, nodeBounds[4 * i]);
+				minY = Math.min(minY, nodeBounds[4 * i + 1]);
+				maxX = Math.max(maxX, nodeBounds[4 * i + 2]);
+				maxY = Math.max(maxY, nodeBounds[4 * i + 3]);
+				placed++;
+			}
+		}
+		edgeEnds = new int[2 * m];
+		for (int e = 0; e < m; e++) {
+			Integer source = indices.get(edges[e].getSource());
+			Integer target = indices.get(edges[e].getTarget());
+			edgeEnds[2 * e] = source == null || Double.isNaN(nodeBounds[4 * source]) ? -1 : source;
+			edgeEnds[2 * e + 1] = target == null || Double.isNaN(nodeBounds[4 * target]) ? -1 : target;
+		}
+		nodeStamps = new int[n];
+		edgeStamps = new int[m];
+		stamp = 0;
+
+		// size the grid so that it contains about one node per cell
+		if (placed == 0) {
+			minX = minY = 0;
+			maxX = maxY = 1;
+		}
+		gridX = minX;
+		gridY = minY;
+		double width = Math.max(maxX - minX, 1);
+		double height = Math.max(maxY - minY, 1);
+		columns = Math.max(1, (int) Math.sqrt(placed * width / height));
+		rows = Math.max(1, (int) Math.sqrt(placed * height / width));
+		cellWidth = width / columns;
+		cellHeight = height / rows;
+		placeholder.setX(minX);
+		placeholder.setY(minY);
+		placeholder.setWidth(placed == 0 ? 0 : maxX - minX);
+		placeholder.setHeight(placed == 0 ? 0 : maxY - minY);
+
+		// fill the cells (counting sort, two passes)
+		nodeCellStart = new int[columns * rows + 1];
+		edgeCellStart = new int[columns * rows + 1];
+		int[] nodeFill = null;
+		int[] edgeFill = null;
+		List<Integer> longEdgeList = new ArrayList<>();
+		for (int pass = 0; pass < 2; pass++) {
+			for (int i = 0; i < n; i++) {
+				if (!Double.isNaN(nodeBounds[4 * i])) {
+					nodeFill = addToCells(nodeBounds[4 * i], nodeBounds[4 * i + 1], nodeBounds[4 * i + 2],
+							nodeBounds[4 * i + 3], i, nodeCellStart, nodeCellItems, nodeFill);
+				}
+			}
+			for (int e = 0; e < m; e++) {
+				int s = edgeEnds[2 * e];
+				int t = edgeEnds[2 * e + 1];
+				if (s < 0 || t < 0) {
+					continue;
+				}
+				double sx = centerX(s);
+				double sy = centerY(s);
+				double tx = centerX(t);
+				double ty = centerY(t);
+				int cells = (cell(Math.max(sx, tx), gridX, cellWidth, columns)
+						- cell(Math.min(sx, tx), gridX, cellWidth, columns) + 1)
+						* (cell(Math.max(sy, ty), gridY, cellHeight, rows)
+								- cell(Math.min(sy, ty), gridY, cellHeight, rows) + 1);
+				if (cells > MAX_EDGE_CELLS) {
+					if (pass == 0) {
+						longEdgeList.add(e);
+					}
+				} else {
+					edgeFill = addToCells(Math.min(sx, tx), Math.min(sy, ty), Math.max(sx, tx), Math.max(sy, ty), e,
+							edgeCellStart, edgeCellItems, edgeFill);
+				}
+			}
+			if (pass == 0) {
+				for (int c = 0; c < columns * rows; c++) {
+					nodeCellStart[c + 1] += nodeCellStart[c];
+					edgeCellStart[c + 1] += edgeCellStart[c];
+				}
+				nodeCellItems = new int[nodeCellStart[columns * rows]];
+				edgeCellItems = new int[edgeCellStart[columns * rows]];
+				nodeFill = Arrays.copyOf(nodeCellStart, columns * rows);
+				edgeFill = Arrays.copyOf(edgeCellStart, columns * rows);
+			}
+		}
+		longEdges = new int[longEdgeList.size()];
+		for (int k = 0; k < longEdges.length; k++) {
+			longEdges[k] = longEdgeList.get(k);
+		}
+		indexValid = true;
+	}
+
+	private int[] addToCells(double minX, double minY, double maxX, double maxY, int item, int[] cellStart,
+			int[] cellItems, int[] fill) {
+		int c0 = cell(minX, gridX, cellWidth, columns);
+		int c1 = cell(maxX, gridX, cellWidth, columns);
+		int r0 = cell(minY, gridY, cellHeight, rows);
+		int r1 = cell(maxY, gridY, cellHeight, rows);
+		for (int r = r0; r <= r1; r++) {
+			for (int c = c0; c <= c1; c++) {
+				if (fill == null) {
+					// first pass: count
+					cellStart[r * columns + c + 1]++;
+				} else {
+					cellItems[fill[r * columns + c]++] = item;
+				}
+			}
+		}
+		return fill;
+	}
+
+	private static int cell(double value, double origin, double cellSize, int cells) {
+		return Math.max(0, Math.min(cells - 1, (int) ((value - origin) / cellSize)));
+	}
+
+	private double centerX(int i) {
+		return (nodeBounds[4 * i] + nodeBounds[4 * i + 2]) / 2;
+	}
+
+	private double centerY(int i) {
+		return (nodeBounds[4 * i + 1] + nodeBounds[4 * i + 3]) / 2;
+	}
+
+	/**
+	 * Stores the bounds of the given node (<code>[min-x, min-y, max-x,
+	 * max-y]</code>) within the given array, using its {@link ZestProperties}
+	 * position and size if available, and its {@link LayoutProperties}
+	 * location and size otherwise. If the position of the node is unknown,
+	 * <code>NaN</code> is stored.
+	 */
+	private boolean computeBounds(org.eclipse.gef.graph.Node node, double[] bounds, int offset) {
+		Point position = ZestProperties.getPosition(node);
+		Dimension size = ZestProperties.getSize(node);
+		if (size == null) {
+			size = LayoutProperties.getSize(node);
+		}
+		if (size == null) {
+			size = ESTIMATED_NODE_SIZE;
+		}
+		if (position == null) {
+			Point location = LayoutProperties.getLocation(node);
+			if (location != null) {
+				position = location.getTranslated(-size.width / 2, -size.height / 2);
+			}
+		}
+		if (position == null || Double.isNaN(position.x) || Double.isNaN(position.y)) {
+			Arrays.fill(bounds, offset, offset + 4, Double.NaN);
+			return false;
+		}
+		bounds[offset] = position.x;
+		bounds[offset + 1] = position.y;
+		bounds[offset + 2] = position.x + size.width;
+		bounds[offset + 3] = position.y + size.height;
+		return true;
+	}
+
+	@Override
+	protected void doActivate() {
+		LayoutContext layoutContext = getLayoutContext();
+		layoutContext.schedulePreLayoutPass(preLayout);
+		layoutContext.schedulePostLayoutPass(postLayout);
+		Graph graph = getHost().getContent();
+		graph.attributesProperty().addListener(graphAttributesObserver);
+		graph.getNodes().addListener(nodesObserver);
+		graph.getEdges().addListener(edgesObserver);
+		for (org.eclipse.gef.graph.Node node : graph.getNodes()) {
+			node.attributesProperty().addListener(nodeAttributesObserver);
+		}
+		getInfiniteCanvas().layoutBoundsProperty().addListener(viewportChangeListener);
+		getHost().getVisual().localToSceneTransformProperty().addListener(viewportChangeListener);
+		// the placeholder is kept behind the visuals of the child parts (which
+		// are inserted after it, see GraphPart#doAddChildVisual())
+		getHost().getVisual().getChildren().add(0, placeholder);
+
+		// a layout pass may already have been applied
+		if (isVirtualized()) {
+			transferLayout();
+		}
+		invalidate();
+		updateRealizedElements(true);
+	}
+
+	@Override
+	protected void doDeactivate() {
+		LayoutContext layoutContext = getLayoutContext();
+		layoutContext.unschedulePreLayoutPass(preLayout);
+		layoutContext.unschedulePostLayoutPass(postLayout);
+		Graph graph = getHost().getContent();
+		graph.attributesProperty().removeListener(graphAttributesObserver);
+		graph.getNodes().removeListener(nodesObserver);
+		graph.getEdges().removeListener(edgesObserver);
+		for (org.eclipse.gef.graph.Node node : graph.getNodes()) {
+			node.attributesProperty().removeListener(nodeAttributesObserver);
+		}
+		getInfiniteCanvas().layoutBoundsProperty().removeListener(viewportChangeListener);
+		getHost().getVisual().localToSceneTransformProperty().removeListener(viewportChangeListener);
+		getHost().getVisual().getChildren().remove(placeholder);
+		realizedBounds = null;
+	}
+
+	@Override
+	public GraphPart getHost() {
+		return (GraphPart) super.getHost();
+	}
+
+	/**
+	 * Returns the {@link InfiniteCanvas} of the viewer of the
+	 * {@link #getHost() host}.
+	 *
+	 * @return The {@link InfiniteCanvas} of the viewer of the
+	 *         {@link #getHost() host}.
+	 */
+	protected InfiniteCanvas getInfiniteCanvas() {
+		return ((InfiniteCanvasViewer) getHost().getRoot().getViewer()).getCanvas();
+	}
+
+	/**
+	 * Returns the {@link LayoutContext} of the {@link #getHost() host}.
+	 *
+	 * @return The {@link LayoutContext} of the {@link #getHost() host}.
+	 */
+	protected LayoutContext getLayoutContext() {
+		return getHost().getAdapter(LayoutContext.class);
+	}
+
+	/**
+	 * Returns the margin by which the viewport is extended (in each direction)
+	 * to determine the realized nodes and edges, relative to the size of the
+	 * viewport.
+	 *
+	 * @return The margin, relative to the size of the viewport.
+	 */
+	public double getMargin() {
+		return margin;
+	}
+
+	/**
+	 * Returns the {@link Edge}s (in the order of the graph) that are currently
+	 * realized, i.e. that pass through the extended viewport.
+	 *
+	 * @return The realized {@link Edge}s.
+	 */
+	public List<Edge> getRealizedEdges() {
+		if (!indexValid) {
+			update(true);
+		}
+		return realizedEdges;
+	}
+
+	/**
+	 * Returns the {@link org.eclipse.gef.graph.Node}s (in the order of the
+	 * graph) that are currently realized, i.e. that intersect the extended
+	 * viewport or that are connected by a {@link #getRealizedEdges() realized
+	 * edge}.
+	 *
+	 * @return The realized {@link org.eclipse.gef.graph.Node}s.
+	 */
+	public List<org.eclipse.gef.graph.Node> getRealizedNodes() {
+		if (!indexValid) {
+			update(true);
+		}
+		return realizedNodes;
+	}
+
+	/**
+	 * Returns the visible bounds of the viewport within the coordinate system
+	 * of the {@link #getHost() host}'s visual.
+	 *
+	 * @return The bounds of the viewport within the host visual.
+	 */
+	protected Bounds getViewportBounds() {
+		InfiniteCanvas canvas = getInfiniteCanvas();
+		return getHost().getVisual().sceneToLocal(canvas.localToScene(canvas.getLayoutBounds()));
+	}
+
+	private boolean hasPart(org.eclipse.gef.graph.Node node) {
+		IContentPart<? extends Node> part = getHost().getRoot().getViewer().getContentPartMap().get(node);
+		return part != null && part.getParent() != null;
+	}
+
+	/**
+	 * Invalidates the spatial index, so that it is rebuilt before the realized
+	 * elements are determined the next time. The index is invalidated
+	 * automatically when nodes or edges are added or removed, or when the
+	 * {@link ZestProperties#POSITION__N position} or
+	 * {@link ZestProperties#SIZE__N size} of a node changes.
+	 */
+	public void invalidate() {
+		indexValid = false;
+	}
+
+	/**
+	 * Returns <code>true</code> if the {@link #getHost() host} is virtualized,
+	 * i.e. it is a root graph and the {@link ZestProperties#VIRTUALIZED__G}
+	 * attribute is set to <code>true</code>. Otherwise returns
+	 * <code>false</code>.
+	 *
+	 * @return <code>true</code> if the host is virtualized, otherwise
+	 *         <code>false</code>.
+	 */
+	public boolean isVirtualized() {
+		Graph graph = getHost().getContent();
+		return graph != null && graph.getNestingNode() == null
+				&& Boolean.TRUE.equals(ZestProperties.getVirtualized(graph));
+	}
+
+	private boolean passesThrough(int e, Bounds bounds) {
+		// Liang-Barsky clipping of the line between the node centers
+		double x0 = centerX(edgeEnds[2 * e]);
+		double y0 = centerY(edgeEnds[2 * e]);
+		double dx = centerX(edgeEnds[2 * e + 1]) - x0;
+		double dy = centerY(edgeEnds[2 * e + 1]) - y0;
+		double[] p = new double[] { -dx, dx, -dy, dy };
+		double[] q = new double[] { x0 - bounds.getMinX(), bounds.getMaxX() - x0, y0 - bounds.getMinY(),
+				bounds.getMaxY() - y0 };
+		double t0 = 0;
+		double t1 = 1;
+		for (int k = 0; k < 4; k++) {
+			if (p[k] == 0) {
+				if (q[k] < 0) {
+					return false;
+				}
+			} else {
+				double t = q[k] / p[k];
+				if (p[k] < 0) {
+					t0 = Math.max(t0, t);
+				} else {
+					t1 = Math.min(t1, t);
+				}
+				if (t0 > t1) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Transfers the {@link ZestProperties} of the nodes without part to their
+	 * {@link LayoutProperties}, as the {@link NodeLayoutBehavior} would do for
+	 * the nodes with part. Nodes without size are assumed to be of the
+	 * {@link #ESTIMATED_NODE_SIZE}.
+	 */
+	protected void preLayout() {
+		if (!isVirtualized()) {
+			return;
+		}
+		for (org.eclipse.gef.graph.Node node : getHost().getContent().getNodes()) {
+			if (hasPart(node)) {
+				continue;
+			}
+			Dimension size = ZestProperties.getSize(node);
+			if (size == null) {
+				size = LayoutProperties.getSize(node);
+			}
+			if (size == null) {
+				size = ESTIMATED_NODE_SIZE;
+			}
+			LayoutProperties.setSize(node, size.getCopy());
+			Point position = ZestProperties.getPosition(node);
+			if (position != null) {
+				LayoutProperties.setLocation(node, position.getTranslated(size.getScaled(0.5)));
+			}
+		}
+	}
+
+	/**
+	 * Transfers the {@link LayoutProperties} of the nodes without part to
+	 * their {@link ZestProperties} and updates the realized elements.
+	 */
+	protected void postLayout() {
+		if (!isVirtualized()) {
+			return;
+		}
+		transferLayout();
+		invalidate();
+		updateRealizedElements(true);
+	}
+
+	private void query(Bounds bounds) {
+		int c0 = cell(bounds.getMinX(), gridX, cellWidth, columns);
+		int c1 = cell(bounds.getMaxX(), gridX, cellWidth, columns);
+		int r0 = cell(bounds.getMinY(), gridY, cellHeight, rows);
+		int r1 = cell(bounds.getMaxY(), gridY, cellHeight, rows);
+		stamp++;
+		List<Integer> nodeIndices = new ArrayList<>();
+		List<Integer> edgeIndices = new ArrayList<>();
+		for (int r = r0; r <= r1; r++) {
+			for (int c = c0; c <= c1; c++) {
+				int cell = r * columns + c;
+				for (int k = nodeCellStart[cell]; k < nodeCellStart[cell + 1]; k++) {
+					int i = nodeCellItems[k];
+					if (nodeStamps[i] != stamp && nodeBounds[4 * i] <= bounds.getMaxX()
+							&& nodeBounds[4 * i + 2] >= bounds.getMinX() && nodeBounds[4 * i + 1] <= bounds.getMaxY()
+							&& nodeBounds[4 * i + 3] >= bounds.getMinY()) {
+						nodeStamps[i] = stamp;
+						nodeIndices.add(i);
+					}
+				}
+				for (int k = edgeCellStart[cell]; k < edgeCellStart[cell + 1]; k++) {
+					int e = edgeCellItems[k];
+					if (edgeStamps[e] != stamp) {
+						edgeStamps[e] = stamp;
+						if (passesThrough(e, bounds)) {
+							edgeIndices.add(e);
+						}
+					}
+				}
+			}
+		}
+		for (int e : longEdges) {
+			if (passesThrough(e, bounds)) {
+				edgeIndices.add(e);
+			}
+		}
+		// the nodes of realized edges need to be realized, too
+		for (int e : edgeIndices) {
+			for (int end = 0; end < 2; end++) {
+				int i = edgeEnds[2 * e + end];
+				if (nodeStamps[i] != stamp) {
+					nodeStamps[i] = stamp;
+					nodeIndices.add(i);
+				}
+			}
+		}
+		Collections.sort(nodeIndices);
+		Collections.sort(edgeIndices);
+		realizedNodes = new ArrayList<>(nodeIndices.size());
+		for (int i : nodeIndices) {
+			realizedNodes.add(nodes[i]);
+		}
+		realizedEdges = new ArrayList<>(edgeIndices.size());
+		for (int e : edgeIndices) {
+			realizedEdges.add(edges[e]);
+		}
+	}
+
+	/**
+	 * Sets the margin by which the viewport is extended (in each direction) to
+	 * determine the realized nodes and edges, relative to the size of the
+	 * viewport.
+	 *
+	 * @param margin
+	 *            The new margin, relative to the size of the viewport.
+	 */
+	public void setMargin(double margin) {
+		if (margin < 0) {
+			throw new IllegalArgumentException("Invalid margin: " + margin);
+		}
+		this.margin = margin;
+		if (isActive()) {
+			updateRealizedElements(true);
+		}
+	}
+
+	private void transferLayout() {
+		for (org.eclipse.gef.graph.Node node : getHost().getContent().getNodes()) {
+			if (hasPart(node)) {
+				// transferred by NodeLayoutBehavior
+				continue;
+			}
+			Dimension size = LayoutProperties.getSize(node);
+			if (size != null) {
+				ZestProperties.setSize(node, size.getCopy());
+			}
+			Point location = LayoutProperties.getLocation(node);
+			if (location != null && size != null) {
+				ZestProperties.setPosition(node, location.getTranslated(size.getScaled(0.5).getNegated()));
+			}
+		}
+	}
+
+	/**
+	 * Determines the realized nodes and edges for the current viewport. If
+	 * they changed, the content children of the {@link #getHost() host} are
+	 * refreshed. Unless forced, the realized elements are only determined
+	 * anew when the viewport leaves the extended viewport of the last update.
+	 *
+	 * @param force
+	 *            <code>true</code> to determine the realized elements even if
+	 *            the viewport is still contained within the extended viewport
+	 *            of the last update, otherwise <code>false</code>.
+	 */
+	protected void updateRealizedElements(boolean force) {
+		if (update(force) && isActive()) {
+			getHost().refreshContentChildren();
+		}
+	}
+
+	private boolean update(boolean force) {
+		List<org.eclipse.gef.graph.Node> oldNodes = realizedNodes;
+		List<Edge> oldEdges = realizedEdges;
+		if (!isActive() || !isVirtualized()) {
+			realizedNodes = Collections.emptyList();
+			realizedEdges = Collections.emptyList();
+			realizedBounds = null;
+			placeholder.setWidth(0);
+			placeholder.setHeight(0);
+		} else {
+			Bounds viewport = getViewportBounds();
+			if (!force && indexValid && realizedBounds != null && realizedBounds.contains(viewport)) {
+				return false;
+			}
+			if (!indexValid) {
+				buildIndex();
+			}
+			double marginX = viewport.getWidth() * margin;
+			double marginY = viewport.getHeight() * margin;
+			realizedBounds = new BoundingBox(viewport.getMinX() - marginX, viewport.getMinY() - marginY,
+					viewport.getWidth() + 2 * marginX, viewport.getHeight() + 2 * marginY);
+			query(realizedBounds);
+		}
+		return !oldNodes.equals(realizedNodes) || !oldEdges.equals(realizedEdges);
+	}
+
+}
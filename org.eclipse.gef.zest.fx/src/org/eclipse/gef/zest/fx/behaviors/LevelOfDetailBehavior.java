@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.behaviors;
+
+import java.util.ArrayList;
+
+import org.eclipse.gef.geometry.convert.fx.FX2Geometry;
+import org.eclipse.gef.mvc.fx.behaviors.AbstractBehavior;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.zest.fx.parts.EdgePart;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.eclipse.gef.zest.fx.parts.NodePart;
+
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Node;
+import javafx.scene.transform.Transform;
+
+/**
+ * The {@link LevelOfDetailBehavior} determines whether the children of its
+ * {@link #getHost() host} {@link GraphPart} are to be rendered in a simplified
+ * manner, depending on the zoom level (i.e. the scale of the host visual
+ * within the scene). When the zoom level falls below the
+ * {@link #getSimplifyZoomLevel() simplify zoom level}, {@link NodePart}s only
+ * render a filled rectangle, {@link EdgePart}s only render a polyline without
+ * decorations, and labels are not rendered. The details are rendered again
+ * once the zoom level exceeds the (greater) {@link #getDetailZoomLevel() detail
+ * zoom level}, so that the visuals do not flicker when zooming around a single
+ * threshold.
+ */
+// only applicable for GraphPart (see #getHost())
+public class LevelOfDetailBehavior extends AbstractBehavior {
+
+	/**
+	 * The default zoom level below which the children are rendered in a
+	 * simplified manner.
+	 */
+	public static final double DEFAULT_SIMPLIFY_ZOOM_LEVEL = 0.4;
+
+	/**
+	 * The default zoom level above which the children are rendered in detail
+	 * (again).
+	 */
+	public static final double DEFAULT_DETAIL_ZOOM_LEVEL = 0.5;
+
+	/**
+	 * Returns <code>true</code> if the given {@link IVisualPart} is to be
+	 * rendered in a simplified manner, i.e. if its parent has a
+	 * {@link LevelOfDetailBehavior} that is {@link #isSimplified()
+	 * simplified}. Otherwise returns <code>false</code>.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} to test.
+	 * @return <code>true</code> if the given part is to be rendered in a
+	 *         simplified manner, otherwise <code>false</code>.
+	 */
+	public static boolean isSimplified(IVisualPart<? extends Node> part) {
+		IVisualPart<? extends Node> parent = part.getParent();
+		if (parent == null) {
+			return false;
+		}
+		LevelOfDetailBehavior behavior = parent.getAdapter(LevelOfDetailBehavior.class);
+		return behavior != null && behavior.isSimplified();
+	}
+
+	private double simplifyZoomLevel = DEFAULT_SIMPLIFY_ZOOM_LEVEL;
+	private double detailZoomLevel = DEFAULT_DETAIL_ZOOM_LEVEL;
+	private boolean simplified;
+
+	private ChangeListener<Transform> transformChangeListener = new ChangeListener<Transform>() {
+		@Override
+		public void changed(ObservableValue<? extends Transform> observable, Transform oldValue, Transform newValue) {
+			updateLevelOfDetail();
+		}
+	};
+
+	@Override
+	protected void doActivate() {
+		getHost().getVisual().localToSceneTransformProperty().addListener(transformChangeListener);
+		updateLevelOfDetail();
+	}
+
+	@Override
+	protected void doDeactivate() {
+		getHost().getVisual().localToSceneTransformProperty().removeListener(transformChangeListener);
+		setSimplified(false);
+	}
+
+	/**
+	 * Returns the zoom level above which the children are rendered in detail
+	 * (again).
+	 *
+	 * @return The zoom level above which the children are rendered in detail.
+	 */
+	public double getDetailZoomLevel() {
+		return detailZoomLevel;
+	}
+
+	@Override
+	public GraphPart getHost() {
+		return (GraphPart) super.getHost();
+	}
+
+	/**
+	 * Returns the zoom level below which the children are rendered in a
+	 * simplified manner.
+	 *
+	 * @return The zoom level below which the children are rendered in a
+	 *         simplified manner.
+	 */
+	public double getSimplifyZoomLevel() {
+		return simplifyZoomLevel;
+	}
+
+	/**
+	 * Returns the current zoom level, i.e. the horizontal scale of the
+	 * {@link #getHost() host} visual within the scene.
+	 *
+	 * @return The current zoom level.
+	 */
+	protected double getZoomLevel() {
+		return FX2Geometry.toAffineTransform(getHost().getVisual().getLocalToSceneTransform()).getScaleX();
+	}
+
+	/**
+	 * Returns <code>true</code> if the children of the {@link #getHost() host}
+	 * are currently rendered in a simplified manner. Otherwise returns
+	 * <code>false</code>.
+	 *
+	 * @return <code>true</code> if the children are rendered in a simplified
+	 *         manner, otherwise <code>false</code>.
+	 */
+	public boolean isSimplified() {
+		return simplified;
+	}
+
+	private void setSimplified(boolean simplified) {
+		if (this.simplified == simplified) {
+			return;
+		}
+		this.simplified = simplified;
+		for (IVisualPart<? extends Node> child : new ArrayList<>(getHost().getChildrenUnmodifiable())) {
+			child.refreshVisual();
+		}
+	}
+
+	/**
+	 * Sets the zoom levels below which the children are rendered in a
+	 * simplified manner, and above which they are rendered in detail (again).
+	 * The detail zoom level may not be less than the simplify zoom level.
+	 *
+	 * @param simplifyZoomLevel
+	 *            The zoom level below which the children are rendered in a
+	 *            simplified manner.
+	 * @param detailZoomLevel
+	 *            The zoom level above which the children are rendered in
+	 *            detail.
+	 */
+	public void setZoomLevels(double simplifyZoomLevel, double detailZoomLevel) {
+		if (simplifyZoomLevel < 0 || detailZoomLevel < simplifyZoomLevel) {
+			throw new IllegalArgumentException(
+					"Invalid zoom levels: " + simplifyZoomLevel + ", " + detailZoomLevel);
+		}
+		this.simplifyZoomLevel = simplifyZoomLevel;
+		this.detailZoomLevel = detailZoomLevel;
+		if (isActive()) {
+			updateLevelOfDetail();
+		}
+	}
+
+	/**
+	 * Determines the level of detail for the current zoom level and refreshes
+	 * the visuals of the children of the {@link #getHost() host} if it
+	 * changed.
+	 */
+	protected void updateLevelOfDetail() {
+		double zoomLevel = getZoomLevel();
+		if (!simplified && zoomLevel < simplifyZoomLevel) {
+			setSimplified(true);
+		} else if (simplified && zoomLevel > detailZoomLevel) {
+			setSimplified(false);
+		}
+	}
+
+}
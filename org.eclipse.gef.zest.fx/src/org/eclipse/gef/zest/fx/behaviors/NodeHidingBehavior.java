@@ -13,8 +13,6 @@
 package org.eclipse.gef.zest.fx.behaviors;
 
 import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
 
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.zest.fx.models.HidingModel;
@@ -41,17 +39,7 @@ import javafx.scene.Node;
 public class NodeHidingBehavior extends AbstractHidingBehavior {
 
 	private IVisualPart<? extends Node> hiddenNeighborsFeedbackPart;
-
-	private boolean containsAny(Set<org.eclipse.gef.graph.Node> hidden, Set<org.eclipse.gef.graph.Node> neighbors) {
-		boolean containsAny = false;
-		for (org.eclipse.gef.graph.Node n : neighbors) {
-			if (hidden.contains(n)) {
-				containsAny = true;
-				break;
-			}
-		}
-		return containsAny;
-	}
+	private int hiddenNeighborsCount;
 
 	/**
 	 * Creates the {@link HiddenNeighborsFeedbackPart} that shows the hidden
@@ -77,7 +65,8 @@ public class NodeHidingBehavior extends AbstractHidingBehavior {
 		super.doActivate();
 		// create hidden neighbors part if it is already associated with our
 		// host
-		if (getHidingModel().hasHiddenNeighbors(getHost())) {
+		hiddenNeighborsCount = getHidingModel().getHiddenNeighborsCount(getHost().getContent());
+		if (hiddenNeighborsCount > 0) {
 			createHiddenNeighborsFeedbackPart();
 		}
 	}
@@ -86,9 +75,10 @@ public class NodeHidingBehavior extends AbstractHidingBehavior {
 	protected void doDeactivate() {
 		// remove hidden neighbors part if it is currently associated with our
 		// host
-		if (getHidingModel().hasHiddenNeighbors(getHost())) {
+		if (hiddenNeighborsCount > 0) {
 			removeHiddenNeighborsFeedbackPart();
 		}
+		hiddenNeighborsCount = 0;
 		super.doDeactivate();
 	}
 
@@ -112,24 +102,17 @@ public class NodeHidingBehavior extends AbstractHidingBehavior {
 	protected void onHidingModelChange(SetChangeListener.Change<? extends org.eclipse.gef.graph.Node> change) {
 		super.onHidingModelChange(change);
 
-		Set<org.eclipse.gef.graph.Node> newHidden = new HashSet<>(change.getSet());
-		Set<org.eclipse.gef.graph.Node> oldHidden = new HashSet<>(change.getSet());
-		oldHidden.remove(change.getElementAdded());
-		oldHidden.add(change.getElementRemoved());
-
-		// check if we have to show/hide/update the pruned neighbors part
-		org.eclipse.gef.graph.Node content = getHost().getContent();
-		Set<org.eclipse.gef.graph.Node> neighbors = content.getNeighbors();
-
-		if (!containsAny(oldHidden, neighbors) && containsAny(newHidden, neighbors)) {
+		// check if we have to show/hide/update the pruned neighbors part (the
+		// hiding model maintains the number of hidden neighbors, so that this
+		// does not depend on the number of edges)
+		int oldCount = hiddenNeighborsCount;
+		hiddenNeighborsCount = getHidingModel().getHiddenNeighborsCount(getHost().getContent());
+		if (oldCount == 0 && hiddenNeighborsCount > 0) {
 			createHiddenNeighborsFeedbackPart();
-		} else if (containsAny(oldHidden, neighbors) && !containsAny(newHidden, neighbors)) {
+		} else if (oldCount > 0 && hiddenNeighborsCount == 0) {
 			removeHiddenNeighborsFeedbackPart();
-		} else {
-			// TODO: only necessary when neighbors change
-			if (hiddenNeighborsFeedbackPart != null) {
-				updateHiddenNeighborsFeedbackPart();
-			}
+		} else if (oldCount != hiddenNeighborsCount && hiddenNeighborsFeedbackPart != null) {
+			updateHiddenNeighborsFeedbackPart();
 		}
 	}
 
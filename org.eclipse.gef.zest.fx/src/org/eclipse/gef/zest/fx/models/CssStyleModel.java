@@ -0,0 +1,315 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.fx.models;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.gef.common.dispose.IDisposable;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.zest.fx.parts.ZestFxRootPart;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+
+/**
+ * The {@link CssStyleModel} interns inline CSS styles (as specified by the
+ * style attributes of nodes and edges) as style classes. Each distinct style
+ * is assigned a generated style class, for which a rule is contained within a
+ * generated stylesheet (see {@link #getStylesheetsUnmodifiable()}), which is
+ * added to the visual of the {@link ZestFxRootPart} (see
+ * {@link Parent#getStylesheets()}). This way, a style is only parsed once, and
+ * nodes with equal styles can share their style computations, whereas an
+ * inline style is parsed for each node.
+ * <p>
+ * All rules are contained within a single generated stylesheet, which is
+ * provided as a <code>data:</code> URL, so that it does not need to be written
+ * to disk. The rules of new styles are collected and published at most once
+ * per pulse (using an {@link AnimationTimer}, which runs before the CSS of the
+ * pulse is processed), by replacing the generated stylesheet. Outside of the
+ * JavaFX application thread, the rules are published synchronously. The
+ * style classes are prefixed with an identifier of the model, so that the
+ * rules of different viewers within the same {@link javafx.scene.Scene} do
+ * not clash.
+ * <p>
+ * Like inline styles, the generated rules apply to the styled node only
+ * (inheritable properties are inherited by its descendants as usual), and
+ * their declarations are marked as <code>!important</code>, so that they take
+ * precedence over the rules of other stylesheets, including those that use
+ * IDs.
+ * <p>
+ * JavaFX only supports loading stylesheets from <code>data:</code> URLs since
+ * version 17. On older JavaFX runtimes, {@link #setStyle(IVisualPart, Node,
+ * String)} therefore sets the styles inline.
+ */
+public class CssStyleModel implements IDisposable {
+
+	/**
+	 * The prefix of the generated style classes.
+	 */
+	public static final String STYLE_CLASS_PREFIX = "zest-style-";
+
+	private static final AtomicInteger MODEL_IDS = new AtomicInteger();
+
+	// the first JavaFX version that loads stylesheets from data: URLs
+	private static final int DATA_URL_JAVAFX_VERSION = 17;
+
+	private static Boolean dataUrlSupported;
+
+	/**
+	 * Returns <code>true</code> if the JavaFX runtime supports loading
+	 * stylesheets from <code>data:</code> URLs. Otherwise returns
+	 * <code>false</code>.
+	 */
+	private static boolean isDataUrlSupported() {
+		if (dataUrlSupported == null) {
+			String version = System.getProperty("javafx.runtime.version", System.getProperty("javafx.version", ""));
+			int major = 0;
+			for (int i = 0; i < version.length() && Character.isDigit(version.charAt(i)); i++) {
+				major = 10 * major + version.charAt(i) - '0';
+			}
+			dataUrlSupported = major >= DATA_URL_JAVAFX_VERSION;
+		}
+		return dataUrlSupported;
+	}
+
+	/**
+	 * Applies the given inline CSS style to the given {@link Node}. If a
+	 * {@link CssStyleModel} is bound to the viewer of the given
+	 * {@link IVisualPart} and the JavaFX runtime supports the generated
+	 * stylesheets, the style is {@link #applyStyle(Node, String) applied as a
+	 * style class}. Otherwise it is set as inline style.
+	 *
+	 * @param part
+	 *            The {@link IVisualPart} that controls the given {@link Node}.
+	 * @param node
+	 *            The {@link Node} to which the style is applied.
+	 * @param style
+	 *            The inline CSS style to apply, may be <code>null</code>.
+	 */
+	public static void setStyle(IVisualPart<? extends Node> part, Node node, String style) {
+		IViewer viewer = part.getRoot() == null ? null : part.getRoot().getViewer();
+		CssStyleModel cssStyleModel = viewer == null || !isDataUrlSupported() ? null
+				: viewer.getAdapter(CssStyleModel.class);
+		if (cssStyleModel == null) {
+			node.setStyle(style);
+		} else {
+			cssStyleModel.applyStyle(node, style);
+		}
+	}
+
+	/**
+	 * Splits the given inline CSS style into its declarations, and marks each
+	 * declaration as <code>!important</code>.
+	 *
+	 * @param style
+	 *            The inline CSS style.
+	 * @return The declarations of the given style, marked as
+	 *         <code>!important</code>.
+	 */
+	private static String toImportantDeclarations(String style) {
+		List<String> declarations = new ArrayList<>();
+		int start = 0;
+		int depth = 0;
+		char quote = 0;
+		for (int i = 0; i <= style.length(); i++) {
+			char c = i < style.length() ? style.charAt(i) : ';';
+			if (quote != 0) {
+				if (c == quote) {
+					quote = 0;
+				}
+			} else if (c == '"' || c == '\'') {
+				quote = c;
+			} else if (c == '(') {
+				depth++;
+			} else if (c == ')') {
+				depth--;
+			} else if (c == ';' && depth <= 0) {
+				String declaration = style.substring(start, Math.min(i, style.length())).trim();
+				if (!declaration.isEmpty()) {
+					declarations.add(declaration);
+				}
+				start = i + 1;
+			}
+		}
+		StringBuilder sb = new StringBuilder();
+		for (String declaration : declarations) {
+			sb.append(declaration);
+			if (!declaration.replace(" ", "").toLowerCase().endsWith("!important")) {
+				sb.append(" !important");
+			}
+			sb.append("; ");
+		}
+		return sb.toString();
+	}
+
+	private final String styleClassPrefix = STYLE_CLASS_PREFIX + MODEL_IDS.getAndIncrement() + "-";
+	private Map<String, String> styleClasses = new HashMap<>();
+	private ObservableList<String> stylesheets = FXCollections.observableArrayList();
+	// cached, so that listeners registered at it are not garbage collected
+	private ObservableList<String> stylesheetsUnmodifiable = FXCollections.unmodifiableObservableList(stylesheets);
+	private StringBuilder rules = new StringBuilder();
+	private boolean rulesChanged = false;
+	private AnimationTimer pulseTimer;
+	private boolean pulseTimerRunning = false;
+
+	/**
+	 * Applies the given inline CSS style to the given {@link Node} by
+	 * replacing its previously applied style class with the style class for
+	 * the given style.
+	 *
+	 * @param node
+	 *            The {@link Node} to which the style is applied.
+	 * @param style
+	 *            The inline CSS style to apply, may be <code>null</code>.
+	 */
+	public void applyStyle(Node node, String style) {
+		String styleClass = getStyleClass(style);
+		Iterator<String> it = node.getStyleClass().iterator();
+		while (it.hasNext()) {
+			String existing = it.next();
+			if (existing.startsWith(styleClassPrefix)) {
+				if (existing.equals(styleClass)) {
+					return;
+				}
+				it.remove();
+			}
+		}
+		if (styleClass != null) {
+			node.getStyleClass().add(styleClass);
+		}
+	}
+
+	@Override
+	public void dispose() {
+		stopPulseTimer();
+		stylesheets.clear();
+		rules.setLength(0);
+		rulesChanged = false;
+		styleClasses.clear();
+	}
+
+	/**
+	 * Publishes the rules of the styles that were interned since the last
+	 * publication by replacing the generated stylesheet (see
+	 * {@link #getStylesheetsUnmodifiable()}). Does nothing if no new styles
+	 * were interned.
+	 */
+	public void flush() {
+		stopPulseTimer();
+		if (!rulesChanged) {
+			return;
+		}
+		rulesChanged = false;
+		String url = toDataUrl(rules.toString());
+		if (stylesheets.isEmpty()) {
+			stylesheets.add(url);
+		} else {
+			stylesheets.set(0, url);
+		}
+	}
+
+	/**
+	 * Returns the style class for the given inline CSS style. If the style
+	 * was not interned before, a new style class is generated, and its rule is
+	 * published (before the next pulse) via
+	 * {@link #getStylesheetsUnmodifiable()}. Returns <code>null</code> for
+	 * <code>null</code> or empty styles.
+	 *
+	 * @param style
+	 *            The inline CSS style.
+	 * @return The style class for the given inline CSS style.
+	 */
+	public String getStyleClass(String style) {
+		if (style == null || style.trim().isEmpty()) {
+			return null;
+		}
+		String styleClass = styleClasses.get(style);
+		if (styleClass == null) {
+			styleClass = styleClassPrefix + styleClasses.size();
+			styleClasses.put(style, styleClass);
+			// the repeated class increases the specificity of the selector
+			String selector = "." + styleClass + "." + styleClass + "." + styleClass;
+			rules.append(selector).append(" { ").append(toImportantDeclarations(style)).append("}\n");
+			rulesChanged = true;
+			if (Platform.isFxApplicationThread()) {
+				startPulseTimer();
+			} else {
+				flush();
+			}
+		}
+		return styleClass;
+	}
+
+	/**
+	 * Returns an unmodifiable list containing the URL of the generated
+	 * stylesheet that contains the rules for the generated style classes. The
+	 * list is empty until the first style is published, and the URL is
+	 * replaced whenever the rules of new styles are published, until this
+	 * model is disposed.
+	 *
+	 * @return An unmodifiable list containing the URL of the generated
+	 *         stylesheet.
+	 */
+	public ObservableList<String> getStylesheetsUnmodifiable() {
+		return stylesheetsUnmodifiable;
+	}
+
+	private void startPulseTimer() {
+		if (pulseTimerRunning) {
+			return;
+		}
+		if (pulseTimer == null) {
+			pulseTimer = new AnimationTimer() {
+				@Override
+				public void handle(long now) {
+					flush();
+				}
+			};
+		}
+		pulseTimer.start();
+		pulseTimerRunning = true;
+	}
+
+	private void stopPulseTimer() {
+		// stop the timer when idle, so that it does not enforce pulses
+		if (pulseTimerRunning) {
+			pulseTimer.stop();
+			pulseTimerRunning = false;
+		}
+	}
+
+	/**
+	 * Returns a <code>data:</code> URL for a stylesheet that contains the
+	 * given rules.
+	 *
+	 * @param rules
+	 *            The rules of the stylesheet.
+	 * @return A <code>data:</code> URL for the stylesheet.
+	 */
+	protected String toDataUrl(String rules) {
+		return "data:text/css;base64," + Base64.getEncoder().encodeToString(rules.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
@@ -12,25 +12,53 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.models;
 
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Predicate;
 
+import org.eclipse.gef.common.collections.SetListenerHelperEx;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.zest.fx.parts.NodePart;
 
+import javafx.beans.InvalidationListener;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
 import javafx.beans.property.ReadOnlySetProperty;
-import javafx.beans.property.ReadOnlySetWrapper;
-import javafx.collections.FXCollections;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableSet;
+import javafx.collections.SetChangeListener;
 
 /**
  * The {@link HidingModel} manages a {@link Set} of currently hidden
  * {@link org.eclipse.gef.graph.Node}s. The hidden neighbors of a
  * {@link org.eclipse.gef.graph.Node} can be identified using
  * {@link #getHiddenNeighbors(org.eclipse.gef.graph.Node)}.
+ * <p>
+ * The hidden neighbors are maintained incrementally, i.e. they are updated
+ * when a node is hidden or shown, and when the edges of a graph that contains
+ * hidden nodes change. Therefore, {@link #hasHiddenNeighbors(Node)} and
+ * {@link #getHiddenNeighborsCount(Node)} do not need to scan the edges of the
+ * graph.
+ * <p>
+ * Multiple nodes can be hidden or shown at once (see {@link #hide(Collection)}
+ * and {@link #show(Collection)}). Such a bulk operation is applied atomically,
+ * i.e. the listeners are notified once, by a {@link HiddenNodesChange} that
+ * reports all hidden or shown nodes, after the hidden neighbors have been
+ * updated for all of them.
  *
  * @author mwienand
  *
@@ -43,8 +71,321 @@ public class HidingModel {
 	 */
 	public static final String HIDDEN_PROPERTY = "hidden";
 
-	private ReadOnlySetWrapper<org.eclipse.gef.graph.Node> hiddenProperty = new ReadOnlySetWrapper<>(this,
-			HIDDEN_PROPERTY, FXCollections.observableSet(new HashSet<org.eclipse.gef.graph.Node>()));
+	/**
+	 * A {@link SetChangeListener.Change} of the hidden
+	 * {@link org.eclipse.gef.graph.Node}s, which reports all
+	 * {@link org.eclipse.gef.graph.Node}s that were hidden (or shown) at once.
+	 * As a {@link SetChangeListener.Change} can only provide a single added
+	 * (or removed) element, {@link #getElementAdded()} and
+	 * {@link #getElementRemoved()} return the first of them, while
+	 * {@link #getNodesAdded()} and {@link #getNodesRemoved()} return all of
+	 * them.
+	 */
+	public static class HiddenNodesChange extends SetChangeListener.Change<Node> {
+
+		private final List<Node> nodesAdded;
+		private final List<Node> nodesRemoved;
+
+		/**
+		 * Creates a new {@link HiddenNodesChange} for the given hidden and
+		 * shown {@link org.eclipse.gef.graph.Node}s.
+		 *
+		 * @param set
+		 *            The {@link ObservableSet} of hidden
+		 *            {@link org.eclipse.gef.graph.Node}s.
+		 * @param nodesAdded
+		 *            The {@link org.eclipse.gef.graph.Node}s that were hidden.
+		 * @param nodesRemoved
+		 *            The {@link org.eclipse.gef.graph.Node}s that were shown.
+		 */
+		public HiddenNodesChange(ObservableSet<Node> set, List<Node> nodesAdded, List<Node> nodesRemoved) {
+			super(set);
+			this.nodesAdded = Collections.unmodifiableList(nodesAdded);
+			this.nodesRemoved = Collections.unmodifiableList(nodesRemoved);
+		}
+
+		@Override
+		public Node getElementAdded() {
+			return nodesAdded.isEmpty() ? null : nodesAdded.get(0);
+		}
+
+		@Override
+		public Node getElementRemoved() {
+			return nodesRemoved.isEmpty() ? null : nodesRemoved.get(0);
+		}
+
+		/**
+		 * Returns an unmodifiable list containing all
+		 * {@link org.eclipse.gef.graph.Node}s that were hidden by this
+		 * change.
+		 *
+		 * @return An unmodifiable list containing the hidden
+		 *         {@link org.eclipse.gef.graph.Node}s.
+		 */
+		public List<Node> getNodesAdded() {
+			return nodesAdded;
+		}
+
+		/**
+		 * Returns an unmodifiable list containing all
+		 * {@link org.eclipse.gef.graph.Node}s that were shown by this change.
+		 *
+		 * @return An unmodifiable list containing the shown
+		 *         {@link org.eclipse.gef.graph.Node}s.
+		 */
+		public List<Node> getNodesRemoved() {
+			return nodesRemoved;
+		}
+
+		@Override
+		public String toString() {
+			return (wasAdded() ? "Hid " + nodesAdded : "Showed " + nodesRemoved) + ".";
+		}
+
+		@Override
+		public boolean wasAdded() {
+			return !nodesAdded.isEmpty();
+		}
+
+		@Override
+		public boolean wasRemoved() {
+			return !nodesRemoved.isEmpty();
+		}
+	}
+
+	/**
+	 * The unmodifiable {@link ObservableSet} of hidden nodes, which notifies
+	 * its listeners by a single {@link HiddenNodesChange} per (bulk)
+	 * operation.
+	 */
+	private class HiddenNodesSet extends AbstractSet<Node> implements ObservableSet<Node> {
+
+		private final Set<Node> nodes = new HashSet<>();
+		private final SetListenerHelperEx<Node> helper = new SetListenerHelperEx<>(this);
+
+		@Override
+		public void addListener(InvalidationListener listener) {
+			helper.addListener(listener);
+		}
+
+		@Override
+		public void addListener(SetChangeListener<? super Node> listener) {
+			helper.addListener(listener);
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return nodes.contains(o);
+		}
+
+		@Override
+		public Iterator<Node> iterator() {
+			return Collections.unmodifiableSet(nodes).iterator();
+		}
+
+		@Override
+		public void removeListener(InvalidationListener listener) {
+			helper.removeListener(listener);
+		}
+
+		@Override
+		public void removeListener(SetChangeListener<? super Node> listener) {
+			helper.removeListener(listener);
+		}
+
+		@Override
+		public int size() {
+			return nodes.size();
+		}
+	}
+
+	/**
+	 * The read-only property containing the {@link HiddenNodesSet}, which
+	 * forwards its {@link HiddenNodesChange}s (without copying them into
+	 * single-element changes).
+	 */
+	private class HiddenProperty extends ReadOnlySetProperty<Node> {
+
+		private final SetListenerHelperEx<Node> helper = new SetListenerHelperEx<>(this);
+		// the value never changes, so the change listeners are never notified
+		private final List<ChangeListener<? super ObservableSet<Node>>> changeListeners = new ArrayList<>();
+		private final ReadOnlyIntegerWrapper size = new ReadOnlyIntegerWrapper(this, "size");
+		private final ReadOnlyBooleanWrapper empty = new ReadOnlyBooleanWrapper(this, "empty", true);
+
+		@Override
+		public void addListener(ChangeListener<? super ObservableSet<Node>> listener) {
+			changeListeners.add(listener);
+		}
+
+		@Override
+		public void addListener(InvalidationListener listener) {
+			helper.addListener(listener);
+		}
+
+		@Override
+		public void addListener(SetChangeListener<? super Node> listener) {
+			helper.addListener(listener);
+		}
+
+		@Override
+		public ReadOnlyBooleanProperty emptyProperty() {
+			return empty.getReadOnlyProperty();
+		}
+
+		@Override
+		public ObservableSet<Node> get() {
+			return hiddenNodes;
+		}
+
+		@Override
+		public Object getBean() {
+			return HidingModel.this;
+		}
+
+		@Override
+		public String getName() {
+			return HIDDEN_PROPERTY;
+		}
+
+		@Override
+		public void removeListener(ChangeListener<? super ObservableSet<Node>> listener) {
+			changeListeners.remove(listener);
+		}
+
+		@Override
+		public void removeListener(InvalidationListener listener) {
+			helper.removeListener(listener);
+		}
+
+		@Override
+		public void removeListener(SetChangeListener<? super Node> listener) {
+			helper.removeListener(listener);
+		}
+
+		@Override
+		public ReadOnlyIntegerProperty sizeProperty() {
+			return size.getReadOnlyProperty();
+		}
+	}
+
+	/**
+	 * Index of the edges that are incident to the nodes of a {@link Graph}
+	 * that contains hidden nodes. It is kept up-to-date with the edges of the
+	 * {@link Graph}, and updates the hidden neighbors accordingly.
+	 */
+	private class GraphIndex implements ListChangeListener<Edge> {
+
+		private final Graph graph;
+		// an edge is contained once per occurrence in the edges of the graph,
+		// and only once for its source if it is a self-loop
+		private final Map<Node, List<Edge>> incidentEdges = new IdentityHashMap<>();
+		private int hiddenCount;
+
+		public GraphIndex(Graph graph) {
+			this.graph = graph;
+			for (Edge edge : graph.getEdges()) {
+				addIncidentEdge(edge);
+			}
+			graph.getEdges().addListener(this);
+		}
+
+		private void addIncidentEdge(Edge edge) {
+			for (Node node : getEndPoints(edge)) {
+				List<Edge> edges = incidentEdges.get(node);
+				if (edges == null) {
+					edges = new ArrayList<>();
+					incidentEdges.put(node, edges);
+				}
+				edges.add(edge);
+			}
+		}
+
+		public void dispose() {
+			graph.getEdges().removeListener(this);
+		}
+
+		private Node[] getEndPoints(Edge edge) {
+			return edge.getSource() == edge.getTarget() ? new Node[] { edge.getSource() }
+					: new Node[] { edge.getSource(), edge.getTarget() };
+		}
+
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends Edge> change) {
+			while (change.next()) {
+				if (change.wasPermutated()) {
+					continue;
+				}
+				for (Edge removed : change.getRemoved()) {
+					removeIncidentEdge(removed);
+					updateHiddenNeighbors(removed, -1);
+				}
+				for (Edge added : change.getAddedSubList()) {
+					addIncidentEdge(added);
+					updateHiddenNeighbors(added, 1);
+				}
+			}
+		}
+
+		private void removeIncidentEdge(Edge edge) {
+			for (Node node : getEndPoints(edge)) {
+				List<Edge> edges = incidentEdges.get(node);
+				if (edges != null) {
+					// remove a single occurrence (by identity)
+					for (int i = 0; i < edges.size(); i++) {
+						if (edges.get(i) == edge) {
+							edges.remove(i);
+							break;
+						}
+					}
+					if (edges.isEmpty()) {
+						incidentEdges.remove(node);
+					}
+				}
+			}
+		}
+	}
+
+	private HiddenNodesSet hiddenNodes = new HiddenNodesSet();
+	private HiddenProperty hiddenProperty = new HiddenProperty();
+
+	// per node, the number of connecting edges per hidden neighbor
+	private Map<Node, Map<Node, Integer>> hiddenNeighbors = new IdentityHashMap<>();
+	private Map<Graph, GraphIndex> graphIndices = new IdentityHashMap<>();
+
+	private void addHiddenNeighbor(Node node, Node hiddenNeighbor, int edgeCount) {
+		Map<Node, Integer> neighbors = hiddenNeighbors.get(node);
+		if (neighbors == null) {
+			neighbors = new IdentityHashMap<>();
+			hiddenNeighbors.put(node, neighbors);
+		}
+		Integer count = neighbors.get(hiddenNeighbor);
+		int newCount = (count == null ? 0 : count) + edgeCount;
+		if (newCount > 0) {
+			neighbors.put(hiddenNeighbor, newCount);
+		} else {
+			neighbors.remove(hiddenNeighbor);
+			if (neighbors.isEmpty()) {
+				hiddenNeighbors.remove(node);
+			}
+		}
+	}
+
+	/**
+	 * Notifies the listeners of the hidden nodes (and of the
+	 * {@link #hiddenProperty()}) about the given hidden and shown nodes by a
+	 * single {@link HiddenNodesChange}, after the size of the hidden nodes was
+	 * updated. Does nothing if no nodes were hidden or shown.
+	 */
+	private void fireHiddenNodesChange(List<Node> nodesAdded, List<Node> nodesRemoved) {
+		if (nodesAdded.isEmpty() && nodesRemoved.isEmpty()) {
+			return;
+		}
+		hiddenProperty.size.set(hiddenNodes.size());
+		hiddenProperty.empty.set(hiddenNodes.isEmpty());
+		HiddenNodesChange change = new HiddenNodesChange(hiddenNodes, nodesAdded, nodesRemoved);
+		hiddenNodes.helper.fireValueChangedEvent(change);
+		hiddenProperty.helper.fireValueChangedEvent(change);
+	}
 
 	/**
 	 * Returns a {@link Set} containing all {@link NodePart}s corresponding to
@@ -78,26 +419,40 @@ public class HidingModel {
 	 *         {@link org.eclipse.gef.graph.Node}.
 	 */
 	public Set<org.eclipse.gef.graph.Node> getHiddenNeighbors(org.eclipse.gef.graph.Node node) {
-		Set<org.eclipse.gef.graph.Node> neighbors = node.getNeighbors();
-		Set<org.eclipse.gef.graph.Node> hiddenNeighbors = Collections
+		Set<org.eclipse.gef.graph.Node> result = Collections
 				.newSetFromMap(new IdentityHashMap<org.eclipse.gef.graph.Node, Boolean>());
-		for (org.eclipse.gef.graph.Node neighbor : neighbors) {
-			if (isHidden(neighbor)) {
-				hiddenNeighbors.add(neighbor);
-			}
+		Map<Node, Integer> neighbors = hiddenNeighbors.get(node);
+		if (neighbors != null) {
+			result.addAll(neighbors.keySet());
 		}
-		return hiddenNeighbors;
+		return result;
 	}
 
 	/**
-	 * Returns a copy of the {@link Set} that contains all hidden
-	 * {@link org.eclipse.gef.graph.Node}s.
+	 * Returns the number of hidden neighbors of the given
+	 * {@link org.eclipse.gef.graph.Node}.
 	 *
-	 * @return A copy of the {@link Set} that contains all hidden
+	 * @param node
+	 *            The {@link org.eclipse.gef.graph.Node} of which the number of
+	 *            hidden neighbors is returned.
+	 * @return The number of hidden neighbors of the given
+	 *         {@link org.eclipse.gef.graph.Node}.
+	 */
+	public int getHiddenNeighborsCount(org.eclipse.gef.graph.Node node) {
+		Map<Node, Integer> neighbors = hiddenNeighbors.get(node);
+		return neighbors == null ? 0 : neighbors.size();
+	}
+
+	/**
+	 * Returns an unmodifiable (observable) {@link Set} that contains all
+	 * hidden {@link org.eclipse.gef.graph.Node}s. Its listeners are notified
+	 * by a single {@link HiddenNodesChange} per (bulk) operation.
+	 *
+	 * @return An unmodifiable {@link Set} that contains all hidden
 	 *         {@link org.eclipse.gef.graph.Node}s.
 	 */
 	public Set<org.eclipse.gef.graph.Node> getHiddenNodesUnmodifiable() {
-		return FXCollections.unmodifiableObservableSet(hiddenProperty.get());
+		return hiddenNodes;
 	}
 
 	/**
@@ -128,7 +483,7 @@ public class HidingModel {
 	 *         <code>false</code>.
 	 */
 	public boolean hasHiddenNeighbors(org.eclipse.gef.graph.Node node) {
-		return getHiddenNeighbors(node).size() > 0;
+		return hiddenNeighbors.containsKey(node);
 	}
 
 	/**
@@ -137,7 +492,7 @@ public class HidingModel {
 	 * @return A read-only property named {@link #HIDDEN_PROPERTY}.
 	 */
 	public ReadOnlySetProperty<org.eclipse.gef.graph.Node> hiddenProperty() {
-		return hiddenProperty.getReadOnlyProperty();
+		return hiddenProperty;
 	}
 
 	/**
@@ -163,7 +518,68 @@ public class HidingModel {
 	 *            {@link Set} of hidden {@link org.eclipse.gef.graph.Node}s.
 	 */
 	public void hide(org.eclipse.gef.graph.Node node) {
-		hiddenProperty.add(node);
+		hide(Collections.singletonList(node));
+	}
+
+	/**
+	 * Adds the given {@link org.eclipse.gef.graph.Node}s to the {@link Set} of
+	 * hidden {@link org.eclipse.gef.graph.Node}s. Notifies all property change
+	 * listeners once about all hidden {@link org.eclipse.gef.graph.Node}s (see
+	 * {@link HiddenNodesChange}).
+	 *
+	 * @param nodes
+	 *            The {@link org.eclipse.gef.graph.Node}s that are added to the
+	 *            {@link Set} of hidden {@link org.eclipse.gef.graph.Node}s.
+	 */
+	public void hide(Collection<? extends org.eclipse.gef.graph.Node> nodes) {
+		List<Node> hidden = new ArrayList<>();
+		for (Node node : nodes) {
+			if (hiddenNodes.nodes.add(node)) {
+				// update hidden neighbors before listeners are notified
+				indexHidden(node);
+				hidden.add(node);
+			}
+		}
+		fireHiddenNodesChange(hidden, Collections.<Node> emptyList());
+	}
+
+	/**
+	 * Adds all {@link org.eclipse.gef.graph.Node}s of the given {@link Graph}
+	 * that match the given {@link Predicate} to the {@link Set} of hidden
+	 * {@link org.eclipse.gef.graph.Node}s (see {@link #hide(Collection)}).
+	 *
+	 * @param graph
+	 *            The {@link Graph} of which the matching
+	 *            {@link org.eclipse.gef.graph.Node}s are hidden.
+	 * @param predicate
+	 *            The {@link Predicate} that determines which
+	 *            {@link org.eclipse.gef.graph.Node}s are hidden.
+	 */
+	public void hide(Graph graph, Predicate<? super org.eclipse.gef.graph.Node> predicate) {
+		List<Node> nodes = new ArrayList<>();
+		for (Node node : graph.getNodes()) {
+			if (predicate.test(node)) {
+				nodes.add(node);
+			}
+		}
+		hide(nodes);
+	}
+
+	/**
+	 * Updates the hidden neighbors of the given {@link Node}, which is about
+	 * to be hidden.
+	 */
+	private void indexHidden(Node node) {
+		Graph graph = node.getGraph();
+		if (graph != null) {
+			GraphIndex index = graphIndices.get(graph);
+			if (index == null) {
+				index = new GraphIndex(graph);
+				graphIndices.put(graph, index);
+			}
+			index.hiddenCount++;
+			updateHiddenNeighbors(index, node, 1);
+		}
 	}
 
 	/**
@@ -197,7 +613,7 @@ public class HidingModel {
 	 *         <code>false</code>.
 	 */
 	public boolean isHidden(org.eclipse.gef.graph.Node node) {
-		return hiddenProperty.contains(node);
+		return hiddenNodes.contains(node);
 	}
 
 	/**
@@ -224,7 +640,97 @@ public class HidingModel {
 	 *            s.
 	 */
 	public void show(org.eclipse.gef.graph.Node node) {
-		hiddenProperty.remove(node);
+		show(Collections.singletonList(node));
+	}
+
+	/**
+	 * Removes the given {@link org.eclipse.gef.graph.Node}s from the
+	 * {@link Set} of hidden {@link org.eclipse.gef.graph.Node}s. Notifies all
+	 * property change listeners once about all shown
+	 * {@link org.eclipse.gef.graph.Node}s (see {@link HiddenNodesChange}).
+	 *
+	 * @param nodes
+	 *            The {@link org.eclipse.gef.graph.Node}s that are removed from
+	 *            the {@link Set} of hidden {@link org.eclipse.gef.graph.Node}s.
+	 */
+	public void show(Collection<? extends org.eclipse.gef.graph.Node> nodes) {
+		List<Node> shown = new ArrayList<>();
+		for (Node node : nodes) {
+			if (hiddenNodes.nodes.remove(node)) {
+				// update hidden neighbors before listeners are notified
+				unindexHidden(node);
+				shown.add(node);
+			}
+		}
+		fireHiddenNodesChange(Collections.<Node> emptyList(), shown);
+	}
+
+	/**
+	 * Removes all hidden {@link org.eclipse.gef.graph.Node}s that match the
+	 * given {@link Predicate} from the {@link Set} of hidden
+	 * {@link org.eclipse.gef.graph.Node}s (see {@link #show(Collection)}).
+	 *
+	 * @param predicate
+	 *            The {@link Predicate} that determines which
+	 *            {@link org.eclipse.gef.graph.Node}s are shown.
+	 */
+	public void show(Predicate<? super org.eclipse.gef.graph.Node> predicate) {
+		List<Node> nodes = new ArrayList<>();
+		for (Node node : hiddenNodes) {
+			if (predicate.test(node)) {
+				nodes.add(node);
+			}
+		}
+		show(nodes);
+	}
+
+	/**
+	 * Updates the hidden neighbors of the given {@link Node}, which is about
+	 * to be shown.
+	 */
+	private void unindexHidden(Node node) {
+		GraphIndex index = node.getGraph() == null ? null : graphIndices.get(node.getGraph());
+		if (index != null) {
+			updateHiddenNeighbors(index, node, -1);
+			index.hiddenCount--;
+			if (index.hiddenCount == 0) {
+				// no need to track the edges of a graph without hidden nodes
+				index.dispose();
+				graphIndices.remove(index.graph);
+			}
+		}
+	}
+
+	/**
+	 * Updates the hidden neighbors of the end points of the given
+	 * {@link Edge}, which was added to (<code>delta = 1</code>) or removed
+	 * from (<code>delta = -1</code>) its graph.
+	 */
+	private void updateHiddenNeighbors(Edge edge, int delta) {
+		Node source = edge.getSource();
+		Node target = edge.getTarget();
+		if (isHidden(source)) {
+			addHiddenNeighbor(target, source, delta);
+		}
+		if (source != target && isHidden(target)) {
+			addHiddenNeighbor(source, target, delta);
+		}
+	}
+
+	/**
+	 * Updates the hidden neighbors of the neighbors of the given
+	 * {@link Node}, which is hidden (<code>delta = 1</code>) or shown
+	 * (<code>delta = -1</code>).
+	 */
+	private void updateHiddenNeighbors(GraphIndex index, Node node, int delta) {
+		List<Edge> edges = index.incidentEdges.get(node);
+		if (edges == null) {
+			return;
+		}
+		for (Edge edge : edges) {
+			Node neighbor = edge.getSource() == node ? edge.getTarget() : edge.getSource();
+			addHiddenNeighbor(neighbor, node, delta);
+		}
 	}
 
 }
@@ -13,12 +13,36 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.models;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 
+import org.eclipse.gef.common.dispose.IDisposable;
 import org.eclipse.gef.geometry.planar.AffineTransform;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.zest.fx.ZestProperties;
+
+import com.google.inject.Provider;
+
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.MapChangeListener;
 
 /**
  * The {@link NavigationModel} manages a {@link Set} of {@link Graph}s for which
@@ -26,12 +50,226 @@ import org.eclipse.gef.graph.Graph;
  * changes). Moreover, it manages a {@link Map} saving a {@link ViewportState}
  * per {@link Graph}, so that the scroll position and zoom factor can be
  * restored when navigating nested graphs.
+ * <p>
+ * In addition, it manages a bounded cache of {@link LayoutState}s per
+ * {@link Graph} and layout bounds, so that the layout of a (nested) graph does
+ * not need to be re-computed when navigating back and forth. The layout of a
+ * nested graph can be {@link #prefetchLayout(Graph, Rectangle) prefetched} on
+ * a background thread before it is navigated to. The cached (and prefetched)
+ * {@link LayoutState}s of a {@link Graph} are removed when nodes or edges are
+ * added to or removed from it, or when the attributes of the {@link Graph} or
+ * of its nodes or edges change, except for the attributes that are written by
+ * layout passes (i.e. the layout locations, sizes, and bounds, as well as the
+ * positions and sizes of the nodes and the positions of the labels).
  *
  * @author mwienand
  * @author anyssen
  *
  */
-public class NavigationModel {
+public class NavigationModel implements IDisposable {
+
+	/**
+	 * The default maximum number of {@link LayoutState}s that are cached.
+	 */
+	public static final int DEFAULT_LAYOUT_CACHE_CAPACITY = 32;
+
+	// the attributes that are written by layout passes (and when restoring a
+	// layout), which therefore do not invalidate the cached layouts
+	private static final Set<String> LAYOUT_RESULT_ATTRIBUTES = new HashSet<>(Arrays.asList(
+			LayoutProperties.BOUNDS_PROPERTY, LayoutProperties.LOCATION_PROPERTY, LayoutProperties.SIZE_PROPERTY,
+			LayoutProperties.RESIZABLE_PROPERTY, ZestProperties.POSITION__N, ZestProperties.SIZE__N,
+			ZestProperties.EXTERNAL_LABEL_POSITION__NE, ZestProperties.LABEL_POSITION__E,
+			ZestProperties.SOURCE_LABEL_POSITION__E, ZestProperties.TARGET_LABEL_POSITION__E));
+
+	/**
+	 * Representation of the result of a layout pass, i.e. the layout
+	 * locations and sizes of the nodes of a {@link Graph}.
+	 */
+	public static class LayoutState {
+
+		private Map<Node, Point> locations = new IdentityHashMap<>();
+		private Map<Node, Dimension> sizes = new IdentityHashMap<>();
+
+		/**
+		 * Creates a new {@link LayoutState} that records the layout locations
+		 * and sizes of the nodes of the given {@link Graph}.
+		 *
+		 * @param graph
+		 *            The {@link Graph} of which the layout is recorded.
+		 */
+		public LayoutState(Graph graph) {
+			this(graph, null);
+		}
+
+		/**
+		 * Creates a new {@link LayoutState} that records the layout locations
+		 * and sizes of the nodes of the given (snapshot) {@link Graph} for the
+		 * original nodes that are provided by the given {@link Map}.
+		 *
+		 * @param graph
+		 *            The {@link Graph} of which the layout is recorded.
+		 * @param originals
+		 *            A {@link Map} providing the original {@link Node} per
+		 *            {@link Node} of the given {@link Graph}, or
+		 *            <code>null</code> if the nodes are recorded for
+		 *            themselves.
+		 */
+		protected LayoutState(Graph graph, Map<Node, Node> originals) {
+			for (Node node : graph.getNodes()) {
+				Node original = originals == null ? node : originals.get(node);
+				Point location = LayoutProperties.getLocation(node);
+				if (location != null) {
+					locations.put(original, location.getCopy());
+				}
+				Dimension size = LayoutProperties.getSize(node);
+				if (size != null) {
+					sizes.put(original, size.getCopy());
+				}
+			}
+		}
+
+		/**
+		 * Transfers the recorded layout locations and sizes to the nodes of
+		 * the given {@link Graph}.
+		 *
+		 * @param graph
+		 *            The {@link Graph} to which the layout is transferred.
+		 */
+		public void apply(Graph graph) {
+			for (Node node : graph.getNodes()) {
+				Point location = locations.get(node);
+				if (location != null) {
+					LayoutProperties.setLocation(node, location.getCopy());
+				}
+				Dimension size = sizes.get(node);
+				if (size != null) {
+					LayoutProperties.setSize(node, size.getCopy());
+				}
+			}
+		}
+
+		/**
+		 * Returns <code>true</code> if a layout location was recorded for all
+		 * nodes of the given {@link Graph}, i.e. if this {@link LayoutState}
+		 * can be {@link #apply(Graph) applied} to the given {@link Graph}.
+		 * Otherwise returns <code>false</code>.
+		 *
+		 * @param graph
+		 *            The {@link Graph} to test.
+		 * @return <code>true</code> if this {@link LayoutState} can be applied
+		 *         to the given {@link Graph}, otherwise <code>false</code>.
+		 */
+		public boolean isApplicable(Graph graph) {
+			for (Node node : graph.getNodes()) {
+				if (!locations.containsKey(node)) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Key for the layout cache, comparing graphs by identity and layout
+	 * bounds by equality.
+	 */
+	private static final class LayoutKey {
+
+		private final Graph graph;
+		private final Rectangle bounds;
+
+		LayoutKey(Graph graph, Rectangle bounds) {
+			this.graph = graph;
+			this.bounds = bounds.getCopy();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof LayoutKey)) {
+				return false;
+			}
+			LayoutKey other = (LayoutKey) obj;
+			return graph == other.graph && bounds.equals(other.bounds);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(graph) + bounds.hashCode();
+		}
+	}
+
+	/**
+	 * Observes a {@link Graph} for which {@link LayoutState}s are cached (or
+	 * being prefetched), and removes them when the {@link Graph} changes.
+	 */
+	private class LayoutStateInvalidator {
+
+		private final Graph graph;
+
+		private MapChangeListener<String, Object> attributesObserver = new MapChangeListener<String, Object>() {
+			@Override
+			public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
+				if (!LAYOUT_RESULT_ATTRIBUTES.contains(change.getKey())) {
+					removeLayoutStates(graph);
+				}
+			}
+		};
+
+		private ListChangeListener<Node> nodesObserver = new ListChangeListener<Node>() {
+			@Override
+			public void onChanged(ListChangeListener.Change<? extends Node> change) {
+				while (change.next()) {
+					for (Node node : change.getRemoved()) {
+						node.attributesProperty().removeListener(attributesObserver);
+					}
+					for (Node node : change.getAddedSubList()) {
+						node.attributesProperty().addListener(attributesObserver);
+					}
+				}
+				removeLayoutStates(graph);
+			}
+		};
+
+		private ListChangeListener<Edge> edgesObserver = new ListChangeListener<Edge>() {
+			@Override
+			public void onChanged(ListChangeListener.Change<? extends Edge> change) {
+				while (change.next()) {
+					for (Edge edge : change.getRemoved()) {
+						edge.attributesProperty().removeListener(attributesObserver);
+					}
+					for (Edge edge : change.getAddedSubList()) {
+						edge.attributesProperty().addListener(attributesObserver);
+					}
+				}
+				removeLayoutStates(graph);
+			}
+		};
+
+		LayoutStateInvalidator(Graph graph) {
+			this.graph = graph;
+			graph.attributesProperty().addListener(attributesObserver);
+			graph.getNodes().addListener(nodesObserver);
+			graph.getEdges().addListener(edgesObserver);
+			for (Node node : graph.getNodes()) {
+				node.attributesProperty().addListener(attributesObserver);
+			}
+			for (Edge edge : graph.getEdges()) {
+				edge.attributesProperty().addListener(attributesObserver);
+			}
+		}
+
+		void dispose() {
+			graph.attributesProperty().removeListener(attributesObserver);
+			graph.getNodes().removeListener(nodesObserver);
+			graph.getEdges().removeListener(edgesObserver);
+			for (Node node : graph.getNodes()) {
+				node.attributesProperty().removeListener(attributesObserver);
+			}
+			for (Edge edge : graph.getEdges()) {
+				edge.attributesProperty().removeListener(attributesObserver);
+			}
+		}
+	}
 
 	/*
 	 * TODO: Store translateX, translateY, width, and height relative to the
@@ -197,12 +435,84 @@ public class NavigationModel {
 
 	private Map<Graph, ViewportState> viewportStates = new IdentityHashMap<>();
 
+	private int layoutCacheCapacity = DEFAULT_LAYOUT_CACHE_CAPACITY;
+	@SuppressWarnings("serial")
+	private Map<LayoutKey, LayoutState> layoutStates = new LinkedHashMap<LayoutKey, LayoutState>(16, 0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<LayoutKey, LayoutState> eldest) {
+			return size() > layoutCacheCapacity;
+		}
+	};
+	private Set<LayoutKey> pendingPrefetches = new HashSet<>();
+	private Map<Graph, LayoutStateInvalidator> invalidators = new IdentityHashMap<>();
+	private ExecutorService prefetchExecutor;
+
 	/**
 	 * Default constructor.
 	 */
 	public NavigationModel() {
 	}
 
+	@Override
+	public void dispose() {
+		if (prefetchExecutor != null) {
+			prefetchExecutor.shutdownNow();
+			prefetchExecutor = null;
+		}
+		pendingPrefetches.clear();
+		layoutStates.clear();
+		updateInvalidators();
+		viewportStates.clear();
+	}
+
+	/**
+	 * Returns the maximum number of {@link LayoutState}s that are cached.
+	 *
+	 * @return The maximum number of {@link LayoutState}s that are cached.
+	 */
+	public int getLayoutCacheCapacity() {
+		return layoutCacheCapacity;
+	}
+
+	/**
+	 * Retrieves the {@link LayoutState} that is cached for the given
+	 * {@link Graph} and layout bounds, or <code>null</code> if no
+	 * {@link LayoutState} is cached.
+	 *
+	 * @param graph
+	 *            The {@link Graph} for which to retrieve the
+	 *            {@link LayoutState}.
+	 * @param bounds
+	 *            The layout bounds for which to retrieve the
+	 *            {@link LayoutState}.
+	 * @return The {@link LayoutState} that is cached for the given
+	 *         {@link Graph} and layout bounds, or <code>null</code>.
+	 */
+	public LayoutState getLayoutState(Graph graph, Rectangle bounds) {
+		return layoutStates.get(new LayoutKey(graph, bounds));
+	}
+
+	/**
+	 * Returns the {@link ExecutorService} that is used to prefetch layouts.
+	 * The {@link ExecutorService} uses a single (daemon) thread, so that the
+	 * layouts are prefetched sequentially.
+	 *
+	 * @return The {@link ExecutorService} that is used to prefetch layouts.
+	 */
+	protected ExecutorService getPrefetchExecutor() {
+		if (prefetchExecutor == null) {
+			prefetchExecutor = Executors.newSingleThreadExecutor(new ThreadFactory() {
+				@Override
+				public Thread newThread(Runnable runnable) {
+					Thread thread = new Thread(runnable, "Zest Layout Prefetch");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return prefetchExecutor;
+	}
+
 	/**
 	 * Retrieves the {@link ViewportState} that is currently saved for the given
 	 * {@link Graph}.
@@ -217,6 +527,98 @@ public class NavigationModel {
 		return viewportStates.get(graph);
 	}
 
+	/**
+	 * Computes the layout of the given {@link Graph} for the given layout
+	 * bounds on a background thread, and caches the resulting
+	 * {@link LayoutState}, unless a {@link LayoutState} is already cached or
+	 * being computed. The layout is computed for a snapshot of the given
+	 * {@link Graph} (see {@link LayoutContext#createSnapshot(Map)}), so that
+	 * the {@link Graph} itself is not changed. The layout is computed by a
+	 * dedicated layout algorithm that is obtained from the layout algorithm
+	 * {@link Provider} of the given {@link Graph} (see
+	 * {@link ZestProperties#setLayoutAlgorithm(Graph, Provider)}), because
+	 * layout algorithms are stateful and may therefore not be shared with the
+	 * layout passes of the {@link Graph}. Has no effect if the given
+	 * {@link Graph} does not specify a {@link Provider}, or if the
+	 * {@link Provider} does not create new layout algorithms.
+	 *
+	 * @param graph
+	 *            The {@link Graph} for which to prefetch the layout.
+	 * @param bounds
+	 *            The layout bounds for which to prefetch the layout.
+	 */
+	public void prefetchLayout(Graph graph, Rectangle bounds) {
+		final LayoutKey key = new LayoutKey(graph, bounds);
+		Provider<ILayoutAlgorithm> provider = ZestProperties.getLayoutAlgorithmProvider(graph);
+		if (provider == null || layoutStates.containsKey(key) || pendingPrefetches.contains(key)) {
+			return;
+		}
+		ILayoutAlgorithm layoutAlgorithm = provider.get();
+		if (layoutAlgorithm == null || layoutAlgorithm.getLayoutContext() != null) {
+			// a shared layout algorithm (which is already bound to the layout
+			// context of a graph or of another prefetch) may not be used in
+			// the background
+			return;
+		}
+		pendingPrefetches.add(key);
+		updateInvalidators();
+
+		// create snapshot within the calling thread
+		LayoutContext layoutContext = new LayoutContext();
+		layoutContext.setGraph(graph);
+		final Map<Node, Node> originals = new IdentityHashMap<>();
+		final LayoutContext snapshot = layoutContext.createSnapshot(originals);
+		LayoutProperties.setBounds(snapshot.getGraph(), bounds.getCopy());
+		snapshot.setLayoutAlgorithm(layoutAlgorithm);
+		layoutAlgorithm.setLayoutContext(snapshot);
+
+		getPrefetchExecutor().execute(new Runnable() {
+			@Override
+			public void run() {
+				LayoutState layoutState = null;
+				try {
+					snapshot.applyLayout(true);
+					layoutState = new LayoutState(snapshot.getGraph(), originals);
+				} finally {
+					final LayoutState result = layoutState;
+					Platform.runLater(new Runnable() {
+						@Override
+						public void run() {
+							// discard the result if the prefetch was cancelled
+							// (or failed)
+							if (pendingPrefetches.remove(key) && result != null) {
+								layoutStates.put(key, result);
+							}
+							updateInvalidators();
+						}
+					});
+				}
+			}
+		});
+	}
+
+	/**
+	 * Removes all cached {@link LayoutState}s for the given {@link Graph}, so
+	 * that its layout is re-computed when it is opened.
+	 *
+	 * @param graph
+	 *            The {@link Graph} for which to remove the
+	 *            {@link LayoutState}s.
+	 */
+	public void removeLayoutStates(Graph graph) {
+		for (Iterator<LayoutKey> it = layoutStates.keySet().iterator(); it.hasNext();) {
+			if (it.next().graph == graph) {
+				it.remove();
+			}
+		}
+		for (Iterator<LayoutKey> it = pendingPrefetches.iterator(); it.hasNext();) {
+			if (it.next().graph == graph) {
+				it.remove();
+			}
+		}
+		updateInvalidators();
+	}
+
 	/**
 	 * Removes the {@link ViewportState} for the given {@link Graph}.
 	 *
@@ -228,6 +630,48 @@ public class NavigationModel {
 		viewportStates.remove(graph);
 	}
 
+	/**
+	 * Sets the maximum number of {@link LayoutState}s that are cached. If the
+	 * cache contains more {@link LayoutState}s, the least recently used ones
+	 * are removed.
+	 *
+	 * @param layoutCacheCapacity
+	 *            The maximum number of {@link LayoutState}s that are cached.
+	 */
+	public void setLayoutCacheCapacity(int layoutCacheCapacity) {
+		if (layoutCacheCapacity < 0) {
+			throw new IllegalArgumentException("Invalid layout cache capacity: " + layoutCacheCapacity);
+		}
+		this.layoutCacheCapacity = layoutCacheCapacity;
+		Iterator<LayoutKey> it = layoutStates.keySet().iterator();
+		while (layoutStates.size() > layoutCacheCapacity) {
+			it.next();
+			it.remove();
+		}
+		updateInvalidators();
+	}
+
+	/**
+	 * Caches the given {@link LayoutState} for the given {@link Graph} and
+	 * layout bounds. If the capacity of the cache is exceeded, the least
+	 * recently used {@link LayoutState} is removed.
+	 *
+	 * @param graph
+	 *            The {@link Graph} for which to cache the {@link LayoutState}.
+	 * @param bounds
+	 *            The layout bounds for which to cache the
+	 *            {@link LayoutState}.
+	 * @param state
+	 *            The {@link LayoutState} to cache.
+	 */
+	public void setLayoutState(Graph graph, Rectangle bounds, LayoutState state) {
+		LayoutKey key = new LayoutKey(graph, bounds);
+		// a computed layout supersedes a prefetched one
+		pendingPrefetches.remove(key);
+		layoutStates.put(key, state);
+		updateInvalidators();
+	}
+
 	/**
 	 * Saves the given {@link ViewportState} for the given {@link Graph}.
 	 *
@@ -241,4 +685,31 @@ public class NavigationModel {
 		viewportStates.put(graph, state);
 	}
 
+	/**
+	 * Ensures that exactly those {@link Graph}s are observed for which
+	 * {@link LayoutState}s are cached or being prefetched.
+	 */
+	private void updateInvalidators() {
+		Set<Graph> graphs = Collections.newSetFromMap(new IdentityHashMap<Graph, Boolean>());
+		for (LayoutKey key : layoutStates.keySet()) {
+			graphs.add(key.graph);
+		}
+		for (LayoutKey key : pendingPrefetches) {
+			graphs.add(key.graph);
+		}
+		for (Iterator<Map.Entry<Graph, LayoutStateInvalidator>> it = invalidators.entrySet().iterator(); it
+				.hasNext();) {
+			Map.Entry<Graph, LayoutStateInvalidator> entry = it.next();
+			if (!graphs.contains(entry.getKey())) {
+				entry.getValue().dispose();
+				it.remove();
+			}
+		}
+		for (Graph graph : graphs) {
+			if (!invalidators.containsKey(graph)) {
+				invalidators.put(graph, new LayoutStateInvalidator(graph));
+			}
+		}
+	}
+
 }
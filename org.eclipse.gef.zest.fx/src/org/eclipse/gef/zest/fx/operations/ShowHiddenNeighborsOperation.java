@@ -66,13 +66,22 @@ public class ShowHiddenNeighborsOperation extends AbstractOperation implements I
 		if (hiddenNeighbors != null && !hiddenNeighbors.isEmpty()) {
 			for (NodePart neighborPart : hiddenNeighbors) {
 				neighborPart.activate();
-				hidingModel.show(neighborPart);
 				shownNeighbors.add(neighborPart);
 			}
+			// show all neighbors at once
+			hidingModel.show(getContents(shownNeighbors));
 		}
 		return Status.OK_STATUS;
 	}
 
+	private List<org.eclipse.gef.graph.Node> getContents(List<NodePart> nodeParts) {
+		List<org.eclipse.gef.graph.Node> contents = new ArrayList<>();
+		for (NodePart part : nodeParts) {
+			contents.add(part.getContent());
+		}
+		return contents;
+	}
+
 	@Override
 	public boolean isContentRelevant() {
 		return false;
@@ -91,8 +100,9 @@ public class ShowHiddenNeighborsOperation extends AbstractOperation implements I
 
 	@Override
 	public IStatus undo(IProgressMonitor monitor, IAdaptable info) throws ExecutionException {
+		// hide all neighbors at once
+		hidingModel.hide(getContents(shownNeighbors));
 		for (NodePart neighborPart : shownNeighbors) {
-			hidingModel.hide(neighborPart);
 			neighborPart.deactivate();
 		}
 		return Status.OK_STATUS;
@@ -21,6 +21,8 @@ import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.LevelOfDetailBehavior;
+import org.eclipse.gef.zest.fx.models.CssStyleModel;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
@@ -75,6 +77,9 @@ public class EdgeLabelPart extends AbstractLabelPart {
 		Edge edge = getContent().getKey();
 		Map<String, Object> attrs = edge.attributesProperty();
 
+		// labels are not rendered when simplified
+		getText().setVisible(!LevelOfDetailBehavior.isSimplified(this));
+
 		// label or external label (depends on which element we control)
 		if (ZestProperties.LABEL__NE.equals(getContent().getValue())) {
 			String label = ZestProperties.getLabel(edge);
@@ -83,7 +88,7 @@ public class EdgeLabelPart extends AbstractLabelPart {
 			}
 			if (attrs.containsKey(ZestProperties.LABEL_CSS_STYLE__NE)) {
 				String textCssStyle = ZestProperties.getLabelCssStyle(edge);
-				getVisual().setStyle(textCssStyle);
+				CssStyleModel.setStyle(this, getVisual(), textCssStyle);
 			}
 		} else if (ZestProperties.EXTERNAL_LABEL__NE.equals(getContent().getValue())) {
 			String label = ZestProperties.getExternalLabel(edge);
@@ -92,7 +97,7 @@ public class EdgeLabelPart extends AbstractLabelPart {
 			}
 			if (attrs.containsKey(ZestProperties.EXTERNAL_LABEL_CSS_STYLE__NE)) {
 				String textCssStyle = ZestProperties.getExternalLabelCssStyle(edge);
-				getVisual().setStyle(textCssStyle);
+				CssStyleModel.setStyle(this, getVisual(), textCssStyle);
 			}
 		} else if (ZestProperties.SOURCE_LABEL__E.equals(getContent().getValue())) {
 			String label = ZestProperties.getSourceLabel(edge);
@@ -101,7 +106,7 @@ public class EdgeLabelPart extends AbstractLabelPart {
 			}
 			if (attrs.containsKey(ZestProperties.SOURCE_LABEL_CSS_STYLE__E)) {
 				String textCssStyle = ZestProperties.getSourceLabelCssStyle(edge);
-				getVisual().setStyle(textCssStyle);
+				CssStyleModel.setStyle(this, getVisual(), textCssStyle);
 			}
 		} else if (ZestProperties.TARGET_LABEL__E.equals(getContent().getValue())) {
 			String label = ZestProperties.getTargetLabel(edge);
@@ -110,7 +115,7 @@ public class EdgeLabelPart extends AbstractLabelPart {
 			}
 			if (attrs.containsKey(ZestProperties.TARGET_LABEL_CSS_STYLE__E)) {
 				String textCssStyle = ZestProperties.getTargetLabelCssStyle(edge);
-				getVisual().setStyle(textCssStyle);
+				CssStyleModel.setStyle(this, getVisual(), textCssStyle);
 			}
 		}
 
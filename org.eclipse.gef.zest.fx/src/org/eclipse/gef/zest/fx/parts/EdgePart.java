@@ -22,6 +22,7 @@ import org.eclipse.gef.fx.anchors.IAnchor;
 import org.eclipse.gef.fx.nodes.Connection;
 import org.eclipse.gef.fx.nodes.IConnectionInterpolator;
 import org.eclipse.gef.fx.nodes.IConnectionRouter;
+import org.eclipse.gef.fx.nodes.PolylineInterpolator;
 import org.eclipse.gef.geometry.planar.Point;
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
@@ -29,6 +30,8 @@ import org.eclipse.gef.mvc.fx.parts.IBendableContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.mvc.fx.providers.IAnchorProvider;
 import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.LevelOfDetailBehavior;
+import org.eclipse.gef.zest.fx.models.CssStyleModel;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
@@ -89,6 +92,9 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 
 	};
 
+	private IConnectionInterpolator simplifiedInterpolator;
+	private IConnectionInterpolator detailInterpolator;
+
 	@Override
 	public void bendContent(List<org.eclipse.gef.mvc.fx.parts.IBendableContentPart.BendPoint> bendPoints) {
 		// disable refreshing of visuals
@@ -209,6 +215,9 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 	protected Connection doCreateVisual() {
 		Connection visual = new Connection();
 		visual.getStyleClass().add(CSS_CLASS);
+		// coalesce the refreshes caused by moving nodes (e.g. during a layout
+		// pass or a drag) into a single routing pass per pulse
+		visual.setRefreshDeferred(true);
 
 		// initialize style class for (default) curve
 		visual.getCurve().getStyleClass().add(CSS_CLASS_CURVE);
@@ -301,7 +310,7 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		// css style
 		String curveCssStyle = ZestProperties.getCurveCssStyle(edge);
 		if (attrs.containsKey(ZestProperties.CURVE_CSS_STYLE__E)) {
-			visual.getCurve().setStyle(curveCssStyle);
+			CssStyleModel.setStyle(this, visual.getCurve(), curveCssStyle);
 		}
 
 		// custom decoration
@@ -317,7 +326,7 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		// property)
 		String sourceDecorationCssStyle = ZestProperties.getSourceDecorationCssStyle(edge);
 		if (sourceDecorationCssStyle != null && visual.getStartDecoration() != null) {
-			visual.getStartDecoration().setStyle(sourceDecorationCssStyle);
+			CssStyleModel.setStyle(this, visual.getStartDecoration(), sourceDecorationCssStyle);
 		}
 
 		Node targetDecoration = ZestProperties.getTargetDecoration(edge);
@@ -332,7 +341,7 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 		// property)
 		String targetDecorationCssStyle = ZestProperties.getTargetDecorationCssStyle(edge);
 		if (targetDecorationCssStyle != null && visual.getEndDecoration() != null) {
-			visual.getEndDecoration().setStyle(targetDecorationCssStyle);
+			CssStyleModel.setStyle(this, visual.getEndDecoration(), targetDecorationCssStyle);
 		}
 
 		// connection router
@@ -341,10 +350,32 @@ public class EdgePart extends AbstractContentPart<Connection> implements IBendab
 			visual.setRouter(router);
 		}
 
-		// interpolator
+		// interpolator (a polyline is used when simplified)
 		IConnectionInterpolator interpolator = ZestProperties.getInterpolator(edge);
-		if (interpolator != null) {
+		boolean simplified = LevelOfDetailBehavior.isSimplified(this);
+		if (simplified) {
+			if (simplifiedInterpolator == null) {
+				simplifiedInterpolator = new PolylineInterpolator();
+			}
+			if (visual.getInterpolator() != simplifiedInterpolator) {
+				detailInterpolator = visual.getInterpolator();
+				visual.setInterpolator(simplifiedInterpolator);
+			}
+			if (interpolator != null) {
+				detailInterpolator = interpolator;
+			}
+		} else if (interpolator != null) {
 			visual.setInterpolator(interpolator);
+		} else if (simplifiedInterpolator != null && visual.getInterpolator() == simplifiedInterpolator) {
+			visual.setInterpolator(detailInterpolator);
+		}
+
+		// decorations are not rendered when simplified
+		if (visual.getStartDecoration() != null) {
+			visual.getStartDecoration().setVisible(!simplified);
+		}
+		if (visual.getEndDecoration() != null) {
+			visual.getEndDecoration().setVisible(!simplified);
 		}
 
 		// start point or hint
@@ -13,21 +13,24 @@
 package org.eclipse.gef.zest.fx.parts;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import org.eclipse.gef.graph.Edge;
 import org.eclipse.gef.graph.Graph;
 import org.eclipse.gef.mvc.fx.behaviors.ContentBehavior;
 import org.eclipse.gef.mvc.fx.parts.AbstractContentPart;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.EdgeBatchRenderingBehavior;
 import org.eclipse.gef.zest.fx.behaviors.GraphLayoutBehavior;
+import org.eclipse.gef.zest.fx.behaviors.GraphVirtualizationBehavior;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
 
 import javafx.collections.ListChangeListener;
-import javafx.collections.ObservableList;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.util.Pair;
@@ -36,6 +39,18 @@ import javafx.util.Pair;
  * The {@link GraphPart} is the controller for a {@link Graph} content object.
  * It starts a layout pass after activation and when its content children
  * change.
+ * <p>
+ * When nodes or edges are added to or removed from the {@link Graph}, only the
+ * parts (and label parts) of the affected elements are added or removed. The
+ * parts for new elements are appended to the parts of their kind (i.e. nodes,
+ * node labels, edges, edge labels). Afterwards, a layout pass is applied as
+ * specified by the {@link RelayoutPolicy}.
+ * <p>
+ * If the graph is {@link GraphVirtualizationBehavior virtualized}, parts are
+ * only created for the realized nodes and edges.
+ * <p>
+ * If the edges of the graph are {@link EdgeBatchRenderingBehavior batched},
+ * parts are only created for the promoted (i.e. interactive) edges.
  *
  * @author mwienand
  *
@@ -43,21 +58,134 @@ import javafx.util.Pair;
 // TODO: most of the listeners should probably be moved to GraphLayoutBehavior
 public class GraphPart extends AbstractContentPart<Group> {
 
+	/**
+	 * The {@link RelayoutPolicy} determines if and how the graph is laid out
+	 * after nodes or edges are added to or removed from it.
+	 */
+	public enum RelayoutPolicy {
+		/**
+		 * No layout pass is applied.
+		 */
+		NONE,
+		/**
+		 * A layout pass is applied that does not fully re-compute the layout,
+		 * i.e. <code>applyLayout(false)</code>. Layout algorithms that
+		 * support incremental layout (e.g. the multilevel layout algorithm,
+		 * or the spring layout algorithm in incremental mode) refine the
+		 * current layout in this case.
+		 */
+		INCREMENTAL,
+		/**
+		 * A layout pass is applied that fully re-computes the layout, i.e.
+		 * <code>applyLayout(true)</code>.
+		 */
+		FULL
+	}
+
+	private static final int NODES = 0;
+	private static final int NODE_LABELS = 1;
+	private static final int EDGES = 2;
+	private static final int EDGE_LABELS = 3;
+	private static final int OTHERS = 4;
+
+	// number of child parts per kind, the children are ordered by kind
+	private final int[] childCounts = new int[5];
+
+	private RelayoutPolicy relayoutPolicy = RelayoutPolicy.FULL;
+
 	private ListChangeListener<Object> graphChildrenObserver = new ListChangeListener<Object>() {
 
 		@Override
 		public void onChanged(ListChangeListener.Change<? extends Object> c) {
 			// synchronize children
-			getAdapter(ContentBehavior.class).synchronizeContentChildren(doGetContentChildren());
+			GraphVirtualizationBehavior virtualizationBehavior = getAdapter(GraphVirtualizationBehavior.class);
+			boolean virtualized = virtualizationBehavior != null && virtualizationBehavior.isVirtualized();
+			if (virtualized) {
+				// the realized elements are determined anew
+				virtualizationBehavior.invalidate();
+			}
+			EdgeBatchRenderingBehavior batchRenderingBehavior = getAdapter(EdgeBatchRenderingBehavior.class);
+			boolean delta = !virtualized && childCounts[OTHERS] == 0
+					&& (batchRenderingBehavior == null || !batchRenderingBehavior.isBatching());
+			while (delta && c.next()) {
+				delta = !c.wasPermutated() && !c.wasUpdated();
+			}
+			ContentBehavior contentBehavior = getAdapter(ContentBehavior.class);
+			if (delta) {
+				c.reset();
+				while (c.next()) {
+					for (Object removed : c.getRemoved()) {
+						removeContentChildren(contentBehavior, removed);
+					}
+					for (Object added : c.getAddedSubList()) {
+						addContentChildren(contentBehavior, added);
+					}
+				}
+			} else {
+				contentBehavior.synchronizeContentChildren(doGetContentChildren());
+			}
 
 			// apply layout
 			GraphLayoutBehavior layoutBehavior = getAdapter(GraphLayoutBehavior.class);
-			if (layoutBehavior != null) {
-				layoutBehavior.applyLayout(true);
+			if (layoutBehavior != null && relayoutPolicy != RelayoutPolicy.NONE) {
+				layoutBehavior.applyLayout(relayoutPolicy == RelayoutPolicy.FULL);
 			}
 		}
 	};
 
+	private void addContentChild(ContentBehavior contentBehavior, Object contentChild, int kind) {
+		// insert after the last child of the same kind
+		int index = 0;
+		for (int i = 0; i <= kind; i++) {
+			index += childCounts[i];
+		}
+		contentBehavior.synchronizeContentChildAdded(contentChild, index);
+	}
+
+	private void addContentChildren(ContentBehavior contentBehavior, Object element) {
+		List<Object> labels = new ArrayList<>();
+		if (element instanceof org.eclipse.gef.graph.Node) {
+			org.eclipse.gef.graph.Node node = (org.eclipse.gef.graph.Node) element;
+			if (isVisible(node)) {
+				addContentChild(contentBehavior, node, NODES);
+				addLabels(node, labels);
+				for (Object label : labels) {
+					addContentChild(contentBehavior, label, NODE_LABELS);
+				}
+			}
+		} else if (element instanceof Edge) {
+			Edge edge = (Edge) element;
+			if (isVisible(edge)) {
+				addContentChild(contentBehavior, edge, EDGES);
+				addLabels(edge, labels);
+				for (Object label : labels) {
+					addContentChild(contentBehavior, label, EDGE_LABELS);
+				}
+			}
+		}
+	}
+
+	private void addLabels(Edge e, List<Object> children) {
+		if (ZestProperties.getLabel(e) != null) {
+			children.add(new Pair<>(e, ZestProperties.LABEL__NE));
+		}
+		if (ZestProperties.getExternalLabel(e) != null) {
+			children.add(new Pair<>(e, ZestProperties.EXTERNAL_LABEL__NE));
+		}
+		if (ZestProperties.getSourceLabel(e) != null) {
+			children.add(new Pair<>(e, ZestProperties.SOURCE_LABEL__E));
+		}
+		if (ZestProperties.getTargetLabel(e) != null) {
+			children.add(new Pair<>(e, ZestProperties.TARGET_LABEL__E));
+		}
+	}
+
+	private void addLabels(org.eclipse.gef.graph.Node n, List<Object> children) {
+		if (ZestProperties.getExternalLabel(n) != null) {
+			children.add(new Pair<>(n, ZestProperties.EXTERNAL_LABEL__NE));
+		}
+	}
+
 	@Override
 	protected void doActivate() {
 		super.doActivate();
@@ -68,7 +196,14 @@ public class GraphPart extends AbstractContentPart<Group> {
 
 	@Override
 	protected void doAddChildVisual(IVisualPart<? extends Node> child, int index) {
-		getVisual().getChildren().add(index, child.getVisual());
+		// visuals that do not belong to child parts (e.g. the placeholder of
+		// the GraphVirtualizationBehavior) precede the visuals of the children
+		int offset = getVisual().getChildren().size();
+		for (int count : childCounts) {
+			offset -= count;
+		}
+		childCounts[getKind(child)]++;
+		getVisual().getChildren().add(offset + index, child.getVisual());
 	}
 
 	@Override
@@ -94,11 +229,14 @@ public class GraphPart extends AbstractContentPart<Group> {
 	@Override
 	protected List<? extends Object> doGetContentChildren() {
 		List<Object> children = new ArrayList<>();
-		// collect visible nodes
-		ObservableList<org.eclipse.gef.graph.Node> nodes = getContent().getNodes();
+		// collect visible nodes (only the realized ones if virtualized)
+		GraphVirtualizationBehavior virtualizationBehavior = getAdapter(GraphVirtualizationBehavior.class);
+		boolean virtualized = virtualizationBehavior != null && virtualizationBehavior.isVirtualized();
+		List<org.eclipse.gef.graph.Node> nodes = virtualized ? virtualizationBehavior.getRealizedNodes()
+				: getContent().getNodes();
 		ArrayList<org.eclipse.gef.graph.Node> visibleNodes = new ArrayList<>();
 		for (org.eclipse.gef.graph.Node n : nodes) {
-			if (!Boolean.TRUE.equals(ZestProperties.getInvisible(n))) {
+			if (isVisible(n)) {
 				visibleNodes.add(n);
 			}
 		}
@@ -106,17 +244,15 @@ public class GraphPart extends AbstractContentPart<Group> {
 		children.addAll(visibleNodes);
 		// add labels for visible nodes
 		for (org.eclipse.gef.graph.Node n : visibleNodes) {
-			if (ZestProperties.getExternalLabel(n) != null) {
-				children.add(new Pair<>(n, ZestProperties.EXTERNAL_LABEL__NE));
-			}
+			addLabels(n, children);
 		}
 		// collect visible edges
-		ObservableList<Edge> edges = getContent().getEdges();
+		// (only the promoted ones if batched)
+		List<Edge> edges = virtualized ? virtualizationBehavior.getRealizedEdges() : getContent().getEdges();
+		EdgeBatchRenderingBehavior batchRenderingBehavior = getAdapter(EdgeBatchRenderingBehavior.class);
 		ArrayList<Edge> visibleEdges = new ArrayList<>();
 		for (Edge e : edges) {
-			if (!Boolean.TRUE.equals(ZestProperties.getInvisible(e)) && e.getSource() != null
-					&& !Boolean.TRUE.equals(ZestProperties.getInvisible(e.getSource())) && e.getTarget() != null
-					&& !Boolean.TRUE.equals(ZestProperties.getInvisible(e.getTarget()))) {
+			if (isVisible(e) && (batchRenderingBehavior == null || !batchRenderingBehavior.isBatched(e))) {
 				visibleEdges.add(e);
 			}
 		}
@@ -124,18 +260,7 @@ public class GraphPart extends AbstractContentPart<Group> {
 		children.addAll(visibleEdges);
 		// add labels for visible edges
 		for (Edge e : visibleEdges) {
-			if (ZestProperties.getLabel(e) != null) {
-				children.add(new Pair<>(e, ZestProperties.LABEL__NE));
-			}
-			if (ZestProperties.getExternalLabel(e) != null) {
-				children.add(new Pair<>(e, ZestProperties.EXTERNAL_LABEL__NE));
-			}
-			if (ZestProperties.getSourceLabel(e) != null) {
-				children.add(new Pair<>(e, ZestProperties.SOURCE_LABEL__E));
-			}
-			if (ZestProperties.getTargetLabel(e) != null) {
-				children.add(new Pair<>(e, ZestProperties.TARGET_LABEL__E));
-			}
+			addLabels(e, children);
 		}
 		return children;
 	}
@@ -146,6 +271,7 @@ public class GraphPart extends AbstractContentPart<Group> {
 
 	@Override
 	protected void doRemoveChildVisual(IVisualPart<? extends Node> child, int index) {
+		childCounts[getKind(child)]--;
 		getVisual().getChildren().remove(child.getVisual());
 	}
 
@@ -153,4 +279,100 @@ public class GraphPart extends AbstractContentPart<Group> {
 	public Graph getContent() {
 		return (Graph) super.getContent();
 	}
+
+	private int getKind(IVisualPart<? extends Node> child) {
+		if (!(child instanceof IContentPart)) {
+			return OTHERS;
+		}
+		Object content = ((IContentPart<? extends Node>) child).getContent();
+		if (content instanceof Pair) {
+			Object key = ((Pair<?, ?>) content).getKey();
+			return key instanceof Edge ? EDGE_LABELS : key instanceof org.eclipse.gef.graph.Node ? NODE_LABELS : OTHERS;
+		}
+		return content instanceof Edge ? EDGES : content instanceof org.eclipse.gef.graph.Node ? NODES : OTHERS;
+	}
+
+	/**
+	 * Returns the {@link RelayoutPolicy} that determines if and how the graph
+	 * is laid out after nodes or edges are added to or removed from it.
+	 *
+	 * @return The {@link RelayoutPolicy} of this {@link GraphPart}.
+	 */
+	public RelayoutPolicy getRelayoutPolicy() {
+		return relayoutPolicy;
+	}
+
+	private boolean isVisible(Edge e) {
+		return !Boolean.TRUE.equals(ZestProperties.getInvisible(e)) && e.getSource() != null
+				&& !Boolean.TRUE.equals(ZestProperties.getInvisible(e.getSource())) && e.getTarget() != null
+				&& !Boolean.TRUE.equals(ZestProperties.getInvisible(e.getTarget()));
+	}
+
+	private boolean isVisible(org.eclipse.gef.graph.Node n) {
+		return !Boolean.TRUE.equals(ZestProperties.getInvisible(n));
+	}
+
+	/**
+	 * Synchronizes the content children for the given {@link Edge}s (and their
+	 * labels) only, e.g. after the {@link EdgeBatchRenderingBehavior} promoted
+	 * them. Falls back to {@link #refreshContentChildren()} if the graph is
+	 * virtualized or if the children contain other parts.
+	 *
+	 * @param edges
+	 *            The {@link Edge}s for which the content children are
+	 *            synchronized.
+	 */
+	public void refreshEdgeContentChildren(Collection<? extends Edge> edges) {
+		GraphVirtualizationBehavior virtualizationBehavior = getAdapter(GraphVirtualizationBehavior.class);
+		if (virtualizationBehavior != null && virtualizationBehavior.isVirtualized() || childCounts[OTHERS] > 0) {
+			refreshContentChildren();
+			return;
+		}
+		ContentBehavior contentBehavior = getAdapter(ContentBehavior.class);
+		EdgeBatchRenderingBehavior batchRenderingBehavior = getAdapter(EdgeBatchRenderingBehavior.class);
+		for (Edge edge : edges) {
+			IContentPart<? extends Node> part = getRoot().getViewer().getContentPartMap().get(edge);
+			boolean hasChild = part != null && part.getParent() == this;
+			boolean isChild = isVisible(edge)
+					&& (batchRenderingBehavior == null || !batchRenderingBehavior.isBatched(edge));
+			if (hasChild && !isChild) {
+				removeContentChildren(contentBehavior, edge);
+			} else if (!hasChild && isChild) {
+				addContentChildren(contentBehavior, edge);
+			}
+		}
+	}
+
+	private void removeContentChildren(ContentBehavior contentBehavior, Object element) {
+		List<Object> labels = new ArrayList<>();
+		if (element instanceof org.eclipse.gef.graph.Node) {
+			org.eclipse.gef.graph.Node node = (org.eclipse.gef.graph.Node) element;
+			labels.add(new Pair<>(node, ZestProperties.EXTERNAL_LABEL__NE));
+		} else if (element instanceof Edge) {
+			Edge edge = (Edge) element;
+			labels.add(new Pair<>(edge, ZestProperties.LABEL__NE));
+			labels.add(new Pair<>(edge, ZestProperties.EXTERNAL_LABEL__NE));
+			labels.add(new Pair<>(edge, ZestProperties.SOURCE_LABEL__E));
+			labels.add(new Pair<>(edge, ZestProperties.TARGET_LABEL__E));
+		}
+		for (Object label : labels) {
+			contentBehavior.synchronizeContentChildRemoved(label);
+		}
+		contentBehavior.synchronizeContentChildRemoved(element);
+	}
+
+	/**
+	 * Sets the {@link RelayoutPolicy} that determines if and how the graph is
+	 * laid out after nodes or edges are added to or removed from it. By
+	 * default, the layout is fully re-computed ({@link RelayoutPolicy#FULL}).
+	 *
+	 * @param relayoutPolicy
+	 *            The new {@link RelayoutPolicy}.
+	 */
+	public void setRelayoutPolicy(RelayoutPolicy relayoutPolicy) {
+		if (relayoutPolicy == null) {
+			throw new IllegalArgumentException("relayoutPolicy may not be null");
+		}
+		this.relayoutPolicy = relayoutPolicy;
+	}
 }
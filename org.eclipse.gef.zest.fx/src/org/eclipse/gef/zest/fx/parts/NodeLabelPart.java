@@ -22,6 +22,8 @@ import org.eclipse.gef.graph.Node;
 import org.eclipse.gef.mvc.fx.parts.AbstractVisualPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.LevelOfDetailBehavior;
+import org.eclipse.gef.zest.fx.models.CssStyleModel;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
@@ -76,9 +78,12 @@ public class NodeLabelPart extends AbstractLabelPart {
 		Node node = getContent().getKey();
 		Map<String, Object> attrs = node.attributesProperty();
 
+		// labels are not rendered when simplified
+		getText().setVisible(!LevelOfDetailBehavior.isSimplified(this));
+
 		if (attrs.containsKey(ZestProperties.EXTERNAL_LABEL_CSS_STYLE__NE)) {
 			String textCssStyle = ZestProperties.getExternalLabelCssStyle(node);
-			getVisual().setStyle(textCssStyle);
+			CssStyleModel.setStyle(this, getVisual(), textCssStyle);
 		}
 
 		String label = ZestProperties.getExternalLabel(node);
@@ -29,6 +29,8 @@ import org.eclipse.gef.mvc.fx.parts.IResizableContentPart;
 import org.eclipse.gef.mvc.fx.parts.ITransformableContentPart;
 import org.eclipse.gef.mvc.fx.parts.IVisualPart;
 import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.LevelOfDetailBehavior;
+import org.eclipse.gef.zest.fx.models.CssStyleModel;
 
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.SetMultimap;
@@ -180,6 +182,7 @@ public class NodePart extends AbstractContentPart<Group>
 	private Tooltip tooltipNode;
 	private VBox vbox;
 	private Node shape;
+	private Rectangle simplifiedShape;
 
 	private Node nestedGraphIcon;
 	private StackPane nestedContentStackPane;
@@ -279,6 +282,10 @@ public class NodePart extends AbstractContentPart<Group>
 			public void resize(double w, double h) {
 				// for shape we use the exact size
 				shape.resize(w, h);
+				if (simplifiedShape != null) {
+					simplifiedShape.setWidth(w);
+					simplifiedShape.setHeight(h);
+				}
 				// for vbox we use the preferred size
 				vbox.setPrefSize(w, h);
 				vbox.autosize();
@@ -384,16 +391,18 @@ public class NodePart extends AbstractContentPart<Group>
 		// set CSS style
 		if (attrs.containsKey(ZestProperties.SHAPE_CSS_STYLE__N)) {
 			if (getShape() != null) {
-				getShape().setStyle(ZestProperties.getShapeCssStyle(node));
+				CssStyleModel.setStyle(this, getShape(), ZestProperties.getShapeCssStyle(node));
 			}
 
 		}
 		if (attrs.containsKey(ZestProperties.LABEL_CSS_STYLE__NE)) {
 			if (getLabelText() != null) {
-				getLabelText().setStyle(ZestProperties.getLabelCssStyle(node));
+				CssStyleModel.setStyle(this, getLabelText(), ZestProperties.getLabelCssStyle(node));
 			}
 		}
 
+		refreshLevelOfDetail();
+
 		if (vbox != null) {
 			if (getShape() != null && DEFAULT_SHAPE_ROLE.equals(getShape().getUserData()) || isNesting()) {
 				vbox.setPadding(new Insets(DEFAULT_SHAPE_PADDING));
@@ -568,6 +577,31 @@ public class NodePart extends AbstractContentPart<Group>
 		}
 	}
 
+	/**
+	 * Displays a plain rectangle instead of the shape, label, and icon of this
+	 * {@link NodePart} if the {@link LevelOfDetailBehavior} of the parent
+	 * demands a simplified rendering (i.e. at low zoom levels).
+	 */
+	private void refreshLevelOfDetail() {
+		boolean simplified = LevelOfDetailBehavior.isSimplified(this);
+		if (simplified && simplifiedShape == null) {
+			simplifiedShape = new Rectangle();
+			simplifiedShape.getStyleClass().add(CSS_CLASS_SHAPE);
+			simplifiedShape.setStrokeType(StrokeType.INSIDE);
+			getVisual().getChildren().add(0, simplifiedShape);
+		}
+		if (simplifiedShape != null) {
+			simplifiedShape.setVisible(simplified);
+			if (simplified && getShape() != null) {
+				CssStyleModel.setStyle(this, simplifiedShape, ZestProperties.getShapeCssStyle(getContent()));
+			}
+		}
+		if (getShape() != null) {
+			getShape().setVisible(!simplified);
+		}
+		vbox.setVisible(!simplified);
+	}
+
 	private void refreshShape() {
 		Node shape = ZestProperties.getShape(getContent());
 		if (this.shape != shape && shape != null) {
@@ -14,13 +14,19 @@ package org.eclipse.gef.zest.fx.parts;
 
 import org.eclipse.gef.mvc.fx.models.GridModel;
 import org.eclipse.gef.mvc.fx.parts.LayeredRootPart;
+import org.eclipse.gef.zest.fx.models.CssStyleModel;
 
+import javafx.collections.ListChangeListener;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 
 /**
  * The {@link ZestFxRootPart} is an extension to {@link LayeredRootPart} that hides
  * the grid (see {@link GridModel#setShowGrid(boolean)}) and adds a stylesheet
- * to the {@link Scene} (see {@link Scene#getStylesheets()}).
+ * to the {@link Scene} (see {@link Scene#getStylesheets()}). In addition, the
+ * stylesheets that are generated by the {@link CssStyleModel} are added to
+ * (and kept up-to-date within) the visual of this part (see
+ * {@link Parent#getStylesheets()}), so that they only apply to this viewer.
  *
  * @author mwienand
  *
@@ -32,6 +38,16 @@ public class ZestFxRootPart extends LayeredRootPart {
 	 */
 	public static final String STYLES_CSS_FILE = ZestFxRootPart.class.getResource("styles.css").toExternalForm();
 
+	private ListChangeListener<String> generatedStylesheetsChangeListener = new ListChangeListener<String>() {
+		@Override
+		public void onChanged(ListChangeListener.Change<? extends String> change) {
+			while (change.next()) {
+				getVisual().getStylesheets().removeAll(change.getRemoved());
+				getVisual().getStylesheets().addAll(change.getAddedSubList());
+			}
+		}
+	};
+
 	@Override
 	protected void doActivate() {
 		super.doActivate();
@@ -39,11 +55,23 @@ public class ZestFxRootPart extends LayeredRootPart {
 		getViewer().getAdapter(GridModel.class).setShowGrid(false);
 		// load stylesheet
 		getVisual().getScene().getStylesheets().add(STYLES_CSS_FILE);
+		// load generated stylesheet
+		CssStyleModel cssStyleModel = getViewer().getAdapter(CssStyleModel.class);
+		if (cssStyleModel != null) {
+			cssStyleModel.getStylesheetsUnmodifiable().addListener(generatedStylesheetsChangeListener);
+			getVisual().getStylesheets().addAll(cssStyleModel.getStylesheetsUnmodifiable());
+		}
 	}
 
 	@Override
 	protected void doDeactivate() {
 		super.doDeactivate();
+		// un-load generated stylesheet
+		CssStyleModel cssStyleModel = getViewer().getAdapter(CssStyleModel.class);
+		if (cssStyleModel != null) {
+			cssStyleModel.getStylesheetsUnmodifiable().removeListener(generatedStylesheetsChangeListener);
+			getVisual().getStylesheets().removeAll(cssStyleModel.getStylesheetsUnmodifiable());
+		}
 		// un-load stylesheet
 		getVisual().getScene().getStylesheets().remove(STYLES_CSS_FILE);
 	}
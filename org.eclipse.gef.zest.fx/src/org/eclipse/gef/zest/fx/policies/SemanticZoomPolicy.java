@@ -12,7 +12,6 @@
  *******************************************************************************/
 package org.eclipse.gef.zest.fx.policies;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
@@ -49,6 +48,23 @@ import javafx.scene.Node;
  */
 public class SemanticZoomPolicy extends ChangeViewportPolicy {
 
+	/**
+	 * The zoom level above which a nested graph is opened when zooming in.
+	 */
+	public static final double OPEN_NESTED_GRAPH_ZOOM_LEVEL = 3;
+
+	/**
+	 * The zoom level above which the layout of a nested graph is prefetched
+	 * when zooming in (see {@link NavigationModel}), so that it does not need
+	 * to be computed when the nested graph is opened.
+	 */
+	public static final double PREFETCH_NESTED_GRAPH_ZOOM_LEVEL = 2;
+
+	/**
+	 * The zoom level below which the nesting graph is opened when zooming out.
+	 */
+	public static final double OPEN_NESTING_GRAPH_ZOOM_LEVEL = 0.7;
+
 	private NavigationModel navigationModel;
 	private IViewer viewer;
 
@@ -94,6 +110,44 @@ public class SemanticZoomPolicy extends ChangeViewportPolicy {
 		return nestingNodeContentParts;
 	}
 
+	/**
+	 * Determines the {@link NodePart} with a nested graph (see
+	 * {@link #findNestingNodes()}) that is at least partially visible and
+	 * nearest to the given pivot point (in scene coordinates).
+	 *
+	 * @param sceneX
+	 *            The x coordinate of the pivot point in the scene.
+	 * @param sceneY
+	 *            The y coordinate of the pivot point in the scene.
+	 * @return The visible {@link NodePart} with a nested graph that is
+	 *         nearest to the pivot point, or <code>null</code> if there is
+	 *         none.
+	 */
+	protected NodePart findPivotPart(double sceneX, double sceneY) {
+		double pivotDistance = Double.MAX_VALUE;
+		NodePart pivotPart = null;
+
+		InfiniteCanvas infiniteCanvas = ((InfiniteCanvasViewer) viewer).getCanvas();
+		org.eclipse.gef.geometry.planar.Rectangle viewportBounds = new org.eclipse.gef.geometry.planar.Rectangle(0, 0,
+				infiniteCanvas.getWidth(), infiniteCanvas.getHeight());
+		Point pivotPoint = FX2Geometry.toPoint(infiniteCanvas.sceneToLocal(sceneX, sceneY));
+
+		for (NodePart nodePart : findNestingNodes()) {
+			Group visual = nodePart.getVisual();
+			Bounds boundsInScene = visual.localToScene(visual.getLayoutBounds());
+			org.eclipse.gef.geometry.planar.Rectangle boundsInViewport = FX2Geometry
+					.toRectangle(infiniteCanvas.sceneToLocal(boundsInScene));
+			if (boundsInViewport.touches(viewportBounds)) {
+				double distance = boundsInViewport.getCenter().getDistance(pivotPoint);
+				if (distance < pivotDistance) {
+					pivotDistance = distance;
+					pivotPart = nodePart;
+				}
+			}
+		}
+		return pivotPart;
+	}
+
 	@Override
 	protected ChangeViewportOperation getChangeViewportOperation() {
 		return getNavigateOperation().getChangeViewportOperation();
@@ -131,40 +185,24 @@ public class SemanticZoomPolicy extends ChangeViewportPolicy {
 
 		// open nested/nesting graph depending on zoom level
 		boolean openGraph = false;
-		if (initialZoomLevel < finalZoomLevel && finalZoomLevel > 3) {
+		if (initialZoomLevel < finalZoomLevel && finalZoomLevel > OPEN_NESTED_GRAPH_ZOOM_LEVEL) {
 			// zooming in => open nested graph (if any)
-			// find all NodeContentParts with nested graphs
-			List<NodePart> nestingNodeContentParts = findNestingNodes();
-
-			// determine the nesting node that is at least partially visible and
-			// nearest to the pivot point
-			double pivotDistance = Double.MAX_VALUE;
-			NodePart pivotPart = null;
-
-			InfiniteCanvas infiniteCanvas = ((InfiniteCanvasViewer) viewer).getCanvas();
-			org.eclipse.gef.geometry.planar.Rectangle viewportBounds = new org.eclipse.gef.geometry.planar.Rectangle(0,
-					0, infiniteCanvas.getWidth(), infiniteCanvas.getHeight());
-			Point pivotPoint = FX2Geometry.toPoint(infiniteCanvas.sceneToLocal(sceneX, sceneY));
-
-			for (NodePart nodePart : new ArrayList<>(nestingNodeContentParts)) {
-				Group visual = nodePart.getVisual();
-				Bounds boundsInScene = visual.localToScene(visual.getLayoutBounds());
-				org.eclipse.gef.geometry.planar.Rectangle boundsInViewport = FX2Geometry
-						.toRectangle(infiniteCanvas.sceneToLocal(boundsInScene));
-				if (boundsInViewport.touches(viewportBounds)) {
-					double distance = boundsInViewport.getCenter().getDistance(pivotPoint);
-					if (distance < pivotDistance) {
-						pivotPart = nodePart;
-					}
-				}
-			}
-
-			// open nested graph
+			NodePart pivotPart = findPivotPart(sceneX, sceneY);
 			if (pivotPart != null) {
 				openGraph = true;
 				getNavigateOperation().setFinalState(pivotPart.getContent().getNestedGraph(), true);
 			}
-		} else if (initialZoomLevel > finalZoomLevel && finalZoomLevel < 0.7) {
+		} else if (initialZoomLevel < finalZoomLevel && finalZoomLevel > PREFETCH_NESTED_GRAPH_ZOOM_LEVEL) {
+			// zooming in near the threshold => prefetch layout of the nested
+			// graph that is likely to be opened next
+			NodePart pivotPart = findPivotPart(sceneX, sceneY);
+			if (pivotPart != null) {
+				InfiniteCanvas infiniteCanvas = ((InfiniteCanvasViewer) viewer).getCanvas();
+				navigationModel.prefetchLayout(pivotPart.getContent().getNestedGraph(),
+						new org.eclipse.gef.geometry.planar.Rectangle(0, 0, infiniteCanvas.getWidth(),
+								infiniteCanvas.getHeight()));
+			}
+		} else if (initialZoomLevel > finalZoomLevel && finalZoomLevel < OPEN_NESTING_GRAPH_ZOOM_LEVEL) {
 			// zooming out => open nesting graph (if any)
 			final Graph currentGraph = (Graph) viewer.getContents().get(0);
 			final Graph nestingGraph = currentGraph.getNestingNode() != null ? currentGraph.getNestingNode().getGraph()
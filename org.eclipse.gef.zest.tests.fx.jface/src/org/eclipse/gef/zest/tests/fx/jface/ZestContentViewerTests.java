@@ -21,6 +21,7 @@ import static org.junit.Assert.assertTrue;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -54,6 +55,7 @@ import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import javafx.collections.MapChangeListener;
 import javafx.scene.Node;
 
 public class ZestContentViewerTests {
@@ -169,6 +171,73 @@ public class ZestContentViewerTests {
 		}
 	}
 
+	static class MutableContentProvider implements IGraphContentProvider {
+		private final List<Object> nodes = new ArrayList<>();
+		private final Map<Object, List<Object>> adjacentNodes = new HashMap<>();
+		private final Map<Object, List<Object>> nestedGraphNodes = new HashMap<>();
+
+		@Override
+		public void dispose() {
+		}
+
+		@Override
+		public Object[] getAdjacentNodes(Object node) {
+			List<Object> adjacent = adjacentNodes.get(node);
+			return adjacent == null ? null : adjacent.toArray();
+		}
+
+		@Override
+		public Object[] getNestedGraphNodes(Object node) {
+			List<Object> nested = nestedGraphNodes.get(node);
+			return nested == null ? null : nested.toArray();
+		}
+
+		@Override
+		public Object[] getNodes() {
+			return nodes.toArray();
+		}
+
+		@Override
+		public boolean hasNestedGraph(Object node) {
+			return nestedGraphNodes.containsKey(node);
+		}
+
+		@Override
+		public void inputChanged(org.eclipse.jface.viewers.Viewer viewer, Object oldInput, Object newInput) {
+		}
+	}
+
+	static class MutableLabelProvider extends LabelProvider implements IGraphAttributesProvider {
+		private final Map<String, Object> graphAttributes = new HashMap<>();
+		private final Map<Object, Map<String, Object>> nodeAttributes = new HashMap<>();
+		private final Map<List<Object>, Map<String, Object>> edgeAttributes = new HashMap<>();
+
+		@Override
+		public Map<String, Object> getEdgeAttributes(Object sourceNode, Object targetNode) {
+			return edgeAttributes.get(Arrays.asList(sourceNode, targetNode));
+		}
+
+		@Override
+		public Map<String, Object> getGraphAttributes() {
+			return graphAttributes;
+		}
+
+		@Override
+		public Map<String, Object> getNestedGraphAttributes(Object nestingNode) {
+			return null;
+		}
+
+		@Override
+		public Map<String, Object> getNodeAttributes(Object node) {
+			return nodeAttributes.get(node);
+		}
+
+		@Override
+		public String getText(Object element) {
+			return element.toString();
+		}
+	}
+
 	static class MyLabelProvider extends LabelProvider
 			implements IColorProvider, IFontProvider, IToolTipProvider, IGraphAttributesProvider {
 		private static Image image = new Image(display, 10, 10);
@@ -317,6 +386,11 @@ public class ZestContentViewerTests {
 	private ZestContentViewer viewer;
 	private Shell shell;
 
+	private boolean hasPart(Object content) {
+		IContentPart<? extends Node> part = viewer.getContentViewer().getContentPartMap().get(content);
+		return part != null && part.getParent() != null;
+	}
+
 	@After
 	public void cleanUp() {
 		shell.dispose();
@@ -453,6 +527,224 @@ public class ZestContentViewerTests {
 		viewer.setInput(new Object());
 	}
 
+	@Test
+	public void test_refreshIncremental() {
+		viewer.setInput(new Object());
+		Graph rootGraph = (Graph) viewer.getContentViewer().getContents().get(0);
+		org.eclipse.gef.graph.Node firstNode = viewer.getContentNodeMap().get(MyContentProvider.first());
+		List<Edge> edges = new ArrayList<>(rootGraph.getEdges());
+		IContentPart<? extends Node> firstPart = viewer.getContentViewer().getContentPartMap().get(firstNode);
+		assertNotNull(firstPart);
+		// refresh keeps the graph, its nodes and edges, and their parts
+		viewer.refresh();
+		assertEquals(rootGraph, viewer.getContentViewer().getContents().get(0));
+		assertEquals(firstNode, viewer.getContentNodeMap().get(MyContentProvider.first()));
+		assertEquals(edges, rootGraph.getEdges());
+		assertEquals(firstPart, viewer.getContentViewer().getContentPartMap().get(firstNode));
+		// a new input leads to a new graph
+		viewer.setInput(new Object());
+		assertFalse(rootGraph == viewer.getContentViewer().getContents().get(0));
+	}
+
+	@Test
+	public void test_refreshIncremental_attributes() {
+		MutableContentProvider contentProvider = new MutableContentProvider();
+		contentProvider.nodes.addAll(Arrays.asList("a", "b"));
+		contentProvider.adjacentNodes.put("a", new ArrayList<>(Arrays.<Object> asList("b")));
+		MutableLabelProvider labelProvider = new MutableLabelProvider();
+		labelProvider.graphAttributes.put("root", 1);
+		labelProvider.nodeAttributes.put("a", new HashMap<>(Collections.<String, Object> singletonMap("x", 1)));
+		labelProvider.edgeAttributes.put(Arrays.<Object> asList("a", "b"),
+				new HashMap<>(Collections.<String, Object> singletonMap("weight", 1)));
+		viewer.setContentProvider(contentProvider);
+		viewer.setLabelProvider(labelProvider);
+		viewer.setInput(new Object());
+		Graph rootGraph = (Graph) viewer.getContentViewer().getContents().get(0);
+		org.eclipse.gef.graph.Node a = viewer.getContentNodeMap().get("a");
+		Edge ab = rootGraph.getEdges().get(0);
+		assertEquals(1, rootGraph.attributesProperty().get("root"));
+		assertEquals(1, a.attributesProperty().get("x"));
+		assertEquals(1, ab.attributesProperty().get("weight"));
+
+		// unchanged values are not replaced, attributes that are not provided
+		// (e.g. layout results) are preserved
+		a.attributesProperty().put("foreign", true);
+		final List<String> changedKeys = new ArrayList<>();
+		a.attributesProperty().addListener(new MapChangeListener<String, Object>() {
+			@Override
+			public void onChanged(MapChangeListener.Change<? extends String, ? extends Object> change) {
+				changedKeys.add(change.getKey());
+			}
+		});
+		viewer.refresh();
+		assertFalse(changedKeys.contains("x"));
+		assertEquals(true, a.attributesProperty().get("foreign"));
+
+		// changed values are replaced
+		labelProvider.graphAttributes.put("root", 2);
+		labelProvider.nodeAttributes.get("a").put("x", 2);
+		labelProvider.edgeAttributes.get(Arrays.<Object> asList("a", "b")).put("weight", 2);
+		viewer.refresh();
+		assertEquals(rootGraph, viewer.getContentViewer().getContents().get(0));
+		assertEquals(a, viewer.getContentNodeMap().get("a"));
+		assertEquals(Collections.singletonList(ab), rootGraph.getEdges());
+		assertEquals(2, rootGraph.attributesProperty().get("root"));
+		assertEquals(2, a.attributesProperty().get("x"));
+		assertEquals(2, ab.attributesProperty().get("weight"));
+		assertTrue(changedKeys.contains("x"));
+
+		// attributes that are no longer provided are removed
+		labelProvider.graphAttributes.clear();
+		labelProvider.nodeAttributes.clear();
+		labelProvider.edgeAttributes.clear();
+		viewer.refresh();
+		assertFalse(rootGraph.attributesProperty().containsKey("root"));
+		assertFalse(a.attributesProperty().containsKey("x"));
+		assertFalse(ab.attributesProperty().containsKey("weight"));
+		assertEquals(true, a.attributesProperty().get("foreign"));
+		assertNotNull(ZestProperties.getLabel(a));
+	}
+
+	@Test
+	public void test_refreshIncremental_edges() {
+		MutableContentProvider contentProvider = new MutableContentProvider();
+		contentProvider.nodes.addAll(Arrays.asList("a", "b", "c"));
+		// multi-edge a-b, edge b-c, and self-loop c-c
+		contentProvider.adjacentNodes.put("a", new ArrayList<>(Arrays.<Object> asList("b", "b")));
+		contentProvider.adjacentNodes.put("b", new ArrayList<>(Arrays.<Object> asList("c")));
+		contentProvider.adjacentNodes.put("c", new ArrayList<>(Arrays.<Object> asList("c")));
+		viewer.setContentProvider(contentProvider);
+		viewer.setLabelProvider(new MutableLabelProvider());
+		viewer.setInput(new Object());
+		Graph rootGraph = (Graph) viewer.getContentViewer().getContents().get(0);
+		org.eclipse.gef.graph.Node a = viewer.getContentNodeMap().get("a");
+		org.eclipse.gef.graph.Node b = viewer.getContentNodeMap().get("b");
+		List<Edge> edges = new ArrayList<>(rootGraph.getEdges());
+		assertEquals(4, edges.size());
+		Edge ab1 = edges.get(0);
+		Edge ab2 = edges.get(1);
+		Edge bc = edges.get(2);
+		Edge cc = edges.get(3);
+		IContentPart<? extends Node> ab1Part = viewer.getContentViewer().getContentPartMap().get(ab1);
+		assertNotNull(ab1Part);
+
+		// unchanged edges are kept
+		viewer.refresh();
+		assertEquals(edges, rootGraph.getEdges());
+
+		// one of the parallel edges is removed
+		contentProvider.adjacentNodes.get("a").remove("b");
+		viewer.refresh();
+		assertEquals(Arrays.asList(ab1, bc, cc), rootGraph.getEdges());
+		assertFalse(hasPart(ab2));
+		assertEquals(ab1Part, viewer.getContentViewer().getContentPartMap().get(ab1));
+
+		// a changed target leads to a new edge
+		contentProvider.adjacentNodes.get("b").set(0, "a");
+		viewer.refresh();
+		assertEquals(3, rootGraph.getEdges().size());
+		assertEquals(Arrays.asList(ab1, cc), rootGraph.getEdges().subList(0, 2));
+		Edge ba = rootGraph.getEdges().get(2);
+		assertEquals(b, ba.getSource());
+		assertEquals(a, ba.getTarget());
+		assertEquals(rootGraph, ba.getGraph());
+		assertFalse(hasPart(bc));
+		assertTrue(hasPart(ba));
+
+		// the self-loop is removed
+		contentProvider.adjacentNodes.remove("c");
+		viewer.refresh();
+		assertEquals(Arrays.asList(ab1, ba), rootGraph.getEdges());
+		assertFalse(hasPart(cc));
+	}
+
+	@Test
+	public void test_refreshIncremental_nestedGraphs() {
+		MutableContentProvider contentProvider = new MutableContentProvider();
+		contentProvider.nodes.addAll(Arrays.asList("a", "b"));
+		contentProvider.nestedGraphNodes.put("a", new ArrayList<>(Arrays.<Object> asList("a1", "a2")));
+		contentProvider.adjacentNodes.put("a1", new ArrayList<>(Arrays.<Object> asList("a2")));
+		viewer.setContentProvider(contentProvider);
+		viewer.setLabelProvider(new MutableLabelProvider());
+		viewer.setInput(new Object());
+		org.eclipse.gef.graph.Node a = viewer.getContentNodeMap().get("a");
+		org.eclipse.gef.graph.Node a1 = viewer.getContentNodeMap().get("a1");
+		Graph nestedGraph = a.getNestedGraph();
+		assertNotNull(nestedGraph);
+		Edge a1a2 = nestedGraph.getEdges().get(0);
+
+		// nodes and edges are added to the nested graph
+		contentProvider.nestedGraphNodes.get("a").add("a3");
+		contentProvider.adjacentNodes.put("a3", new ArrayList<>(Arrays.<Object> asList("a1")));
+		viewer.refresh();
+		assertEquals(a, viewer.getContentNodeMap().get("a"));
+		assertEquals(nestedGraph, a.getNestedGraph());
+		assertEquals(a1, viewer.getContentNodeMap().get("a1"));
+		org.eclipse.gef.graph.Node a3 = viewer.getContentNodeMap().get("a3");
+		assertNotNull(a3);
+		assertEquals(nestedGraph, a3.getGraph());
+		assertEquals(2, nestedGraph.getEdges().size());
+		assertEquals(a1a2, nestedGraph.getEdges().get(0));
+		assertEquals(a3, nestedGraph.getEdges().get(1).getSource());
+
+		// a node that no longer nests a graph is replaced
+		contentProvider.nestedGraphNodes.remove("a");
+		viewer.refresh();
+		org.eclipse.gef.graph.Node newA = viewer.getContentNodeMap().get("a");
+		assertNotNull(newA);
+		assertFalse(a == newA);
+		assertNull(newA.getNestedGraph());
+		assertNull(viewer.getContentNodeMap().get("a1"));
+		assertFalse(hasPart(a));
+		assertTrue(hasPart(newA));
+	}
+
+	@Test
+	public void test_refreshIncremental_nodes() {
+		MutableContentProvider contentProvider = new MutableContentProvider();
+		contentProvider.nodes.addAll(Arrays.asList("a", "b", "c"));
+		contentProvider.adjacentNodes.put("a", new ArrayList<>(Arrays.<Object> asList("b")));
+		viewer.setContentProvider(contentProvider);
+		viewer.setLabelProvider(new MutableLabelProvider());
+		viewer.setInput(new Object());
+		Graph rootGraph = (Graph) viewer.getContentViewer().getContents().get(0);
+		org.eclipse.gef.graph.Node a = viewer.getContentNodeMap().get("a");
+		org.eclipse.gef.graph.Node b = viewer.getContentNodeMap().get("b");
+		org.eclipse.gef.graph.Node c = viewer.getContentNodeMap().get("c");
+		Edge ab = rootGraph.getEdges().get(0);
+		IContentPart<? extends Node> aPart = viewer.getContentViewer().getContentPartMap().get(a);
+		assertNotNull(aPart);
+
+		// a node is added (together with an edge)
+		contentProvider.nodes.add("d");
+		contentProvider.adjacentNodes.put("c", new ArrayList<>(Arrays.<Object> asList("d")));
+		viewer.refresh();
+		assertEquals(rootGraph, viewer.getContentViewer().getContents().get(0));
+		org.eclipse.gef.graph.Node d = viewer.getContentNodeMap().get("d");
+		assertNotNull(d);
+		assertEquals(rootGraph, d.getGraph());
+		assertEquals(Arrays.asList(a, b, c, d), rootGraph.getNodes());
+		assertEquals(2, rootGraph.getEdges().size());
+		assertEquals(ab, rootGraph.getEdges().get(0));
+		Edge cd = rootGraph.getEdges().get(1);
+		assertEquals(c, cd.getSource());
+		assertEquals(d, cd.getTarget());
+		assertTrue(hasPart(d));
+		assertTrue(hasPart(cd));
+		assertEquals(aPart, viewer.getContentViewer().getContentPartMap().get(a));
+
+		// a node is removed (together with its edge)
+		contentProvider.nodes.remove("b");
+		contentProvider.adjacentNodes.remove("a");
+		viewer.refresh();
+		assertEquals(Arrays.asList(a, c, d), rootGraph.getNodes());
+		assertEquals(Collections.singletonList(cd), rootGraph.getEdges());
+		assertNull(viewer.getContentNodeMap().get("b"));
+		assertFalse(hasPart(b));
+		assertFalse(hasPart(ab));
+		assertEquals(aPart, viewer.getContentViewer().getContentPartMap().get(a));
+	}
+
 	@Test
 	public void test_selectionModel() {
 		final List<Object> expectation = new ArrayList<>();
@@ -17,6 +17,8 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ NodeLayoutBehaviorTests.class })
+@SuiteClasses({ CssStyleModelTests.class, EdgeBatchRenderingBehaviorTests.class, GraphPartTests.class,
+		GraphVirtualizationBehaviorTests.class, HidingModelTests.class, LevelOfDetailBehaviorTests.class,
+		NavigationModelTests.class, NodeLayoutBehaviorTests.class })
 public class AllTests {
 }
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import org.eclipse.gef.zest.fx.models.CssStyleModel;
+import org.junit.Test;
+
+import javafx.collections.ListChangeListener;
+import javafx.scene.shape.Rectangle;
+
+public class CssStyleModelTests {
+
+	private static final String DATA_URL_PREFIX = "data:text/css;base64,";
+
+	private static String read(String url) {
+		assertTrue(url.startsWith(DATA_URL_PREFIX));
+		return new String(Base64.getDecoder().decode(url.substring(DATA_URL_PREFIX.length())), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	public void applyStyle() {
+		CssStyleModel model = new CssStyleModel();
+		Rectangle rectangle = new Rectangle();
+		rectangle.getStyleClass().add("custom");
+		model.applyStyle(rectangle, "-fx-fill: red;");
+		String red = model.getStyleClass("-fx-fill: red;");
+		assertEquals(2, rectangle.getStyleClass().size());
+		assertTrue(rectangle.getStyleClass().contains(red));
+
+		// the previous style class is replaced
+		model.applyStyle(rectangle, "-fx-fill: blue;");
+		assertEquals(2, rectangle.getStyleClass().size());
+		assertFalse(rectangle.getStyleClass().contains(red));
+		assertTrue(rectangle.getStyleClass().contains(model.getStyleClass("-fx-fill: blue;")));
+
+		// the style class is removed for an empty style
+		model.applyStyle(rectangle, null);
+		assertEquals(1, rectangle.getStyleClass().size());
+		assertEquals("custom", rectangle.getStyleClass().get(0));
+		model.dispose();
+	}
+
+	@Test
+	public void publishSingleStylesheet() {
+		CssStyleModel model = new CssStyleModel();
+		final List<String> added = new ArrayList<>();
+		final List<String> removed = new ArrayList<>();
+		// the listener is registered at the (shared) unmodifiable list only
+		assertSame(model.getStylesheetsUnmodifiable(), model.getStylesheetsUnmodifiable());
+		model.getStylesheetsUnmodifiable().addListener(new ListChangeListener<String>() {
+			@Override
+			public void onChanged(ListChangeListener.Change<? extends String> change) {
+				while (change.next()) {
+					removed.addAll(change.getRemoved());
+					added.addAll(change.getAddedSubList());
+				}
+			}
+		});
+		System.gc();
+
+		// outside of the JavaFX application thread, the rule is published
+		// synchronously
+		String red = model.getStyleClass("-fx-fill: red; -fx-stroke: black");
+		assertEquals(1, model.getStylesheetsUnmodifiable().size());
+		assertEquals(model.getStylesheetsUnmodifiable(), added);
+		String first = model.getStylesheetsUnmodifiable().get(0);
+		String rules = read(first);
+		assertTrue(rules.contains("." + red + " "));
+		assertTrue(rules.contains("-fx-fill: red !important;"));
+		assertTrue(rules.contains("-fx-stroke: black !important;"));
+		// the rule does not apply to descendants
+		assertFalse(rules.contains("*"));
+
+		// equal styles share their style class and rule
+		assertEquals(red, model.getStyleClass("-fx-fill: red; -fx-stroke: black"));
+		assertEquals(1, added.size());
+
+		// a new style replaces the stylesheet by one that contains all rules
+		String blue = model.getStyleClass("-fx-font-family: \"a;b\"; -fx-fill: blue !important;");
+		assertNotEquals(red, blue);
+		assertEquals(1, model.getStylesheetsUnmodifiable().size());
+		String second = model.getStylesheetsUnmodifiable().get(0);
+		assertEquals(Arrays.asList(first, second), added);
+		assertEquals(Arrays.asList(first), removed);
+		rules = read(second);
+		assertTrue(rules.contains("." + red + " "));
+		assertTrue(rules.contains("-fx-font-family: \"a;b\" !important;"));
+		assertTrue(rules.contains("-fx-fill: blue !important;"));
+		assertFalse(rules.contains("!important !important"));
+
+		// nothing is published without new styles
+		model.flush();
+		assertEquals(2, added.size());
+
+		// the stylesheet is removed on dispose
+		model.dispose();
+		assertTrue(model.getStylesheetsUnmodifiable().isEmpty());
+		assertEquals(Arrays.asList(first, second), removed);
+	}
+
+	@Test
+	public void uniqueStyleClasses() {
+		CssStyleModel model = new CssStyleModel();
+		CssStyleModel other = new CssStyleModel();
+		assertNull(model.getStyleClass(null));
+		assertNull(model.getStyleClass(" "));
+
+		// the style classes of different models (viewers) do not clash
+		String style = "-fx-fill: red;";
+		String styleClass = model.getStyleClass(style);
+		assertTrue(styleClass.startsWith(CssStyleModel.STYLE_CLASS_PREFIX));
+		assertNotEquals(styleClass, other.getStyleClass(style));
+
+		// a model only replaces its own style classes
+		Rectangle rectangle = new Rectangle();
+		other.applyStyle(rectangle, style);
+		model.applyStyle(rectangle, style);
+		assertEquals(2, rectangle.getStyleClass().size());
+		model.dispose();
+		other.dispose();
+	}
+
+}
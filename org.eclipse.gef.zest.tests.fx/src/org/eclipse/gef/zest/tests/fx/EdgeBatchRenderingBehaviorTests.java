@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.eclipse.gef.zest.tests.fx.ZestTestUtils.createNode;
+import static org.eclipse.gef.zest.tests.fx.ZestTestUtils.createViewer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.mvc.fx.models.HoverModel;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.EdgeBatchRenderingBehavior;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class EdgeBatchRenderingBehaviorTests {
+
+	/**
+	 * Ensure all tests are executed on the JavaFX application thread (and the
+	 * JavaFX toolkit is properly initialized).
+	 */
+	@Rule
+	public FXApplicationThreadRule fxApplicationThreadRule = new FXApplicationThreadRule();
+
+	private boolean hasPart(IViewer viewer, GraphPart graphPart, Object content) {
+		IContentPart<? extends javafx.scene.Node> part = viewer.getContentPartMap().get(content);
+		return part != null && part.getParent() == graphPart;
+	}
+
+	@Test
+	public void cullBatchedEdges() {
+		Node a = createNode(0, 0);
+		Node b = createNode(100, 0);
+		Node c = createNode(5000, 5000);
+		Node d = createNode(5100, 5000);
+		Edge ab = new Edge(a, b);
+		Edge cd = new Edge(c, d);
+		Graph graph = new Graph.Builder().nodes(a, b, c, d).edges(ab, cd).build();
+		ZestProperties.setBatchedEdges(graph, true);
+		IViewer viewer = createViewer(graph);
+		GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+		EdgeBatchRenderingBehavior behavior = graphPart.getAdapter(EdgeBatchRenderingBehavior.class);
+		assertTrue(behavior.isBatching());
+
+		// only the edges that intersect the area are returned
+		Rectangle area = new Rectangle(-50, -50, 300, 150);
+		assertEquals(Collections.singletonList(ab), behavior.getBatchedEdges(area));
+		assertEquals(new HashSet<>(Arrays.asList(ab, cd)),
+				new HashSet<>(behavior.getBatchedEdges(new Rectangle(-50, -50, 6000, 6000))));
+
+		// the index is updated when nodes are moved
+		ZestProperties.setPosition(c, new Point(0, 50));
+		ZestProperties.setPosition(d, new Point(100, 50));
+		assertEquals(new HashSet<>(Arrays.asList(ab, cd)), new HashSet<>(behavior.getBatchedEdges(area)));
+		ZestProperties.setPosition(a, new Point(5000, 5000));
+		ZestProperties.setPosition(b, new Point(5100, 5000));
+		assertEquals(Collections.singletonList(cd), behavior.getBatchedEdges(area));
+
+		// and when edges are added or removed
+		Edge bc = new Edge(b, c);
+		graph.getEdges().add(bc);
+		assertEquals(new HashSet<>(Arrays.asList(bc, cd)), new HashSet<>(behavior.getBatchedEdges(area)));
+		graph.getEdges().remove(cd);
+		assertEquals(Collections.singletonList(bc), behavior.getBatchedEdges(area));
+	}
+
+	@Test
+	public void capPromotedEdges() {
+		Node hub = createNode(100, 100);
+		Node a = createNode(0, 0);
+		Node b = createNode(200, 0);
+		Edge ha = new Edge(hub, a);
+		Edge hb = new Edge(hub, b);
+		Graph graph = new Graph.Builder().nodes(hub, a, b).edges(ha, hb).build();
+		ZestProperties.setBatchedEdges(graph, true);
+		IViewer viewer = createViewer(graph);
+		GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+		EdgeBatchRenderingBehavior behavior = graphPart.getAdapter(EdgeBatchRenderingBehavior.class);
+		behavior.setMaxPromotedEdges(1);
+
+		// only the first incident edge of the hovered hub is promoted
+		viewer.getAdapter(HoverModel.class).setHover(viewer.getContentPartMap().get(hub));
+		assertTrue(behavior.isPromoted(ha));
+		assertFalse(behavior.isPromoted(hb));
+		assertTrue(hasPart(viewer, graphPart, ha));
+		assertFalse(hasPart(viewer, graphPart, hb));
+		assertEquals(Collections.singletonList(hb), behavior.getBatchedEdges(new Rectangle(150, -50, 100, 100)));
+
+		// raising the cap promotes the remaining edges
+		behavior.setMaxPromotedEdges(2);
+		assertTrue(behavior.isPromoted(hb));
+		assertTrue(hasPart(viewer, graphPart, hb));
+	}
+
+	@Test
+	public void promoteHoveredEdges() {
+		Node a = createNode(0, 0);
+		Node b = createNode(100, 0);
+		Node c = createNode(200, 0);
+		Edge ab = new Edge(a, b);
+		Edge bc = new Edge(b, c);
+		Graph graph = new Graph.Builder().nodes(a, b, c).edges(ab, bc).build();
+		ZestProperties.setBatchedEdges(graph, true);
+		IViewer viewer = createViewer(graph);
+		GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+		EdgeBatchRenderingBehavior behavior = graphPart.getAdapter(EdgeBatchRenderingBehavior.class);
+		assertFalse(hasPart(viewer, graphPart, ab));
+		assertFalse(hasPart(viewer, graphPart, bc));
+		IContentPart<? extends javafx.scene.Node> partA = viewer.getContentPartMap().get(a);
+		IContentPart<? extends javafx.scene.Node> partC = viewer.getContentPartMap().get(c);
+
+		// hovering a node promotes its edges, the other parts are kept
+		viewer.getAdapter(HoverModel.class).setHover(partA);
+		assertTrue(behavior.isPromoted(ab));
+		assertFalse(behavior.isPromoted(bc));
+		assertTrue(hasPart(viewer, graphPart, ab));
+		assertFalse(hasPart(viewer, graphPart, bc));
+		assertSame(partA, viewer.getContentPartMap().get(a));
+		assertSame(partC, viewer.getContentPartMap().get(c));
+		assertEquals(4, graphPart.getChildrenUnmodifiable().size());
+
+		// hovering another node demotes the previously promoted edges
+		viewer.getAdapter(HoverModel.class).setHover(partC);
+		assertFalse(hasPart(viewer, graphPart, ab));
+		assertTrue(hasPart(viewer, graphPart, bc));
+		assertEquals(4, graphPart.getChildrenUnmodifiable().size());
+
+		viewer.getAdapter(HoverModel.class).clearHover();
+		assertFalse(hasPart(viewer, graphPart, ab));
+		assertFalse(hasPart(viewer, graphPart, bc));
+		assertEquals(3, graphPart.getChildrenUnmodifiable().size());
+		assertEquals(new HashSet<>(Arrays.asList(ab, bc)),
+				new HashSet<>(behavior.getBatchedEdges(new Rectangle(-50, -50, 300, 100))));
+	}
+
+}
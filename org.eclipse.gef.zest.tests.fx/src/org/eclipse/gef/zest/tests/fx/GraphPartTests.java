@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.eclipse.gef.zest.tests.fx.ZestTestUtils.createNode;
+import static org.eclipse.gef.zest.tests.fx.ZestTestUtils.createViewer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.mvc.fx.parts.IContentPart;
+import org.eclipse.gef.mvc.fx.parts.IVisualPart;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.eclipse.gef.zest.fx.parts.GraphPart.RelayoutPolicy;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javafx.collections.FXCollections;
+import javafx.util.Pair;
+
+public class GraphPartTests {
+
+	/**
+	 * An {@link ILayoutAlgorithm} that records the layout passes.
+	 */
+	private static class RecordingLayoutAlgorithm implements ILayoutAlgorithm {
+
+		private LayoutContext context;
+		private final List<Boolean> passes = new ArrayList<>();
+
+		@Override
+		public void applyLayout(boolean clean) {
+			passes.add(clean);
+		}
+
+		@Override
+		public LayoutContext getLayoutContext() {
+			return context;
+		}
+
+		@Override
+		public void setLayoutContext(LayoutContext context) {
+			this.context = context;
+		}
+	}
+
+	/**
+	 * Ensure all tests are executed on the JavaFX application thread (and the
+	 * JavaFX toolkit is properly initialized).
+	 */
+	@Rule
+	public FXApplicationThreadRule fxApplicationThreadRule = new FXApplicationThreadRule();
+
+	/**
+	 * Asserts that the content part children of the given {@link GraphPart},
+	 * as well as their visuals, are ordered like the given contents.
+	 */
+	private void assertContentChildren(GraphPart graphPart, Object... contents) {
+		List<Object> contentChildren = new ArrayList<>();
+		List<javafx.scene.Node> visuals = new ArrayList<>();
+		for (IVisualPart<? extends javafx.scene.Node> child : graphPart.getChildrenUnmodifiable()) {
+			contentChildren.add(((IContentPart<? extends javafx.scene.Node>) child).getContent());
+			visuals.add(child.getVisual());
+		}
+		assertEquals(Arrays.asList(contents), contentChildren);
+		assertEquals(visuals, graphPart.getVisual().getChildren());
+	}
+
+	@Test
+	public void edgeDeltas() {
+		Node a = createNode(10, 10);
+		Node b = createNode(100, 10);
+		Edge ab = new Edge(a, b);
+		Graph graph = new Graph.Builder().nodes(a, b).edges(ab).build();
+		IViewer viewer = createViewer(graph);
+		GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+		IContentPart<? extends javafx.scene.Node> partA = viewer.getContentPartMap().get(a);
+		IContentPart<? extends javafx.scene.Node> partAB = viewer.getContentPartMap().get(ab);
+
+		// add an edge with a label, which is appended to the edges
+		Edge ba = new Edge(b, a);
+		ZestProperties.setLabel(ba, "ba");
+		graph.getEdges().add(ba);
+		Pair<Edge, String> label = new Pair<>(ba, ZestProperties.LABEL__NE);
+		assertContentChildren(graphPart, a, b, ab, ba, label);
+		assertSame(partA, viewer.getContentPartMap().get(a));
+		assertSame(partAB, viewer.getContentPartMap().get(ab));
+		assertNotNull(viewer.getContentPartMap().get(label));
+
+		// remove the first edge
+		graph.getEdges().remove(ab);
+		assertContentChildren(graphPart, a, b, ba, label);
+		assertNull(viewer.getContentPartMap().get(ab));
+
+		// remove the labeled edge
+		graph.getEdges().remove(ba);
+		assertContentChildren(graphPart, a, b);
+		assertNull(viewer.getContentPartMap().get(label));
+	}
+
+	@Test
+	public void nodeDeltas() {
+		Node a = createNode(10, 10);
+		Node b = createNode(100, 10);
+		Edge ab = new Edge(a, b);
+		Graph graph = new Graph.Builder().nodes(a, b).edges(ab).build();
+		IViewer viewer = createViewer(graph);
+		GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+		assertContentChildren(graphPart, a, b, ab);
+		IContentPart<? extends javafx.scene.Node> partA = viewer.getContentPartMap().get(a);
+		IContentPart<? extends javafx.scene.Node> partB = viewer.getContentPartMap().get(b);
+		IContentPart<? extends javafx.scene.Node> partAB = viewer.getContentPartMap().get(ab);
+
+		// add a node with an external label, which is appended to the nodes
+		Node c = createNode(200, 10);
+		ZestProperties.setExternalLabel(c, "c");
+		graph.getNodes().add(c);
+		Pair<Node, String> label = new Pair<>(c, ZestProperties.EXTERNAL_LABEL__NE);
+		assertContentChildren(graphPart, a, b, c, label, ab);
+		assertSame(partA, viewer.getContentPartMap().get(a));
+		assertSame(partB, viewer.getContentPartMap().get(b));
+		assertSame(partAB, viewer.getContentPartMap().get(ab));
+
+		// remove it again
+		graph.getNodes().remove(c);
+		assertContentChildren(graphPart, a, b, ab);
+		assertNull(viewer.getContentPartMap().get(c));
+		assertNull(viewer.getContentPartMap().get(label));
+		assertSame(partA, viewer.getContentPartMap().get(a));
+		assertSame(partB, viewer.getContentPartMap().get(b));
+	}
+
+	@Test
+	public void nodePermutation() {
+		Node a = createNode(10, 10);
+		Node b = createNode(100, 10);
+		Node c = createNode(200, 10);
+		Edge ab = new Edge(a, b);
+		Graph graph = new Graph.Builder().nodes(a, b, c).edges(ab).build();
+		IViewer viewer = createViewer(graph);
+		GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+		IContentPart<? extends javafx.scene.Node> partA = viewer.getContentPartMap().get(a);
+		IContentPart<? extends javafx.scene.Node> partC = viewer.getContentPartMap().get(c);
+
+		// reverse the nodes
+		permute(graph, c, b, a);
+		assertEquals(Arrays.asList(c, b, a), graph.getNodes());
+		assertContentChildren(graphPart, c, b, a, ab);
+		assertSame(partA, viewer.getContentPartMap().get(a));
+		assertSame(partC, viewer.getContentPartMap().get(c));
+	}
+
+	/**
+	 * Sorts the nodes of the given {@link Graph} in the given order, which
+	 * results in a permutation of the underlying list.
+	 */
+	private void permute(Graph graph, Node... nodes) {
+		final List<Node> order = Arrays.asList(nodes);
+		FXCollections.sort(graph.nodesProperty().get(), new Comparator<Node>() {
+			@Override
+			public int compare(Node n1, Node n2) {
+				return order.indexOf(n1) - order.indexOf(n2);
+			}
+		});
+	}
+
+	@Test
+	public void relayoutPolicy() {
+		for (RelayoutPolicy policy : RelayoutPolicy.values()) {
+			Node a = createNode(10, 10);
+			Node b = createNode(100, 10);
+			Graph graph = new Graph.Builder().nodes(a, b).build();
+			RecordingLayoutAlgorithm algorithm = new RecordingLayoutAlgorithm();
+			ZestProperties.setLayoutAlgorithm(graph, algorithm);
+			IViewer viewer = createViewer(graph);
+			GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+			graphPart.setRelayoutPolicy(policy);
+			List<Boolean> expected = policy == RelayoutPolicy.NONE ? Collections.<Boolean> emptyList()
+					: Collections.singletonList(policy == RelayoutPolicy.FULL);
+
+			// node added
+			algorithm.passes.clear();
+			Node c = createNode(200, 10);
+			graph.getNodes().add(c);
+			assertEquals(policy.toString(), expected, algorithm.passes);
+
+			// edge added
+			algorithm.passes.clear();
+			Edge ab = new Edge(a, b);
+			graph.getEdges().add(ab);
+			assertEquals(policy.toString(), expected, algorithm.passes);
+
+			// edge removed
+			algorithm.passes.clear();
+			graph.getEdges().remove(ab);
+			assertEquals(policy.toString(), expected, algorithm.passes);
+
+			// node removed
+			algorithm.passes.clear();
+			graph.getNodes().remove(c);
+			assertEquals(policy.toString(), expected, algorithm.passes);
+
+			// nodes permuted
+			algorithm.passes.clear();
+			permute(graph, b, a);
+			assertEquals(policy.toString(), expected, algorithm.passes);
+			assertContentChildren(graphPart, b, a);
+		}
+	}
+
+}
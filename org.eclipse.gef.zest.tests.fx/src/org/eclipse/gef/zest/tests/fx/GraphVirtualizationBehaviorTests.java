@@ -0,0 +1,158 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.eclipse.gef.zest.tests.fx.ZestTestUtils.createNode;
+import static org.eclipse.gef.zest.tests.fx.ZestTestUtils.createViewer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.mvc.fx.viewer.InfiniteCanvasViewer;
+import org.eclipse.gef.mvc.tests.fx.rules.FXApplicationThreadRule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.behaviors.GraphVirtualizationBehavior;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.junit.Rule;
+import org.junit.Test;
+
+import javafx.scene.shape.Rectangle;
+
+public class GraphVirtualizationBehaviorTests {
+
+	/**
+	 * Ensure all tests are executed on the JavaFX application thread (and the
+	 * JavaFX toolkit is properly initialized).
+	 */
+	@Rule
+	public FXApplicationThreadRule fxApplicationThreadRule = new FXApplicationThreadRule();
+
+	private void scroll(IViewer viewer) {
+		// changes the viewport slightly, so that the realized elements are
+		// determined anew if the index is invalid
+		InfiniteCanvasViewer canvasViewer = (InfiniteCanvasViewer) viewer;
+		canvasViewer.getCanvas().setHorizontalScrollOffset(canvasViewer.getCanvas().getHorizontalScrollOffset() - 1);
+	}
+
+	@Test
+	public void invalidateOnElementChange() {
+		Node near = createNode(10, 10);
+		Node far = createNode(5000, 5000);
+		Graph graph = new Graph.Builder().nodes(near, far).build();
+		ZestProperties.setVirtualized(graph, true);
+		IViewer viewer = createViewer(graph);
+		GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+		GraphVirtualizationBehavior behavior = graphPart.getAdapter(GraphVirtualizationBehavior.class);
+		assertEquals(Collections.singletonList(near), behavior.getRealizedNodes());
+
+		// add a node within the viewport
+		Node added = createNode(50, 50);
+		graph.getNodes().add(added);
+		scroll(viewer);
+		assertEquals(Arrays.asList(near, added), behavior.getRealizedNodes());
+
+		// connect the far node, so that it is realized as well
+		Edge edge = new Edge(near, far);
+		graph.getEdges().add(edge);
+		scroll(viewer);
+		assertEquals(Collections.singletonList(edge), behavior.getRealizedEdges());
+		assertTrue(behavior.getRealizedNodes().contains(far));
+
+		// remove the edge and the added node again
+		graph.getEdges().remove(edge);
+		graph.getNodes().remove(added);
+		scroll(viewer);
+		assertEquals(Collections.emptyList(), behavior.getRealizedEdges());
+		assertEquals(Collections.singletonList(near), behavior.getRealizedNodes());
+	}
+
+	@Test
+	public void invalidateOnPositionChange() {
+		Node near = createNode(10, 10);
+		Node far = createNode(5000, 5000);
+		Graph graph = new Graph.Builder().nodes(near, far).build();
+		ZestProperties.setVirtualized(graph, true);
+		IViewer viewer = createViewer(graph);
+		GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+		GraphVirtualizationBehavior behavior = graphPart.getAdapter(GraphVirtualizationBehavior.class);
+		assertEquals(Collections.singletonList(near), behavior.getRealizedNodes());
+		assertNull(viewer.getContentPartMap().get(far));
+
+		// move the far node into the viewport (as if it was dragged)
+		ZestProperties.setPosition(far, new Point(50, 50));
+		scroll(viewer);
+		assertEquals(Arrays.asList(near, far), behavior.getRealizedNodes());
+		assertNotNull(viewer.getContentPartMap().get(far));
+
+		// and out of the viewport again
+		ZestProperties.setPosition(far, new Point(5000, 5000));
+		scroll(viewer);
+		assertEquals(Collections.singletonList(near), behavior.getRealizedNodes());
+	}
+
+	@Test
+	public void invalidateOnSizeChange() {
+		Node near = createNode(10, 10);
+		Node far = createNode(1000, 1000);
+		Graph graph = new Graph.Builder().nodes(near, far).build();
+		ZestProperties.setVirtualized(graph, true);
+		IViewer viewer = createViewer(graph);
+		GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+		GraphVirtualizationBehavior behavior = graphPart.getAdapter(GraphVirtualizationBehavior.class);
+		assertEquals(Collections.singletonList(near), behavior.getRealizedNodes());
+
+		// move the far node close to the viewport and let it grow into it
+		ZestProperties.setPosition(far, new Point(-2000, -2000));
+		ZestProperties.setSize(far, new Dimension(2000, 2000));
+		scroll(viewer);
+		assertEquals(Arrays.asList(near, far), behavior.getRealizedNodes());
+	}
+
+	@Test
+	public void placeholderPrecedesChildVisuals() {
+		Node near = createNode(10, 10);
+		Node far = createNode(5000, 5000);
+		Node other = createNode(100, 100);
+		Graph graph = new Graph.Builder().nodes(near, far, other).build();
+		ZestProperties.setVirtualized(graph, true);
+		IViewer viewer = createViewer(graph);
+		GraphPart graphPart = (GraphPart) viewer.getContentPartMap().get(graph);
+
+		// the placeholder spans all nodes
+		javafx.scene.Node placeholder = graphPart.getVisual().getChildren().get(0);
+		assertTrue(placeholder instanceof Rectangle);
+		assertEquals(10, ((Rectangle) placeholder).getX(), 0);
+		assertEquals(5020, ((Rectangle) placeholder).getX() + ((Rectangle) placeholder).getWidth(), 0);
+
+		// the visuals of the children follow in the order of the children
+		ZestProperties.setPosition(far, new Point(50, 50));
+		scroll(viewer);
+		assertEquals(3, graphPart.getChildrenUnmodifiable().size());
+		assertEquals(graphPart.getChildrenUnmodifiable().size() + 1, graphPart.getVisual().getChildren().size());
+		for (int i = 0; i < graphPart.getChildrenUnmodifiable().size(); i++) {
+			assertEquals(graphPart.getChildrenUnmodifiable().get(i).getVisual(),
+					graphPart.getVisual().getChildren().get(i + 1));
+		}
+	}
+
+}
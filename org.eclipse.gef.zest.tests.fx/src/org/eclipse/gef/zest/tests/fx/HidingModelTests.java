@@ -0,0 +1,424 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.zest.fx.models.HidingModel;
+import org.eclipse.gef.zest.fx.models.HidingModel.HiddenNodesChange;
+import org.junit.Test;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ObservableSet;
+import javafx.collections.SetChangeListener;
+
+public class HidingModelTests {
+
+	/**
+	 * A {@link SetChangeListener} that records the added and removed
+	 * {@link Node}s, as well as the number of changes, and checks that each
+	 * change is a {@link HiddenNodesChange} that either adds or removes nodes.
+	 */
+	private static class RecordingSetChangeListener implements SetChangeListener<Node> {
+		private final List<Node> added = new ArrayList<>();
+		private final List<Node> removed = new ArrayList<>();
+		private int changes;
+
+		@Override
+		public void onChanged(SetChangeListener.Change<? extends Node> change) {
+			assertTrue(change instanceof HiddenNodesChange);
+			HiddenNodesChange hiddenNodesChange = (HiddenNodesChange) change;
+			assertTrue(change.wasAdded() != change.wasRemoved());
+			if (change.wasAdded()) {
+				assertNull(change.getElementRemoved());
+				assertSame(hiddenNodesChange.getNodesAdded().get(0), change.getElementAdded());
+				assertTrue(change.getSet().containsAll(hiddenNodesChange.getNodesAdded()));
+				added.addAll(hiddenNodesChange.getNodesAdded());
+			} else {
+				assertNull(change.getElementAdded());
+				assertSame(hiddenNodesChange.getNodesRemoved().get(0), change.getElementRemoved());
+				for (Node node : hiddenNodesChange.getNodesRemoved()) {
+					assertFalse(change.getSet().contains(node));
+				}
+				removed.addAll(hiddenNodesChange.getNodesRemoved());
+			}
+			changes++;
+		}
+	}
+
+	/**
+	 * Asserts that the hidden neighbors that are maintained by the given
+	 * {@link HidingModel} are equal to those determined by scanning the edges
+	 * of the given {@link Graph}.
+	 */
+	private static void assertHiddenNeighbors(HidingModel hidingModel, Graph graph) {
+		for (Node node : graph.getNodes()) {
+			Set<Node> expected = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+			for (Node neighbor : node.getNeighbors()) {
+				if (hidingModel.isHidden(neighbor)) {
+					expected.add(neighbor);
+				}
+			}
+			assertEquals(expected, hidingModel.getHiddenNeighbors(node));
+			assertEquals(expected.size(), hidingModel.getHiddenNeighborsCount(node));
+			assertEquals(!expected.isEmpty(), hidingModel.hasHiddenNeighbors(node));
+		}
+	}
+
+	@Test
+	public void addAndRemoveEdgesWhileHidden() {
+		Node a = new Node();
+		Node b = new Node();
+		Node c = new Node();
+		Graph graph = new Graph.Builder().nodes(a, b, c).edges(new Edge(a, b)).build();
+		HidingModel hidingModel = new HidingModel();
+		hidingModel.hide(a);
+		assertHiddenNeighbors(hidingModel, graph);
+
+		// edges that are added to a graph with hidden nodes are indexed
+		Edge ac = new Edge(a, c);
+		graph.getEdges().add(ac);
+		assertEquals(Collections.singleton(a), hidingModel.getHiddenNeighbors(c));
+		assertHiddenNeighbors(hidingModel, graph);
+		Edge cb = new Edge(c, b);
+		graph.getEdges().add(cb);
+		hidingModel.hide(c);
+		assertEquals(2, hidingModel.getHiddenNeighborsCount(b));
+		assertHiddenNeighbors(hidingModel, graph);
+
+		// removed edges are un-indexed
+		graph.getEdges().remove(ac);
+		assertHiddenNeighbors(hidingModel, graph);
+		graph.getEdges().setAll(Arrays.asList(cb));
+		assertFalse(hidingModel.hasHiddenNeighbors(a));
+		assertEquals(Collections.singleton(c), hidingModel.getHiddenNeighbors(b));
+		assertHiddenNeighbors(hidingModel, graph);
+		graph.getEdges().clear();
+		assertHiddenNeighbors(hidingModel, graph);
+		for (Node node : graph.getNodes()) {
+			assertFalse(hidingModel.hasHiddenNeighbors(node));
+		}
+	}
+
+	@Test
+	public void bulkHideAndShow() {
+		Node a = new Node();
+		Node b = new Node();
+		Node c = new Node();
+		Node d = new Node();
+		Graph graph = new Graph.Builder().nodes(a, b, c, d)
+				.edges(new Edge(a, b), new Edge(b, c), new Edge(c, d), new Edge(d, a)).build();
+		final HidingModel hidingModel = new HidingModel();
+		RecordingSetChangeListener propertyListener = new RecordingSetChangeListener();
+		RecordingSetChangeListener setListener = new RecordingSetChangeListener();
+		hidingModel.hiddenProperty().addListener(propertyListener);
+		@SuppressWarnings("unchecked")
+		ObservableSet<Node> hiddenNodes = (ObservableSet<Node>) hidingModel.getHiddenNodesUnmodifiable();
+		hiddenNodes.addListener(setListener);
+		assertTrue(hidingModel.hiddenProperty().emptyProperty().get());
+
+		// the hidden neighbors are up-to-date when listeners are notified
+		hidingModel.hiddenProperty().addListener(new SetChangeListener<Node>() {
+			@Override
+			public void onChanged(SetChangeListener.Change<? extends Node> change) {
+				HiddenNodesChange hiddenNodesChange = (HiddenNodesChange) change;
+				List<Node> nodes = change.wasAdded() ? hiddenNodesChange.getNodesAdded()
+						: hiddenNodesChange.getNodesRemoved();
+				for (Node node : nodes) {
+					for (Node neighbor : node.getNeighbors()) {
+						assertEquals(change.wasAdded(), hidingModel.getHiddenNeighbors(neighbor).contains(node));
+					}
+				}
+			}
+		});
+
+		// all nodes are hidden at once, while already hidden nodes are ignored
+		hidingModel.hide(c);
+		hidingModel.hide(Arrays.asList(a, b, c));
+		assertEquals(Arrays.asList(c, a, b), propertyListener.added);
+		assertEquals(Arrays.asList(c, a, b), setListener.added);
+		assertEquals(2, propertyListener.changes);
+		assertEquals(2, setListener.changes);
+		assertEquals(3, hidingModel.hiddenProperty().sizeProperty().get());
+		assertFalse(hidingModel.hiddenProperty().emptyProperty().get());
+		assertEquals(3, hidingModel.getHiddenNodesUnmodifiable().size());
+		assertHiddenNeighbors(hidingModel, graph);
+
+		// all nodes are shown at once, while visible nodes are ignored
+		hidingModel.show(Arrays.asList(a, d, b));
+		assertEquals(Arrays.asList(a, b), propertyListener.removed);
+		assertEquals(Arrays.asList(a, b), setListener.removed);
+		assertEquals(3, propertyListener.changes);
+		assertEquals(3, setListener.changes);
+		assertEquals(1, hidingModel.hiddenProperty().sizeProperty().get());
+		assertEquals(Collections.singleton(c), hidingModel.getHiddenNodesUnmodifiable());
+		assertHiddenNeighbors(hidingModel, graph);
+	}
+
+	@Test
+	public void bulkHideAndShowByPredicate() {
+		Node a = new Node();
+		Node b = new Node();
+		Node c = new Node();
+		final Set<Node> matching = Collections.newSetFromMap(new IdentityHashMap<Node, Boolean>());
+		matching.addAll(Arrays.asList(a, c));
+		Predicate<Node> predicate = new Predicate<Node>() {
+			@Override
+			public boolean test(Node node) {
+				return matching.contains(node);
+			}
+		};
+		Graph graph = new Graph.Builder().nodes(a, b, c).edges(new Edge(a, b), new Edge(b, c)).build();
+		HidingModel hidingModel = new HidingModel();
+		RecordingSetChangeListener listener = new RecordingSetChangeListener();
+		hidingModel.hiddenProperty().addListener(listener);
+
+		hidingModel.hide(graph, predicate);
+		assertEquals(2, listener.added.size());
+		assertEquals(1, listener.changes);
+		assertEquals(matching, hidingModel.getHiddenNodesUnmodifiable());
+		assertEquals(2, hidingModel.hiddenProperty().sizeProperty().get());
+		assertEquals(2, hidingModel.getHiddenNeighborsCount(b));
+		assertHiddenNeighbors(hidingModel, graph);
+
+		hidingModel.hide(b);
+		matching.remove(c);
+		hidingModel.show(predicate);
+		assertEquals(Collections.singletonList(a), listener.removed);
+		assertEquals(3, listener.changes);
+		assertEquals(2, hidingModel.hiddenProperty().sizeProperty().get());
+		assertTrue(hidingModel.isHidden(b));
+		assertTrue(hidingModel.isHidden(c));
+		assertHiddenNeighbors(hidingModel, graph);
+	}
+
+	@Test
+	public void bulkNotifications() {
+		Node a = new Node();
+		Node b = new Node();
+		Node c = new Node();
+		new Graph.Builder().nodes(a, b, c).edges(new Edge(a, b), new Edge(b, c)).build();
+		final HidingModel hidingModel = new HidingModel();
+		RecordingSetChangeListener propertyListener = new RecordingSetChangeListener();
+		RecordingSetChangeListener setListener = new RecordingSetChangeListener();
+		hidingModel.hiddenProperty().addListener(propertyListener);
+		@SuppressWarnings("unchecked")
+		ObservableSet<Node> hiddenNodes = (ObservableSet<Node>) hidingModel.getHiddenNodesUnmodifiable();
+		hiddenNodes.addListener(setListener);
+		final int[] invalidations = new int[1];
+		hidingModel.hiddenProperty().addListener(new InvalidationListener() {
+			@Override
+			public void invalidated(Observable observable) {
+				invalidations[0]++;
+			}
+		});
+		final List<Number> sizes = new ArrayList<>();
+		hidingModel.hiddenProperty().sizeProperty().addListener(new ChangeListener<Number>() {
+			@Override
+			public void changed(ObservableValue<? extends Number> observable, Number oldValue, Number newValue) {
+				// size is consistent with the set when listeners are notified
+				assertEquals(newValue.intValue(), hidingModel.getHiddenNodesUnmodifiable().size());
+				sizes.add(newValue);
+			}
+		});
+
+		// each bulk operation results in a single notification
+		hidingModel.hide(Arrays.asList(a, b, c));
+		assertEquals(1, propertyListener.changes);
+		assertEquals(1, setListener.changes);
+		assertEquals(1, invalidations[0]);
+		assertEquals(Arrays.<Number> asList(3), sizes);
+		hidingModel.show(Arrays.asList(a, b));
+		assertEquals(2, propertyListener.changes);
+		assertEquals(2, setListener.changes);
+		assertEquals(2, invalidations[0]);
+		assertEquals(Arrays.<Number> asList(3, 1), sizes);
+		assertEquals(Arrays.asList(a, b), setListener.removed);
+
+		// operations that do not change the hidden nodes are not notified
+		hidingModel.hide(Arrays.asList(c));
+		hidingModel.show(Arrays.asList(a, b));
+		hidingModel.hide(Collections.<Node> emptyList());
+		assertEquals(2, propertyListener.changes);
+		assertEquals(2, setListener.changes);
+		assertEquals(2, invalidations[0]);
+		assertEquals(Arrays.<Number> asList(3, 1), sizes);
+
+		// the hidden nodes cannot be modified directly
+		try {
+			hiddenNodes.add(a);
+			fail("Expected UnsupportedOperationException");
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+		assertFalse(hidingModel.isHidden(a));
+	}
+
+	@Test
+	public void disposeIndex() {
+		Node a = new Node();
+		Node b = new Node();
+		Node c = new Node();
+		Graph graph = new Graph.Builder().nodes(a, b, c).edges(new Edge(a, b)).build();
+		HidingModel hidingModel = new HidingModel();
+		hidingModel.hide(a);
+		hidingModel.show(a);
+		assertHiddenNeighbors(hidingModel, graph);
+
+		// the index of a graph without hidden nodes is disposed, i.e. edge
+		// changes are ignored
+		graph.getEdges().add(new Edge(c, b));
+		graph.getEdges().remove(0);
+		assertHiddenNeighbors(hidingModel, graph);
+		for (Node node : graph.getNodes()) {
+			assertFalse(hidingModel.hasHiddenNeighbors(node));
+		}
+
+		// the index is re-built from the current edges
+		hidingModel.hide(c);
+		assertFalse(hidingModel.hasHiddenNeighbors(a));
+		assertEquals(Collections.singleton(c), hidingModel.getHiddenNeighbors(b));
+		assertHiddenNeighbors(hidingModel, graph);
+		hidingModel.show(c);
+		graph.getEdges().add(new Edge(a, c));
+		hidingModel.hide(a);
+		assertEquals(Collections.singleton(a), hidingModel.getHiddenNeighbors(c));
+		assertFalse(hidingModel.hasHiddenNeighbors(b));
+		assertHiddenNeighbors(hidingModel, graph);
+	}
+
+	@Test
+	public void hideAndShow() {
+		Node a = new Node();
+		Node b = new Node();
+		Node c = new Node();
+		Node d = new Node();
+		Graph graph = new Graph.Builder().nodes(a, b, c, d)
+				.edges(new Edge(a, b), new Edge(b, c), new Edge(c, a), new Edge(c, d)).build();
+		HidingModel hidingModel = new HidingModel();
+		assertHiddenNeighbors(hidingModel, graph);
+
+		hidingModel.hide(a);
+		assertTrue(hidingModel.isHidden(a));
+		assertEquals(Collections.singleton(a), hidingModel.getHiddenNeighbors(b));
+		assertEquals(Collections.singleton(a), hidingModel.getHiddenNeighbors(c));
+		assertFalse(hidingModel.hasHiddenNeighbors(a));
+		assertFalse(hidingModel.hasHiddenNeighbors(d));
+		assertHiddenNeighbors(hidingModel, graph);
+
+		// hiding twice has no effect
+		hidingModel.hide(a);
+		hidingModel.hide(c);
+		assertEquals(2, hidingModel.getHiddenNeighborsCount(b));
+		assertHiddenNeighbors(hidingModel, graph);
+
+		hidingModel.show(a);
+		assertFalse(hidingModel.isHidden(a));
+		assertEquals(Collections.singleton(c), hidingModel.getHiddenNeighbors(a));
+		assertEquals(Collections.singleton(c), hidingModel.getHiddenNeighbors(b));
+		assertHiddenNeighbors(hidingModel, graph);
+
+		// showing twice has no effect
+		hidingModel.show(a);
+		hidingModel.show(c);
+		assertHiddenNeighbors(hidingModel, graph);
+		for (Node node : graph.getNodes()) {
+			assertFalse(hidingModel.hasHiddenNeighbors(node));
+		}
+	}
+
+	@Test
+	public void multiEdges() {
+		Node a = new Node();
+		Node b = new Node();
+		Edge ab1 = new Edge(a, b);
+		Edge ab2 = new Edge(a, b);
+		Edge ba = new Edge(b, a);
+		Graph graph = new Graph.Builder().nodes(a, b).edges(ab1, ab2, ba).build();
+		HidingModel hidingModel = new HidingModel();
+		hidingModel.hide(a);
+		assertEquals(1, hidingModel.getHiddenNeighborsCount(b));
+		assertHiddenNeighbors(hidingModel, graph);
+
+		// a neighbor stays hidden as long as one connecting edge remains
+		graph.getEdges().remove(ab1);
+		assertEquals(Collections.singleton(a), hidingModel.getHiddenNeighbors(b));
+		graph.getEdges().remove(ba);
+		assertEquals(Collections.singleton(a), hidingModel.getHiddenNeighbors(b));
+		graph.getEdges().remove(ab2);
+		assertFalse(hidingModel.hasHiddenNeighbors(b));
+		assertHiddenNeighbors(hidingModel, graph);
+
+		// duplicate edges (the same edge contained multiple times)
+		graph.getEdges().addAll(ab1, ab1);
+		assertEquals(Collections.singleton(a), hidingModel.getHiddenNeighbors(b));
+		graph.getEdges().remove(ab1);
+		assertEquals(Collections.singleton(a), hidingModel.getHiddenNeighbors(b));
+		graph.getEdges().remove(ab1);
+		assertFalse(hidingModel.hasHiddenNeighbors(b));
+		assertHiddenNeighbors(hidingModel, graph);
+		graph.getEdges().addAll(ab1, ab1);
+		hidingModel.show(a);
+		assertFalse(hidingModel.hasHiddenNeighbors(b));
+		hidingModel.hide(a);
+		graph.getEdges().remove(ab1);
+		assertEquals(Collections.singleton(a), hidingModel.getHiddenNeighbors(b));
+		assertHiddenNeighbors(hidingModel, graph);
+	}
+
+	@Test
+	public void selfLoops() {
+		Node a = new Node();
+		Node b = new Node();
+		Edge aa = new Edge(a, a);
+		Graph graph = new Graph.Builder().nodes(a, b).edges(aa, new Edge(a, b)).build();
+		HidingModel hidingModel = new HidingModel();
+
+		// like the neighbors of a node, its hidden neighbors include the node
+		// itself if it has a self-loop
+		hidingModel.hide(a);
+		assertEquals(Collections.singleton(a), hidingModel.getHiddenNeighbors(a));
+		assertHiddenNeighbors(hidingModel, graph);
+		graph.getEdges().remove(aa);
+		assertFalse(hidingModel.hasHiddenNeighbors(a));
+		assertHiddenNeighbors(hidingModel, graph);
+		graph.getEdges().add(aa);
+		assertEquals(Collections.singleton(a), hidingModel.getHiddenNeighbors(a));
+		assertHiddenNeighbors(hidingModel, graph);
+
+		hidingModel.show(a);
+		assertHiddenNeighbors(hidingModel, graph);
+		assertFalse(hidingModel.hasHiddenNeighbors(a));
+		assertFalse(hidingModel.hasHiddenNeighbors(b));
+	}
+
+}
@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.gef.zest.fx.behaviors.LevelOfDetailBehavior;
+import org.eclipse.gef.zest.fx.parts.GraphPart;
+import org.junit.Test;
+
+public class LevelOfDetailBehaviorTests {
+
+	/**
+	 * A {@link LevelOfDetailBehavior} that uses a given zoom level instead of
+	 * the scale of the host visual.
+	 */
+	private static class ZoomLevelBehavior extends LevelOfDetailBehavior {
+		private double zoomLevel = 1;
+
+		@Override
+		protected double getZoomLevel() {
+			return zoomLevel;
+		}
+
+		void zoom(double zoomLevel) {
+			this.zoomLevel = zoomLevel;
+			updateLevelOfDetail();
+		}
+	}
+
+	private ZoomLevelBehavior createBehavior() {
+		ZoomLevelBehavior behavior = new ZoomLevelBehavior();
+		GraphPart graphPart = new GraphPart();
+		graphPart.setAdapter(behavior);
+		return behavior;
+	}
+
+	@Test
+	public void hysteresis() {
+		ZoomLevelBehavior behavior = createBehavior();
+
+		// within the hysteresis band, the level of detail is kept
+		behavior.zoom(0.45);
+		assertFalse(behavior.isSimplified());
+		behavior.zoom(0.39);
+		assertTrue(behavior.isSimplified());
+		behavior.zoom(0.45);
+		assertTrue(behavior.isSimplified());
+		behavior.zoom(0.5);
+		assertTrue(behavior.isSimplified());
+		behavior.zoom(0.51);
+		assertFalse(behavior.isSimplified());
+		behavior.zoom(0.4);
+		assertFalse(behavior.isSimplified());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidZoomLevels() {
+		createBehavior().setZoomLevels(0.5, 0.4);
+	}
+
+	@Test
+	public void thresholds() {
+		ZoomLevelBehavior behavior = createBehavior();
+		assertFalse(behavior.isSimplified());
+		assertFalse(LevelOfDetailBehavior.isSimplified(behavior.getHost()));
+
+		// simplified below the simplify zoom level
+		behavior.zoom(LevelOfDetailBehavior.DEFAULT_SIMPLIFY_ZOOM_LEVEL - 0.01);
+		assertTrue(behavior.isSimplified());
+
+		// detailed above the detail zoom level
+		behavior.zoom(LevelOfDetailBehavior.DEFAULT_DETAIL_ZOOM_LEVEL + 0.01);
+		assertFalse(behavior.isSimplified());
+
+		// custom zoom levels (without hysteresis band)
+		behavior.setZoomLevels(0.8, 0.8);
+		behavior.zoom(0.7);
+		assertTrue(behavior.isSimplified());
+		behavior.zoom(0.8);
+		assertTrue(behavior.isSimplified());
+		behavior.zoom(0.9);
+		assertFalse(behavior.isSimplified());
+	}
+
+}
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.geometry.planar.Rectangle;
+import org.eclipse.gef.graph.Edge;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.layout.ILayoutAlgorithm;
+import org.eclipse.gef.layout.LayoutContext;
+import org.eclipse.gef.layout.LayoutProperties;
+import org.eclipse.gef.zest.fx.ZestProperties;
+import org.eclipse.gef.zest.fx.models.NavigationModel;
+import org.eclipse.gef.zest.fx.models.NavigationModel.LayoutState;
+import org.junit.Test;
+
+import com.google.inject.Provider;
+
+public class NavigationModelTests {
+
+	/**
+	 * An {@link ILayoutAlgorithm} that records the {@link LayoutContext}s to
+	 * which it is applied.
+	 */
+	private static class RecordingLayoutAlgorithm implements ILayoutAlgorithm {
+		private final CountDownLatch applied = new CountDownLatch(1);
+		private final List<LayoutContext> contexts = new ArrayList<>();
+		private LayoutContext context;
+
+		@Override
+		public void applyLayout(boolean clean) {
+			contexts.add(context);
+			applied.countDown();
+		}
+
+		@Override
+		public LayoutContext getLayoutContext() {
+			return context;
+		}
+
+		@Override
+		public void setLayoutContext(LayoutContext context) {
+			this.context = context;
+		}
+	}
+
+	/**
+	 * A {@link NavigationModel} that records if a prefetch was started.
+	 */
+	private static class RecordingNavigationModel extends NavigationModel {
+		private boolean prefetched;
+
+		@Override
+		protected ExecutorService getPrefetchExecutor() {
+			prefetched = true;
+			return super.getPrefetchExecutor();
+		}
+	}
+
+	private static Graph createGraph() {
+		return new Graph.Builder().node("a").node("b").edge("a", "b").build();
+	}
+
+	@Test
+	public void invalidateLayoutStates() {
+		Graph graph = createGraph();
+		Node a = graph.getNodes().get(0);
+		Rectangle bounds = new Rectangle(0, 0, 400, 300);
+		NavigationModel navigationModel = new NavigationModel();
+		LayoutState layoutState = new LayoutState(graph);
+		navigationModel.setLayoutState(graph, bounds, layoutState);
+
+		// layout results do not invalidate the cached layout
+		LayoutProperties.setLocation(a, new Point(10, 10));
+		ZestProperties.setPosition(a, new Point(0, 0));
+		LayoutProperties.setBounds(graph, bounds);
+		assertNotNull(navigationModel.getLayoutState(graph, bounds));
+
+		// other attribute changes do
+		ZestProperties.setLabel(a, "label");
+		assertNull(navigationModel.getLayoutState(graph, bounds));
+		navigationModel.setLayoutState(graph, bounds, layoutState);
+		ZestProperties.setLayoutIrrelevant(graph.getEdges().get(0), true);
+		assertNull(navigationModel.getLayoutState(graph, bounds));
+
+		// as well as added or removed nodes and edges
+		navigationModel.setLayoutState(graph, bounds, layoutState);
+		Node c = new Node.Builder().buildNode();
+		graph.getNodes().add(c);
+		assertNull(navigationModel.getLayoutState(graph, bounds));
+		navigationModel.setLayoutState(graph, bounds, layoutState);
+		graph.getEdges().add(new Edge(a, c));
+		assertNull(navigationModel.getLayoutState(graph, bounds));
+
+		// added nodes are observed, too
+		navigationModel.setLayoutState(graph, bounds, layoutState);
+		ZestProperties.setLabel(c, "c");
+		assertNull(navigationModel.getLayoutState(graph, bounds));
+		navigationModel.dispose();
+	}
+
+	@Test
+	public void prefetchWithDedicatedLayoutAlgorithm() throws InterruptedException {
+		final List<RecordingLayoutAlgorithm> algorithms = new ArrayList<>();
+		Graph graph = createGraph();
+		ZestProperties.setLayoutAlgorithm(graph, new Provider<ILayoutAlgorithm>() {
+			@Override
+			public ILayoutAlgorithm get() {
+				RecordingLayoutAlgorithm algorithm = new RecordingLayoutAlgorithm();
+				algorithms.add(algorithm);
+				return algorithm;
+			}
+		});
+		RecordingLayoutAlgorithm graphAlgorithm = (RecordingLayoutAlgorithm) ZestProperties
+				.getLayoutAlgorithm(graph);
+
+		RecordingNavigationModel navigationModel = new RecordingNavigationModel();
+		navigationModel.prefetchLayout(graph, new Rectangle(0, 0, 400, 300));
+		assertTrue(navigationModel.prefetched);
+		// the provider is only asked once for the prefetch
+		assertEquals(2, algorithms.size());
+		RecordingLayoutAlgorithm prefetchAlgorithm = algorithms.get(1);
+		assertTrue(prefetchAlgorithm.applied.await(10, TimeUnit.SECONDS));
+
+		// the layout is computed for a snapshot, using a fresh algorithm
+		assertEquals(1, prefetchAlgorithm.contexts.size());
+		assertNotSame(graph, prefetchAlgorithm.contexts.get(0).getGraph());
+		assertEquals(graph.getNodes().size(), prefetchAlgorithm.contexts.get(0).getGraph().getNodes().size());
+		assertTrue(graphAlgorithm.contexts.isEmpty());
+		for (Node node : graph.getNodes()) {
+			assertFalse(prefetchAlgorithm.contexts.get(0).getGraph().getNodes().contains(node));
+		}
+		navigationModel.dispose();
+	}
+
+	@Test
+	public void skipPrefetchForSharedLayoutAlgorithm() {
+		final RecordingLayoutAlgorithm algorithm = new RecordingLayoutAlgorithm();
+		Rectangle bounds = new Rectangle(0, 0, 400, 300);
+
+		// no provider
+		Graph graph = createGraph();
+		ZestProperties.setLayoutAlgorithm(graph, algorithm);
+		RecordingNavigationModel navigationModel = new RecordingNavigationModel();
+		navigationModel.prefetchLayout(graph, bounds);
+		assertFalse(navigationModel.prefetched);
+
+		// provider returns a shared instance, which is bound to the layout
+		// context of the graph
+		LayoutContext layoutContext = new LayoutContext();
+		layoutContext.setGraph(graph);
+		layoutContext.setLayoutAlgorithm(algorithm);
+		layoutContext.applyLayout(true);
+		ZestProperties.setLayoutAlgorithm(graph, new Provider<ILayoutAlgorithm>() {
+			@Override
+			public ILayoutAlgorithm get() {
+				return algorithm;
+			}
+		});
+		navigationModel.prefetchLayout(graph, bounds);
+		assertFalse(navigationModel.prefetched);
+		assertEquals(1, algorithm.contexts.size());
+		assertEquals(layoutContext, algorithm.getLayoutContext());
+		navigationModel.dispose();
+	}
+
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     See the Git history - initial API and implementation
+ *
+ *******************************************************************************/
+package org.eclipse.gef.zest.tests.fx;
+
+import java.util.Collections;
+
+import org.eclipse.gef.common.adapt.AdapterKey;
+import org.eclipse.gef.geometry.planar.Dimension;
+import org.eclipse.gef.geometry.planar.Point;
+import org.eclipse.gef.graph.Graph;
+import org.eclipse.gef.graph.Node;
+import org.eclipse.gef.mvc.fx.domain.IDomain;
+import org.eclipse.gef.mvc.fx.viewer.IViewer;
+import org.eclipse.gef.zest.fx.ZestFxModule;
+import org.eclipse.gef.zest.fx.ZestProperties;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import javafx.embed.swing.JFXPanel;
+import javafx.scene.Scene;
+
+/**
+ * Shared fixture for the tests that operate on a {@link Graph} that is
+ * rendered within a viewer. Needs to be used on the JavaFX application thread.
+ */
+final class ZestTestUtils {
+
+	/**
+	 * Creates a {@link Node} of size 20x20 at the given position.
+	 */
+	static Node createNode(double x, double y) {
+		Node node = new Node.Builder().buildNode();
+		ZestProperties.setPosition(node, new Point(x, y));
+		ZestProperties.setSize(node, new Dimension(20, 20));
+		return node;
+	}
+
+	/**
+	 * Creates an activated content viewer (of size 400x300) using the
+	 * {@link ZestFxModule}, and sets the given {@link Graph} as its contents.
+	 */
+	static IViewer createViewer(Graph graph) {
+		Injector injector = Guice.createInjector(new ZestFxModule());
+		IDomain domain = injector.getInstance(IDomain.class);
+		IViewer viewer = domain.getAdapter(AdapterKey.get(IViewer.class, IDomain.CONTENT_VIEWER_ROLE));
+		Scene scene = new Scene(viewer.getCanvas(), 400, 300);
+		JFXPanel panel = new JFXPanel();
+		panel.setScene(scene);
+		domain.activate();
+		viewer.getContents().setAll(Collections.singletonList(graph));
+		return viewer;
+	}
+
+	private ZestTestUtils() {
+		// not to be instantiated
+	}
+
+}